@@ -0,0 +1,81 @@
+package com.plutocart.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero if any benchmark in the second got
+ * worse than in the first by more than the threshold and more than the two runs' combined
+ * error. Throughput is worse when lower; average and sample time when higher. Changes past
+ * the threshold that stay within the error are reported as {@code NOISY} and do not fail.
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar com.plutocart.benchmarks.BenchmarkComparison baseline.json current.json [max-regression-percent]}
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [max-regression-percent]");
+            System.exit(2);
+        }
+        double maxRegressionPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("NEW        %-70s %12.3f %s%n", entry.getKey(), after.score(), after.unit());
+                continue;
+            }
+            double change = (after.score() - before.score()) / before.score() * 100;
+            double worsening = after.higherIsBetter() ? -change : change;
+            boolean withinError = Math.abs(after.score() - before.score()) <= before.error() + after.error();
+            String verdict = "ok";
+            if (worsening > maxRegressionPercent) {
+                verdict = withinError ? "NOISY" : "REGRESSED";
+            }
+            if (verdict.equals("REGRESSED")) {
+                regressions++;
+            }
+            System.out.printf("%-10s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n", verdict,
+                    entry.getKey(), before.score(), after.score(), after.unit(), change);
+        }
+        System.out.println(regressions == 0 ? "PASS" : "FAIL: " + regressions + " regression(s)");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble();
+            results.put(key.toString(), new Result(
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return results;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
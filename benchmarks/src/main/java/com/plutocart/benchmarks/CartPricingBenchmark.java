@@ -0,0 +1,121 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.cart_service.pricing.CartTotals;
+import com.plutocart.cart_service.pricing.Price;
+import com.plutocart.cart_service.pricing.PricedCart;
+import com.plutocart.common_utils.pricing.CartPricer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PricedCart} on a 100-line cart: the incremental paths taken by an edit, a price
+ * change and a cart view where nothing moved, against recomputing every line from scratch
+ * with {@link BigDecimal} and with minor units.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartPricingBenchmark {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+    private static final BigDecimal VOLUME_DISCOUNT = new BigDecimal("0.05");
+    private static final int VOLUME_MIN_QUANTITY = 10;
+
+    @Param("100")
+    public int lines;
+
+    private CartPricer pricer;
+    private PricedCart cart;
+    private List<String> skus;
+    private int[] quantities;
+    private Map<String, Price> prices;
+    private BigDecimal[] decimalPrices;
+    private long tick;
+
+    @Setup
+    public void setUp() {
+        pricer = new CartPricer("USD", 800, VOLUME_MIN_QUANTITY, 500);
+        cart = new PricedCart(pricer);
+        skus = new ArrayList<>(lines);
+        quantities = new int[lines];
+        prices = new HashMap<>();
+        decimalPrices = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            String sku = "SKU-" + i;
+            long amount = 199 + 37L * i;
+            skus.add(sku);
+            quantities[i] = 1 + i % 12;
+            prices.put(sku, new Price(amount, "USD"));
+            decimalPrices[i] = BigDecimal.valueOf(amount, 2);
+            cart.setQuantity(sku, quantities[i]);
+        }
+        cart.reprice(skus, prices);
+    }
+
+    @Benchmark
+    public CartTotals quantityChange() {
+        int line = (int) (tick++ % lines);
+        cart.setQuantity(skus.get(line), quantities[line] + (int) (tick & 1));
+        return cart.totals();
+    }
+
+    @Benchmark
+    public CartTotals priceChange() {
+        int line = (int) (tick++ % lines);
+        String sku = skus.get(line);
+        long amount = prices.get(sku).amountMinor() + (tick & 1);
+        cart.reprice(List.of(sku), Map.of(sku, new Price(amount, "USD")));
+        return cart.totals();
+    }
+
+    @Benchmark
+    public CartTotals viewWithUnchangedPrices() {
+        cart.reprice(skus, prices);
+        return cart.totals();
+    }
+
+    @Benchmark
+    public long fullRecomputeMinorUnits() {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            String sku = skus.get(i);
+            total += pricer.price(sku, quantities[i], prices.get(sku).amountMinor()).totalMinor();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal fullRecomputeBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal subtotal = decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            BigDecimal discount = quantities[i] >= VOLUME_MIN_QUANTITY
+                    ? subtotal.multiply(VOLUME_DISCOUNT).setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            BigDecimal net = subtotal.subtract(discount);
+            BigDecimal tax = net.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+            total = total.add(net).add(tax);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,81 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.product_service.model.Product;
+import com.plutocart.product_service.search.ProductSearchIndex;
+import com.plutocart.product_service.service.CatalogIndex;
+import com.plutocart.product_service.snapshot.CatalogSnapshotFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start cost for a {@link SyntheticCatalog}: rebuilding the catalog and search index
+ * from products (what a start without a snapshot does after loading the store) against
+ * mapping a snapshot file. Each measurement is one full start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CatalogSnapshotBenchmark {
+
+    @Param("1000000")
+    public int products;
+
+    private Path file;
+    private CatalogSnapshotFile snapshotFile;
+    private List<Product> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalog = SyntheticCatalog.generate(products);
+        ProductSearchIndex searchIndex = new ProductSearchIndex(new SimpleMeterRegistry());
+        searchIndex.onReload(catalog);
+        file = Files.createTempFile("catalog", ".snapshot");
+        snapshotFile = new CatalogSnapshotFile(file);
+        snapshotFile.write(1, searchIndex.documents(), List.of(), searchIndex::writeSnapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ProductSearchIndex rebuild() {
+        CatalogIndex catalogIndex = new CatalogIndex();
+        catalogIndex.load(catalog, 1);
+        ProductSearchIndex searchIndex = new ProductSearchIndex(new SimpleMeterRegistry());
+        searchIndex.onReload(catalog);
+        return searchIndex;
+    }
+
+    @Benchmark
+    public ProductSearchIndex restoreSnapshot() throws IOException {
+        CatalogSnapshotFile.Restored restored = snapshotFile.read().orElseThrow();
+        CatalogIndex catalogIndex = new CatalogIndex();
+        catalogIndex.load(restored.products(), restored.version());
+        ProductSearchIndex searchIndex = new ProductSearchIndex(new SimpleMeterRegistry());
+        searchIndex.restoreSnapshot(restored.products().subList(0, restored.searchDocs()), restored.searchSection());
+        return searchIndex;
+    }
+}
@@ -0,0 +1,72 @@
+package com.plutocart.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.plutocart.common_exception.ErrorTemplate;
+import com.plutocart.common_exception.JsonErrorWriter;
+import com.plutocart.user_service.dto.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one 401 body. Run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm} (bytes allocated per rejected request).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseWriterBenchmark {
+
+    private static final String PATH = "/api/users/me";
+    private static final String DETAIL = "JWT expired 1500 milliseconds ago at 2026-01-01T00:00:00.000Z";
+    private static final ErrorTemplate TOKEN_EXPIRED =
+            ErrorTemplate.of(401, "Unauthorized", "JWT token has expired: ");
+
+    private ObjectMapper objectMapper;
+    private OutputStream out;
+    private PrintWriter writer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        out = OutputStream.nullOutputStream();
+        writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void objectMapperToWriter() throws JsonProcessingException {
+        var errorResponse = new ErrorResponse(401, "JWT token has expired: " + DETAIL, Instant.now(), "Unauthorized", PATH);
+        writer.write(objectMapper.writeValueAsString(errorResponse));
+        writer.flush();
+    }
+
+    @Benchmark
+    public void templateToOutputStream() throws IOException {
+        JsonErrorWriter.write(out, TOKEN_EXPIRED, DETAIL, System.currentTimeMillis(), PATH);
+    }
+}
@@ -0,0 +1,162 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.product_service.inventory.InventoryLedger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency check for {@link InventoryLedger} on a single hot SKU. Not a JMH benchmark:
+ * it asserts invariants and exits non-zero on a violation.
+ * <ol>
+ *   <li>Churn: threads reserve one unit at a time for a fixed duration, then confirm, release
+ *       or abandon it (short TTL) while a sweeper expires reservations. Afterwards available
+ *       plus sold must equal the starting stock, and the journal must hold exactly the sales.</li>
+ *   <li>Sell-out: threads reserve and confirm until stock runs out. Exactly the starting stock
+ *       must be sold: no oversell, and no units left stranded.</li>
+ * </ol>
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar com.plutocart.benchmarks.InventoryStressHarness [threads] [seconds]}
+ */
+public final class InventoryStressHarness {
+
+    private static final String SKU = "FLASH-1";
+    private static final long TICK_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        boolean ok = churn(threads, seconds) & sellOut(threads, 200_000);
+        System.out.println(ok ? "PASS" : "FAIL");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean churn(int threads, int seconds) throws InterruptedException {
+        long initial = 1_000_000;
+        InventoryLedger ledger = new InventoryLedger(16, TICK_MILLIS, TICK_MILLIS, System.currentTimeMillis());
+        ledger.load(SKU, initial);
+
+        LongAdder reserved = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder sold = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sweeper = startSweeper(ledger, running);
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        runWorkers(threads, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                long now = System.currentTimeMillis();
+                InventoryLedger.Reservation reservation = ledger.reserve(SKU, 1, now + 20 + random.nextInt(50));
+                if (reservation == null) {
+                    rejected.increment();
+                    continue;
+                }
+                reserved.increment();
+                int action = random.nextInt(20);
+                if (action == 0) {
+                    if (ledger.confirm(reservation.id(), System.currentTimeMillis()) != null) {
+                        sold.increment();
+                    }
+                } else if (action < 17) {
+                    ledger.release(reservation.id());
+                }
+                // else: abandoned, left for the sweeper
+            }
+        });
+
+        // Let every abandoned reservation expire.
+        while (ledger.outstandingReservations() > 0) {
+            Thread.sleep(TICK_MILLIS);
+        }
+        running.set(false);
+        sweeper.join();
+
+        long available = ledger.available(SKU);
+        long journaled = ledger.drainOnHandDeltas().getOrDefault(SKU, 0L);
+        double rate = reserved.sum() / (double) seconds;
+        System.out.printf("churn:    %,d reserved (%,.0f/s), %,d rejected, %,d sold, %,d available of %,d%n",
+                reserved.sum(), rate, rejected.sum(), sold.sum(), available, initial);
+        return check("available + sold == initial", available + sold.sum() == initial)
+                & check("journal == -sold", journaled == -sold.sum())
+                & check("reservations/sec >= 10,000", rate >= 10_000);
+    }
+
+    private static boolean sellOut(int threads, long initial) throws InterruptedException {
+        InventoryLedger ledger = new InventoryLedger(16, TICK_MILLIS, TICK_MILLIS, System.currentTimeMillis());
+        ledger.load(SKU, initial);
+        LongAdder sold = new LongAdder();
+
+        long start = System.nanoTime();
+        runWorkers(threads, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                int quantity = 1 + random.nextInt(3);
+                InventoryLedger.Reservation reservation =
+                        ledger.reserve(SKU, quantity, System.currentTimeMillis() + 60_000);
+                if (reservation == null) {
+                    if (ledger.available(SKU) == 0) {
+                        return;
+                    }
+                    continue;
+                }
+                ledger.confirm(reservation.id(), System.currentTimeMillis());
+                sold.add(quantity);
+            }
+        });
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Long> journal = ledger.drainOnHandDeltas();
+        System.out.printf("sell-out: %,d of %,d units sold in %.2f s, %,d available%n",
+                sold.sum(), initial, elapsed, ledger.available(SKU));
+        return check("sold == initial", sold.sum() == initial)
+                & check("available == 0", ledger.available(SKU) == 0)
+                & check("journal == -initial", journal.getOrDefault(SKU, 0L) == -initial);
+    }
+
+    private static Thread startSweeper(InventoryLedger ledger, AtomicBoolean running) {
+        Thread sweeper = new Thread(() -> {
+            while (running.get()) {
+                ledger.expire(System.currentTimeMillis());
+                try {
+                    Thread.sleep(TICK_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "expiry-sweeper");
+        sweeper.start();
+        return sweeper;
+    }
+
+    private static void runWorkers(int threads, Runnable body) throws InterruptedException {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                body.run();
+            }, "reserver-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        startGate.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static boolean check(String invariant, boolean holds) {
+        System.out.println((holds ? "  ok    " : "  FAIL  ") + invariant);
+        return holds;
+    }
+}
@@ -0,0 +1,111 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.common_security.jwt.JwtAuthenticationFilter;
+import com.plutocart.common_security.jwt.JwtVerificationCache;
+import com.plutocart.common_security.jwt.JwtVerifier;
+import com.plutocart.common_security.jwt.TokenRevocations;
+import com.plutocart.common_security.jwt.TokenTypePolicy;
+import com.plutocart.user_service.service.JwtService;
+import com.plutocart.user_service.service.JwtTokenEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of {@link JwtAuthenticationFilter} for an authenticated request, with the token
+ * already in the verification cache (the steady state) and with a cache whose entries
+ * expire at once (every request verifies the signature), plus a request without a token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String FILTERED_ATTRIBUTE =
+            JwtAuthenticationFilter.class.getName() + OncePerRequestFilter.ALREADY_FILTERED_SUFFIX;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter verifyingFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenEngine engine = JwtBenchmarkContext.tokenEngine();
+        JwtVerifier verifier = new JwtVerifier(engine);
+        var meterRegistry = new SimpleMeterRegistry();
+        cachingFilter = new JwtAuthenticationFilter(
+                new JwtVerificationCache(verifier, meterRegistry, 50_000, Duration.ofMinutes(5)), TokenRevocations.NONE,
+                new TokenTypePolicy(List.of()));
+        verifyingFilter = new JwtAuthenticationFilter(
+                new JwtVerificationCache(verifier, meterRegistry, 50_000, Duration.ZERO), TokenRevocations.NONE,
+                new TokenTypePolicy(List.of()));
+        var jwtService = new JwtService(JwtBenchmarkContext.jwtConfig(), engine, verifier, meterRegistry);
+        authorization = "Bearer " + jwtService.generateAccessToken(UUID.randomUUID(), "bench@plutocart.com", "ROLE_CUSTOMER");
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        HttpServletRequest authenticated;
+        HttpServletRequest anonymous;
+        HttpServletResponse response;
+
+        @Setup
+        public void setUp(JwtAuthenticationFilterBenchmark benchmark) {
+            authenticated = ServletStubs.request("GET", "/api/cart", Map.of("Authorization", benchmark.authorization));
+            anonymous = ServletStubs.request("GET", "/api/products/sku/SKU-1", Map.of());
+            response = ServletStubs.response();
+        }
+    }
+
+    @Benchmark
+    public Object cachedToken(Exchange exchange) throws Exception {
+        return pass(cachingFilter, exchange.authenticated, exchange);
+    }
+
+    @Benchmark
+    public Object uncachedToken(Exchange exchange) throws Exception {
+        return pass(verifyingFilter, exchange.authenticated, exchange);
+    }
+
+    @Benchmark
+    public Object noToken(Exchange exchange) throws Exception {
+        return pass(cachingFilter, exchange.anonymous, exchange);
+    }
+
+    private static Object pass(JwtAuthenticationFilter filter, HttpServletRequest request, Exchange exchange)
+            throws Exception {
+        try {
+            filter.doFilter(request, exchange.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            request.removeAttribute(FILTERED_ATTRIBUTE);
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
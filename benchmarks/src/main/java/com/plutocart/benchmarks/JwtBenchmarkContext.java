@@ -0,0 +1,42 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.user_service.config.JwtConfig;
+import com.plutocart.user_service.service.JwtTokenEngine;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * User-service's JWT beans, wired by Spring from the {@code jwt.*} properties the service
+ * reads, so the benchmarks measure the configuration that runs in production.
+ */
+final class JwtBenchmarkContext {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private static final AnnotationConfigApplicationContext CONTEXT = start();
+
+    private JwtBenchmarkContext() {
+    }
+
+    static JwtConfig jwtConfig() {
+        return CONTEXT.getBean(JwtConfig.class);
+    }
+
+    static JwtTokenEngine tokenEngine() {
+        return CONTEXT.getBean(JwtTokenEngine.class);
+    }
+
+    private static AnnotationConfigApplicationContext start() {
+        var context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", SECRET,
+                "jwt.key-id", "primary",
+                "jwt.access-token-expiration", "3600000",
+                "jwt.refresh-token-expiration", "604800000")));
+        context.register(JwtConfig.class, JwtTokenEngine.class);
+        context.refresh();
+        return context;
+    }
+}
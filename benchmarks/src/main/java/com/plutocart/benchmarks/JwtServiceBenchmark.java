@@ -0,0 +1,65 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import com.plutocart.common_security.jwt.JwtVerifier;
+import com.plutocart.user_service.service.JwtService;
+import com.plutocart.user_service.service.JwtTokenEngine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} as login and refresh use it: signing an access token, parsing one
+ * with {@code validateToken}, and the full verification a refresh token goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private UUID userId;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        JwtTokenEngine engine = JwtBenchmarkContext.tokenEngine();
+        jwtService = new JwtService(JwtBenchmarkContext.jwtConfig(), engine, new JwtVerifier(engine), new SimpleMeterRegistry());
+        userId = UUID.randomUUID();
+        accessToken = generateAccessToken();
+        refreshToken = jwtService.generateRefreshToken(userId, "bench@plutocart.com", "ROLE_CUSTOMER");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(userId, "bench@plutocart.com", "ROLE_CUSTOMER");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyRefreshToken() {
+        return jwtService.verify(refreshToken);
+    }
+}
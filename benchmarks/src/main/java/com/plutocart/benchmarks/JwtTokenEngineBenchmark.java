@@ -0,0 +1,86 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.user_service.service.JwtTokenEngine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original per-call key derivation and parser construction ("legacy")
+ * against the pre-built {@link JwtTokenEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtTokenEngineBenchmark {
+
+    private static final String SECRET = JwtBenchmarkContext.SECRET;
+
+    private JwtTokenEngine engine;
+    private String legacyToken;
+    private String engineToken;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        engine = JwtBenchmarkContext.tokenEngine();
+        userId = UUID.randomUUID();
+        legacyToken = legacySign();
+        engineToken = engineSign();
+    }
+
+    @Benchmark
+    public String legacySign() {
+        return Jwts.builder()
+                .subject("bench@plutocart.com")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .claim("id", userId.toString())
+                .claim("role", "ROLE_CUSTOMER")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public String engineSign() {
+        return engine.builder()
+                .subject("bench@plutocart.com")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .claim("id", userId.toString())
+                .claim("role", "ROLE_CUSTOMER")
+                .compact();
+    }
+
+    @Benchmark
+    public Claims legacyVerify() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(legacyToken)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims engineVerify() {
+        return engine.parse(engineToken);
+    }
+}
@@ -0,0 +1,117 @@
+package com.plutocart.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one failed login as seen by the request thread: the old synchronous
+ * INFO pattern line, the prod JSON encoder behind the async appender, and the same
+ * async appender behind {@link RateLimitedLogger}. Output goes to a null stream so the
+ * numbers measure formatting and hand-off, not disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginLoggingBenchmark {
+
+    private static final String EMAIL = "someone@example.com";
+
+    private LoggerContext context;
+    private org.slf4j.Logger syncLogger;
+    private org.slf4j.Logger asyncLogger;
+    private RateLimitedLogger rateLimitedLogger;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+        pattern.setContext(context);
+        pattern.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        pattern.start();
+        syncLogger = logger("sync", appender("SYNC", pattern));
+
+        LogstashEncoder json = new LogstashEncoder();
+        json.setContext(context);
+        json.start();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(appender("JSON", json));
+        async.start();
+        asyncLogger = logger("async", async);
+
+        rateLimitedLogger = new RateLimitedLogger(asyncLogger, 10, Duration.ofSeconds(10), 100);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void syncInfo() {
+        syncLogger.info("Login failed: Incorrect password for email {}", EMAIL);
+    }
+
+    @Benchmark
+    public void asyncJson() {
+        asyncLogger.info("Login failed: Incorrect password for email {}", EMAIL);
+    }
+
+    @Benchmark
+    public void asyncJsonRateLimited() {
+        rateLimitedLogger.info("Login failed: Incorrect password for email {}", EMAIL);
+    }
+
+    private OutputStreamAppender<ILoggingEvent> appender(String name,
+                                                         Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
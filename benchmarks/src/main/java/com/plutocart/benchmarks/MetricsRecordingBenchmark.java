@@ -0,0 +1,96 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.common_utils.metrics.CachedWallClock;
+import com.plutocart.common_utils.metrics.LatencyHistogramMeterFilter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.CollectorRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one timer sample in the Prometheus registry: a plain timer, a timer
+ * with the percentile histogram {@link LatencyHistogramMeterFilter} configures (on the
+ * system clock and on the {@link CachedWallClock} the services use), and, for comparison,
+ * a timer with client-side percentiles. {@code currentTimeMillis} shows what one wall-clock
+ * read costs on the host and {@code baseline} what generating the sample costs. Durations
+ * are spread over the histogram's range so every bucket is hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsRecordingBenchmark {
+
+    private Timer plain;
+    private Timer histogram;
+    private Timer clientPercentiles;
+    private Timer cachedClockHistogram;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new LatencyHistogramMeterFilter(
+                List.of("histogram"), Duration.ofNanos(10_000), Duration.ofSeconds(30)));
+        plain = Timer.builder("plain").register(registry);
+        histogram = Timer.builder("histogram").register(registry);
+        clientPercentiles = Timer.builder("percentiles").publishPercentiles(0.5, 0.99).register(registry);
+
+        PrometheusMeterRegistry cachedClockRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT,
+                new CollectorRegistry(), new CachedWallClock(Duration.ofMillis(10)));
+        cachedClockRegistry.config().meterFilter(new LatencyHistogramMeterFilter(
+                List.of("histogram"), Duration.ofNanos(10_000), Duration.ofSeconds(30)));
+        cachedClockHistogram = Timer.builder("histogram").register(cachedClockRegistry);
+    }
+
+    @Benchmark
+    public void plainTimer() {
+        plain.record(sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void histogramTimer() {
+        histogram.record(sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return sampleNanos();
+    }
+
+    @Benchmark
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public void histogramTimerCachedClock() {
+        cachedClockHistogram.record(sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void clientPercentileTimer() {
+        clientPercentiles.record(sampleNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /** Between 10 µs and about 1 s, log-uniform. */
+    private static long sampleNanos() {
+        return 10_000L << ThreadLocalRandom.current().nextInt(17);
+    }
+}
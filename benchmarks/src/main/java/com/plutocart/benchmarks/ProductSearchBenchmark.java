@@ -0,0 +1,63 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.product_service.search.ProductSearchIndex;
+import com.plutocart.product_service.search.SearchQuery;
+import com.plutocart.product_service.search.SearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link ProductSearchIndex} over a {@link SyntheticCatalog} (1M products
+ * by default).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    @Param("1000000")
+    public int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(new SimpleMeterRegistry());
+        index.onReload(SyntheticCatalog.generate(products));
+    }
+
+    @Benchmark
+    public SearchResult singleTerm() {
+        return index.search(new SearchQuery("headphones", null, null, null, null, 0, 20));
+    }
+
+    @Benchmark
+    public SearchResult twoTerms() {
+        return index.search(new SearchQuery("wireless headphones", null, null, null, null, 0, 20));
+    }
+
+    @Benchmark
+    public SearchResult termsWithFacetAndPrice() {
+        return index.search(new SearchQuery("black wireless headphones", "category-7", null, 5_000L, 50_000L, 0, 20));
+    }
+
+    @Benchmark
+    public SearchResult categoryBrowse() {
+        return index.search(new SearchQuery(null, "category-7", null, null, null, 0, 20));
+    }
+}
@@ -0,0 +1,68 @@
+package com.plutocart.benchmarks;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bare servlet requests and responses for running filters outside a container, so the shaded
+ * jar does not need spring-test's mocks. A request keeps its method, URI, headers and
+ * attributes; anything else answers null, false or zero.
+ */
+final class ServletStubs {
+
+    private ServletStubs() {
+    }
+
+    static HttpServletRequest request(String method, String uri, Map<String, String> headers) {
+        Map<String, String> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        byName.putAll(headers);
+        Map<String, Object> attributes = new HashMap<>();
+        return stub(HttpServletRequest.class, method + " " + uri, (proxy, call, args) -> switch (call.getName()) {
+            case "getMethod" -> method;
+            case "getRequestURI", "getServletPath" -> uri;
+            case "getContextPath" -> "";
+            case "getDispatcherType" -> DispatcherType.REQUEST;
+            case "getHeader" -> byName.get((String) args[0]);
+            case "getAttribute" -> attributes.get((String) args[0]);
+            case "setAttribute" -> attributes.put((String) args[0], args[1]);
+            case "removeAttribute" -> attributes.remove((String) args[0]);
+            default -> defaultValue(call.getReturnType());
+        });
+    }
+
+    static HttpServletResponse response() {
+        return stub(HttpServletResponse.class, "response",
+                (proxy, call, args) -> defaultValue(call.getReturnType()));
+    }
+
+    private static <T> T stub(Class<T> type, String description, InvocationHandler handler) {
+        Object stub = Proxy.newProxyInstance(ServletStubs.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, call, args) -> switch (call.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> description;
+                    default -> handler.invoke(proxy, call, args);
+                });
+        return type.cast(stub);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
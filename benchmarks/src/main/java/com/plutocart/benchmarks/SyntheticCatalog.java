@@ -0,0 +1,66 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.product_service.model.Product;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic fake catalog. Each product has a three-word name, a 12-word description
+ * drawn from a skewed 5,000-word vocabulary, one of 40 categories and one of 300 brands.
+ */
+final class SyntheticCatalog {
+
+    private static final String[] ADJECTIVES = {
+            "classic", "compact", "deluxe", "ergonomic", "lightweight", "portable", "premium", "rugged",
+            "slim", "smart", "vintage", "wireless", "organic", "modern", "heavy", "mini"
+    };
+    private static final String[] NOUNS = {
+            "backpack", "blender", "chair", "desk", "headphones", "jacket", "kettle", "keyboard",
+            "lamp", "mouse", "mug", "pan", "phone", "sneakers", "speaker", "tent", "watch", "wallet",
+            "bottle", "camera", "charger", "drone", "guitar", "helmet", "monitor", "router"
+    };
+    private static final String[] COLORS = {
+            "black", "white", "red", "blue", "green", "grey", "silver", "gold", "pink", "orange"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Product> generate(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] vocabulary = new String[5_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36);
+        }
+        Instant now = Instant.now();
+        List<Product> catalog = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = COLORS[random.nextInt(COLORS.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)];
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                // Skewed so a few words are common and most are rare, like real text.
+                int word = (int) (vocabulary.length * Math.pow(random.nextDouble(), 3));
+                description.append(vocabulary[word]).append(' ');
+            }
+            catalog.add(new Product(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "SKU-" + i,
+                    name,
+                    description.toString(),
+                    "category-" + random.nextInt(40),
+                    "brand-" + random.nextInt(300),
+                    100 + random.nextInt(100_000),
+                    "USD",
+                    true,
+                    now,
+                    now));
+        }
+        return catalog;
+    }
+}
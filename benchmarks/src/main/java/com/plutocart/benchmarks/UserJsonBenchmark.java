@@ -0,0 +1,69 @@
+package com.plutocart.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.plutocart.user_service.dto.RegistrationResponse;
+import com.plutocart.user_service.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of register and profile as Spring MVC writes them, with an
+ * {@link ObjectMapper} configured the way Boot configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UserJsonBenchmark {
+
+    private ObjectWriter registrationWriter;
+    private ObjectWriter userWriter;
+    private RegistrationResponse registration;
+    private UserResponse user;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        registrationWriter = objectMapper.writerFor(RegistrationResponse.class);
+        userWriter = objectMapper.writerFor(UserResponse.class);
+
+        var id = UUID.randomUUID();
+        var now = Instant.now();
+        var tokens = JwtBenchmarkContext.tokenEngine();
+        registration = new RegistrationResponse(id, "bench@plutocart.com", "Bench User", "+15550100",
+                true, "CUSTOMER", now,
+                tokens.builder().subject("bench@plutocart.com").claim("type", "access").compact(),
+                tokens.builder().subject("bench@plutocart.com").claim("type", "refresh").compact());
+        user = new UserResponse(id, "bench@plutocart.com", "Bench User", "+15550100",
+                true, "CUSTOMER", now, now, now);
+    }
+
+    @Benchmark
+    public byte[] registrationResponse() throws JsonProcessingException {
+        return registrationWriter.writeValueAsBytes(registration);
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+}
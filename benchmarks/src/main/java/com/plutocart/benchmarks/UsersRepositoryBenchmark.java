@@ -0,0 +1,143 @@
+package com.plutocart.benchmarks;
+
+import com.plutocart.user_service.dto.UserResponse;
+import com.plutocart.user_service.model.UserCredentials;
+import com.plutocart.user_service.model.Users;
+import com.plutocart.user_service.repository.UsersRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UsersRepository} lookups by email (the entity, and the credential and profile
+ * projections that login and {@code /me} use) through Spring Data JPA and Hibernate against an
+ * embedded PostgreSQL with user-service's schema and {@value #USERS} users. The shaded
+ * jar carries every service's migrations (with clashing versions), so user-service's
+ * scripts are applied directly instead of through Flyway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UsersRepositoryBenchmark {
+
+    static final int USERS = 10_000;
+
+    private static final String[] MIGRATIONS = {
+            "V1__create_users.sql",
+            "V2__create_addresses.sql",
+            "V3__create_users_email_lower_index.sql",
+            "V4__create_outbox_events.sql",
+            "V5__make_users_email_lower_unique.sql"
+    };
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UsersRepository usersRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+
+        var populator = new ResourceDatabasePopulator();
+        for (String migration : MIGRATIONS) {
+            populator.addScript(new ClassPathResource("db/migration/" + migration));
+        }
+        populator.execute(dataSource);
+        seed(new JdbcTemplate(dataSource));
+
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=users-repository-benchmark",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN");
+        usersRepository = context.getBean(UsersRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<Users> findByEmail() {
+        return usersRepository.findByEmail(email(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+
+    /** What login reads. */
+    @Benchmark
+    public Optional<UserCredentials> findCredentialsByEmail() {
+        return usersRepository.findCredentialsByEmail(email(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+
+    /** What {@code /me} reads on a profile cache miss. */
+    @Benchmark
+    public Optional<UserResponse> findProfileByEmail() {
+        return usersRepository.findProfileByEmail(email(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        var now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), email(i), "{bcrypt}$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm",
+                    "User " + i, "+1555" + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into users (id, email, password_hash, full_name, phone_number, created_at, updated_at)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbcTemplate.execute("analyze users");
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@plutocart.com";
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Users.class)
+    @EnableJpaRepositories(basePackageClasses = UsersRepository.class)
+    static class RepositoryContext {
+    }
+}
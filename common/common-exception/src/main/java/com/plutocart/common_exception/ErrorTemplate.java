@@ -0,0 +1,35 @@
+package com.plutocart.common_exception;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-encoded UTF-8 fragments of a JSON error body with a fixed status, error label and
+ * message prefix. Only the message detail, timestamp and path are written per request.
+ * <p>
+ * Produces the same shape as the services' {@code ErrorResponse}:
+ * {@code {"status":..,"message":..,"timestamp":..,"error":..,"path":..}}.
+ */
+public final class ErrorTemplate {
+
+    private final int status;
+    final byte[] head;
+    final byte[] errorAndPathKey;
+
+    private ErrorTemplate(int status, byte[] head, byte[] errorAndPathKey) {
+        this.status = status;
+        this.head = head;
+        this.errorAndPathKey = errorAndPathKey;
+    }
+
+    public static ErrorTemplate of(int status, String error, String messagePrefix) {
+        var head = "{\"status\":" + status + ",\"message\":\"" + JsonErrorWriter.escape(messagePrefix);
+        var errorAndPathKey = "\",\"error\":\"" + JsonErrorWriter.escape(error) + "\",\"path\":\"";
+        return new ErrorTemplate(status,
+                head.getBytes(StandardCharsets.UTF_8),
+                errorAndPathKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,176 @@
+package com.plutocart.common_exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes JSON error bodies for the security filter chain straight to the response
+ * stream. Fixed parts come from an {@link ErrorTemplate}; dynamic parts are escaped and
+ * UTF-8 encoded byte by byte, so a rejected request allocates no intermediate
+ * {@code String}, {@code char[]} or DTO.
+ * <p>
+ * The output is byte for byte what Jackson writes for the services' {@code ErrorResponse}:
+ * the same escapes (short forms for {@code \b \t \n \f \r}, four upper-case hex digits for
+ * other control characters and for every surrogate) and the same ISO-8601 instant, which
+ * leaves out a zero millisecond fraction.
+ */
+public final class JsonErrorWriter {
+
+    private static final byte[] TIMESTAMP_KEY = "\",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000};
+
+    private JsonErrorWriter() {
+    }
+
+    public static void write(HttpServletResponse response, ErrorTemplate template, String detail, String path) throws IOException {
+        response.setStatus(template.getStatus());
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        var out = response.getOutputStream();
+        write(out, template, detail, System.currentTimeMillis(), path);
+        out.flush();
+    }
+
+    public static void write(OutputStream out, ErrorTemplate template, String detail, long timestampMillis, String path) throws IOException {
+        out.write(template.head);
+        writeEscaped(out, detail);
+        out.write(TIMESTAMP_KEY);
+        writeIsoInstant(out, timestampMillis);
+        out.write(template.errorAndPathKey);
+        writeEscaped(out, path);
+        out.write(END);
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        var escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\b' -> escaped.append("\\b");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\f' -> escaped.append("\\f");
+                case '\r' -> escaped.append("\\r");
+                default -> {
+                    if (c < 0x20 || Character.isSurrogate(c)) {
+                        escaped.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static void writeEscaped(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    writeControl(out, c);
+                } else {
+                    out.write(c);
+                }
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes surrogates one by one, paired or not, rather than encoding
+                // the code point; a lone one therefore still yields valid UTF-8.
+                writeUnicodeEscape(out, c);
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeControl(OutputStream out, char c) throws IOException {
+        char shortForm = switch (c) {
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+        if (shortForm != 0) {
+            out.write('\\');
+            out.write(shortForm);
+        } else {
+            writeUnicodeEscape(out, c);
+        }
+    }
+
+    private static void writeUnicodeEscape(OutputStream out, char c) throws IOException {
+        out.write('\\');
+        out.write('u');
+        out.write(HEX[c >> 12]);
+        out.write(HEX[(c >> 8) & 0xF]);
+        out.write(HEX[(c >> 4) & 0xF]);
+        out.write(HEX[c & 0xF]);
+    }
+
+    /**
+     * Writes {@code yyyy-MM-ddTHH:mm:ss[.SSS]Z} in UTC, as {@code DateTimeFormatter.ISO_INSTANT}
+     * does for millisecond instants, without going through java.time objects.
+     */
+    private static void writeIsoInstant(OutputStream out, long epochMillis) throws IOException {
+        long epochDay = Math.floorDiv(epochMillis, 86_400_000L);
+        int millisOfDay = (int) Math.floorMod(epochMillis, 86_400_000L);
+
+        // Civil-from-days conversion (proleptic Gregorian calendar).
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthPrime = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthPrime + 2) / 5 + 1);
+        int month = (int) (monthPrime < 10 ? monthPrime + 3 : monthPrime - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        writeDigits(out, year, 4);
+        out.write('-');
+        writeDigits(out, month, 2);
+        out.write('-');
+        writeDigits(out, day, 2);
+        out.write('T');
+        writeDigits(out, millisOfDay / 3_600_000, 2);
+        out.write(':');
+        writeDigits(out, (millisOfDay / 60_000) % 60, 2);
+        out.write(':');
+        writeDigits(out, (millisOfDay / 1000) % 60, 2);
+        if (millisOfDay % 1000 != 0) {
+            out.write('.');
+            writeDigits(out, millisOfDay % 1000, 3);
+        }
+        out.write('Z');
+    }
+
+    private static void writeDigits(OutputStream out, int value, int width) throws IOException {
+        for (int divisor = POWERS_OF_TEN[width - 1]; divisor > 0; divisor /= 10) {
+            out.write('0' + (value / divisor) % 10);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.plutocart.common_exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares every body with what Jackson, configured as Spring Boot configures it, writes for
+ * the same {@code ErrorResponse}.
+ */
+class JsonErrorWriterTest {
+
+    // Spring Boot's defaults: java.time support and dates as ISO-8601 strings.
+    private static final ObjectMapper JACKSON = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final long TIMESTAMP = Instant.parse("2026-01-01T12:34:56.789Z").toEpochMilli();
+
+    /** The services' ErrorResponse shape. */
+    private record ErrorResponse(int status, String message, Instant timestamp, String error, String path) {
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "plain ascii",
+            "quote \" and backslash \\ and slash /",
+            "short escapes \b \t \n \f \r",
+            "other controls \u0000 \u0001 \u001f and delete \u007f",
+            "two bytes é, three bytes € and ☃",
+            "a pair 😀 and flags 🇳🇱",
+            "lone high \uD83D then text",
+            "lone low \uDE00 then text",
+            "ends on a high surrogate \uD83D",
+            "\uDE00\uD83D reversed pair",
+            ""
+    })
+    void detailsAndPathsMatchJackson(String value) throws IOException {
+        ErrorTemplate template = ErrorTemplate.of(401, "Unauthorized", "Authentication required: ");
+
+        assertThat(written(template, value, TIMESTAMP, value))
+                .isEqualTo(jackson(401, "Authentication required: " + value, TIMESTAMP, "Unauthorized", value));
+    }
+
+    @Test
+    void templatePartsAreEscapedLikeJackson() throws IOException {
+        String awkward = "say \"no\"\t\\ 😀 \uD83D";
+        ErrorTemplate template = ErrorTemplate.of(418, awkward, awkward);
+
+        assertThat(written(template, "detail", TIMESTAMP, "/path"))
+                .isEqualTo(jackson(418, awkward + "detail", TIMESTAMP, awkward, "/path"));
+    }
+
+    @Test
+    void aMissingDetailLeavesJustThePrefix() throws IOException {
+        ErrorTemplate template = ErrorTemplate.of(403, "Forbidden", "You are not authorised to Access this resource");
+
+        assertThat(written(template, null, TIMESTAMP, "/api/products"))
+                .isEqualTo(jackson(403, "You are not authorised to Access this resource", TIMESTAMP, "Forbidden", "/api/products"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1970-01-01T00:00:00Z",
+            "1970-01-01T00:00:00.001Z",
+            "1969-12-31T23:59:59.999Z",
+            "2000-02-29T23:59:59.500Z",
+            "2024-02-29T00:00:00Z",
+            "2024-03-01T00:00:00.010Z",
+            "2023-02-28T23:59:59.999Z",
+            "2100-03-01T00:00:00.100Z",
+            "1900-02-28T12:00:00Z",
+            "2026-12-31T23:59:59.999Z"
+    })
+    void timestampsMatchJackson(String instant) throws IOException {
+        long millis = Instant.parse(instant).toEpochMilli();
+        ErrorTemplate template = ErrorTemplate.of(401, "Unauthorized", "");
+
+        assertThat(written(template, "", millis, "/")).isEqualTo(jackson(401, "", millis, "Unauthorized", "/"));
+    }
+
+    private static String written(ErrorTemplate template, String detail, long timestamp, String path) throws IOException {
+        var out = new ByteArrayOutputStream();
+        JsonErrorWriter.write(out, template, detail, timestamp, path);
+        return bytes(out.toByteArray());
+    }
+
+    private static String jackson(int status, String message, long timestamp, String error, String path) throws IOException {
+        return bytes(JACKSON.writeValueAsBytes(new ErrorResponse(status, message, Instant.ofEpochMilli(timestamp), error, path)));
+    }
+
+    /** One char per byte, so comparisons stay byte-exact but failures are readable. */
+    private static String bytes(byte[] body) {
+        return new String(body, StandardCharsets.ISO_8859_1);
+    }
+}
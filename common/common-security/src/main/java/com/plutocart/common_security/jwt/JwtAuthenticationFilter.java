@@ -0,0 +1,102 @@
+package com.plutocart.common_security.jwt;
+
+import com.plutocart.common_exception.ErrorTemplate;
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import com.plutocart.common_exception.JsonErrorWriter;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Authenticates requests carrying a bearer token from the token alone: the signature is
+ * checked locally (or the token is found in the {@link JwtVerificationCache}) and the
+ * {@link JwtPrincipal} becomes the authentication principal, with no call to user-service.
+ * A token of the wrong type for the path ({@link TokenTypePolicy}) is refused.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationFilter  extends OncePerRequestFilter {
+
+    private static final ErrorTemplate TOKEN_EXPIRED =
+            ErrorTemplate.of(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", "JWT token has expired: ");
+    private static final ErrorTemplate TOKEN_REVOKED =
+            ErrorTemplate.of(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", "JWT token has been revoked");
+    private static final ErrorTemplate ACCESS_DENIED =
+            ErrorTemplate.of(HttpServletResponse.SC_FORBIDDEN, "Forbidden", "You are not authorised to Access this resource");
+
+    private static final RateLimitedLogger tokenFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+
+    private final JwtVerificationCache jwtVerificationCache;
+    private final TokenRevocations tokenRevocations;
+    private final TokenTypePolicy tokenTypePolicy;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        final String authHeader = request.getHeader("Authorization");
+
+        if(authHeader == null || !authHeader.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try{
+            final String jwtToken = authHeader.substring(7);
+            final JwtPrincipal principal = jwtVerificationCache.verify(jwtToken);
+
+            if (tokenRevocations.isRevoked(principal.tokenId(), principal.expiresAt())) {
+                log.debug("Rejected revoked token {}", principal.tokenId());
+                JsonErrorWriter.write(response, TOKEN_REVOKED, null, request.getRequestURI());
+                return;
+            }
+
+            if (!tokenTypePolicy.accepts(principal, request.getRequestURI().substring(request.getContextPath().length()))) {
+                tokenFailureLog.warn("Rejected a {} token as the bearer token", principal.tokenType());
+                JsonErrorWriter.write(response, ACCESS_DENIED, null, request.getRequestURI());
+                return;
+            }
+
+                if(principal.email() !=null && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            principal,
+                            null,
+                            Collections.singletonList(new SimpleGrantedAuthority(principal.role() != null ?  principal.role() : "UNKNOWN")));
+
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    log.debug("Successfully authenticated user: {}", principal.email());
+                }
+
+            }  catch (ExpiredJwtException e)  {
+                tokenFailureLog.info("JWT token has expired: {}", e.getMessage());
+                JsonErrorWriter.write(response, TOKEN_EXPIRED, e.getMessage(), request.getRequestURI());
+                return;
+            } catch (JwtException e){
+                tokenFailureLog.warn("An error occurred while processing the JWT token: {}", e.getMessage());
+                JsonErrorWriter.write(response, ACCESS_DENIED, null, request.getRequestURI());
+                return;
+            } catch (Exception e) {
+            log.error("An unexpected error occurred during JWT authentication: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+        }
+}
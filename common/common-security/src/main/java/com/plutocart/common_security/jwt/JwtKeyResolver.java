@@ -0,0 +1,15 @@
+package com.plutocart.common_security.jwt;
+
+import java.security.Key;
+
+/**
+ * Supplies the key that verifies a token's signature, by the token's {@code kid} header.
+ */
+public interface JwtKeyResolver {
+
+    /**
+     * Returns the verification key for {@code keyId}, or {@code null} if the key is unknown.
+     * {@code keyId} is {@code null} for tokens issued before key ids were introduced.
+     */
+    Key resolve(String keyId);
+}
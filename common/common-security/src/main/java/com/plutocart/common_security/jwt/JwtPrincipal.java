@@ -0,0 +1,17 @@
+package com.plutocart.common_security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified JWT, built from a single parse of the token.
+ */
+public record JwtPrincipal(
+        UUID userId,
+        String email,
+        String role,
+        String tokenId,
+        String tokenType,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,168 @@
+package com.plutocart.common_security.jwt;
+
+import com.plutocart.common_exception.ErrorTemplate;
+import com.plutocart.common_exception.JsonErrorWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderNotFoundException;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+
+/**
+ * Stateless JWT authentication for servlet services that set {@code plutocart.security.jwt.enabled=true}.
+ * Tokens are verified in-process against keys from {@code plutocart.security.jwt.*}, unless
+ * the service defines its own {@link JwtKeyResolver} (user-service, which signs with the same keys), and
+ * revocations are only checked where a {@link TokenRevocations} bean exists. Services without
+ * a {@link SecurityFilterChain} of their own get one that requires {@code ROLE_ADMIN} on
+ * {@code plutocart.security.admin-paths}, permits {@code plutocart.security.public-paths}
+ * and requires a token everywhere else.
+ */
+@AutoConfiguration(
+        before = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class},
+        after = CompositeMeterRegistryAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(SecurityFilterChain.class)
+@ConditionalOnProperty(name = "plutocart.security.jwt.enabled", havingValue = "true")
+@EnableConfigurationProperties(JwtSecurityProperties.class)
+public class JwtSecurityAutoConfiguration {
+
+    private static final ErrorTemplate AUTHENTICATION_REQUIRED =
+            ErrorTemplate.of(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", "Authentication required: ");
+    private static final ErrorTemplate ACCESS_DENIED =
+            ErrorTemplate.of(HttpServletResponse.SC_FORBIDDEN, "Forbidden", "You are not authorised to Access this resource");
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtKeyResolver jwtKeyResolver(JwtSecurityProperties properties) {
+        JwtSecurityProperties.Jwt jwt = properties.jwt();
+        if (jwt.secret() == null || jwt.secret().isBlank()) {
+            throw new IllegalStateException("plutocart.security.jwt.secret must be set to verify tokens");
+        }
+        return new StaticJwtKeys(jwt.keyId(), jwt.secret(), jwt.verificationKeys());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(JwtKeyResolver keyResolver) {
+        return new JwtVerifier(keyResolver);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerificationCache jwtVerificationCache(JwtVerifier verifier,
+                                                     JwtSecurityProperties properties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        JwtSecurityProperties.Cache cache = properties.jwt().cache();
+        return new JwtVerificationCache(verifier, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                cache.maximumSize(), Duration.ofMillis(cache.maxTtlMillis()));
+    }
+
+    /**
+     * Only user-service keeps a denylist. Everywhere else a revoked access token is accepted
+     * until it expires, which user-service bounds by issuing access tokens for 5 minutes.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRevocations tokenRevocations() {
+        return TokenRevocations.NONE;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtVerificationCache verificationCache,
+                                                           TokenRevocations tokenRevocations,
+                                                           JwtSecurityProperties properties) {
+        return new JwtAuthenticationFilter(verificationCache, tokenRevocations,
+                new TokenTypePolicy(properties.refreshTokenPaths()));
+    }
+
+    /**
+     * Bearer tokens are the only credentials; this also keeps Spring Boot from creating its
+     * default user with a generated password.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthenticationManager jwtOnlyAuthenticationManager() {
+        return authentication -> {
+            throw new ProviderNotFoundException("Only bearer tokens are accepted");
+        };
+    }
+
+    /**
+     * The filter runs inside the security filter chain only, not a second time as a plain
+     * servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SecurityFilterChain.class)
+    public SecurityFilterChain jwtSecurityFilterChain(HttpSecurity http,
+                                                      JwtAuthenticationFilter jwtAuthenticationFilter,
+                                                      JwtSecurityProperties properties) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> {
+                    // Async and error dispatches belong to a request that was already authorised.
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll();
+                    // Admin paths come first, so a broader public pattern cannot open one.
+                    for (String path : properties.adminPaths()) {
+                        matching(auth, path).hasRole("ADMIN");
+                    }
+                    for (String path : properties.publicPaths()) {
+                        matching(auth, path).permitAll();
+                    }
+                    auth.anyRequest().authenticated();
+                })
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((request, response, authException) ->
+                                JsonErrorWriter.write(response, AUTHENTICATION_REQUIRED, authException.getMessage(), request.getRequestURI()))
+                        .accessDeniedHandler((request, response, accessDeniedException) ->
+                                JsonErrorWriter.write(response, ACCESS_DENIED, null, request.getRequestURI()))
+                )
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    /**
+     * Matches an Ant pattern, optionally prefixed with an HTTP method ({@code "POST /api/products"}).
+     */
+    private static AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizedUrl matching(
+            AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth, String path) {
+        int space = path.indexOf(' ');
+        if (space > 0) {
+            return auth.requestMatchers(HttpMethod.valueOf(path.substring(0, space)), path.substring(space + 1).trim());
+        }
+        return auth.requestMatchers(path);
+    }
+}
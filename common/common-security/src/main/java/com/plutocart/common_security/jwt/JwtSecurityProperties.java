@@ -0,0 +1,63 @@
+package com.plutocart.common_security.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code plutocart.security.*}. The secret and key ids must match the ones user-service
+ * signs with. Public paths are Ant patterns, optionally prefixed with an HTTP method
+ * ({@code "GET /api/products/**"}). Admin paths take the same form and require
+ * {@code ROLE_ADMIN}. Refresh-token paths are Ant patterns too: the only paths that take a
+ * refresh token as the bearer token (see {@link TokenTypePolicy}).
+ */
+@ConfigurationProperties(prefix = "plutocart.security")
+public record JwtSecurityProperties(Jwt jwt, List<String> publicPaths, List<String> adminPaths,
+                                    List<String> refreshTokenPaths) {
+
+    public JwtSecurityProperties {
+        if (jwt == null) {
+            jwt = new Jwt(null, null, null, null);
+        }
+        if (publicPaths == null) {
+            publicPaths = List.of();
+        }
+        if (adminPaths == null) {
+            adminPaths = List.of();
+        }
+        if (refreshTokenPaths == null) {
+            refreshTokenPaths = List.of();
+        }
+    }
+
+    public record Jwt(String secret, String keyId, Map<String, String> verificationKeys, Cache cache) {
+
+        public Jwt {
+            if (keyId == null) {
+                keyId = "primary";
+            }
+            if (verificationKeys == null) {
+                verificationKeys = Map.of();
+            }
+            if (cache == null) {
+                cache = new Cache(50_000, 300_000);
+            }
+        }
+    }
+
+    /**
+     * Verified tokens kept per service; an entry never outlives its token.
+     */
+    public record Cache(long maximumSize, long maxTtlMillis) {
+
+        public Cache {
+            if (maximumSize <= 0) {
+                maximumSize = 50_000;
+            }
+            if (maxTtlMillis <= 0) {
+                maxTtlMillis = 300_000;
+            }
+        }
+    }
+}
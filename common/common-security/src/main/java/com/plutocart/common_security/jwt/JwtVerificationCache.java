@@ -0,0 +1,72 @@
+package com.plutocart.common_security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps recently verified bearer tokens so repeated requests with the same token skip
+ * signature verification. Entries never outlive the token's own {@code exp} claim.
+ */
+public class JwtVerificationCache {
+
+    private final JwtVerifier verifier;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+    private final Timer verifyTimer;
+
+    public JwtVerificationCache(JwtVerifier verifier, MeterRegistry meterRegistry, long maximumSize, Duration maxTtl) {
+        this.verifier = verifier;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("Time to check a token signature and its claims")
+                .register(meterRegistry);
+    }
+
+    public JwtPrincipal verify(String token) {
+        return verifiedTokens.get(token, this::verifyTimed);
+    }
+
+    private JwtPrincipal verifyTimed(String token) {
+        long start = System.nanoTime();
+        try {
+            return verifier.verify(token);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void invalidate(String token) {
+        verifiedTokens.invalidate(token);
+    }
+
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+            long untilExpiry = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.plutocart.common_security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.security.Key;
+import java.util.UUID;
+
+/**
+ * Verifies bearer tokens locally with one {@link JwtParser}, built at startup and shared
+ * by all request threads. Keys are looked up through the {@link JwtKeyResolver} by the
+ * {@code kid} header on every parse.
+ */
+public class JwtVerifier {
+
+    private final JwtKeyResolver keyResolver;
+    private final JwtParser parser;
+
+    public JwtVerifier(JwtKeyResolver keyResolver) {
+        this.keyResolver = keyResolver;
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or not signed
+     *                                      by a known key
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new JwtPrincipal(
+                UUID.fromString(claims.get("id", String.class)),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId(),
+                claims.get("type", String.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private Key locateKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        Key key = keyResolver.resolve(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT signing key id: " + keyId);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,37 @@
+package com.plutocart.common_security.jwt;
+
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HMAC keys taken from configuration, derived once at startup. Services that only verify
+ * tokens use these; a rotation is rolled out by adding the new key id to
+ * {@code verification-keys} before user-service starts signing with it.
+ */
+public final class StaticJwtKeys implements JwtKeyResolver {
+
+    private final String legacyKeyId;
+    private final Map<String, SecretKey> keys;
+
+    public StaticJwtKeys(String keyId, String secret, Map<String, String> verificationKeys) {
+        Map<String, SecretKey> derived = new HashMap<>();
+        verificationKeys.forEach((id, value) -> derived.put(id, deriveKey(value)));
+        derived.put(keyId, deriveKey(secret));
+        this.legacyKeyId = keyId;
+        this.keys = Map.copyOf(derived);
+    }
+
+    @Override
+    public Key resolve(String keyId) {
+        return keys.get(keyId != null ? keyId : legacyKeyId);
+    }
+
+    private static SecretKey deriveKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.plutocart.common_security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Tells whether a verified token was revoked before it expired.
+ */
+public interface TokenRevocations {
+
+    /** For services that keep no revocation list; tokens stay valid until they expire. */
+    TokenRevocations NONE = (tokenId, expiresAt) -> false;
+
+    boolean isRevoked(String tokenId, Instant expiresAt);
+}
@@ -0,0 +1,38 @@
+package com.plutocart.common_security.jwt;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Which type of token a bearer token must be for a path. Refresh tokens live for days, so
+ * they are accepted only on {@code plutocart.security.refresh-token-paths} (user-service's
+ * refresh endpoint), and those paths take nothing else; every other path takes access
+ * tokens only.
+ */
+public final class TokenTypePolicy {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private final List<String> refreshTokenPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public TokenTypePolicy(List<String> refreshTokenPaths) {
+        this.refreshTokenPaths = List.copyOf(refreshTokenPaths);
+    }
+
+    public boolean accepts(JwtPrincipal principal, String path) {
+        String required = isRefreshPath(path) ? REFRESH : ACCESS;
+        return required.equals(principal.tokenType());
+    }
+
+    private boolean isRefreshPath(String path) {
+        for (String pattern : refreshTokenPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.plutocart.common_utils.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets through at most {@code permits} messages per interval for one log site and counts
+ * the rest. Past the limit, every {@code sampleEvery}-th message is still logged as a
+ * sample, so a sustained flood stays visible without flooding the log. A message that gets
+ * through reports how many were suppressed before it.
+ * Meant for events an attacker can trigger at will, such as failed logins or bad tokens.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+    private final int permits;
+    private final long intervalNanos;
+    private final int sampleEvery;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger emitted = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+    private final AtomicLong overLimit = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, int permits, Duration interval) {
+        this(logger, permits, interval, 0);
+    }
+
+    /**
+     * @param sampleEvery log one in this many messages past the limit; 0 logs none
+     */
+    public RateLimitedLogger(Logger logger, int permits, Duration interval, int sampleEvery) {
+        this.logger = logger;
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.sampleEvery = sampleEvery;
+    }
+
+    public void warn(String format, Object arg) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            long dropped = suppressed.sumThenReset();
+            if (dropped > 0) {
+                logger.warn(format + " ({} similar messages suppressed)", arg, dropped);
+            } else {
+                logger.warn(format, arg);
+            }
+        }
+    }
+
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            long dropped = suppressed.sumThenReset();
+            if (dropped > 0) {
+                logger.info(format + " ({} similar messages suppressed)", arg, dropped);
+            } else {
+                logger.info(format, arg);
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            emitted.set(0);
+        }
+        if (emitted.incrementAndGet() <= permits) {
+            return true;
+        }
+        if (sampleEvery > 0 && overLimit.incrementAndGet() % sampleEvery == 0) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+}
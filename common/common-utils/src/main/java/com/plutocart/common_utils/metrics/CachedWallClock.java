@@ -0,0 +1,48 @@
+package com.plutocart.common_utils.metrics;
+
+import io.micrometer.core.instrument.Clock;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer clock whose wall time is refreshed by a background thread every
+ * {@code resolution} instead of read from the OS on each call. Meters read wall time on
+ * every sample only to decide when to rotate their time windows (minutes apart), and on
+ * virtualised hosts without a fast clock source that read is a large share of the sample
+ * cost. Monotonic time, which timers measure durations with, still comes from
+ * {@link System#nanoTime()}.
+ */
+public class CachedWallClock implements Clock, AutoCloseable {
+
+    private final ScheduledExecutorService ticker;
+    private volatile long wallTime = System.currentTimeMillis();
+
+    public CachedWallClock(Duration resolution) {
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1, resolution.toMillis());
+        ticker.scheduleAtFixedRate(() -> wallTime = System.currentTimeMillis(),
+                periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long wallTime() {
+        return wallTime;
+    }
+
+    @Override
+    public long monotonicTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.plutocart.common_utils.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes a percentile histogram for every timer whose name starts with one of the
+ * configured prefixes, so Prometheus can compute p50/p99 across instances. Buckets are
+ * limited to {@code [minimum, maximum]} to keep the series count down. Client-side
+ * percentiles are left off on purpose: they add a lock to each sample, histograms only an
+ * array increment.
+ */
+public class LatencyHistogramMeterFilter implements MeterFilter {
+
+    private final List<String> prefixes;
+    private final DistributionStatisticConfig histogram;
+
+    public LatencyHistogramMeterFilter(List<String> prefixes, Duration minimum, Duration maximum) {
+        this.prefixes = List.copyOf(prefixes);
+        this.histogram = DistributionStatisticConfig.builder()
+                .percentilesHistogram(true)
+                .minimumExpectedValue((double) minimum.toNanos())
+                .maximumExpectedValue((double) maximum.toNanos())
+                .build();
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !matches(id.getName())) {
+            return config;
+        }
+        return histogram.merge(config);
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.plutocart.common_utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each repository method as {@code repository.calls}, tagged with the repository,
+ * the method and the exception it threw ({@code none} on success). The success timer is
+ * looked up once per method; failures go through the registry.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "repository.calls";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(invocation, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(invocation, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(MethodInvocation invocation, String exception) {
+        Class<?> repository = ClassUtils.getUserClass(invocation.getThis().getClass());
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent in repository methods")
+                .tag("repository", repository.getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("exception", exception)
+                .register(meterRegistry.getObject());
+    }
+}
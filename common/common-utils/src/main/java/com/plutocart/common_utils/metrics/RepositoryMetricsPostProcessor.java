@@ -0,0 +1,41 @@
+package com.plutocart.common_utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Adds {@link RepositoryMetricsInterceptor} to every {@code @Repository} bean, joining the
+ * bean's existing proxy (for example the {@code @Transactional} one) when it has one.
+ * Spring Data repositories are skipped, because Spring Boot already times them as
+ * {@code spring.data.repository.invocations}.
+ */
+public class RepositoryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final String SPRING_DATA_REPOSITORY = "org.springframework.data.repository.Repository";
+
+    private final Class<?> springDataRepository;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Repository.class, true),
+                new RepositoryMetricsInterceptor(meterRegistry));
+        this.springDataRepository = ClassUtils.isPresent(SPRING_DATA_REPOSITORY, getClass().getClassLoader())
+                ? ClassUtils.resolveClassName(SPRING_DATA_REPOSITORY, getClass().getClassLoader())
+                : null;
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+        if (springDataRepository != null && springDataRepository.isAssignableFrom(targetClass)) {
+            return false;
+        }
+        return super.isEligible(targetClass);
+    }
+}
@@ -0,0 +1,58 @@
+package com.plutocart.common_utils.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shared metrics setup for every service. The Prometheus registry comes in with
+ * {@code common-utils}, so each service can be scraped at {@code /prometheus} once the
+ * endpoint is exposed. On top of Spring Boot's HTTP, JVM, GC and Hikari meters this tags
+ * every meter with the application name, times {@code @Repository} methods and publishes
+ * latency histograms for the timers listed in {@code plutocart.metrics.histograms}. Meters
+ * read a {@link CachedWallClock}, which keeps a histogram sample under 100 ns.
+ */
+@AutoConfiguration(before = MetricsAutoConfiguration.class)
+@ConditionalOnProperty(name = "plutocart.metrics.enabled", matchIfMissing = true)
+public class ServiceMetricsAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public Clock micrometerClock(@Value("${plutocart.metrics.clock-resolution-millis:10}") long resolutionMillis) {
+        return new CachedWallClock(Duration.ofMillis(resolutionMillis));
+    }
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> applicationTagCustomizer(
+            @Value("${spring.application.name:application}") String application) {
+        return registry -> registry.config().commonTags("application", application);
+    }
+
+    @Bean
+    public MeterFilter latencyHistogramMeterFilter(
+            @Value("${plutocart.metrics.histograms:http.server.requests,password.hash,jwt,repository.calls,"
+                    + "spring.data.repository.invocations,hikaricp.connections,jvm.gc.pause}") List<String> prefixes,
+            @Value("${plutocart.metrics.histogram-min-micros:10}") long minimumMicros,
+            @Value("${plutocart.metrics.histogram-max-millis:30000}") long maximumMillis) {
+        return new LatencyHistogramMeterFilter(prefixes, Duration.ofNanos(minimumMicros * 1_000),
+                Duration.ofMillis(maximumMillis));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "plutocart.metrics.repositories.enabled", matchIfMissing = true)
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+}
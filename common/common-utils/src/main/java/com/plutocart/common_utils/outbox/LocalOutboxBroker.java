@@ -0,0 +1,31 @@
+package com.plutocart.common_utils.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * In-process stand-in for a message broker: hands every batch to each local
+ * {@link OutboxListener} in turn, in outbox order. Used when no other {@link OutboxBroker} is
+ * configured.
+ */
+@Slf4j
+public class LocalOutboxBroker implements OutboxBroker {
+
+    private final List<OutboxListener> listeners;
+
+    public LocalOutboxBroker(List<OutboxListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void send(List<OutboxMessage> batch) {
+        if (log.isDebugEnabled()) {
+            for (OutboxMessage message : batch) {
+                log.debug("Event {} {} for {} {}", message.eventType(), message.eventId(),
+                        message.aggregateType(), message.aggregateId());
+            }
+        }
+        listeners.forEach(listener -> listener.onEvents(batch));
+    }
+}
@@ -0,0 +1,67 @@
+package com.plutocart.common_utils.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes events to the {@value #TABLE} table. Events are written in the caller's
+ * transaction, so they exist exactly when the change they describe was committed;
+ * {@link OutboxRelay} ships them afterwards.
+ * <p>
+ * Each service creates the table in its own migrations, with at least: {@code id}
+ * (auto-increment primary key, the relay's order), {@code event_id}, {@code aggregate_type},
+ * {@code aggregate_id}, {@code event_type}, {@code payload} and {@code created_at}. The
+ * event id and the JSON payload are bound as strings, so their columns must accept text
+ * (e.g. {@code VARCHAR}/{@code TEXT} on Postgres, where {@code uuid}/{@code jsonb} do not).
+ */
+public class Outbox {
+
+    public static final String TABLE = "outbox_events";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void append(OutboxEvent event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Inserts the events in one JDBC batch. Must be called inside a transaction.
+     */
+    public void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of the change they describe");
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            rows.add(new Object[]{
+                    event.eventId().toString(), event.aggregateType(), event.aggregateId(), event.eventType(),
+                    toJson(event.payload()), Timestamp.from(event.createdAt())});
+        }
+        jdbcTemplate.batchUpdate("insert into " + TABLE
+                + " (event_id, aggregate_type, aggregate_id, event_type, payload, created_at) values (?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialized: " + ex.getOriginalMessage(), ex);
+        }
+    }
+}
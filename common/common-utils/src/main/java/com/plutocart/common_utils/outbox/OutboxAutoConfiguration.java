@@ -0,0 +1,60 @@
+package com.plutocart.common_utils.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * The transactional outbox for services that set {@code plutocart.outbox.enabled=true}
+ * and create the {@value Outbox#TABLE} table. Events go to the {@link LocalOutboxBroker}
+ * unless the service defines its own {@link OutboxBroker}.
+ */
+@AutoConfiguration(after = CompositeMeterRegistryAutoConfiguration.class)
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnProperty(name = "plutocart.outbox.enabled", havingValue = "true")
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Outbox outbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return new Outbox(jdbcTemplate, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxBroker outboxBroker(ObjectProvider<OutboxListener> listeners) {
+        return new LocalOutboxBroker(listeners.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "plutocart.outbox.relay.enabled", matchIfMissing = true)
+    public OutboxRelay outboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            OutboxBroker broker,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${plutocart.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${plutocart.outbox.relay.poll-interval-millis:200}") long pollIntervalMillis) {
+        return new OutboxRelay(
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                broker,
+                batchSize,
+                Duration.ofMillis(pollIntervalMillis),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
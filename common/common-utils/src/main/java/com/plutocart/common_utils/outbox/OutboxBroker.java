@@ -0,0 +1,12 @@
+package com.plutocart.common_utils.outbox;
+
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} ships events. {@link #send} must only return once the whole
+ * batch is accepted; throwing leaves the batch in the outbox to be retried.
+ */
+public interface OutboxBroker {
+
+    void send(List<OutboxMessage> batch);
+}
@@ -0,0 +1,21 @@
+package com.plutocart.common_utils.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An event to be written to the outbox. {@code payload} is serialized to JSON.
+ */
+public record OutboxEvent(
+        UUID eventId,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        Object payload,
+        Instant createdAt
+) {
+    public static OutboxEvent of(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        return new OutboxEvent(UUID.randomUUID(), aggregateType, String.valueOf(aggregateId), eventType, payload,
+                Instant.now());
+    }
+}
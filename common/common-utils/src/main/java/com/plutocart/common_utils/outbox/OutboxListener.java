@@ -0,0 +1,20 @@
+package com.plutocart.common_utils.outbox;
+
+import java.util.List;
+
+/**
+ * Receives events from {@link LocalOutboxBroker}, in the process that wrote them. It is
+ * called inside the relay's transaction: throwing leaves the whole batch in the outbox, to
+ * be delivered again on the next poll.
+ */
+public interface OutboxListener {
+
+    void onEvent(OutboxMessage message);
+
+    /**
+     * One relayed batch, in outbox order. Override to handle the batch as a whole.
+     */
+    default void onEvents(List<OutboxMessage> batch) {
+        batch.forEach(this::onEvent);
+    }
+}
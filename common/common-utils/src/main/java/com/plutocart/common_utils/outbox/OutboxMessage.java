@@ -0,0 +1,19 @@
+package com.plutocart.common_utils.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An outbox row as the relay ships it. Delivery is at least once: consumers should
+ * deduplicate on {@code eventId}.
+ */
+public record OutboxMessage(
+        long sequence,
+        UUID eventId,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        Instant createdAt
+) {
+}
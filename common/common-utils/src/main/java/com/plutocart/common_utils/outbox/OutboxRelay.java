@@ -0,0 +1,188 @@
+package com.plutocart.common_utils.outbox;
+
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ships outbox events to the {@link OutboxBroker} in batches and deletes them once sent.
+ * <p>
+ * Each batch is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so several
+ * instances can relay the same outbox without shipping an event twice at the same time;
+ * within a drain the relay seeks past the last id it shipped instead of rescanning from
+ * the start. A failed send rolls the batch back and it is retried on the next poll.
+ * Events of one aggregate are shipped in order as long as a single relay is running.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final RateLimitedLogger sendFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
+
+    private static final String SELECT_BATCH = "select id, event_id, aggregate_type, aggregate_id, event_type, payload, created_at"
+            + " from " + Outbox.TABLE + " where id > ? order by id limit ? for update skip locked";
+    private static final String DELETE = "delete from " + Outbox.TABLE + " where id = ?";
+    private static final String OLDEST = "select created_at from " + Outbox.TABLE + " order by id limit 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxBroker broker;
+    private final int batchSize;
+    private final Duration pollInterval;
+
+    /** Creation time of the oldest event still in the outbox, or 0 if it is empty. */
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private volatile ScheduledExecutorService scheduler;
+
+    private final Counter shipped;
+    private final DistributionSummary batchSizes;
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxBroker broker,
+                       int batchSize,
+                       Duration pollInterval,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.broker = broker;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+
+        this.shipped = Counter.builder("outbox.events.shipped").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size").register(meterRegistry);
+        this.sendTimer = Timer.builder("outbox.relay.send.time").register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.events.delivery.lag")
+                .description("Time from writing an event to shipping it")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", oldestPendingMillis, oldest -> {
+                    long millis = oldest.get();
+                    return millis == 0 ? 0 : Math.max(0, System.currentTimeMillis() - millis) / 1000.0;
+                })
+                .description("Age of the oldest event not shipped yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ships batches until the outbox is drained or a send fails. Returns the number of
+     * events shipped.
+     */
+    public int drain() {
+        int total = 0;
+        long after = 0;
+        try {
+            while (true) {
+                long from = after;
+                Batch batch = transactionTemplate.execute(status -> shipBatch(from));
+                if (batch == null || batch.count() == 0) {
+                    break;
+                }
+                total += batch.count();
+                after = batch.lastId();
+                if (batch.count() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            sendFailureLog.warn("Outbox relay failed, will retry: {}", ex.getMessage());
+        }
+        refreshOldest();
+        return total;
+    }
+
+    private Batch shipBatch(long after) {
+        List<OutboxMessage> messages = jdbcTemplate.query(SELECT_BATCH,
+                (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong(1),
+                        UUID.fromString(rs.getString(2)),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getTimestamp(7).toInstant()),
+                after, batchSize);
+        if (messages.isEmpty()) {
+            return new Batch(0, after);
+        }
+        sendTimer.record(() -> broker.send(messages));
+
+        List<Object[]> ids = new ArrayList<>(messages.size());
+        Instant now = Instant.now();
+        for (OutboxMessage message : messages) {
+            ids.add(new Object[]{message.sequence()});
+            deliveryLag.record(Duration.between(message.createdAt(), now));
+        }
+        jdbcTemplate.batchUpdate(DELETE, ids);
+        batchSizes.record(messages.size());
+        shipped.increment(messages.size());
+        return new Batch(messages.size(), messages.get(messages.size() - 1).sequence());
+    }
+
+    private void refreshOldest() {
+        try {
+            List<Instant> oldest = jdbcTemplate.query(OLDEST, (rs, rowNum) -> rs.getTimestamp(1).toInstant());
+            oldestPendingMillis.set(oldest.isEmpty() ? 0 : oldest.get(0).toEpochMilli());
+        } catch (RuntimeException ex) {
+            log.debug("Could not read outbox lag: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        var executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler = executor;
+        log.info("Outbox relay started (batch size {}, poll every {} ms)", batchSize, pollInterval.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        var executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        // Whatever was written during shutdown still goes out.
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private record Batch(int count, long lastId) {
+    }
+}
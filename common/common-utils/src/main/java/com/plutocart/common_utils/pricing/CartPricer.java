@@ -0,0 +1,38 @@
+package com.plutocart.common_utils.pricing;
+
+/**
+ * Prices a single cart line: a volume discount once a line reaches a minimum quantity, then
+ * tax on the discounted amount. Rates are in basis points and every amount is a long in
+ * minor units, rounded half up per line.
+ */
+public class CartPricer {
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private final String currency;
+    private final int taxRateBps;
+    private final int volumeMinQuantity;
+    private final int volumeDiscountBps;
+
+    public CartPricer(String currency, int taxRateBps, int volumeMinQuantity, int volumeDiscountBps) {
+        this.currency = currency;
+        this.taxRateBps = taxRateBps;
+        this.volumeMinQuantity = volumeMinQuantity;
+        this.volumeDiscountBps = volumeDiscountBps;
+    }
+
+    public String currency() {
+        return currency;
+    }
+
+    public PricedLine price(String sku, int quantity, long unitPriceMinor) {
+        long subtotal = Math.multiplyExact(unitPriceMinor, quantity);
+        long discount = quantity >= volumeMinQuantity ? percentOf(subtotal, volumeDiscountBps) : 0;
+        long tax = percentOf(subtotal - discount, taxRateBps);
+        return new PricedLine(sku, quantity, true, unitPriceMinor, subtotal, discount, tax, subtotal - discount + tax);
+    }
+
+    static long percentOf(long amount, int bps) {
+        return (Math.multiplyExact(amount, bps) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+}
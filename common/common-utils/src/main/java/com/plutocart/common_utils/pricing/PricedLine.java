@@ -0,0 +1,20 @@
+package com.plutocart.common_utils.pricing;
+
+/**
+ * Amounts of one cart line in minor units. An unpriced line (no known price yet, or the
+ * product is unavailable) has all amounts at zero and does not count towards the totals.
+ */
+public record PricedLine(
+        String sku,
+        int quantity,
+        boolean priced,
+        long unitPriceMinor,
+        long subtotalMinor,
+        long discountMinor,
+        long taxMinor,
+        long totalMinor
+) {
+    public static PricedLine unpriced(String sku, int quantity) {
+        return new PricedLine(sku, quantity, false, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.plutocart.common_utils.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * One set of pricing rules ({@code plutocart.pricing.*}) for every service that prices
+ * lines, so checkout charges exactly what the cart showed.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "plutocart.pricing.currency")
+public class PricingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CartPricer cartPricer(@Value("${plutocart.pricing.currency}") String currency,
+                                 @Value("${plutocart.pricing.tax-rate-bps}") int taxRateBps,
+                                 @Value("${plutocart.pricing.volume-discount.min-quantity}") int volumeMinQuantity,
+                                 @Value("${plutocart.pricing.volume-discount.rate-bps}") int volumeDiscountBps) {
+        return new CartPricer(currency, taxRateBps, volumeMinQuantity, volumeDiscountBps);
+    }
+}
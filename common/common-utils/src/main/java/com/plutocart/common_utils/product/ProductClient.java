@@ -0,0 +1,236 @@
+package com.plutocart.common_utils.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product lookups by SKU against product-service's bulk endpoint.
+ * <p>
+ * Answers come from a near-cache first (unknown SKUs are cached too). Misses are queued
+ * and sent together once the batch window closes or the batch is full, so concurrent
+ * callers share one request, and a SKU that is already on its way is never asked for
+ * twice. A lookup of up to {@code maxBatchSize} SKUs costs at most one round trip.
+ */
+public class ProductClient implements AutoCloseable {
+
+    private final RestClient restClient;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final Cache<String, Optional<ProductInfo>> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<ProductInfo>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Object batchLock = new Object();
+    private List<String> pending = new ArrayList<>();
+    private ScheduledFuture<?> pendingFlush;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final DistributionSummary batchSize;
+    private final Timer fetchTimer;
+
+    public ProductClient(RestClient restClient,
+                         Duration batchWindow,
+                         int maxBatchSize,
+                         Duration cacheTtl,
+                         long cacheMaximumSize,
+                         MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-client-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.cacheHits = Counter.builder("product.client.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("product.client.cache").tag("result", "miss").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("product.client.batch.size").register(meterRegistry);
+        this.fetchTimer = Timer.builder("product.client.fetch.time").register(meterRegistry);
+    }
+
+    /**
+     * Returns the products found for {@code skus}, keyed by normalized (trimmed,
+     * upper-case) SKU. Unknown SKUs are left out. Throws if product-service could not be
+     * reached.
+     */
+    public Map<String, ProductInfo> lookup(Collection<String> skus) {
+        try {
+            return lookupAsync(skus).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<Map<String, ProductInfo>> lookupAsync(Collection<String> skus) {
+        Map<String, ProductInfo> found = new HashMap<>();
+        Map<String, CompletableFuture<Optional<ProductInfo>>> waiting = new HashMap<>();
+        for (String sku : normalize(skus)) {
+            Optional<ProductInfo> cached = cache.getIfPresent(sku);
+            if (cached != null) {
+                cacheHits.increment();
+                cached.ifPresent(product -> found.put(sku, product));
+            } else {
+                cacheMisses.increment();
+                waiting.put(sku, load(sku));
+            }
+        }
+        if (waiting.isEmpty()) {
+            return CompletableFuture.completedFuture(found);
+        }
+        return CompletableFuture.allOf(waiting.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    waiting.forEach((sku, future) -> future.join().ifPresent(product -> found.put(sku, product)));
+                    return found;
+                });
+    }
+
+    public void invalidate(String sku) {
+        cache.invalidate(normalize(sku));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdown();
+    }
+
+    private CompletableFuture<Optional<ProductInfo>> load(String sku) {
+        CompletableFuture<Optional<ProductInfo>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<ProductInfo>> existing = inFlight.putIfAbsent(sku, created);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> full = null;
+        synchronized (batchLock) {
+            pending.add(sku);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pendingFlush == null) {
+                pendingFlush = scheduler.schedule(this::flushPending, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return created;
+    }
+
+    private void flushPending() {
+        List<String> batch;
+        synchronized (batchLock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Caller holds batchLock.
+    private List<String> takePending() {
+        List<String> batch = pending;
+        pending = new ArrayList<>();
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<String> batch) {
+        batchSize.record(batch.size());
+        fetchExecutor.execute(() -> fetch(batch));
+    }
+
+    private void fetch(List<String> batch) {
+        Map<String, ProductInfo> found = new HashMap<>();
+        try {
+            LookupResponse response = fetchTimer.record(() -> restClient.post()
+                    .uri("/api/products/lookup")
+                    .body(new LookupRequest(batch))
+                    .retrieve()
+                    .body(LookupResponse.class));
+            if (response != null && response.products() != null) {
+                response.products().forEach(product -> found.put(product.sku(), product.toInfo()));
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(sku -> {
+                CompletableFuture<Optional<ProductInfo>> future = inFlight.remove(sku);
+                if (future != null) {
+                    future.completeExceptionally(ex);
+                }
+            });
+            return;
+        }
+        for (String sku : batch) {
+            Optional<ProductInfo> product = Optional.ofNullable(found.get(sku));
+            // Cache before leaving inFlight so a concurrent caller always finds one or the other.
+            cache.put(sku, product);
+            CompletableFuture<Optional<ProductInfo>> future = inFlight.remove(sku);
+            if (future != null) {
+                future.complete(product);
+            }
+        }
+    }
+
+    private static Set<String> normalize(Collection<String> skus) {
+        Set<String> normalized = new LinkedHashSet<>(skus.size());
+        skus.forEach(sku -> normalized.add(normalize(sku)));
+        return normalized;
+    }
+
+    private static String normalize(String sku) {
+        return sku.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record LookupRequest(List<String> skus) {
+    }
+
+    private record LookupResponse(List<ProductPayload> products) {
+    }
+
+    private record ProductPayload(UUID id, String sku, String name, String category, String brand,
+                                  BigDecimal price, String currency, boolean active) {
+
+        ProductInfo toInfo() {
+            long priceMinor = price != null ? price.movePointRight(2).longValueExact() : 0;
+            return new ProductInfo(id, sku, name, category, brand, priceMinor, currency, active);
+        }
+    }
+}
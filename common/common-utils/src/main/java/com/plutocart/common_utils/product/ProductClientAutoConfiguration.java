@@ -0,0 +1,52 @@
+package com.plutocart.common_utils.product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * A {@link ProductClient} for any service that sets {@code plutocart.product-client.base-url}.
+ */
+@AutoConfiguration(after = {RestClientAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class})
+@ConditionalOnProperty(name = "plutocart.product-client.base-url")
+public class ProductClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProductClient productClient(
+            RestClient.Builder builder,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${plutocart.product-client.base-url}") String baseUrl,
+            @Value("${plutocart.product-client.timeout-millis:2000}") long timeoutMillis,
+            @Value("${plutocart.product-client.batch-window-millis:2}") long batchWindowMillis,
+            @Value("${plutocart.product-client.max-batch-size:200}") int maxBatchSize,
+            @Value("${plutocart.product-client.cache.ttl-millis:30000}") long cacheTtlMillis,
+            @Value("${plutocart.product-client.cache.maximum-size:100000}") long cacheMaximumSize) {
+        var settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(Duration.ofMillis(timeoutMillis))
+                .withReadTimeout(Duration.ofMillis(timeoutMillis));
+        RestClient restClient = builder
+                .baseUrl(baseUrl)
+                .requestFactory(ClientHttpRequestFactories.get(settings))
+                .build();
+        return new ProductClient(
+                restClient,
+                Duration.ofMillis(batchWindowMillis),
+                maxBatchSize,
+                Duration.ofMillis(cacheTtlMillis),
+                cacheMaximumSize,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,19 @@
+package com.plutocart.common_utils.product;
+
+import java.util.UUID;
+
+/**
+ * What other services need to know about a product. The price is in minor units of
+ * {@code currency}.
+ */
+public record ProductInfo(
+        UUID id,
+        String sku,
+        String name,
+        String category,
+        String brand,
+        long priceMinor,
+        String currency,
+        boolean active
+) {
+}
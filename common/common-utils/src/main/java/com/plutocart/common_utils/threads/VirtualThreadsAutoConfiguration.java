@@ -0,0 +1,33 @@
+package com.plutocart.common_utils.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode shared by all services. Setting
+ * {@code spring.threads.virtual.enabled=true} makes Spring Boot serve Tomcat requests
+ * and {@code @Async} tasks on virtual threads, so JDBC calls made from those requests run
+ * on virtual threads as well. This adds pinning detection on top.
+ */
+@AutoConfiguration(after = CompositeMeterRegistryAutoConfiguration.class)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(name = "plutocart.threads.pinning-monitor.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${plutocart.threads.pinning-monitor.threshold-millis:20}") long thresholdMillis) {
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMillis));
+    }
+}
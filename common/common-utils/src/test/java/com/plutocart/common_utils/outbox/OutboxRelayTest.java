@@ -0,0 +1,135 @@
+package com.plutocart.common_utils.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The relay against an outbox table kept in memory behind a mocked {@link JdbcTemplate}.
+ */
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    /** The outbox table, by id. */
+    private final TreeMap<Long, OutboxMessage> table = new TreeMap<>();
+    /** Ids of the rows each delete removed. */
+    private final List<List<Long>> deletes = new ArrayList<>();
+    private final RecordingBroker broker = new RecordingBroker();
+    private final OutboxRelay relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager),
+            broker, BATCH_SIZE, Duration.ofMillis(200), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void mapTable() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(jdbcTemplate.query(startsWith("select id"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(2);
+                    int limit = invocation.getArgument(3);
+                    return table.tailMap(after, false).values().stream().limit(limit).toList();
+                });
+        doAnswer(invocation -> {
+            List<Object[]> ids = invocation.getArgument(1);
+            List<Long> deleted = ids.stream().map(row -> (Long) row[0]).toList();
+            deleted.forEach(table::remove);
+            deletes.add(deleted);
+            return new int[ids.size()];
+        }).when(jdbcTemplate).batchUpdate(startsWith("delete"), anyList());
+    }
+
+    @Test
+    void drainShipsEverythingInBatchesAndDeletesWhatItShipped() {
+        write(1, 2, 3, 4, 5);
+
+        assertThat(relay.drain()).isEqualTo(5);
+
+        assertThat(broker.sent).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        assertThat(deletes).isEqualTo(broker.sent);
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void anEmptyOutboxShipsNothing() {
+        assertThat(relay.drain()).isZero();
+
+        assertThat(broker.sent).isEmpty();
+        assertThat(deletes).isEmpty();
+    }
+
+    @Test
+    void aFailedSendKeepsItsBatchForTheNextPoll() {
+        write(1, 2, 3, 4, 5);
+        broker.failOnCall = 2;
+
+        assertThat(relay.drain()).isEqualTo(2);
+
+        assertThat(deletes).containsExactly(List.of(1L, 2L));
+        assertThat(table).containsOnlyKeys(3L, 4L, 5L);
+
+        assertThat(relay.drain()).isEqualTo(3);
+
+        assertThat(broker.sent).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(3L, 4L), List.of(5L));
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void rowsWrittenDuringASendAreLeftForTheirOwnBatch() {
+        write(1, 2);
+        // Another transaction commits row 3 while the first batch is on its way.
+        broker.duringSend = () -> write(3);
+
+        assertThat(relay.drain()).isEqualTo(3);
+
+        assertThat(deletes).containsExactly(List.of(1L, 2L), List.of(3L));
+        assertThat(broker.sent).containsExactly(List.of(1L, 2L), List.of(3L));
+    }
+
+    private void write(long... ids) {
+        for (long id : ids) {
+            table.put(id, new OutboxMessage(id, UUID.randomUUID(), "order", "order-" + id, "OrderPlaced", "{}",
+                    Instant.now()));
+        }
+    }
+
+    private static final class RecordingBroker implements OutboxBroker {
+
+        final List<List<Long>> sent = new ArrayList<>();
+        int failOnCall;
+        Runnable duringSend;
+
+        @Override
+        public void send(List<OutboxMessage> batch) {
+            sent.add(batch.stream().map(OutboxMessage::sequence).toList());
+            if (duringSend != null) {
+                Runnable once = duringSend;
+                duringSend = null;
+                once.run();
+            }
+            if (sent.size() == failOnCall) {
+                throw new IllegalStateException("broker unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.plutocart.load_tests;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A throwaway PostgreSQL for user-service, so a load test needs neither Docker nor an
+ * installed database. Creates the role and database from the {@code db.*} settings and
+ * runs until the process is stopped; user-service creates the schema with Flyway when it
+ * starts against it.
+ */
+public final class EmbeddedUserDatabase {
+
+    private EmbeddedUserDatabase() {
+    }
+
+    public static void run(LoadTestSettings settings) throws IOException, SQLException, InterruptedException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setPort(settings.dbPort())
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                System.err.println("Could not stop PostgreSQL: " + e.getMessage());
+            }
+        }));
+
+        String database = databaseName(settings.dbUrl());
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create role " + settings.dbUsername() + " login password '"
+                    + settings.dbPassword().replace("'", "''") + "'");
+            statement.execute("create database " + database + " owner " + settings.dbUsername());
+        }
+        System.out.printf("PostgreSQL ready on port %d, database %s owned by %s. Stop with Ctrl+C.%n",
+                settings.dbPort(), database, settings.dbUsername());
+        Thread.currentThread().join();
+    }
+
+    static String databaseName(String jdbcUrl) {
+        String path = URI.create(jdbcUrl.substring("jdbc:".length())).getPath();
+        return path.substring(1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.plutocart.load_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a run checked against the SLOs: per operation a p99 limit, plus one limit on
+ * the share of failed requests. Writes {@code <operation>.hgrm} percentile distributions
+ * (milliseconds) and a {@code summary.json} next to the interval log.
+ */
+public class LatencyReport {
+
+    private final LoadTestSettings settings;
+    private final List<OperationResult> results = new ArrayList<>();
+    private final double maxDispatchLagMillis;
+
+    LatencyReport(LoadTestSettings settings,
+                  Map<Operation, Histogram> latencies,
+                  Map<Operation, LongAdder> errors,
+                  Map<Operation, Map<Integer, LongAdder>> statuses,
+                  long maxDispatchLagNanos) {
+        this.settings = settings;
+        this.maxDispatchLagMillis = maxDispatchLagNanos / 1e6;
+        latencies.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            long count = histogram.getTotalCount();
+            long failed = errors.get(operation).sum();
+            var statusCounts = new TreeMap<Integer, Long>();
+            statuses.get(operation).forEach((status, adder) -> statusCounts.put(status, adder.sum()));
+            double p99 = millis(histogram, 99);
+            long slo = settings.p99SloMillis().get(operation);
+            double errorPercent = 100.0 * failed / count;
+            results.add(new OperationResult(operation, histogram, count, failed, statusCounts,
+                    millis(histogram, 50), millis(histogram, 90), p99, millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, slo,
+                    p99 <= slo && errorPercent <= settings.maxErrorPercent()));
+        });
+    }
+
+    public boolean passed() {
+        return !results.isEmpty() && results.stream().allMatch(OperationResult::passed);
+    }
+
+    public void write(PrintStream out) throws IOException {
+        out.println();
+        out.printf("%-9s %8s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "slo p99", "result");
+        for (OperationResult result : results) {
+            out.printf("%-9s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9d  %s%n",
+                    result.operation().key(), result.requests(), result.errors(), result.p50Millis(),
+                    result.p90Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis(),
+                    result.sloP99Millis(), result.passed() ? "PASS" : "FAIL");
+            try (var hgrm = new PrintStream(Files.newOutputStream(
+                    settings.reportDir().resolve(result.operation().key() + ".hgrm")))) {
+                result.histogram().outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        if (maxDispatchLagMillis > 10) {
+            out.printf("Warning: the generator started some requests up to %.1f ms late; it is short of CPU "
+                    + "(sharing the machine with the service?) and the delay counts towards the latencies.%n",
+                    maxDispatchLagMillis);
+        }
+        out.printf("%s (p99 SLOs, at most %.1f%% errors). Reports in %s%n",
+                passed() ? "PASS" : "FAIL", settings.maxErrorPercent(), settings.reportDir().toAbsolutePath());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("baseUrl", settings.baseUrl());
+        summary.put("rate", settings.rate());
+        summary.put("durationSeconds", settings.duration().toSeconds());
+        summary.put("maxDispatchLagMillis", maxDispatchLagMillis);
+        summary.put("passed", passed());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationResult result : results) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("requests", result.requests());
+            operation.put("errors", result.errors());
+            operation.put("statuses", result.statuses());
+            operation.put("p50Millis", result.p50Millis());
+            operation.put("p90Millis", result.p90Millis());
+            operation.put("p99Millis", result.p99Millis());
+            operation.put("p999Millis", result.p999Millis());
+            operation.put("maxMillis", result.maxMillis());
+            operation.put("sloP99Millis", result.sloP99Millis());
+            operation.put("passed", result.passed());
+            operations.put(result.operation().key(), operation);
+        }
+        summary.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.reportDir().resolve("summary.json").toFile(), summary);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private record OperationResult(Operation operation, Histogram histogram, long requests, long errors,
+                                   Map<Integer, Long> statuses, double p50Millis, double p90Millis,
+                                   double p99Millis, double p999Millis, double maxMillis,
+                                   long sloP99Millis, boolean passed) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.plutocart.load_tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code load-tests.jar}:
+ * <ul>
+ *   <li>{@code db}: starts an embedded PostgreSQL for user-service and keeps it running.</li>
+ *   <li>{@code seed}: writes the synthetic users into user-service's database.</li>
+ *   <li>{@code run} (default): runs the load test and exits non-zero if an SLO is missed.</li>
+ * </ul>
+ * Settings come from {@code load-test.properties}; see {@link LoadTestSettings} for overrides.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = "run";
+        Map<String, String> overrides = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                overrides.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                command = arg;
+            }
+        }
+        LoadTestSettings settings = LoadTestSettings.load(overrides);
+
+        switch (command) {
+            case "db" -> EmbeddedUserDatabase.run(settings);
+            case "seed" -> UserSeeder.run(settings);
+            case "run" -> {
+                LatencyReport report = new OpenModelDriver(settings, new UserApiClient(settings), System.out).run();
+                report.write(System.out);
+                System.exit(report.passed() ? 0 : 1);
+            }
+            default -> {
+                System.err.println("usage: java -jar load-tests.jar [db|seed|run] [--config=<file>] [--<setting>=<value>]");
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.plutocart.load_tests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings of a load test run, read from {@code load-test.properties} and overridden by a
+ * {@code --config} file, then {@code --key=value} arguments, then {@code -Dloadtest.key=value}.
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        HttpClient.Version httpVersion,
+        Duration requestTimeout,
+        double rate,
+        boolean poissonArrivals,
+        Duration warmup,
+        Duration duration,
+        long randomSeed,
+        Map<Operation, Integer> mix,
+        int users,
+        int sessions,
+        String userPassword,
+        int bcryptStrength,
+        Map<Operation, Long> p99SloMillis,
+        double maxErrorPercent,
+        Path reportDir,
+        Duration reportInterval,
+        int dbPort,
+        String dbUrl,
+        String dbUsername,
+        String dbPassword) {
+
+    private static final String PREFIX = "loadtest.";
+
+    public static LoadTestSettings load(Map<String, String> arguments) throws IOException {
+        var properties = new Properties();
+        try (InputStream defaults = LoadTestSettings.class.getResourceAsStream("/load-test.properties")) {
+            properties.load(defaults);
+        }
+        String config = arguments.get("config");
+        if (config != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(config))) {
+                properties.load(reader);
+            }
+        }
+        arguments.forEach((key, value) -> properties.setProperty(PREFIX + key, value));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        return from(properties);
+    }
+
+    static LoadTestSettings from(Properties properties) {
+        var mix = new EnumMap<Operation, Integer>(Operation.class);
+        var slos = new EnumMap<Operation, Long>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, Integer.parseInt(required(properties, "mix." + operation.key())));
+            slos.put(operation, Long.parseLong(required(properties, "slo.p99-millis." + operation.key())));
+        }
+        String arrival = required(properties, "arrival");
+        if (!arrival.equals("poisson") && !arrival.equals("uniform")) {
+            throw new IllegalArgumentException("loadtest.arrival must be poisson or uniform, not " + arrival);
+        }
+        var settings = new LoadTestSettings(
+                required(properties, "base-url"),
+                HttpClient.Version.valueOf(required(properties, "http-version")),
+                Duration.ofMillis(Long.parseLong(required(properties, "request-timeout-millis"))),
+                Double.parseDouble(required(properties, "rate")),
+                arrival.equals("poisson"),
+                Duration.ofSeconds(Long.parseLong(required(properties, "warmup-seconds"))),
+                Duration.ofSeconds(Long.parseLong(required(properties, "duration-seconds"))),
+                Long.parseLong(required(properties, "random-seed")),
+                mix,
+                Integer.parseInt(required(properties, "users")),
+                Integer.parseInt(required(properties, "sessions")),
+                required(properties, "user-password"),
+                Integer.parseInt(required(properties, "bcrypt-strength")),
+                slos,
+                Double.parseDouble(required(properties, "slo.max-error-percent")),
+                Path.of(required(properties, "report-dir")),
+                Duration.ofSeconds(Long.parseLong(required(properties, "report-interval-seconds"))),
+                Integer.parseInt(required(properties, "db.port")),
+                required(properties, "db.url"),
+                required(properties, "db.username"),
+                required(properties, "db.password"));
+        if (settings.rate <= 0 || settings.users <= 0 || settings.sessions <= 0 || settings.sessions > settings.users) {
+            throw new IllegalArgumentException("loadtest.rate and loadtest.users must be positive and "
+                    + "loadtest.sessions between 1 and loadtest.users");
+        }
+        if (mix.values().stream().anyMatch(weight -> weight < 0) || mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix.* weights must be non-negative with at least one positive");
+        }
+        return settings;
+    }
+
+    /** Email of synthetic user {@code index}; the seeder and the run agree on it. */
+    public static String syntheticEmail(int index) {
+        return "loadtest-" + index + "@plutocart.test";
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing setting " + PREFIX + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,253 @@
+package com.plutocart.load_tests;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the user API with an open workload: requests start on their own virtual thread at
+ * the configured arrival rate, however long earlier ones take, so a slow server builds up
+ * a queue instead of slowing the load down. Latency is measured from the time a request was
+ * due, not from when it was sent, so stalls of the generator itself are not hidden
+ * (no coordinated omission).
+ * <p>
+ * The schedule (arrival times, operation mix and the user each request acts as) comes from
+ * a seeded {@link Random}, so two runs with the same settings send the same traffic.
+ */
+public class OpenModelDriver {
+
+    private static final int SETUP_LOGIN_CONCURRENCY = 4;
+    private static final int SETUP_LOGIN_ATTEMPTS = 3;
+
+    private final LoadTestSettings settings;
+    private final UserApiClient client;
+    private final PrintStream out;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+    private final AtomicLong maxDispatchLagNanos = new AtomicLong();
+
+    public OpenModelDriver(LoadTestSettings settings, UserApiClient client, PrintStream out) {
+        this.settings = settings;
+        this.client = client;
+        this.out = out;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            totals.put(operation, new Histogram(3));
+            errors.put(operation, new LongAdder());
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    public LatencyReport run() throws IOException, InterruptedException {
+        List<UserApiClient.Session> sessions = logIn();
+        Files.createDirectories(settings.reportDir());
+
+        Operation[] picks = weightedPicks();
+        var random = new Random(settings.randomSeed());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long registrations = 0;
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        long due = start;
+        out.printf("Warming up for %ds, then measuring %ds at %.1f req/s (%s arrivals)%n",
+                settings.warmup().toSeconds(), settings.duration().toSeconds(), settings.rate(),
+                settings.poissonArrivals() ? "poisson" : "uniform");
+
+        try (var logWriter = new IntervalLog(settings, measureFrom);
+             ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread reporter = Thread.ofPlatform().daemon().name("load-test-reporter")
+                    .start(() -> reportIntervals(logWriter, measureFrom));
+            while (true) {
+                due += nextGapNanos(random);
+                if (due >= end) {
+                    break;
+                }
+                Operation operation = picks[random.nextInt(picks.length)];
+                int user = random.nextInt(operation == Operation.LOGIN ? settings.users() : sessions.size());
+                long registration = operation == Operation.REGISTER ? registrations++ : 0;
+                boolean measured = due >= measureFrom;
+
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                maxDispatchLagNanos.accumulateAndGet(-wait, Math::max);
+                long dueAt = due;
+                requests.execute(() -> execute(operation, dueAt, measured,
+                        operation == Operation.LOGIN ? null : sessions.get(user), user, runId, registration));
+            }
+            requests.shutdown();
+            requests.awaitTermination(settings.requestTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+            reporter.interrupt();
+            reporter.join();
+            collectInterval(logWriter);
+        }
+        return new LatencyReport(settings, totals, errors, statuses, maxDispatchLagNanos.get());
+    }
+
+    private List<UserApiClient.Session> logIn() throws InterruptedException {
+        out.printf("Logging in %d synthetic users%n", settings.sessions());
+        var sessions = new UserApiClient.Session[settings.sessions()];
+        // A few at a time: every login is a BCrypt check, and a burst would overrun user-service's hashing queue.
+        try (ExecutorService logins = Executors.newFixedThreadPool(SETUP_LOGIN_CONCURRENCY, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < sessions.length; i++) {
+                int user = i;
+                logins.execute(() -> {
+                    String email = LoadTestSettings.syntheticEmail(user);
+                    try {
+                        for (int attempt = 1; sessions[user] == null && attempt <= SETUP_LOGIN_ATTEMPTS; attempt++) {
+                            sessions[user] = client.login(email, settings.userPassword());
+                        }
+                    } catch (IOException e) {
+                        out.printf("Login of %s failed: %s%n", email, e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+        var loggedIn = new ArrayList<UserApiClient.Session>(sessions.length);
+        for (UserApiClient.Session session : sessions) {
+            if (session == null) {
+                throw new IllegalStateException("Could not log in the synthetic users; is user-service up at "
+                        + settings.baseUrl() + " and were the users seeded with the same password?");
+            }
+            loggedIn.add(session);
+        }
+        return loggedIn;
+    }
+
+    private void execute(Operation operation, long due, boolean measured, UserApiClient.Session session, int user,
+                         String runId, long registration) {
+        int status;
+        try {
+            status = switch (operation) {
+                case PROFILE -> client.profile(session);
+                case REFRESH -> client.refresh(session);
+                case LOGIN -> client.loginStatus(LoadTestSettings.syntheticEmail(user), settings.userPassword());
+                case REGISTER -> client.register("loadtest-" + runId + "-" + registration + "@plutocart.test",
+                        settings.userPassword(), "Load Test " + registration, String.format("8%09d", registration % 1_000_000_000));
+            };
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        if (!measured) {
+            return;
+        }
+        recorders.get(operation).recordValue(Math.max(1, (System.nanoTime() - due) / 1_000));
+        statuses.get(operation).computeIfAbsent(status, code -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private long nextGapNanos(Random random) {
+        double meanGapNanos = 1e9 / settings.rate();
+        if (!settings.poissonArrivals()) {
+            return Math.round(meanGapNanos);
+        }
+        return Math.round(-Math.log(1 - random.nextDouble()) * meanGapNanos);
+    }
+
+    /** Each operation appears in proportion to its weight, so a uniform pick follows the mix. */
+    private Operation[] weightedPicks() {
+        var picks = new ArrayList<Operation>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                picks.add(operation);
+            }
+        });
+        return picks.toArray(Operation[]::new);
+    }
+
+    private void reportIntervals(IntervalLog logWriter, long measureFrom) {
+        try {
+            long untilMeasuring = measureFrom - System.nanoTime();
+            if (untilMeasuring > 0) {
+                TimeUnit.NANOSECONDS.sleep(untilMeasuring);
+            }
+            // Starts every recorder's first interval here rather than when it was created.
+            recorders.values().forEach(Recorder::reset);
+            while (true) {
+                TimeUnit.MILLISECONDS.sleep(settings.reportInterval().toMillis());
+                collectInterval(logWriter);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void collectInterval(IntervalLog logWriter) {
+        var line = new StringBuilder(String.format("%6.1fs", logWriter.elapsedSeconds()));
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram();
+            totals.get(operation).add(interval);
+            logWriter.write(operation, interval);
+            if (interval.getTotalCount() > 0) {
+                line.append(String.format("  %s n=%d p99=%.1fms", operation.key(), interval.getTotalCount(),
+                        interval.getValueAtPercentile(99) / 1000.0));
+            }
+        }
+        out.println(line);
+    }
+
+    /** Every interval's histograms, tagged by operation, for HdrHistogram's log tools. */
+    private static final class IntervalLog implements AutoCloseable {
+
+        private final PrintStream file;
+        private final HistogramLogWriter writer;
+        private final long measureFromNanos;
+
+        IntervalLog(LoadTestSettings settings, long measureFromNanos) throws IOException {
+            this.file = new PrintStream(Files.newOutputStream(settings.reportDir().resolve("latency.hlog")));
+            this.writer = new HistogramLogWriter(file);
+            this.measureFromNanos = measureFromNanos;
+            long baseMillis = System.currentTimeMillis()
+                    + TimeUnit.NANOSECONDS.toMillis(measureFromNanos - System.nanoTime());
+            writer.outputComment("Latency in microseconds from the time each request was due");
+            writer.outputLogFormatVersion();
+            writer.setBaseTime(baseMillis);
+            writer.outputBaseTime(baseMillis);
+            writer.outputStartTime(baseMillis);
+            writer.outputLegend();
+        }
+
+        double elapsedSeconds() {
+            return (System.nanoTime() - measureFromNanos) / 1e9;
+        }
+
+        void write(Operation operation, Histogram interval) {
+            interval.setTag(operation.key());
+            writer.outputIntervalHistogram(interval);
+        }
+
+        @Override
+        public void close() {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.plutocart.load_tests;
+
+/**
+ * The user API calls a load test mixes. The key names each one in the {@code mix.*} and
+ * {@code slo.p99-millis.*} settings and in the reports.
+ */
+public enum Operation {
+
+    PROFILE("profile"),
+    REFRESH("refresh"),
+    LOGIN("login"),
+    REGISTER("register");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,105 @@
+package com.plutocart.load_tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * The user API endpoints a load test calls. Each call returns the HTTP status; transport
+ * failures and timeouts surface as exceptions.
+ */
+public class UserApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadTestSettings settings;
+
+    public UserApiClient(LoadTestSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(settings.httpVersion())
+                .connectTimeout(settings.requestTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /** Logs in and returns the session, or {@code null} if the credentials were refused. */
+    public Session login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/users/login", Map.of("username", email, "password", password)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return new Session(body.path("accessToken").asText(), body.path("refreshToken").asText());
+    }
+
+    public int loginStatus(String email, String password) throws IOException, InterruptedException {
+        return send(post("/api/users/login", Map.of("username", email, "password", password)),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public int profile(Session session) throws IOException, InterruptedException {
+        return send(get("/api/users/me", session.accessToken), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Swaps the session's access token for a fresh one, as a client does when it expires. */
+    public int refresh(Session session) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(get("/api/users/refresh-token", session.refreshToken),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            session.accessToken = response.body();
+        }
+        return response.statusCode();
+    }
+
+    public int register(String email, String password, String fullName, String phoneNumber)
+            throws IOException, InterruptedException {
+        return send(post("/api/users/register",
+                        Map.of("email", email, "password", password, "fullName", fullName, "phoneNumber", phoneNumber)),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws IOException {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(settings.requestTimeout());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request, handler);
+    }
+
+    /** A logged-in synthetic user; refreshes replace the access token. */
+    public static final class Session {
+
+        private volatile String accessToken;
+        private final String refreshToken;
+
+        Session(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+    }
+}
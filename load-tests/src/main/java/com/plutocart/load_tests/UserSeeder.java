@@ -0,0 +1,60 @@
+package com.plutocart.load_tests;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Writes the synthetic users straight into user-service's database, far faster than
+ * registering them through the API. They share one password hash, made at the cost
+ * user-service starts with, so logging in costs what it costs a real user. Already
+ * present users are left alone, so seeding twice is harmless.
+ */
+public final class UserSeeder {
+
+    private static final int BATCH_SIZE = 1_000;
+    /** What registration stores; the column's default ('CUSTOMER') would not pass the ROLE_CUSTOMER checks. */
+    private static final String USER_TYPE = "ROLE_CUSTOMER";
+
+    private UserSeeder() {
+    }
+
+    public static void run(LoadTestSettings settings) throws SQLException {
+        String passwordHash = "{bcrypt}" + new BCryptPasswordEncoder(settings.bcryptStrength())
+                .encode(settings.userPassword());
+        var now = Timestamp.from(Instant.now());
+        int inserted = 0;
+        try (Connection connection = DriverManager.getConnection(settings.dbUrl(), settings.dbUsername(), settings.dbPassword());
+             PreparedStatement insert = connection.prepareStatement("""
+                     insert into users (id, email, password_hash, full_name, phone_number, user_type, created_at, updated_at)
+                     values (?, ?, ?, ?, ?, ?, ?, ?)
+                     on conflict ((lower(email))) do nothing
+                     """)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < settings.users(); i++) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, LoadTestSettings.syntheticEmail(i));
+                insert.setString(3, passwordHash);
+                insert.setString(4, "Load Test " + i);
+                insert.setString(5, String.format("9%09d", i));
+                insert.setString(6, USER_TYPE);
+                insert.setTimestamp(7, now);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == settings.users() - 1) {
+                    for (int count : insert.executeBatch()) {
+                        inserted += count;
+                    }
+                    connection.commit();
+                }
+            }
+        }
+        System.out.printf("Seeded %d of %d synthetic users (the rest already existed).%n", inserted, settings.users());
+    }
+}
@@ -0,0 +1,18 @@
+package com.plutocart.cart_service.config;
+
+import com.plutocart.cart_service.pricing.PriceSource;
+import com.plutocart.cart_service.pricing.ProductClientPriceSource;
+import com.plutocart.common_utils.product.ProductClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PricingConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PriceSource priceSource(ProductClient productClient) {
+        return new ProductClientPriceSource(productClient);
+    }
+}
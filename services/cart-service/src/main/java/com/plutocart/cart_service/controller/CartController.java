@@ -0,0 +1,56 @@
+package com.plutocart.cart_service.controller;
+
+import com.plutocart.cart_service.dto.CartItemRequest;
+import com.plutocart.cart_service.dto.CartResponse;
+import com.plutocart.cart_service.dto.QuantityUpdateRequest;
+import com.plutocart.cart_service.service.CartService;
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The caller's cart. The user id comes from the caller's bearer token, verified in-process
+ * by the common-security filter. Path SKUs are checked against the cart_items column
+ * length here, since a line is created for any SKU not yet in the cart.
+ */
+@RestController
+@RequestMapping("/api/cart")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final CartService cartService;
+
+    @GetMapping
+    public ResponseEntity<CartResponse> getCart(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(cartService.getCart(principal.userId()));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<CartResponse> addItem(@AuthenticationPrincipal JwtPrincipal principal,
+                                                @Valid @RequestBody CartItemRequest request) {
+        return ResponseEntity.ok(cartService.addItem(principal.userId(), request));
+    }
+
+    @PutMapping("/items/{sku}")
+    public ResponseEntity<CartResponse> updateQuantity(@AuthenticationPrincipal JwtPrincipal principal,
+                                                       @PathVariable @Size(max = 64, message = "SKU must not exceed 64 characters") String sku,
+                                                       @Valid @RequestBody QuantityUpdateRequest request) {
+        return ResponseEntity.ok(cartService.updateQuantity(principal.userId(), sku, request.quantity()));
+    }
+
+    @DeleteMapping("/items/{sku}")
+    public ResponseEntity<CartResponse> removeItem(@AuthenticationPrincipal JwtPrincipal principal,
+                                                   @PathVariable @Size(max = 64, message = "SKU must not exceed 64 characters") String sku) {
+        return ResponseEntity.ok(cartService.removeItem(principal.userId(), sku));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear(@AuthenticationPrincipal JwtPrincipal principal) {
+        cartService.clear(principal.userId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.plutocart.cart_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Locale;
+
+public record CartItemRequest(
+
+        @NotBlank(message = "SKU is required")
+        @Size(max = 64, message = "SKU must not exceed 64 characters")
+        String sku,
+
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 999, message = "Quantity must not exceed 999")
+        int quantity
+) {
+    public CartItemRequest {
+        if (sku != null) {
+            sku = sku.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+}
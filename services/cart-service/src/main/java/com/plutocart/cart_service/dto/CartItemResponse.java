@@ -0,0 +1,32 @@
+package com.plutocart.cart_service.dto;
+
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.common_utils.pricing.PricedLine;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One cart line. The amounts are {@code null} while the product's price is unknown or the
+ * product is unavailable.
+ */
+public record CartItemResponse(
+        String sku,
+        int quantity,
+        Instant addedAt,
+        BigDecimal unitPrice,
+        BigDecimal discount,
+        BigDecimal lineTotal
+) {
+    public static CartItemResponse from(CartLine line, PricedLine priced) {
+        boolean known = priced != null && priced.priced();
+        return new CartItemResponse(
+                line.sku(),
+                line.quantity(),
+                line.addedAt(),
+                known ? BigDecimal.valueOf(priced.unitPriceMinor(), 2) : null,
+                known ? BigDecimal.valueOf(priced.discountMinor(), 2) : null,
+                known ? BigDecimal.valueOf(priced.subtotalMinor() - priced.discountMinor(), 2) : null
+        );
+    }
+}
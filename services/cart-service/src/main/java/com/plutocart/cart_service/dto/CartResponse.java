@@ -0,0 +1,46 @@
+package com.plutocart.cart_service.dto;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.cart_service.pricing.CartTotals;
+import com.plutocart.cart_service.pricing.PricedCart;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record CartResponse(
+        UUID userId,
+        List<CartItemResponse> items,
+        int totalQuantity,
+        String currency,
+        BigDecimal subtotal,
+        BigDecimal discount,
+        BigDecimal tax,
+        BigDecimal total,
+        int unavailableItems,
+        long version,
+        Instant updatedAt
+) {
+    public static CartResponse from(Cart cart, PricedCart pricing) {
+        int totalQuantity = 0;
+        for (CartLine line : cart.lines()) {
+            totalQuantity += line.quantity();
+        }
+        CartTotals totals = pricing.totals();
+        return new CartResponse(
+                cart.userId(),
+                cart.lines().stream().map(line -> CartItemResponse.from(line, pricing.line(line.sku()))).toList(),
+                totalQuantity,
+                totals.currency(),
+                BigDecimal.valueOf(totals.subtotalMinor(), 2),
+                BigDecimal.valueOf(totals.discountMinor(), 2),
+                BigDecimal.valueOf(totals.taxMinor(), 2),
+                BigDecimal.valueOf(totals.totalMinor(), 2),
+                totals.unpricedLines(),
+                cart.version(),
+                cart.updatedAt()
+        );
+    }
+}
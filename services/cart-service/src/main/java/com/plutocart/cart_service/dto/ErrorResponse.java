@@ -0,0 +1,17 @@
+package com.plutocart.cart_service.dto;
+
+import java.time.Instant;
+
+public record ErrorResponse(
+    int status,
+    String message,
+    Instant timestamp,
+    String error,
+    String path
+){
+        public ErrorResponse {
+            if (timestamp == null) {
+                timestamp = Instant.now();
+            }
+        }
+}
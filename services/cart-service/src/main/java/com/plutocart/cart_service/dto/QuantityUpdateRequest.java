@@ -0,0 +1,12 @@
+package com.plutocart.cart_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record QuantityUpdateRequest(
+
+        @Min(value = 0, message = "Quantity must not be negative")
+        @Max(value = 999, message = "Quantity must not exceed 999")
+        int quantity
+) {
+}
@@ -0,0 +1,7 @@
+package com.plutocart.cart_service.exception;
+
+public class CartLimitExceededException extends RuntimeException {
+    public CartLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.plutocart.cart_service.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a cart as of {@code version}, which counts the mutations applied to it.
+ */
+public record Cart(
+        UUID userId,
+        List<CartLine> lines,
+        long version,
+        Instant updatedAt
+) {
+    public static Cart empty(UUID userId) {
+        return new Cart(userId, List.of(), 0, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.plutocart.cart_service.model;
+
+import java.time.Instant;
+
+public record CartLine(
+        String sku,
+        int quantity,
+        Instant addedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.plutocart.cart_service.pricing;
+
+public record CartTotals(
+        String currency,
+        long subtotalMinor,
+        long discountMinor,
+        long taxMinor,
+        long totalMinor,
+        int unpricedLines
+) {
+}
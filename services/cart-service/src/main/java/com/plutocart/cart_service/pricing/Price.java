@@ -0,0 +1,10 @@
+package com.plutocart.cart_service.pricing;
+
+/**
+ * Unit price of a product in minor units of {@code currency}, e.g. cents.
+ */
+public record Price(
+        long amountMinor,
+        String currency
+) {
+}
@@ -0,0 +1,13 @@
+package com.plutocart.cart_service.pricing;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Current unit prices by SKU. SKUs that do not exist or are not for sale are left out of
+ * the result; a failed lookup throws.
+ */
+public interface PriceSource {
+
+    Map<String, Price> prices(Collection<String> skus);
+}
@@ -0,0 +1,122 @@
+package com.plutocart.cart_service.pricing;
+
+import com.plutocart.common_utils.pricing.CartPricer;
+import com.plutocart.common_utils.pricing.PricedLine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Running totals of one cart. A quantity change reprices that line only, and
+ * {@link #reprice} only touches lines whose unit price actually changed; the cart totals
+ * are adjusted by the difference instead of being summed again. Not thread-safe: it lives
+ * inside a cart session and shares its lock.
+ */
+public final class PricedCart {
+
+    private final CartPricer pricer;
+    private final Map<String, PricedLine> lines = new HashMap<>();
+    private long subtotal;
+    private long discount;
+    private long tax;
+    private int unpriced;
+
+    public PricedCart(CartPricer pricer) {
+        this.pricer = pricer;
+    }
+
+    public PricedLine line(String sku) {
+        return lines.get(sku);
+    }
+
+    public Set<String> skus() {
+        return new HashSet<>(lines.keySet());
+    }
+
+    public Set<String> unpricedSkus() {
+        Set<String> skus = new HashSet<>();
+        lines.values().forEach(line -> {
+            if (!line.priced()) {
+                skus.add(line.sku());
+            }
+        });
+        return skus;
+    }
+
+    public void setQuantity(String sku, int quantity) {
+        PricedLine previous = lines.get(sku);
+        if (quantity <= 0) {
+            if (previous != null) {
+                replace(previous, null);
+            }
+            return;
+        }
+        if (previous != null && previous.quantity() == quantity) {
+            return;
+        }
+        replace(previous, previous != null && previous.priced()
+                ? pricer.price(sku, quantity, previous.unitPriceMinor())
+                : PricedLine.unpriced(sku, quantity));
+    }
+
+    public void clear() {
+        lines.clear();
+        subtotal = discount = tax = 0;
+        unpriced = 0;
+    }
+
+    /**
+     * Applies the prices looked up for {@code requested}: lines whose unit price changed are
+     * repriced, requested SKUs missing from {@code prices} (or priced in another currency)
+     * become unpriced. Returns the number of lines that changed.
+     */
+    public int reprice(Collection<String> requested, Map<String, Price> prices) {
+        int changed = 0;
+        for (String sku : requested) {
+            PricedLine previous = lines.get(sku);
+            if (previous == null) {
+                continue;
+            }
+            Price price = prices.get(sku);
+            if (price == null || !pricer.currency().equals(price.currency())) {
+                if (previous.priced()) {
+                    replace(previous, PricedLine.unpriced(sku, previous.quantity()));
+                    changed++;
+                }
+            } else if (!previous.priced() || previous.unitPriceMinor() != price.amountMinor()) {
+                replace(previous, pricer.price(sku, previous.quantity(), price.amountMinor()));
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public CartTotals totals() {
+        return new CartTotals(pricer.currency(), subtotal, discount, tax, subtotal - discount + tax, unpriced);
+    }
+
+    private void replace(PricedLine previous, PricedLine next) {
+        if (previous != null) {
+            subtotal -= previous.subtotalMinor();
+            discount -= previous.discountMinor();
+            tax -= previous.taxMinor();
+            if (!previous.priced()) {
+                unpriced--;
+            }
+        }
+        if (next != null) {
+            subtotal += next.subtotalMinor();
+            discount += next.discountMinor();
+            tax += next.taxMinor();
+            if (!next.priced()) {
+                unpriced++;
+            }
+            lines.put(next.sku(), next);
+        } else if (previous != null) {
+            lines.remove(previous.sku());
+        }
+    }
+}
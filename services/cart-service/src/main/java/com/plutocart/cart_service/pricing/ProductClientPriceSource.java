@@ -0,0 +1,32 @@
+package com.plutocart.cart_service.pricing;
+
+import com.plutocart.common_utils.product.ProductClient;
+import com.plutocart.common_utils.product.ProductInfo;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prices from product-service through the shared {@link ProductClient}: one batched
+ * request at most per lookup, and none while the near-cache is warm.
+ */
+public class ProductClientPriceSource implements PriceSource {
+
+    private final ProductClient productClient;
+
+    public ProductClientPriceSource(ProductClient productClient) {
+        this.productClient = productClient;
+    }
+
+    @Override
+    public Map<String, Price> prices(Collection<String> skus) {
+        Map<String, Price> prices = new HashMap<>();
+        for (ProductInfo product : productClient.lookup(skus).values()) {
+            if (product.active()) {
+                prices.put(product.sku(), new Price(product.priceMinor(), product.currency()));
+            }
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,67 @@
+package com.plutocart.cart_service.repository;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CartRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Loads a cart, or an empty one at version 0 if the user has never persisted one.
+     */
+    @Transactional(readOnly = true)
+    public Cart load(UUID userId) {
+        List<Cart> carts = jdbcTemplate.query(
+                "select version, updated_at from carts where user_id = ?",
+                (rs, rowNum) -> new Cart(userId, List.of(), rs.getLong(1), rs.getTimestamp(2).toInstant()),
+                userId);
+        if (carts.isEmpty()) {
+            return Cart.empty(userId);
+        }
+        List<CartLine> lines = jdbcTemplate.query(
+                "select sku, quantity, added_at from cart_items where user_id = ? order by added_at, sku",
+                (rs, rowNum) -> new CartLine(rs.getString(1), rs.getInt(2), rs.getTimestamp(3).toInstant()),
+                userId);
+        Cart header = carts.get(0);
+        return new Cart(userId, lines, header.version(), header.updatedAt());
+    }
+
+    /**
+     * Writes the latest state of each cart in three JDBC batches: upsert the cart rows,
+     * delete their lines, re-insert the current lines. One transaction per call.
+     */
+    @Transactional
+    public void saveAll(List<Cart> carts) {
+        List<Object[]> headers = new ArrayList<>(carts.size());
+        List<Object[]> owners = new ArrayList<>(carts.size());
+        List<Object[]> lines = new ArrayList<>();
+        for (Cart cart : carts) {
+            headers.add(new Object[]{cart.userId(), cart.version(), Timestamp.from(cart.updatedAt())});
+            owners.add(new Object[]{cart.userId()});
+            for (CartLine line : cart.lines()) {
+                lines.add(new Object[]{cart.userId(), line.sku(), line.quantity(), Timestamp.from(line.addedAt())});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into carts (user_id, version, updated_at) values (?, ?, ?)
+                on conflict (user_id) do update set version = excluded.version, updated_at = excluded.updated_at
+                """, headers);
+        jdbcTemplate.batchUpdate("delete from cart_items where user_id = ?", owners);
+        if (!lines.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into cart_items (user_id, sku, quantity, added_at) values (?, ?, ?, ?)", lines);
+        }
+    }
+}
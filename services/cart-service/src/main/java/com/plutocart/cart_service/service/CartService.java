@@ -0,0 +1,234 @@
+package com.plutocart.cart_service.service;
+
+import com.plutocart.cart_service.dto.CartItemRequest;
+import com.plutocart.cart_service.dto.CartResponse;
+import com.plutocart.cart_service.exception.CartLimitExceededException;
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.cart_service.pricing.Price;
+import com.plutocart.cart_service.pricing.PriceSource;
+import com.plutocart.cart_service.repository.CartRepository;
+import com.plutocart.cart_service.session.CartSession;
+import com.plutocart.cart_service.session.CartSessionStore;
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import com.plutocart.common_utils.pricing.CartPricer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Carts are served from {@link CartSessionStore}. Changes are coalesced per cart and
+ * written behind to Postgres every {@code cart.persistence.flush-interval-millis}, so a
+ * burst of edits to one cart costs one write.
+ * <p>
+ * Each session keeps running totals. An edit prices only the lines that have no price
+ * yet; viewing the cart refreshes every price, but only lines whose price moved are
+ * recomputed. Price lookups happen outside the cart lock.
+ */
+@Service
+@Slf4j
+public class CartService {
+
+    public static final int MAX_LINE_QUANTITY = 999;
+
+    private static final RateLimitedLogger priceFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
+    private static final RateLimitedLogger saveFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
+
+    private final CartRepository cartRepository;
+    private final PriceSource priceSource;
+    private final CartSessionStore store;
+    private final int maxLines;
+    private final int maxCarts;
+    private final long idleMillis;
+    private final int batchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter loaded;
+    private final Counter flushed;
+    private final Counter evicted;
+    private final Timer flushTimer;
+
+    public CartService(CartRepository cartRepository,
+                       CartPricer cartPricer,
+                       PriceSource priceSource,
+                       MeterRegistry meterRegistry,
+                       @Value("${cart.max-lines}") int maxLines,
+                       @Value("${cart.session.max-carts}") int maxCarts,
+                       @Value("${cart.session.idle-millis}") long idleMillis,
+                       @Value("${cart.persistence.batch-size}") int batchSize) {
+        this.cartRepository = cartRepository;
+        this.priceSource = priceSource;
+        this.maxLines = maxLines;
+        this.maxCarts = maxCarts;
+        this.idleMillis = idleMillis;
+        this.batchSize = batchSize;
+
+        this.loaded = Counter.builder("cart.sessions.loaded").register(meterRegistry);
+        this.flushed = Counter.builder("cart.flush.carts").register(meterRegistry);
+        this.evicted = Counter.builder("cart.sessions.evicted").register(meterRegistry);
+        this.flushTimer = Timer.builder("cart.flush.time").register(meterRegistry);
+        this.store = new CartSessionStore(this::load, cartPricer);
+        Gauge.builder("cart.sessions", store, CartSessionStore::size).register(meterRegistry);
+        Gauge.builder("cart.sessions.dirty", store, CartSessionStore::dirtyCount).register(meterRegistry);
+    }
+
+    public CartResponse getCart(UUID userId) {
+        return priced(userId, session -> { }, true);
+    }
+
+    public CartResponse addItem(UUID userId, CartItemRequest request) {
+        return priced(userId, session -> {
+            CartLine existing = session.line(request.sku());
+            int quantity = request.quantity() + (existing != null ? existing.quantity() : 0);
+            checkLimits(session, existing, quantity);
+            session.setQuantity(request.sku(), quantity, Instant.now());
+        }, false);
+    }
+
+    public CartResponse updateQuantity(UUID userId, String sku, int quantity) {
+        String key = normalize(sku);
+        return priced(userId, session -> {
+            checkLimits(session, session.line(key), quantity);
+            session.setQuantity(key, quantity, Instant.now());
+        }, false);
+    }
+
+    public CartResponse removeItem(UUID userId, String sku) {
+        String key = normalize(sku);
+        return priced(userId, session -> session.setQuantity(key, 0, Instant.now()), false);
+    }
+
+    public void clear(UUID userId) {
+        store.update(userId, session -> session.clear(Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.persistence.flush-interval-millis}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            Set<UUID> rejected = new HashSet<>();
+            List<Cart> batch;
+            while (!(batch = store.dirtyCarts(batchSize, rejected)).isEmpty()) {
+                List<Cart> saved = save(batch, rejected);
+                store.markPersisted(saved);
+                flushed.increment(saved.size());
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Cart flush failed, {} carts stay dirty and will be retried: {}",
+                    store.dirtyCount(), ex.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a batch and returns the carts written. If the database refuses the batch, the
+     * carts are written one by one instead; those it refuses again are added to
+     * {@code rejected} and stay dirty, to be retried by the next flush. Any other failure
+     * ends the flush.
+     */
+    private List<Cart> save(List<Cart> batch, Set<UUID> rejected) {
+        try {
+            flushTimer.record(() -> cartRepository.saveAll(batch));
+            return batch;
+        } catch (DataIntegrityViolationException ex) {
+            saveFailureLog.warn("Cart batch write failed, writing carts one by one: {}", ex.getMessage());
+        }
+        List<Cart> saved = new ArrayList<>(batch.size());
+        for (Cart cart : batch) {
+            try {
+                cartRepository.saveAll(List.of(cart));
+                saved.add(cart);
+            } catch (DataIntegrityViolationException ex) {
+                saveFailureLog.warn("Cart of user {} could not be written and stays dirty", cart.userId());
+                log.debug("Cart of user {} refused: {}", cart.userId(), ex.getMessage());
+                rejected.add(cart.userId());
+            }
+        }
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.session.eviction-interval-millis}")
+    public void evictIdle() {
+        if (store.size() > maxCarts) {
+            flush();
+        }
+        int count = store.evict(System.currentTimeMillis() - idleMillis, maxCarts);
+        if (count > 0) {
+            evicted.increment(count);
+            log.debug("Evicted {} carts from memory", count);
+        }
+    }
+
+    /**
+     * Applies {@code mutation}, looks up prices for the unpriced lines (or for every line if
+     * {@code refreshAll}) and returns the cart with its updated totals.
+     */
+    private CartResponse priced(UUID userId, Consumer<CartSession> mutation, boolean refreshAll) {
+        Set<String> skus = store.update(userId, session -> {
+            mutation.accept(session);
+            return refreshAll ? session.pricing().skus() : session.pricing().unpricedSkus();
+        });
+        Map<String, Price> prices = skus.isEmpty() ? Map.of() : lookUpPrices(skus);
+        return store.read(userId, session -> {
+            if (prices != null && !skus.isEmpty()) {
+                session.pricing().reprice(skus, prices);
+            }
+            return CartResponse.from(session.snapshot(), session.pricing());
+        });
+    }
+
+    /**
+     * Returns {@code null} if prices could not be looked up; the cart then keeps the prices
+     * it already has.
+     */
+    private Map<String, Price> lookUpPrices(Set<String> skus) {
+        try {
+            return priceSource.prices(skus);
+        } catch (RuntimeException ex) {
+            priceFailureLog.warn("Price lookup failed, serving carts with last known prices: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private Cart load(UUID userId) {
+        loaded.increment();
+        return cartRepository.load(userId);
+    }
+
+    private void checkLimits(CartSession session, CartLine existing, int quantity) {
+        if (quantity > MAX_LINE_QUANTITY) {
+            throw new CartLimitExceededException("A cart line may hold at most " + MAX_LINE_QUANTITY + " units");
+        }
+        if (existing == null && quantity > 0 && session.lineCount() >= maxLines) {
+            throw new CartLimitExceededException("A cart may hold at most " + maxLines + " different products");
+        }
+    }
+
+    private static String normalize(String sku) {
+        return sku.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,127 @@
+package com.plutocart.cart_service.session;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.cart_service.pricing.PricedCart;
+import com.plutocart.common_utils.pricing.CartPricer;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The live, mutable copy of one user's cart. Guarded by its own monitor: only
+ * {@link CartSessionStore} hands it out, and only inside that lock.
+ */
+public final class CartSession {
+
+    private final UUID userId;
+    private final Map<String, CartLine> lines = new LinkedHashMap<>();
+    private final PricedCart pricing;
+    private long version;
+    private long persistedVersion;
+    private Instant updatedAt;
+    private long lastAccessMillis;
+    private boolean evicted;
+
+    CartSession(Cart persisted, CartPricer pricer, long nowMillis) {
+        this.userId = persisted.userId();
+        this.pricing = new PricedCart(pricer);
+        persisted.lines().forEach(line -> {
+            lines.put(line.sku(), line);
+            pricing.setQuantity(line.sku(), line.quantity());
+        });
+        this.version = persisted.version();
+        this.persistedVersion = persisted.version();
+        this.updatedAt = persisted.updatedAt();
+        this.lastAccessMillis = nowMillis;
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    public int lineCount() {
+        return lines.size();
+    }
+
+    public CartLine line(String sku) {
+        return lines.get(sku);
+    }
+
+    /**
+     * Prices and totals of this cart, kept in step with its lines. Not persisted: after a
+     * load every line starts unpriced.
+     */
+    public PricedCart pricing() {
+        return pricing;
+    }
+
+    /**
+     * Sets the quantity of a line, adding it if needed; zero removes it.
+     * Returns whether the cart changed.
+     */
+    public boolean setQuantity(String sku, int quantity, Instant now) {
+        CartLine existing = lines.get(sku);
+        if (quantity <= 0) {
+            if (existing == null) {
+                return false;
+            }
+            lines.remove(sku);
+            pricing.setQuantity(sku, 0);
+            return changed(now);
+        }
+        if (existing != null && existing.quantity() == quantity) {
+            return false;
+        }
+        Instant addedAt = existing != null ? existing.addedAt() : now;
+        lines.put(sku, new CartLine(sku, quantity, addedAt));
+        pricing.setQuantity(sku, quantity);
+        return changed(now);
+    }
+
+    public boolean clear(Instant now) {
+        if (lines.isEmpty()) {
+            return false;
+        }
+        lines.clear();
+        pricing.clear();
+        return changed(now);
+    }
+
+    public Cart snapshot() {
+        return new Cart(userId, List.copyOf(lines.values()), version, updatedAt);
+    }
+
+    boolean isDirty() {
+        return version != persistedVersion;
+    }
+
+    void markPersisted(long persisted) {
+        persistedVersion = Math.max(persistedVersion, persisted);
+    }
+
+    long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void evict() {
+        evicted = true;
+    }
+
+    private boolean changed(Instant now) {
+        version++;
+        updatedAt = now;
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package com.plutocart.cart_service.session;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.common_utils.pricing.CartPricer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Primary store for carts, keyed by user id. Carts live in memory and are loaded from the
+ * database on first access; mutations only mark a cart dirty; the caller persists dirty
+ * carts in batches and reports back with {@link #markPersisted}.
+ * <p>
+ * Only clean carts are evicted, so whatever is missing from memory is current in the
+ * database and can simply be reloaded. Each {@link CartSession} is guarded by its own
+ * monitor; an evicted session is flagged so that a caller still holding it retries.
+ */
+public class CartSessionStore {
+
+    private final Function<UUID, Cart> loader;
+    private final CartPricer pricer;
+    private final ConcurrentHashMap<UUID, CartSession> sessions = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    public CartSessionStore(Function<UUID, Cart> loader, CartPricer pricer) {
+        this.loader = loader;
+        this.pricer = pricer;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    public <T> T read(UUID userId, Function<CartSession, T> reader) {
+        return update(userId, reader);
+    }
+
+    /**
+     * Runs {@code mutation} with exclusive access to the user's cart, loading it first if
+     * it is not in memory, and marks the cart dirty if the mutation changed it.
+     */
+    public <T> T update(UUID userId, Function<CartSession, T> mutation) {
+        while (true) {
+            CartSession session = sessions.computeIfAbsent(userId,
+                    id -> new CartSession(loader.apply(id), pricer, System.currentTimeMillis()));
+            synchronized (session) {
+                if (session.isEvicted()) {
+                    continue;
+                }
+                session.touch(System.currentTimeMillis());
+                T result = mutation.apply(session);
+                if (session.isDirty()) {
+                    dirty.add(userId);
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Copies up to {@code max} dirty carts. Each stays dirty until {@link #markPersisted}
+     * reports its copied version (or a later one) as written.
+     */
+    public List<Cart> dirtyCarts(int max) {
+        return dirtyCarts(max, Set.of());
+    }
+
+    /**
+     * Like {@link #dirtyCarts(int)}, passing over the carts in {@code skip}: the ones a
+     * flush already failed to write, so they cannot fill every batch after them.
+     */
+    public List<Cart> dirtyCarts(int max, Set<UUID> skip) {
+        List<Cart> carts = new ArrayList<>(Math.min(max, dirty.size()));
+        for (UUID userId : dirty) {
+            if (carts.size() == max) {
+                break;
+            }
+            if (skip.contains(userId)) {
+                continue;
+            }
+            CartSession session = sessions.get(userId);
+            if (session == null) {
+                continue;
+            }
+            synchronized (session) {
+                if (session.isDirty()) {
+                    carts.add(session.snapshot());
+                }
+            }
+        }
+        return carts;
+    }
+
+    public void markPersisted(List<Cart> carts) {
+        for (Cart cart : carts) {
+            CartSession session = sessions.get(cart.userId());
+            if (session == null) {
+                continue;
+            }
+            synchronized (session) {
+                session.markPersisted(cart.version());
+                if (!session.isDirty()) {
+                    dirty.remove(cart.userId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts clean carts not accessed since {@code idleBeforeMillis}, then the least
+     * recently used clean carts until at most {@code maxCarts} remain. Dirty carts are
+     * never evicted. Returns the number evicted.
+     */
+    public int evict(long idleBeforeMillis, int maxCarts) {
+        int evicted = 0;
+        List<Candidate> candidates = new ArrayList<>();
+        for (CartSession session : sessions.values()) {
+            synchronized (session) {
+                if (session.isDirty() || session.isEvicted()) {
+                    continue;
+                }
+                if (session.lastAccessMillis() < idleBeforeMillis) {
+                    remove(session);
+                    evicted++;
+                } else {
+                    candidates.add(new Candidate(session, session.lastAccessMillis()));
+                }
+            }
+        }
+
+        int excess = sessions.size() - maxCarts;
+        if (excess > 0) {
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccessMillis));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                CartSession session = candidates.get(i).session();
+                synchronized (session) {
+                    if (!session.isDirty() && !session.isEvicted()) {
+                        remove(session);
+                        evicted++;
+                        excess--;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private void remove(CartSession session) {
+        session.evict();
+        sessions.remove(session.userId(), session);
+    }
+
+    private record Candidate(CartSession session, long lastAccessMillis) {
+    }
+}
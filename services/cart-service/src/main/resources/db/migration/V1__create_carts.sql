@@ -0,0 +1,14 @@
+CREATE TABLE public.carts (
+    user_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE public.cart_items (
+    user_id UUID NOT NULL REFERENCES public.carts (user_id) ON DELETE CASCADE,
+    sku VARCHAR(64) NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    added_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT cart_items_pk PRIMARY KEY (user_id, sku)
+);
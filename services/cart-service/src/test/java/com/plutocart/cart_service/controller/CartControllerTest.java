@@ -0,0 +1,43 @@
+package com.plutocart.cart_service.controller;
+
+import com.plutocart.cart_service.service.CartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request validation only; the security filters are left out.
+ */
+@WebMvcTest(CartController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CartControllerTest {
+
+    private static final String TOO_LONG = "X".repeat(65);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CartService cartService;
+
+    @Test
+    void pathSkusLongerThanTheColumnAreRejected() throws Exception {
+        mockMvc.perform(put("/api/cart/items/" + TOO_LONG)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/cart/items/" + TOO_LONG))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cartService);
+    }
+}
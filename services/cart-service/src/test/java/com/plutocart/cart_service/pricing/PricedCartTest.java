@@ -0,0 +1,148 @@
+package com.plutocart.cart_service.pricing;
+
+import com.plutocart.common_utils.pricing.CartPricer;
+import com.plutocart.common_utils.pricing.PricedLine;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricedCartTest {
+
+    // 10% tax, 5% off lines of 10 or more.
+    private static final CartPricer PRICER = new CartPricer("USD", 1_000, 10, 500);
+
+    private final PricedCart cart = new PricedCart(PRICER);
+
+    @Test
+    void newLinesStayUnpricedUntilRepriced() {
+        cart.setQuantity("A", 2);
+        cart.setQuantity("B", 1);
+
+        assertThat(cart.unpricedSkus()).containsExactlyInAnyOrder("A", "B");
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 0, 0, 0, 0, 2));
+
+        assertThat(cart.reprice(List.of("A", "B"), Map.of("A", usd(1_000), "B", usd(333)))).isEqualTo(2);
+
+        assertThat(cart.unpricedSkus()).isEmpty();
+        // A: 2000 + 200 tax; B: 333 + 33 tax
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 2_333, 0, 233, 2_566, 0));
+    }
+
+    @Test
+    void quantityChangeRepricesTheLineAtItsKnownPrice() {
+        cart.setQuantity("A", 2);
+        cart.reprice(List.of("A"), Map.of("A", usd(1_000)));
+
+        cart.setQuantity("A", 10);
+
+        assertThat(cart.line("A")).isEqualTo(PRICER.price("A", 10, 1_000));
+        // 10000 - 500 volume discount + 950 tax
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 10_000, 500, 950, 10_450, 0));
+    }
+
+    @Test
+    void repriceOnlyTouchesLinesWhosePriceChanged() {
+        cart.setQuantity("A", 1);
+        cart.setQuantity("B", 1);
+        cart.reprice(List.of("A", "B"), Map.of("A", usd(100), "B", usd(200)));
+
+        assertThat(cart.reprice(List.of("A", "B"), Map.of("A", usd(100), "B", usd(250)))).isEqualTo(1);
+        assertThat(cart.reprice(List.of("A", "B", "C"), Map.of("A", usd(100), "B", usd(250)))).isZero();
+        assertThat(cart.totals().subtotalMinor()).isEqualTo(350);
+    }
+
+    @Test
+    void missingOrForeignPricesMakeALineUnpriced() {
+        cart.setQuantity("A", 1);
+        cart.setQuantity("B", 1);
+        cart.reprice(List.of("A", "B"), Map.of("A", usd(100), "B", usd(200)));
+
+        assertThat(cart.reprice(List.of("A", "B"), Map.of("B", new Price(200, "EUR")))).isEqualTo(2);
+
+        assertThat(cart.unpricedSkus()).containsExactlyInAnyOrder("A", "B");
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 0, 0, 0, 0, 2));
+    }
+
+    @Test
+    void removingAndClearingLinesUpdatesTheTotals() {
+        cart.setQuantity("A", 1);
+        cart.setQuantity("B", 3);
+        cart.reprice(List.of("A"), Map.of("A", usd(100)));
+
+        cart.setQuantity("A", 0);
+        assertThat(cart.line("A")).isNull();
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 0, 0, 0, 0, 1));
+
+        cart.clear();
+        assertThat(cart.skus()).isEmpty();
+        assertThat(cart.totals()).isEqualTo(new CartTotals("USD", 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void runningTotalsMatchARecomputationAfterEveryChange() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<String> skus = List.of("A", "B", "C", "D", "E", "F");
+        Map<String, Integer> quantities = new HashMap<>();
+        Map<String, Price> prices = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            String sku = skus.get(random.nextInt(skus.size()));
+            switch (random.nextInt(10)) {
+                case 0 -> {
+                    cart.clear();
+                    quantities.clear();
+                }
+                case 1, 2, 3 -> {
+                    if (random.nextInt(4) == 0) {
+                        prices.remove(sku);
+                    } else {
+                        prices.put(sku, random.nextInt(8) == 0 ? new Price(500, "EUR") : usd(random.nextLong(1, 50_000)));
+                    }
+                    cart.reprice(Set.of(sku), prices);
+                }
+                default -> {
+                    int quantity = random.nextInt(15);
+                    cart.setQuantity(sku, quantity);
+                    if (quantity == 0) {
+                        quantities.remove(sku);
+                    } else {
+                        quantities.put(sku, quantity);
+                    }
+                }
+            }
+            assertMatchesRecomputation(quantities);
+        }
+    }
+
+    private void assertMatchesRecomputation(Map<String, Integer> quantities) {
+        assertThat(cart.skus()).isEqualTo(quantities.keySet());
+        long subtotal = 0;
+        long discount = 0;
+        long tax = 0;
+        int unpriced = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            PricedLine line = cart.line(entry.getKey());
+            assertThat(line.quantity()).isEqualTo(entry.getValue());
+            if (line.priced()) {
+                assertThat(line).isEqualTo(PRICER.price(line.sku(), line.quantity(), line.unitPriceMinor()));
+                subtotal += line.subtotalMinor();
+                discount += line.discountMinor();
+                tax += line.taxMinor();
+            } else {
+                unpriced++;
+            }
+        }
+        assertThat(cart.totals()).isEqualTo(
+                new CartTotals("USD", subtotal, discount, tax, subtotal - discount + tax, unpriced));
+    }
+
+    private static Price usd(long amountMinor) {
+        return new Price(amountMinor, "USD");
+    }
+}
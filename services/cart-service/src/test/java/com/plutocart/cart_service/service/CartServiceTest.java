@@ -0,0 +1,127 @@
+package com.plutocart.cart_service.service;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.cart_service.pricing.PriceSource;
+import com.plutocart.cart_service.repository.CartRepository;
+import com.plutocart.common_utils.pricing.CartPricer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final String TOO_LONG = "X".repeat(65);
+
+    private final FakeCartRepository repository = new FakeCartRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PriceSource noPrices = skus -> Map.of();
+    private final CartService service = new CartService(repository, new CartPricer("USD", 800, 10, 500),
+            noPrices, meterRegistry, 200, 1_000, 60_000, BATCH_SIZE);
+
+    @Test
+    void flushWritesDirtyCartsInBatches() {
+        List<UUID> users = users(5);
+        users.forEach(user -> service.updateQuantity(user, "MUG-1", 2));
+
+        service.flush();
+
+        assertThat(repository.saved.keySet()).containsExactlyInAnyOrderElementsOf(users);
+        assertThat(repository.batches).isEqualTo(3);
+        assertThat(dirtyCarts()).isZero();
+    }
+
+    @Test
+    void aCartTheDatabaseRefusesDoesNotHoldBackTheOthers() {
+        // More refused carts than fit in a batch, so skipping them is what lets the rest through.
+        List<UUID> poisoned = users(3);
+        List<UUID> healthy = users(4);
+        poisoned.forEach(user -> service.updateQuantity(user, TOO_LONG, 1));
+        healthy.forEach(user -> service.updateQuantity(user, "MUG-1", 1));
+
+        service.flush();
+
+        assertThat(repository.saved.keySet()).containsExactlyInAnyOrderElementsOf(healthy);
+        assertThat(dirtyCarts()).isEqualTo(poisoned.size());
+
+        // Once the bad line is gone the cart is written like any other.
+        service.removeItem(poisoned.get(0), TOO_LONG);
+        service.flush();
+        assertThat(repository.saved).containsKey(poisoned.get(0));
+        assertThat(dirtyCarts()).isEqualTo(poisoned.size() - 1);
+    }
+
+    @Test
+    void anUnavailableDatabaseEndsTheFlushAndKeepsCartsDirty() {
+        List<UUID> users = users(3);
+        users.forEach(user -> service.updateQuantity(user, "MUG-1", 1));
+        repository.available = false;
+
+        service.flush();
+
+        assertThat(repository.saved).isEmpty();
+        assertThat(dirtyCarts()).isEqualTo(3);
+
+        repository.available = true;
+        service.flush();
+        assertThat(repository.saved.keySet()).containsExactlyInAnyOrderElementsOf(users);
+    }
+
+    private int dirtyCarts() {
+        return (int) meterRegistry.get("cart.sessions.dirty").gauge().value();
+    }
+
+    private static List<UUID> users(int count) {
+        List<UUID> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(UUID.randomUUID());
+        }
+        return users;
+    }
+
+    /**
+     * Refuses a whole batch, as Postgres does, when any line's SKU is longer than the
+     * cart_items column.
+     */
+    private static class FakeCartRepository extends CartRepository {
+
+        final Map<UUID, Cart> saved = new ConcurrentHashMap<>();
+        int batches;
+        boolean available = true;
+
+        FakeCartRepository() {
+            super(null);
+        }
+
+        @Override
+        public Cart load(UUID userId) {
+            return saved.getOrDefault(userId, Cart.empty(userId));
+        }
+
+        @Override
+        public void saveAll(List<Cart> carts) {
+            if (!available) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            for (Cart cart : carts) {
+                for (CartLine line : cart.lines()) {
+                    if (line.sku().length() > 64) {
+                        throw new DataIntegrityViolationException("value too long for type character varying(64)");
+                    }
+                }
+            }
+            batches++;
+            carts.forEach(cart -> saved.put(cart.userId(), cart));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.plutocart.cart_service.session;
+
+import com.plutocart.cart_service.model.Cart;
+import com.plutocart.cart_service.model.CartLine;
+import com.plutocart.cart_service.pricing.CartTotals;
+import com.plutocart.cart_service.pricing.Price;
+import com.plutocart.cart_service.support.Concurrently;
+import com.plutocart.common_utils.pricing.CartPricer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartSessionStoreTest {
+
+    private static final CartPricer PRICER = new CartPricer("USD", 1_000, 10, 500);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Map<UUID, Cart> database = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CartSessionStore store = new CartSessionStore(this::load, PRICER);
+
+    @Test
+    void loadsACartOnceAndKeepsItInMemory() {
+        UUID user = UUID.randomUUID();
+        database.put(user, new Cart(user, List.of(new CartLine("A", 2, NOW)), 3, NOW));
+
+        assertThat(quantity(user)).isEqualTo(2);
+        store.update(user, session -> session.setQuantity("A", 5, NOW));
+
+        assertThat(loads).hasValue(1);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(quantity(user)).isEqualTo(5);
+    }
+
+    @Test
+    void onlyChangesMarkACartDirty() {
+        UUID user = UUID.randomUUID();
+
+        store.read(user, CartSession::lineCount);
+        store.update(user, session -> session.setQuantity("A", 0, NOW));
+        assertThat(store.dirtyCount()).isZero();
+
+        store.update(user, session -> session.setQuantity("A", 1, NOW));
+        assertThat(store.dirtyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staysDirtyWhenChangedAfterItWasCopied() {
+        UUID user = UUID.randomUUID();
+        store.update(user, session -> session.setQuantity("A", 1, NOW));
+
+        List<Cart> copied = store.dirtyCarts(10);
+        store.update(user, session -> session.setQuantity("A", 2, NOW));
+        store.markPersisted(copied);
+
+        assertThat(store.dirtyCount()).isEqualTo(1);
+        List<Cart> next = store.dirtyCarts(10);
+        assertThat(next).singleElement().satisfies(cart -> {
+            assertThat(cart.version()).isEqualTo(2);
+            assertThat(cart.lines()).extracting(CartLine::quantity).containsExactly(2);
+        });
+        store.markPersisted(next);
+        assertThat(store.dirtyCount()).isZero();
+        assertThat(store.dirtyCarts(10)).isEmpty();
+    }
+
+    @Test
+    void dirtyCartsHonoursTheLimit() {
+        for (int i = 0; i < 5; i++) {
+            store.update(UUID.randomUUID(), session -> session.setQuantity("A", 1, NOW));
+        }
+
+        assertThat(store.dirtyCarts(3)).hasSize(3);
+    }
+
+    @Test
+    void evictsOnlyCleanCarts() {
+        UUID clean = UUID.randomUUID();
+        UUID dirty = UUID.randomUUID();
+        store.read(clean, CartSession::lineCount);
+        store.update(dirty, session -> session.setQuantity("A", 1, NOW));
+
+        assertThat(store.evict(Long.MAX_VALUE, 0)).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(quantity(dirty)).isEqualTo(1);
+
+        flush();
+        assertThat(store.evict(Long.MAX_VALUE, 0)).isEqualTo(1);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCartsBeyondTheLimit() throws InterruptedException {
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        for (UUID user : List.of(oldest, middle, newest)) {
+            store.read(user, CartSession::lineCount);
+            Thread.sleep(2);
+        }
+
+        assertThat(store.evict(0, 1)).isEqualTo(2);
+
+        loads.set(0);
+        store.read(newest, CartSession::lineCount);
+        assertThat(loads).hasValue(0);
+        store.read(oldest, CartSession::lineCount);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void anEvictedCartIsReloadedAsPersisted() {
+        UUID user = UUID.randomUUID();
+        store.update(user, session -> session.setQuantity("A", 4, NOW));
+        flush();
+        store.evict(Long.MAX_VALUE, 0);
+
+        assertThat(quantity(user)).isEqualTo(4);
+        assertThat(store.<Integer>read(user, session -> session.pricing().line("A").quantity())).isEqualTo(4);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void concurrentUpdatesSurviveFlushesAndEvictions() throws Exception {
+        int users = 32;
+        int threads = 6;
+        int incrementsPerThread = 2_000;
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        AtomicLongArray increments = new AtomicLongArray(users);
+
+        // The flusher persists dirty carts while the evictor drops every clean one it finds,
+        // so workers keep racing reloads of carts that were just written.
+        Concurrently.run(threads, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < incrementsPerThread; i++) {
+                int user = random.nextInt(users);
+                store.update(userIds.get(user), session -> {
+                    CartLine line = session.line("A");
+                    session.setQuantity("A", line == null ? 1 : line.quantity() + 1, NOW);
+                    session.pricing().reprice(List.of("A"), Map.of("A", new Price(250, "USD")));
+                    return null;
+                });
+                increments.incrementAndGet(user);
+                Thread.yield();
+            }
+        }, this::flush, () -> store.evict(Long.MAX_VALUE, 0));
+        flush();
+
+        assertThat(store.dirtyCount()).isZero();
+        assertThat(loads.get()).as("carts reloaded after eviction").isGreaterThan(users);
+        for (int i = 0; i < users; i++) {
+            UUID user = userIds.get(i);
+            long expected = increments.get(i);
+            assertThat(database.get(user).lines()).extracting(CartLine::quantity).containsExactly((int) expected);
+            store.read(user, session -> {
+                assertThat(session.line("A").quantity()).isEqualTo(expected);
+                session.pricing().reprice(List.of("A"), Map.of("A", new Price(250, "USD")));
+                CartTotals totals = session.pricing().totals();
+                assertThat(totals.totalMinor()).isEqualTo(PRICER.price("A", (int) expected, 250).totalMinor());
+                assertThat(totals.unpricedLines()).isZero();
+                return null;
+            });
+        }
+    }
+
+    private int quantity(UUID userId) {
+        return store.read(userId, session -> session.line("A").quantity());
+    }
+
+    private Cart load(UUID userId) {
+        loads.incrementAndGet();
+        return database.getOrDefault(userId, Cart.empty(userId));
+    }
+
+    /**
+     * Writes dirty carts the way CartService does, from one thread at a time: upserts the
+     * batch, then reports it persisted.
+     */
+    private void flush() {
+        List<Cart> carts = store.dirtyCarts(100);
+        carts.forEach(cart -> database.put(cart.userId(), cart));
+        store.markPersisted(carts);
+    }
+}
@@ -0,0 +1,86 @@
+package com.plutocart.gateway_service.config;
+
+import com.plutocart.common_security.jwt.JwtSecurityProperties;
+import com.plutocart.common_security.jwt.JwtVerificationCache;
+import com.plutocart.common_security.jwt.JwtVerifier;
+import com.plutocart.common_security.jwt.StaticJwtKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(JwtSecurityProperties.class)
+public class GatewayConfig {
+
+    @Bean
+    public JwtVerifier jwtVerifier(JwtSecurityProperties properties) {
+        JwtSecurityProperties.Jwt jwt = properties.jwt();
+        if (jwt.secret() == null || jwt.secret().isBlank()) {
+            throw new IllegalStateException("plutocart.security.jwt.secret must be set to verify tokens");
+        }
+        return new JwtVerifier(new StaticJwtKeys(jwt.keyId(), jwt.secret(), jwt.verificationKeys()));
+    }
+
+    @Bean
+    public JwtVerificationCache jwtVerificationCache(JwtVerifier verifier,
+                                                     JwtSecurityProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        JwtSecurityProperties.Cache cache = properties.jwt().cache();
+        return new JwtVerificationCache(verifier, meterRegistry, cache.maximumSize(), Duration.ofMillis(cache.maxTtlMillis()));
+    }
+
+    /**
+     * Talks HTTP/2 without TLS (prior knowledge) to the services over a few long-lived
+     * connections per service, each carrying up to {@code max-concurrent-streams} requests
+     * at once. Without the HTTP/2 allocation strategy the pool opens a new connection
+     * whenever no stream is free yet, which under a burst means one connection per request.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.backend.protocol", havingValue = "h2c", matchIfMissing = true)
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      @Value("${gateway.backend.h2c.max-connections}") int maxConnections,
+                                                      @Value("${gateway.backend.h2c.max-concurrent-streams}") long maxStreams) {
+        HttpClientCustomizer h2c = httpClient -> httpClient.protocol(HttpProtocol.H2C);
+        List<HttpClientCustomizer> all = new ArrayList<>(customizers);
+        all.add(h2c);
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, all) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                HttpClientProperties.Pool pool = properties.getPool();
+                ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName())
+                        .allocationStrategy(Http2AllocationStrategy.builder()
+                                .minConnections(1)
+                                .maxConnections(maxConnections)
+                                .maxConcurrentStreams(maxStreams)
+                                .build())
+                        .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()))
+                        .metrics(pool.isMetrics());
+                if (pool.getMaxIdleTime() != null) {
+                    builder.maxIdleTime(pool.getMaxIdleTime());
+                }
+                if (pool.getMaxLifeTime() != null) {
+                    builder.maxLifeTime(pool.getMaxLifeTime());
+                }
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.plutocart.gateway_service.filter;
+
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import com.plutocart.common_security.jwt.JwtSecurityProperties;
+import com.plutocart.common_security.jwt.JwtVerificationCache;
+import com.plutocart.common_security.jwt.TokenTypePolicy;
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Verifies bearer tokens once at the edge, on the event loop, with the same verifier and
+ * cache the services use. A bad or expired token, or one of the wrong type for the path
+ * ({@link TokenTypePolicy}), is answered here, never reaches a service, and counts against
+ * its client IP's rate limit; a good one leaves its {@link JwtPrincipal} on the exchange
+ * for rate limiting.
+ * Requests without a token pass through, and the service decides whether the path is public.
+ */
+@Component
+@Slf4j
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String PRINCIPAL_ATTRIBUTE = EdgeAuthenticationFilter.class.getName() + ".principal";
+    public static final int ORDER = -200;
+
+    private static final RateLimitedLogger tokenFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+
+    private final JwtVerificationCache verificationCache;
+    private final TokenTypePolicy tokenTypePolicy;
+    private final RateLimitFilter rateLimitFilter;
+    private final Counter rejected;
+
+    public EdgeAuthenticationFilter(JwtVerificationCache verificationCache,
+                                    JwtSecurityProperties properties,
+                                    RateLimitFilter rateLimitFilter,
+                                    MeterRegistry meterRegistry) {
+        this.verificationCache = verificationCache;
+        this.tokenTypePolicy = new TokenTypePolicy(properties.refreshTokenPaths());
+        this.rateLimitFilter = rateLimitFilter;
+        this.rejected = Counter.builder("gateway.auth.rejected")
+                .description("Requests refused at the edge for an invalid or expired token")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        try {
+            JwtPrincipal principal = verificationCache.verify(authHeader.substring(7));
+            if (!tokenTypePolicy.accepts(principal, exchange.getRequest().getPath().pathWithinApplication().value())) {
+                rejected.increment();
+                tokenFailureLog.warn("Rejected a {} token as the bearer token at the edge", principal.tokenType());
+                return rateLimitFilter.rejectToken(exchange, HttpStatus.FORBIDDEN, "You are not authorised to Access this resource");
+            }
+            exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
+        } catch (ExpiredJwtException ex) {
+            rejected.increment();
+            return rateLimitFilter.rejectToken(exchange, HttpStatus.UNAUTHORIZED, "JWT token has expired");
+        } catch (RuntimeException ex) {
+            rejected.increment();
+            tokenFailureLog.warn("Rejected bearer token at the edge: {}", ex.getMessage());
+            return rateLimitFilter.rejectToken(exchange, HttpStatus.FORBIDDEN, "You are not authorised to Access this resource");
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
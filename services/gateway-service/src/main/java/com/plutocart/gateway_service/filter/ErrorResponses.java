@@ -0,0 +1,36 @@
+package com.plutocart.gateway_service.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.gateway_service.dto.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ends an exchange at the edge with the same JSON error body the services return.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponses {
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(
+                    status.value(), message, null, status.getReasonPhrase(), exchange.getRequest().getPath().value()));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.plutocart.gateway_service.filter;
+
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import com.plutocart.gateway_service.ratelimit.ClientRateLimiter;
+import com.plutocart.gateway_service.ratelimit.RateLimitPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load at the edge: authenticated callers are limited per user id, everyone else per
+ * client IP, each with its own token bucket. Over the limit the gateway answers 429 with
+ * {@code Retry-After} and the request never reaches a service. Requests with a token the
+ * edge refused are charged per client IP as well (see {@link #rejectToken}).
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final ClientRateLimiter limiter;
+    private final RateLimitPolicy userPolicy;
+    private final RateLimitPolicy anonymousPolicy;
+    private final ErrorResponses errorResponses;
+    private final Counter userRejected;
+    private final Counter anonymousRejected;
+
+    public RateLimitFilter(ClientRateLimiter limiter,
+                           ErrorResponses errorResponses,
+                           MeterRegistry meterRegistry,
+                           @Value("${gateway.rate-limit.user.capacity}") int userCapacity,
+                           @Value("${gateway.rate-limit.user.refill-per-second}") int userRefillPerSecond,
+                           @Value("${gateway.rate-limit.anonymous.capacity}") int anonymousCapacity,
+                           @Value("${gateway.rate-limit.anonymous.refill-per-second}") int anonymousRefillPerSecond) {
+        this.limiter = limiter;
+        this.errorResponses = errorResponses;
+        this.userPolicy = RateLimitPolicy.of(userCapacity, userRefillPerSecond);
+        this.anonymousPolicy = RateLimitPolicy.of(anonymousCapacity, anonymousRefillPerSecond);
+        this.userRejected = Counter.builder("gateway.ratelimit.rejected").tag("client", "user").register(meterRegistry);
+        this.anonymousRejected = Counter.builder("gateway.ratelimit.rejected").tag("client", "anonymous").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        JwtPrincipal principal = exchange.getAttribute(EdgeAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        long result = principal != null
+                ? limiter.tryAcquire("user:" + principal.userId(), userPolicy)
+                : limiter.tryAcquire("ip:" + clientAddress(exchange), anonymousPolicy);
+        if (result >= 0) {
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(result));
+            return chain.filter(exchange);
+        }
+        (principal != null ? userRejected : anonymousRejected).increment();
+        return tooManyRequests(exchange, result);
+    }
+
+    /**
+     * Answers a request whose token the edge refused. It is charged to its client IP like an
+     * anonymous request, so a flood of bad tokens is limited too and ends in 429 once the IP
+     * is over its limit.
+     */
+    Mono<Void> rejectToken(ServerWebExchange exchange, HttpStatus status, String message) {
+        long result = limiter.tryAcquire("ip:" + clientAddress(exchange), anonymousPolicy);
+        if (result < 0) {
+            anonymousRejected.increment();
+            return tooManyRequests(exchange, result);
+        }
+        exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(result));
+        return errorResponses.write(exchange, status, message);
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long result) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-result + TimeUnit.SECONDS.toNanos(1) - 1));
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        exchange.getResponse().getHeaders().set(REMAINING_HEADER, "0");
+        return errorResponses.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded, please retry shortly");
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    @Override
+    public int getOrder() {
+        return EdgeAuthenticationFilter.ORDER + 1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.plutocart.gateway_service.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One {@link TokenBucket} per client key. Buckets are created on first use and dropped once
+ * they have refilled, since a full bucket behaves exactly like a missing one. When
+ * {@code max-clients} buckets exist, new clients are hashed onto a fixed set of
+ * {@code overflow-stripes} shared buckets until the next sweep makes room, so memory stays
+ * bounded and one flooding client throttles only the few clients sharing its stripe.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<TokenBucket> overflow;
+    private final int maxClients;
+
+    public ClientRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${gateway.rate-limit.max-clients}") int maxClients,
+                             @Value("${gateway.rate-limit.overflow-stripes}") int overflowStripes) {
+        this.maxClients = maxClients;
+        this.overflow = new AtomicReferenceArray<>(overflowStripes);
+        Gauge.builder("gateway.ratelimit.clients", buckets, Map::size)
+                .description("Clients with a partly used rate-limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the tokens left if the request may proceed, or minus the nanoseconds until the
+     * client's next token.
+     */
+    public long tryAcquire(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(key, k -> new TokenBucket(now))
+                    : overflowBucket(key, now);
+        }
+        return bucket.tryAcquire(now, policy);
+    }
+
+    private TokenBucket overflowBucket(String key, long now) {
+        int hash = key.hashCode();
+        int stripe = Math.floorMod(hash ^ (hash >>> 16), overflow.length());
+        TokenBucket bucket = overflow.get(stripe);
+        if (bucket == null) {
+            TokenBucket created = new TokenBucket(now);
+            bucket = overflow.compareAndExchange(stripe, null, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * A token taken between the check and the removal is forgotten, so a client can now and
+     * then get one request more than its limit; that is accepted over locking every request.
+     */
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.sweep-interval-millis}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        for (int i = 0; i < overflow.length(); i++) {
+            TokenBucket bucket = overflow.get(i);
+            if (bucket != null && bucket.isFull(now)) {
+                overflow.compareAndSet(i, bucket, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.plutocart.gateway_service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code capacity} requests in a burst, refilled at {@code refillPerSecond}.
+ */
+public record RateLimitPolicy(long intervalNanos, long burstNanos) {
+
+    public static RateLimitPolicy of(int capacity, int refillPerSecond) {
+        if (capacity < 1 || refillPerSecond < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / refillPerSecond;
+        return new RateLimitPolicy(interval, interval * capacity);
+    }
+}
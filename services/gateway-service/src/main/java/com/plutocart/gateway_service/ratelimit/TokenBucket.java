@@ -0,0 +1,41 @@
+package com.plutocart.gateway_service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket held in one {@link AtomicLong}: the time, in {@link System#nanoTime()}
+ * units, at which the bucket will be full again. Taking a token pushes that time one refill
+ * interval further; a request fits while the bucket is no more than {@code capacity}
+ * intervals from full. This is the GCRA form of a token bucket, and every update is a
+ * single compare-and-set.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token. Returns the tokens left (zero or more) if one was available, or
+     * minus the nanoseconds until the next token otherwise.
+     */
+    long tryAcquire(long now, RateLimitPolicy policy) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + policy.intervalNanos();
+            long debt = next - now;
+            if (debt > policy.burstNanos()) {
+                return -(debt - policy.burstNanos());
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (policy.burstNanos() - debt) / policy.intervalNanos();
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
@@ -0,0 +1,13 @@
+package com.plutocart.gateway_service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class GatewayServiceApplicationTests {
+
+//	@Test
+//	void contextLoads() {
+//	}
+
+}
@@ -0,0 +1,69 @@
+package com.plutocart.gateway_service.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    // A burst of 5 and one token a second, so nothing refills mid-test.
+    private static final RateLimitPolicy SLOW = RateLimitPolicy.of(5, 1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClientRateLimiter limiter = new ClientRateLimiter(meterRegistry, 2, 64);
+
+    @Test
+    void everyClientHasItsOwnBucket() {
+        drain("ip:a", SLOW);
+
+        assertThat(limiter.tryAcquire("ip:a", SLOW)).isNegative();
+        assertThat(limiter.tryAcquire("ip:b", SLOW)).isEqualTo(4);
+        assertThat(trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void aFloodingClientPastTheLimitThrottlesOnlyItsStripe() {
+        limiter.tryAcquire("ip:a", SLOW);
+        limiter.tryAcquire("ip:b", SLOW);
+        drain("ip:flood", SLOW);
+
+        int admitted = 0;
+        int others = 200;
+        for (int i = 0; i < others; i++) {
+            if (limiter.tryAcquire("ip:other-" + i, SLOW) >= 0) {
+                admitted++;
+            }
+        }
+
+        assertThat(limiter.tryAcquire("ip:flood", SLOW)).isNegative();
+        // With 64 stripes only a few of the others share the flooding client's bucket.
+        assertThat(admitted).isGreaterThan(others * 9 / 10);
+        assertThat(trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void sweepingMakesRoomForNewClients() throws Exception {
+        RateLimitPolicy fast = RateLimitPolicy.of(5, 1_000);
+        limiter.tryAcquire("ip:a", fast);
+        limiter.tryAcquire("ip:b", fast);
+        limiter.tryAcquire("ip:c", fast);
+
+        Thread.sleep(50);
+        limiter.sweep();
+        assertThat(trackedClients()).isZero();
+
+        limiter.tryAcquire("ip:c", fast);
+        assertThat(trackedClients()).isEqualTo(1);
+    }
+
+    private void drain(String key, RateLimitPolicy policy) {
+        while (limiter.tryAcquire(key, policy) >= 0) {
+            // keep taking
+        }
+    }
+
+    private double trackedClients() {
+        return meterRegistry.get("gateway.ratelimit.clients").gauge().value();
+    }
+}
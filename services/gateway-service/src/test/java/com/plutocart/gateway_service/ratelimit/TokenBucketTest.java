@@ -0,0 +1,121 @@
+package com.plutocart.gateway_service.ratelimit;
+
+import com.plutocart.gateway_service.support.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    // 5 requests in a burst, one more every 100 ms.
+    private static final RateLimitPolicy POLICY = RateLimitPolicy.of(5, 10);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long NOW = 1_000_000_000L;
+
+    @Test
+    void allowsAFullBurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(NOW);
+
+        for (long left = 4; left >= 0; left--) {
+            assertThat(bucket.tryAcquire(NOW, POLICY)).isEqualTo(left);
+        }
+        assertThat(bucket.tryAcquire(NOW, POLICY)).isEqualTo(-INTERVAL);
+        assertThat(bucket.tryAcquire(NOW + INTERVAL / 4, POLICY)).isEqualTo(-(INTERVAL - INTERVAL / 4));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        drain(bucket, NOW);
+
+        assertThat(bucket.tryAcquire(NOW + INTERVAL - 1, POLICY)).isEqualTo(-1);
+        assertThat(bucket.tryAcquire(NOW + INTERVAL, POLICY)).isZero();
+        assertThat(bucket.tryAcquire(NOW + INTERVAL, POLICY)).isNegative();
+
+        // Three intervals later three tokens are back.
+        long later = NOW + 4 * INTERVAL;
+        assertThat(bucket.tryAcquire(later, POLICY)).isEqualTo(2);
+        assertThat(bucket.tryAcquire(later, POLICY)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(later, POLICY)).isZero();
+        assertThat(bucket.tryAcquire(later, POLICY)).isNegative();
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        drain(bucket, NOW);
+
+        long muchLater = NOW + 100 * INTERVAL;
+        assertThat(bucket.isFull(muchLater)).isTrue();
+        assertThat(drain(bucket, muchLater)).isEqualTo(5);
+    }
+
+    @Test
+    void isFullOnlyOnceEveryTakenTokenIsBack() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        assertThat(bucket.isFull(NOW)).isTrue();
+
+        bucket.tryAcquire(NOW, POLICY);
+        bucket.tryAcquire(NOW, POLICY);
+
+        assertThat(bucket.isFull(NOW + INTERVAL)).isFalse();
+        assertThat(bucket.isFull(NOW + 2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void concurrentAcquiresAtOneInstantAdmitExactlyTheBurst() throws Exception {
+        RateLimitPolicy policy = RateLimitPolicy.of(1_000, 10);
+        TokenBucket bucket = new TokenBucket(NOW);
+        LongAdder admitted = new LongAdder();
+
+        Concurrently.run(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                if (bucket.tryAcquire(NOW, policy) >= 0) {
+                    admitted.increment();
+                }
+            }
+        });
+
+        assertThat(admitted.sum()).isEqualTo(1_000);
+        assertThat(bucket.tryAcquire(NOW, policy)).isNegative();
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedTheRate() throws Exception {
+        int capacity = 50;
+        RateLimitPolicy policy = RateLimitPolicy.of(capacity, 1_000);
+        long interval = policy.intervalNanos();
+        TokenBucket bucket = new TokenBucket(NOW);
+        LongAdder admitted = new LongAdder();
+        int steps = 2_000;
+
+        // Every thread walks the same clock forwards in steps of a quarter interval, so
+        // threads race each other at the same and at slightly different instants.
+        Concurrently.run(() -> {
+            for (int step = 0; step <= steps; step++) {
+                long now = NOW + step * interval / 4;
+                for (int i = 0; i < 3; i++) {
+                    if (bucket.tryAcquire(now, policy) >= 0) {
+                        admitted.increment();
+                    }
+                }
+            }
+        });
+
+        long elapsedIntervals = steps / 4;
+        assertThat(admitted.sum()).isLessThanOrEqualTo(capacity + elapsedIntervals);
+        // The bucket is offered more than the rate at every step, so it stays drained.
+        assertThat(admitted.sum()).isGreaterThanOrEqualTo(elapsedIntervals);
+    }
+
+    private static long drain(TokenBucket bucket, long now) {
+        long taken = 0;
+        while (bucket.tryAcquire(now, POLICY) >= 0) {
+            taken++;
+        }
+        return taken;
+    }
+}
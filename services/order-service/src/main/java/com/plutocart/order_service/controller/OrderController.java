@@ -0,0 +1,81 @@
+package com.plutocart.order_service.controller;
+
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import com.plutocart.order_service.dto.OrderPageResponse;
+import com.plutocart.order_service.dto.OrderResponse;
+import com.plutocart.order_service.dto.PlaceOrderRequest;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.service.OrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * The caller's orders. The user id comes from the caller's bearer token, verified in-process
+ * by the common-security filter.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final OrderService orderService;
+
+    /**
+     * Accepts the order and answers 202 with the pending order; poll the {@code Location} for
+     * the outcome. A retry with the same {@value #IDEMPOTENCY_KEY_HEADER} returns the same
+     * order, with 200 once it has completed.
+     */
+    @PostMapping
+    public ResponseEntity<OrderResponse> placeOrder(@AuthenticationPrincipal JwtPrincipal principal,
+                                                    @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+                                                    @Valid @RequestBody PlaceOrderRequest request) {
+        OrderResponse order = orderService.placeOrder(principal.userId(), idempotencyKey, request);
+        URI location = URI.create("/api/orders/" + order.id());
+        HttpStatus status = order.status() == OrderStatus.PENDING ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).location(location).body(order);
+    }
+
+    /**
+     * The caller's order history, newest first. Pass the {@code nextCursor} of a page as
+     * {@code cursor} to get the next one.
+     */
+    @GetMapping
+    public ResponseEntity<OrderPageResponse> listOrders(@AuthenticationPrincipal JwtPrincipal principal,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.listOrders(principal.userId(), cursor, limit));
+    }
+
+    /**
+     * All of the caller's orders with their lines as newline-delimited JSON, streamed while
+     * they are read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@AuthenticationPrincipal JwtPrincipal principal) {
+        StreamingResponseBody body = out -> orderService.exportOrders(principal.userId(), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders.ndjson").build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderResponse> getOrder(@AuthenticationPrincipal JwtPrincipal principal,
+                                                  @PathVariable UUID orderId) {
+        return ResponseEntity.ok(orderService.getOrder(principal.userId(), orderId));
+    }
+}
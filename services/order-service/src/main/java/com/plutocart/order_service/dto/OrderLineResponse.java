@@ -0,0 +1,30 @@
+package com.plutocart.order_service.dto;
+
+import com.plutocart.order_service.model.OrderLine;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderLineResponse(
+        String sku,
+        UUID productId,
+        String name,
+        int quantity,
+        BigDecimal unitPrice,
+        BigDecimal discount,
+        BigDecimal tax,
+        BigDecimal total
+) {
+    public static OrderLineResponse from(OrderLine line) {
+        return new OrderLineResponse(
+                line.sku(),
+                line.productId(),
+                line.productName(),
+                line.quantity(),
+                BigDecimal.valueOf(line.unitPriceMinor(), 2),
+                BigDecimal.valueOf(line.discountMinor(), 2),
+                BigDecimal.valueOf(line.taxMinor(), 2),
+                BigDecimal.valueOf(line.totalMinor(), 2)
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.plutocart.order_service.dto;
+
+import java.util.List;
+
+/**
+ * One page of the order history, newest first. {@code nextCursor} is {@code null} on the
+ * last page.
+ */
+public record OrderPageResponse(
+        List<OrderSummaryResponse> orders,
+        String nextCursor
+) {
+}
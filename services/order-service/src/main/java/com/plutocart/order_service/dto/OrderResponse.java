@@ -0,0 +1,41 @@
+package com.plutocart.order_service.dto;
+
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderResponse(
+        UUID id,
+        UUID userId,
+        OrderStatus status,
+        String currency,
+        BigDecimal subtotal,
+        BigDecimal discount,
+        BigDecimal tax,
+        BigDecimal total,
+        String failureReason,
+        List<OrderLineResponse> items,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public static OrderResponse from(Order order) {
+        return new OrderResponse(
+                order.id(),
+                order.userId(),
+                order.status(),
+                order.currency(),
+                BigDecimal.valueOf(order.subtotalMinor(), 2),
+                BigDecimal.valueOf(order.discountMinor(), 2),
+                BigDecimal.valueOf(order.taxMinor(), 2),
+                BigDecimal.valueOf(order.totalMinor(), 2),
+                order.failureReason(),
+                order.lines().stream().map(OrderLineResponse::from).toList(),
+                order.createdAt(),
+                order.updatedAt()
+        );
+    }
+}
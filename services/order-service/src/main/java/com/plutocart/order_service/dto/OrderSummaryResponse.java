@@ -0,0 +1,26 @@
+package com.plutocart.order_service.dto;
+
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.model.OrderSummary;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrderSummaryResponse(
+        UUID id,
+        OrderStatus status,
+        String currency,
+        BigDecimal total,
+        Instant createdAt
+) {
+    public static OrderSummaryResponse from(OrderSummary order) {
+        return new OrderSummaryResponse(
+                order.id(),
+                order.status(),
+                order.currency(),
+                BigDecimal.valueOf(order.totalMinor(), 2),
+                order.createdAt()
+        );
+    }
+}
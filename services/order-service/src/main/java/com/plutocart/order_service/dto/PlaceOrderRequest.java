@@ -0,0 +1,15 @@
+package com.plutocart.order_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record PlaceOrderRequest(
+
+        @NotEmpty(message = "An order needs at least one item")
+        @Size(max = 200, message = "An order may hold at most 200 different products")
+        List<@Valid OrderLineRequest> items
+) {
+}
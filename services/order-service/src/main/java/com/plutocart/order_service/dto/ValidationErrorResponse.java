@@ -0,0 +1,24 @@
+package com.plutocart.order_service.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ValidationErrorResponse(
+        int status,
+        String message,
+        List<FieldError> errors,
+        Instant timestamp
+) {
+    public ValidationErrorResponse {
+        if (timestamp == null) {
+            timestamp = Instant.now();
+        }
+    }
+
+
+public record FieldError(
+        String field,
+        String message
+) {
+}
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.plutocart.order_service.event;
+
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderLine;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload of the {@value #TYPE} outbox event.
+ */
+public record OrderPlacedEvent(
+        UUID orderId,
+        UUID userId,
+        String currency,
+        long totalMinor,
+        List<Item> items,
+        Instant placedAt
+) {
+    public static final String TYPE = "OrderPlaced";
+
+    /**
+     * {@code reservationIds} are the stock reservations of the order's lines, in line order.
+     */
+    public static OrderPlacedEvent from(Order order, List<UUID> reservationIds) {
+        List<Item> items = new ArrayList<>(order.lines().size());
+        for (int i = 0; i < order.lines().size(); i++) {
+            OrderLine line = order.lines().get(i);
+            items.add(new Item(line.sku(), line.quantity(), i < reservationIds.size() ? reservationIds.get(i) : null));
+        }
+        return new OrderPlacedEvent(
+                order.id(),
+                order.userId(),
+                order.currency(),
+                order.totalMinor(),
+                items,
+                order.updatedAt());
+    }
+
+    /**
+     * {@code reservationId} is the stock held for the line until the event is relayed and
+     * the reservation confirmed.
+     */
+    public record Item(String sku, int quantity, UUID reservationId) {
+    }
+}
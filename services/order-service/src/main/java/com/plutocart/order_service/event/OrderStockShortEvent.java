@@ -0,0 +1,17 @@
+package com.plutocart.order_service.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload of the {@value #TYPE} outbox event: a placed order whose reservations were gone
+ * by the time they were confirmed, and for which the stock could not be reserved again.
+ * The order stays placed; the listed items need someone to act on them.
+ */
+public record OrderStockShortEvent(
+        UUID orderId,
+        UUID userId,
+        List<OrderPlacedEvent.Item> items
+) {
+    public static final String TYPE = "OrderStockShort";
+}
@@ -0,0 +1,7 @@
+package com.plutocart.order_service.exception;
+
+public class InvalidOrderException extends RuntimeException {
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
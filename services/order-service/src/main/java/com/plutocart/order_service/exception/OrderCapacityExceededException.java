@@ -0,0 +1,7 @@
+package com.plutocart.order_service.exception;
+
+public class OrderCapacityExceededException extends RuntimeException {
+    public OrderCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.plutocart.order_service.inventory;
+
+import com.plutocart.order_service.dto.OrderLineRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stock reservations in product-service, one call per order (or per batch of orders for
+ * confirmations). Every call carries the shared service token product-service requires on
+ * its reservation endpoints.
+ */
+@Component
+public class InventoryClient {
+
+    /** Largest batch product-service accepts for confirm and release. */
+    public static final int MAX_BATCH_SIZE = 200;
+
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private final RestClient restClient;
+
+    public InventoryClient(RestClient.Builder builder,
+                           @Value("${orders.inventory.base-url}") String baseUrl,
+                           @Value("${orders.inventory.service-token}") String serviceToken,
+                           @Value("${orders.inventory.timeout-millis}") long timeoutMillis) {
+        var settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(Duration.ofMillis(timeoutMillis))
+                .withReadTimeout(Duration.ofMillis(timeoutMillis));
+        this.restClient = builder
+                .baseUrl(baseUrl)
+                .defaultHeader(SERVICE_TOKEN_HEADER, serviceToken)
+                .requestFactory(ClientHttpRequestFactories.get(settings))
+                .build();
+    }
+
+    /**
+     * Reserves every item or none. Returns the reservation ids, or {@code null} if some item
+     * is out of stock.
+     */
+    public List<UUID> reserveAll(List<OrderLineRequest> items) {
+        return reserve(items.stream().map(item -> new Item(item.sku(), item.quantity(), null)).toList());
+    }
+
+    /**
+     * Like {@link #reserveAll(List)}, under ids chosen by the caller, one per item. Repeating
+     * the call takes no more stock: product-service answers with what it already holds, or
+     * has confirmed, under those ids.
+     */
+    public List<UUID> reserveAll(List<OrderLineRequest> items, List<UUID> reservationIds) {
+        List<Item> request = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            request.add(new Item(items.get(i).sku(), items.get(i).quantity(), reservationIds.get(i)));
+        }
+        return reserve(request);
+    }
+
+    private List<UUID> reserve(List<Item> items) {
+        try {
+            BatchResponse response = restClient.post()
+                    .uri("/api/inventory/reservations/batch")
+                    .body(new ReserveRequest(items))
+                    .retrieve()
+                    .body(BatchResponse.class);
+            return response.reservations().stream().map(Reservation::reservationId).toList();
+        } catch (HttpClientErrorException.Conflict ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Confirms up to {@link #MAX_BATCH_SIZE} reservations and returns the ids that had
+     * already expired or were unknown. Confirming a reservation again is harmless.
+     */
+    public List<UUID> confirmAll(List<UUID> reservationIds) {
+        return send("/api/inventory/reservations/confirm", reservationIds);
+    }
+
+    public List<UUID> releaseAll(List<UUID> reservationIds) {
+        return send("/api/inventory/reservations/release", reservationIds);
+    }
+
+    private List<UUID> send(String uri, List<UUID> reservationIds) {
+        BatchResponse response = restClient.post()
+                .uri(uri)
+                .body(new IdsRequest(reservationIds))
+                .retrieve()
+                .body(BatchResponse.class);
+        return response.missing() != null ? response.missing() : List.of();
+    }
+
+    private record Item(String sku, int quantity, UUID reservationId) {
+    }
+
+    private record ReserveRequest(List<Item> items) {
+    }
+
+    private record IdsRequest(List<UUID> reservationIds) {
+    }
+
+    private record Reservation(UUID reservationId) {
+    }
+
+    private record BatchResponse(List<Reservation> reservations, List<UUID> missing) {
+    }
+}
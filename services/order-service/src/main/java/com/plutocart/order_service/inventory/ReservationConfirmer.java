@@ -0,0 +1,143 @@
+package com.plutocart.order_service.inventory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.common_utils.outbox.Outbox;
+import com.plutocart.common_utils.outbox.OutboxEvent;
+import com.plutocart.common_utils.outbox.OutboxListener;
+import com.plutocart.common_utils.outbox.OutboxMessage;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.event.OrderPlacedEvent;
+import com.plutocart.order_service.event.OrderStockShortEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Confirms the stock of placed orders from their {@value OrderPlacedEvent#TYPE} outbox
+ * events. The relay keeps a batch in the outbox until this returns, so a confirmation that
+ * fails is retried on the next poll, across restarts too, and product-service answers a
+ * repeated confirmation like the first one.
+ * <p>
+ * A reservation that is gone by then (it expired while the order waited for the database,
+ * or product-service restarted) is reserved again under an id derived from the old one,
+ * so a retry cannot take the stock twice, and confirmed. If the stock is no longer there,
+ * the order is flagged with an {@value OrderStockShortEvent#TYPE} event.
+ * <p>
+ * Events reach this listener through the in-process {@code LocalOutboxBroker}; a broker
+ * wired in instead must still hand order-service its own {@code OrderPlaced} events.
+ */
+@Component
+@Slf4j
+public class ReservationConfirmer implements OutboxListener {
+
+    private final InventoryClient inventoryClient;
+    private final Outbox outbox;
+    private final ObjectMapper objectMapper;
+    private final Counter confirmed;
+    private final Counter reservedAgain;
+    private final Counter stockShort;
+
+    public ReservationConfirmer(InventoryClient inventoryClient,
+                                Outbox outbox,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.inventoryClient = inventoryClient;
+        this.outbox = outbox;
+        this.objectMapper = objectMapper;
+        this.confirmed = Counter.builder("orders.stock.confirmed").tag("result", "confirmed").register(meterRegistry);
+        this.reservedAgain = Counter.builder("orders.stock.confirmed").tag("result", "reserved_again").register(meterRegistry);
+        this.stockShort = Counter.builder("orders.stock.confirmed").tag("result", "short").register(meterRegistry);
+    }
+
+    @Override
+    public void onEvent(OutboxMessage message) {
+        onEvents(List.of(message));
+    }
+
+    @Override
+    public void onEvents(List<OutboxMessage> batch) {
+        List<OrderPlacedEvent> orders = new ArrayList<>();
+        List<UUID> reservations = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            if (!OrderPlacedEvent.TYPE.equals(message.eventType())) {
+                continue;
+            }
+            OrderPlacedEvent order = read(message);
+            if (order == null) {
+                continue;
+            }
+            orders.add(order);
+            for (OrderPlacedEvent.Item item : order.items()) {
+                if (item.reservationId() != null) {
+                    reservations.add(item.reservationId());
+                }
+            }
+        }
+        if (reservations.isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>();
+        for (int from = 0; from < reservations.size(); from += InventoryClient.MAX_BATCH_SIZE) {
+            missing.addAll(inventoryClient.confirmAll(
+                    reservations.subList(from, Math.min(from + InventoryClient.MAX_BATCH_SIZE, reservations.size()))));
+        }
+        confirmed.increment(reservations.size() - missing.size());
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (OrderPlacedEvent order : orders) {
+            List<OrderPlacedEvent.Item> lost = order.items().stream()
+                    .filter(item -> missing.contains(item.reservationId()))
+                    .toList();
+            if (!lost.isEmpty()) {
+                reserveAgain(order, lost);
+            }
+        }
+    }
+
+    private void reserveAgain(OrderPlacedEvent order, List<OrderPlacedEvent.Item> lost) {
+        List<OrderLineRequest> lines = lost.stream().map(item -> new OrderLineRequest(item.sku(), item.quantity())).toList();
+        List<UUID> ids = lost.stream().map(item -> reservedAgainId(item.reservationId())).toList();
+        List<UUID> reservations = inventoryClient.reserveAll(lines, ids);
+        if (reservations == null) {
+            log.error("Order {} is placed, but {} of its reservations had expired and the stock is gone", order.orderId(), lost.size());
+            stockShort.increment(lost.size());
+            outbox.append(OutboxEvent.of("order", order.orderId(), OrderStockShortEvent.TYPE,
+                    new OrderStockShortEvent(order.orderId(), order.userId(), lost)));
+            return;
+        }
+        List<UUID> stillMissing = inventoryClient.confirmAll(reservations);
+        if (!stillMissing.isEmpty()) {
+            // Held a moment ago; leave the batch in the outbox and try again.
+            throw new IllegalStateException("Reservations of order " + order.orderId() + " vanished before confirmation");
+        }
+        log.warn("Order {}: {} expired reservations were reserved again and confirmed", order.orderId(), lost.size());
+        reservedAgain.increment(lost.size());
+    }
+
+    private static UUID reservedAgainId(UUID reservationId) {
+        return UUID.nameUUIDFromBytes(("reserved-again:" + reservationId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a payload that cannot be read; retrying would not help, and
+     * it must not hold up the events behind it.
+     */
+    private OrderPlacedEvent read(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.payload(), OrderPlacedEvent.class);
+        } catch (JsonProcessingException ex) {
+            log.error("Skipped unreadable {} event {}: {}", OrderPlacedEvent.TYPE, message.eventId(), ex.getOriginalMessage());
+            return null;
+        }
+    }
+}
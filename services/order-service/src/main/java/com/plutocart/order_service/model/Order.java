@@ -0,0 +1,28 @@
+package com.plutocart.order_service.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An order and its lines. Amounts are in minor units of {@code currency}.
+ * {@code requestHash} identifies the request that created the order, so a reused
+ * idempotency key can be told apart from a retry.
+ */
+public record Order(
+        UUID id,
+        UUID userId,
+        String idempotencyKey,
+        String requestHash,
+        OrderStatus status,
+        String currency,
+        long subtotalMinor,
+        long discountMinor,
+        long taxMinor,
+        long totalMinor,
+        String failureReason,
+        List<OrderLine> lines,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
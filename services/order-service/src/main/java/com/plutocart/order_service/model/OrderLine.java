@@ -0,0 +1,23 @@
+package com.plutocart.order_service.model;
+
+import java.util.UUID;
+
+/**
+ * One line of an order. Lines of orders that were not placed carry no product and zero
+ * amounts.
+ */
+public record OrderLine(
+        int lineNo,
+        String sku,
+        UUID productId,
+        String productName,
+        int quantity,
+        long unitPriceMinor,
+        long discountMinor,
+        long taxMinor,
+        long totalMinor
+) {
+    public static OrderLine unpriced(int lineNo, String sku, int quantity) {
+        return new OrderLine(lineNo, sku, null, null, quantity, 0, 0, 0, 0);
+    }
+}
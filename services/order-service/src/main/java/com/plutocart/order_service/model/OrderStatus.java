@@ -0,0 +1,14 @@
+package com.plutocart.order_service.model;
+
+public enum OrderStatus {
+    /** Accepted, still being reserved, priced and persisted. */
+    PENDING,
+    PLACED,
+    /** Out of stock, or a product is not available. */
+    REJECTED,
+    /**
+     * A dependency was unreachable; nothing is held and the order is not stored, so the same
+     * request, idempotency key included, can be retried.
+     */
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.plutocart.order_service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An order as listed in the order history, without its lines.
+ */
+public record OrderSummary(
+        UUID id,
+        OrderStatus status,
+        String currency,
+        long totalMinor,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,71 @@
+package com.plutocart.order_service.pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plutocart.order_service.model.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency keys of orders that are still in the pipeline, and of recently completed
+ * ones, so a retry is answered from memory. Older keys are found through the unique index
+ * on the orders table, which is also what settles a race between two instances.
+ */
+@Component
+public class IdempotencyRegistry {
+
+    private final ConcurrentHashMap<Key, OrderTicket> pending = new ConcurrentHashMap<>();
+    private final Cache<Key, Order> completed;
+
+    public IdempotencyRegistry(@Value("${orders.idempotency.cache-size}") long cacheSize,
+                               @Value("${orders.idempotency.cache-ttl-millis}") long cacheTtlMillis) {
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .build();
+    }
+
+    public OrderTicket pending(UUID userId, String idempotencyKey) {
+        return pending.get(new Key(userId, idempotencyKey));
+    }
+
+    public Order completed(UUID userId, String idempotencyKey) {
+        return completed.getIfPresent(new Key(userId, idempotencyKey));
+    }
+
+    /**
+     * Registers {@code ticket} for its key. Returns the ticket of the request that already
+     * holds the key, or {@code null} if {@code ticket} got it.
+     */
+    public OrderTicket claim(OrderTicket ticket) {
+        return pending.putIfAbsent(key(ticket), ticket);
+    }
+
+    /**
+     * Caches a completed order found in the database, so further retries skip it.
+     */
+    public void remember(Order order) {
+        completed.put(new Key(order.userId(), order.idempotencyKey()), order);
+    }
+
+    void complete(OrderTicket ticket, Order order) {
+        // Cache before releasing the claim so a concurrent retry always finds one or the other.
+        completed.put(key(ticket), order);
+        pending.remove(key(ticket), ticket);
+    }
+
+    void abandon(OrderTicket ticket) {
+        pending.remove(key(ticket), ticket);
+    }
+
+    private static Key key(OrderTicket ticket) {
+        return new Key(ticket.userId(), ticket.idempotencyKey());
+    }
+
+    private record Key(UUID userId, String idempotencyKey) {
+    }
+}
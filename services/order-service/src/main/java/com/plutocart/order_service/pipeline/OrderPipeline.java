@@ -0,0 +1,425 @@
+package com.plutocart.order_service.pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import com.plutocart.common_utils.outbox.Outbox;
+import com.plutocart.common_utils.outbox.OutboxEvent;
+import com.plutocart.common_utils.pricing.CartPricer;
+import com.plutocart.common_utils.pricing.PricedLine;
+import com.plutocart.common_utils.product.ProductClient;
+import com.plutocart.common_utils.product.ProductInfo;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.event.OrderPlacedEvent;
+import com.plutocart.order_service.inventory.InventoryClient;
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderLine;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes accepted orders off the request thread, in two bounded stages:
+ * <ol>
+ *     <li>fulfil: reserve stock and price the lines, at most
+ *     {@code orders.pipeline.fulfilment-concurrency} orders at a time;</li>
+ *     <li>persist: one writer thread stores whatever has queued up, up to
+ *     {@code orders.pipeline.persist-batch-size} orders per transaction, together with an
+ *     {@code OrderPlaced} outbox event for each placed order.</li>
+ * </ol>
+ * The reservations of a placed order are confirmed from its outbox event (see
+ * {@link com.plutocart.order_service.inventory.ReservationConfirmer}), so the confirmation
+ * is as durable as the order.
+ * An order holds one of {@code orders.pipeline.max-in-flight} permits from admission until
+ * it has left the last stage; when none is left, new orders are turned away instead of
+ * queueing without bound. Orders that fail are not stored: their idempotency key is freed
+ * for a retry, and they stay visible by id in memory for {@code orders.pipeline.failed-ttl-millis}.
+ */
+@Component
+@Slf4j
+public class OrderPipeline {
+
+    private static final RateLimitedLogger stageFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
+    private static final long DRAIN_TIMEOUT_MILLIS = 30_000;
+    private static final long PERSIST_RETRY_MILLIS = 1_000;
+    private static final String FAILURE_REASON = "Order could not be completed, please try again";
+
+    private final InventoryClient inventoryClient;
+    private final ProductClient productClient;
+    private final CartPricer pricer;
+    private final OrderRepository orderRepository;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyRegistry idempotency;
+    private final int maxInFlight;
+    private final int persistBatchSize;
+
+    private final Semaphore admission;
+    private final Semaphore fulfilmentSlots;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final BlockingQueue<OrderTicket> persistQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<UUID, OrderTicket> inFlight = new ConcurrentHashMap<>();
+    private final Cache<UUID, Order> recentlyFailed;
+    private final Thread writer;
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private final Counter placed;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Timer fulfilmentTimer;
+    private final Timer persistTimer;
+    private final DistributionSummary persistBatch;
+    private final Timer completionTimer;
+
+    public OrderPipeline(InventoryClient inventoryClient,
+                         ProductClient productClient,
+                         CartPricer pricer,
+                         OrderRepository orderRepository,
+                         Outbox outbox,
+                         PlatformTransactionManager transactionManager,
+                         IdempotencyRegistry idempotency,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.pipeline.max-in-flight}") int maxInFlight,
+                         @Value("${orders.pipeline.fulfilment-concurrency}") int fulfilmentConcurrency,
+                         @Value("${orders.pipeline.persist-batch-size}") int persistBatchSize,
+                         @Value("${orders.pipeline.failed-cache-size}") long failedCacheSize,
+                         @Value("${orders.pipeline.failed-ttl-millis}") long failedTtlMillis) {
+        this.inventoryClient = inventoryClient;
+        this.productClient = productClient;
+        this.pricer = pricer;
+        this.orderRepository = orderRepository;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idempotency = idempotency;
+        this.maxInFlight = maxInFlight;
+        this.persistBatchSize = persistBatchSize;
+        this.admission = new Semaphore(maxInFlight);
+        this.fulfilmentSlots = new Semaphore(fulfilmentConcurrency);
+        this.recentlyFailed = Caffeine.newBuilder()
+                .maximumSize(failedCacheSize)
+                .expireAfterWrite(Duration.ofMillis(failedTtlMillis))
+                .build();
+
+        this.placed = Counter.builder("orders.completed").tag("status", "placed").register(meterRegistry);
+        this.rejected = Counter.builder("orders.completed").tag("status", "rejected").register(meterRegistry);
+        this.failed = Counter.builder("orders.completed").tag("status", "failed").register(meterRegistry);
+        this.fulfilmentTimer = Timer.builder("orders.fulfilment.time").register(meterRegistry);
+        this.persistTimer = Timer.builder("orders.persist.time").register(meterRegistry);
+        this.persistBatch = DistributionSummary.builder("orders.persist.batch.size").register(meterRegistry);
+        this.completionTimer = Timer.builder("orders.completion.time").register(meterRegistry);
+        Gauge.builder("orders.in_flight", admission, permits -> maxInFlight - permits.availablePermits())
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "order-writer");
+        this.writer.start();
+    }
+
+    public String currency() {
+        return pricer.currency();
+    }
+
+    /**
+     * Takes a pipeline permit for a new order. Returns {@code false} when the pipeline is
+     * full or shutting down.
+     */
+    public boolean admit() {
+        return accepting && admission.tryAcquire();
+    }
+
+    /**
+     * Gives back a permit taken by {@link #admit} for an order that was not submitted.
+     */
+    public void cancelAdmission() {
+        admission.release();
+    }
+
+    /**
+     * Starts an admitted order on its way. Returns immediately.
+     */
+    public void submit(OrderTicket ticket) {
+        inFlight.put(ticket.id(), ticket);
+        workers.execute(() -> fulfil(ticket));
+    }
+
+    /**
+     * Returns the order if it is still in the pipeline, as {@link OrderStatus#PENDING}, or if
+     * it failed recently and was therefore never stored, as {@link OrderStatus#FAILED}.
+     */
+    public Order recent(UUID orderId) {
+        OrderTicket ticket = inFlight.get(orderId);
+        return ticket != null ? ticket.pending() : recentlyFailed.getIfPresent(orderId);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        accepting = false;
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        while (admission.availablePermits() < maxInFlight && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        running = false;
+        writer.join(DRAIN_TIMEOUT_MILLIS);
+        workers.shutdown();
+        if (admission.availablePermits() < maxInFlight) {
+            log.warn("Stopped with {} orders still in the pipeline", maxInFlight - admission.availablePermits());
+        }
+    }
+
+    private void fulfil(OrderTicket ticket) {
+        fulfilmentSlots.acquireUninterruptibly();
+        long started = System.nanoTime();
+        try {
+            List<String> skus = ticket.items().stream().map(OrderLineRequest::sku).toList();
+            // Look prices up while the reservation is on its way.
+            CompletableFuture<Map<String, ProductInfo>> products = productClient.lookupAsync(skus);
+            List<UUID> reservations = inventoryClient.reserveAll(ticket.items());
+            if (reservations == null) {
+                ticket.reject(OrderStatus.REJECTED, rejectionReason(ticket, products));
+                return;
+            }
+            ticket.reserved(reservations);
+            String problem = price(ticket, products.join());
+            if (problem != null) {
+                release(ticket);
+                ticket.reject(OrderStatus.REJECTED, problem);
+            }
+        } catch (RuntimeException ex) {
+            stageFailureLog.warn("Order could not be fulfilled: {}", ex.getMessage());
+            release(ticket);
+            ticket.reject(OrderStatus.FAILED, FAILURE_REASON);
+        } finally {
+            fulfilmentSlots.release();
+            fulfilmentTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (ticket.outcome() != null && ticket.outcome().status() == OrderStatus.FAILED) {
+                fail(ticket);
+            } else {
+                persistQueue.add(ticket);
+            }
+        }
+    }
+
+    /**
+     * Prices every line and places the order. Returns why it cannot be placed instead, if a
+     * product is unknown, inactive or priced in another currency.
+     */
+    private String price(OrderTicket ticket, Map<String, ProductInfo> products) {
+        List<OrderLine> lines = new ArrayList<>(ticket.items().size());
+        for (OrderLineRequest item : ticket.items()) {
+            ProductInfo product = products.get(item.sku());
+            if (!available(product)) {
+                return "Product " + item.sku() + " is not available";
+            }
+            PricedLine priced = pricer.price(item.sku(), item.quantity(), product.priceMinor());
+            lines.add(new OrderLine(lines.size() + 1, item.sku(), product.id(), product.name(), item.quantity(),
+                    priced.unitPriceMinor(), priced.discountMinor(), priced.taxMinor(), priced.totalMinor()));
+        }
+        ticket.place(lines);
+        return null;
+    }
+
+    /**
+     * Unknown SKUs cannot be reserved either; name the product if that is why.
+     */
+    private String rejectionReason(OrderTicket ticket, CompletableFuture<Map<String, ProductInfo>> products) {
+        try {
+            Map<String, ProductInfo> found = products.join();
+            for (OrderLineRequest item : ticket.items()) {
+                if (!available(found.get(item.sku()))) {
+                    return "Product " + item.sku() + " is not available";
+                }
+            }
+        } catch (RuntimeException ex) {
+            // Stock was short either way.
+        }
+        return "Not enough stock for one or more items";
+    }
+
+    private boolean available(ProductInfo product) {
+        return product != null && product.active() && pricer.currency().equals(product.currency());
+    }
+
+    private void writeLoop() {
+        List<OrderTicket> batch = new ArrayList<>(persistBatchSize);
+        while (running || !persistQueue.isEmpty()) {
+            try {
+                OrderTicket first = persistQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                persistQueue.drainTo(batch, persistBatchSize - 1);
+                persist(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                dropUnsettled(batch);
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order writer failed on a batch of {} orders", batch.size(), ex);
+                dropUnsettled(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<OrderTicket> batch) throws InterruptedException {
+        persistBatch.record(batch.size());
+        List<OrderTicket> stored = null;
+        while (stored == null) {
+            try {
+                persistTimer.record(() -> store(batch));
+                stored = batch;
+            } catch (DataIntegrityViolationException ex) {
+                stored = persistOneByOne(batch, ex);
+            } catch (DataAccessException | TransactionException ex) {
+                if (!running) {
+                    stored = persistOneByOne(batch, ex);
+                    continue;
+                }
+                // The database is unavailable (no connection counts too): hold the batch, and let
+                // admission shed new orders meanwhile.
+                stageFailureLog.warn("Order batch insert failed, retrying: {}", ex.getMessage());
+                Thread.sleep(PERSIST_RETRY_MILLIS);
+            }
+        }
+
+        for (OrderTicket ticket : stored) {
+            Order order = ticket.outcome();
+            idempotency.complete(ticket, order);
+            inFlight.remove(ticket.id());
+            completionTimer.record(System.nanoTime() - ticket.acceptedNanos(), TimeUnit.NANOSECONDS);
+            switch (order.status()) {
+                case PLACED -> placed.increment();
+                case REJECTED -> rejected.increment();
+                default -> failed.increment();
+            }
+        }
+        admission.release(stored.size());
+    }
+
+    private void store(List<OrderTicket> tickets) {
+        List<Order> orders = new ArrayList<>(tickets.size());
+        List<OutboxEvent> events = new ArrayList<>(tickets.size());
+        for (OrderTicket ticket : tickets) {
+            Order order = ticket.outcome();
+            orders.add(order);
+            if (order.status() == OrderStatus.PLACED) {
+                events.add(OutboxEvent.of("order", order.id(), OrderPlacedEvent.TYPE,
+                        OrderPlacedEvent.from(order, ticket.reservationIds())));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.saveAll(orders);
+            outbox.appendAll(events);
+        });
+    }
+
+    /**
+     * Falls back to one transaction per order so that one bad order cannot sink the batch.
+     * Orders that still cannot be stored are dropped and their stock released; one whose
+     * idempotency key was taken by another instance in the meantime is simply a duplicate.
+     */
+    private List<OrderTicket> persistOneByOne(List<OrderTicket> batch, RuntimeException batchFailure) {
+        stageFailureLog.warn("Order batch insert failed, storing orders one by one: {}", batchFailure.getMessage());
+        List<OrderTicket> stored = new ArrayList<>(batch.size());
+        for (OrderTicket ticket : batch) {
+            try {
+                store(List.of(ticket));
+                stored.add(ticket);
+                continue;
+            } catch (DuplicateKeyException ex) {
+                log.info("Order {} dropped, idempotency key already used by another order", ticket.id());
+            } catch (DataAccessException | TransactionException ex) {
+                log.error("Order {} could not be stored and was dropped: {}", ticket.id(), ex.getMessage());
+                markFailed(ticket);
+            }
+            drop(ticket);
+        }
+        return stored;
+    }
+
+    /**
+     * Drops the orders of a batch the writer gave up on that were not settled yet, so none
+     * keeps its permit, idempotency key or stock.
+     */
+    private void dropUnsettled(List<OrderTicket> batch) {
+        for (OrderTicket ticket : batch) {
+            if (inFlight.get(ticket.id()) == ticket) {
+                markFailed(ticket);
+                drop(ticket);
+            }
+        }
+    }
+
+    /**
+     * Ends an order that failed before it was stored. Nothing is held for it by now, and
+     * {@link #drop} frees its idempotency key, so the same request can simply be sent again.
+     */
+    private void fail(OrderTicket ticket) {
+        markFailed(ticket);
+        completionTimer.record(System.nanoTime() - ticket.acceptedNanos(), TimeUnit.NANOSECONDS);
+        drop(ticket);
+    }
+
+    private void markFailed(OrderTicket ticket) {
+        if (ticket.outcome() == null || ticket.outcome().status() != OrderStatus.FAILED) {
+            ticket.reject(OrderStatus.FAILED, FAILURE_REASON);
+        }
+        // Visible here before it leaves inFlight, so polling never misses it.
+        recentlyFailed.put(ticket.id(), ticket.outcome());
+        failed.increment();
+    }
+
+    /**
+     * Gives up on an order that will not be stored: its stock goes back, its idempotency key
+     * is free for a retry, and its permit is returned.
+     */
+    private void drop(OrderTicket ticket) {
+        release(ticket);
+        idempotency.abandon(ticket);
+        inFlight.remove(ticket.id());
+        admission.release();
+    }
+
+    private void release(OrderTicket ticket) {
+        List<UUID> reservations = ticket.reservationIds();
+        if (reservations.isEmpty()) {
+            return;
+        }
+        try {
+            inventoryClient.releaseAll(reservations);
+            ticket.reserved(List.of());
+        } catch (RuntimeException ex) {
+            stageFailureLog.warn("Reservations could not be released, they will expire: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.plutocart.order_service.pipeline;
+
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderLine;
+import com.plutocart.order_service.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An accepted order on its way through {@link OrderPipeline}. Each stage hands the ticket
+ * to the next, so there is never more than one thread working on it.
+ */
+public final class OrderTicket {
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID userId;
+    private final String idempotencyKey;
+    private final String requestHash;
+    private final String currency;
+    private final List<OrderLineRequest> items;
+    private final Instant acceptedAt = Instant.now();
+    private final long acceptedNanos = System.nanoTime();
+
+    private volatile List<UUID> reservationIds = List.of();
+    private volatile Order outcome;
+
+    public OrderTicket(UUID userId, String idempotencyKey, String requestHash, String currency,
+                       List<OrderLineRequest> items) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.currency = currency;
+        this.items = List.copyOf(items);
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    public String idempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String requestHash() {
+        return requestHash;
+    }
+
+    public List<OrderLineRequest> items() {
+        return items;
+    }
+
+    /**
+     * The order as callers see it until it is persisted.
+     */
+    public Order pending() {
+        return resolve(OrderStatus.PENDING, null, unpricedLines(), acceptedAt);
+    }
+
+    Instant acceptedAt() {
+        return acceptedAt;
+    }
+
+    long acceptedNanos() {
+        return acceptedNanos;
+    }
+
+    List<UUID> reservationIds() {
+        return reservationIds;
+    }
+
+    void reserved(List<UUID> reservationIds) {
+        this.reservationIds = reservationIds;
+    }
+
+    Order outcome() {
+        return outcome;
+    }
+
+    void place(List<OrderLine> lines) {
+        outcome = resolve(OrderStatus.PLACED, null, lines, Instant.now());
+    }
+
+    void reject(OrderStatus status, String reason) {
+        outcome = resolve(status, reason, unpricedLines(), Instant.now());
+    }
+
+    private Order resolve(OrderStatus status, String reason, List<OrderLine> lines, Instant updatedAt) {
+        long subtotal = 0;
+        long discount = 0;
+        long tax = 0;
+        for (OrderLine line : lines) {
+            subtotal += line.unitPriceMinor() * line.quantity();
+            discount += line.discountMinor();
+            tax += line.taxMinor();
+        }
+        return new Order(id, userId, idempotencyKey, requestHash, status, currency,
+                subtotal, discount, tax, subtotal - discount + tax, reason, lines, acceptedAt, updatedAt);
+    }
+
+    private List<OrderLine> unpricedLines() {
+        List<OrderLine> lines = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            lines.add(OrderLine.unpriced(i + 1, items.get(i).sku(), items.get(i).quantity()));
+        }
+        return lines;
+    }
+}
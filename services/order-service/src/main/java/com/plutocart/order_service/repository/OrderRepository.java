@@ -0,0 +1,239 @@
+package com.plutocart.order_service.repository;
+
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderCursor;
+import com.plutocart.order_service.model.OrderLine;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.model.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Orders in MySQL. UUIDs are stored as {@code BINARY(16)}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderRepository {
+
+    private static final String ORDER_COLUMNS = """
+            id, user_id, idempotency_key, request_hash, status, currency, subtotal_minor, discount_minor,
+            tax_minor, total_minor, failure_reason, created_at, updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the orders and all their lines in two JDBC batches within one transaction;
+     * with {@code rewriteBatchedStatements} the driver sends each batch as multi-row
+     * inserts. Fails as a whole if any order's idempotency key is already taken.
+     */
+    @Transactional
+    public void saveAll(List<Order> orders) {
+        List<Object[]> headers = new ArrayList<>(orders.size());
+        List<Object[]> lines = new ArrayList<>();
+        for (Order order : orders) {
+            headers.add(new Object[]{
+                    bytes(order.id()), bytes(order.userId()), order.idempotencyKey(), order.requestHash(),
+                    order.status().name(), order.currency(), order.subtotalMinor(), order.discountMinor(),
+                    order.taxMinor(), order.totalMinor(), order.failureReason(),
+                    Timestamp.from(order.createdAt()), Timestamp.from(order.updatedAt())});
+            for (OrderLine line : order.lines()) {
+                lines.add(new Object[]{
+                        bytes(order.id()), line.lineNo(), line.sku(), bytes(line.productId()), line.productName(),
+                        line.quantity(), line.unitPriceMinor(), line.discountMinor(), line.taxMinor(),
+                        line.totalMinor()});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into orders (" + ORDER_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                headers);
+        jdbcTemplate.batchUpdate("""
+                insert into order_lines (order_id, line_no, sku, product_id, product_name, quantity,
+                                         unit_price_minor, discount_minor, tax_minor, total_minor)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, lines);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Order> findById(UUID id) {
+        return withLines(jdbcTemplate.query(
+                "select " + ORDER_COLUMNS + " from orders where id = ?", OrderRepository::mapOrder, bytes(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdempotencyKey(UUID userId, String idempotencyKey) {
+        return withLines(jdbcTemplate.query(
+                "select " + ORDER_COLUMNS + " from orders where user_id = ? and idempotency_key = ?",
+                OrderRepository::mapOrder, bytes(userId), idempotencyKey));
+    }
+
+    /**
+     * Up to {@code limit} of the user's orders, newest first, starting after {@code after}
+     * (or from the newest when it is {@code null}). Seeks on
+     * {@code orders_user_history_idx}, which also covers the selected columns, so a page
+     * costs the same however deep into the history it is.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findPageByUser(UUID userId, OrderCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("""
+                            select id, status, currency, total_minor, created_at from orders
+                            where user_id = ?
+                            order by created_at desc, id desc limit ?
+                            """,
+                    OrderRepository::mapSummary, bytes(userId), limit);
+        }
+        Timestamp createdAt = Timestamp.from(after.createdAt());
+        return jdbcTemplate.query("""
+                        select id, status, currency, total_minor, created_at from orders
+                        where user_id = ? and (created_at < ? or (created_at = ? and id < ?))
+                        order by created_at desc, id desc limit ?
+                        """,
+                OrderRepository::mapSummary, bytes(userId), createdAt, createdAt, bytes(after.id()), limit);
+    }
+
+    /**
+     * Hands every order of the user, oldest first and with its lines, to {@code sink} while
+     * reading them from a forward-only cursor {@code fetchSize} rows at a time (the URL
+     * needs {@code useCursorFetch=true}; without it the driver reads the whole result
+     * first). Only the order being assembled is held in memory.
+     */
+    public void streamByUser(UUID userId, int fetchSize, Consumer<Order> sink) {
+        OrderAssembler assembler = new OrderAssembler(sink);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                            select o.id, o.user_id, o.idempotency_key, o.request_hash, o.status, o.currency,
+                                   o.subtotal_minor, o.discount_minor, o.tax_minor, o.total_minor, o.failure_reason,
+                                   o.created_at, o.updated_at, l.line_no, l.sku, l.product_id, l.product_name,
+                                   l.quantity, l.unit_price_minor, l.discount_minor as line_discount_minor,
+                                   l.tax_minor as line_tax_minor, l.total_minor as line_total_minor
+                            from orders o join order_lines l on l.order_id = o.id
+                            where o.user_id = ?
+                            order by o.created_at, o.id
+                            """,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setBytes(1, bytes(userId));
+            return statement;
+        }, assembler);
+        assembler.flush();
+    }
+
+    private Optional<Order> withLines(List<Order> found) {
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = found.get(0);
+        List<OrderLine> lines = jdbcTemplate.query("""
+                        select line_no, sku, product_id, product_name, quantity, unit_price_minor, discount_minor,
+                               tax_minor, total_minor
+                        from order_lines where order_id = ? order by line_no
+                        """,
+                (rs, rowNum) -> new OrderLine(
+                        rs.getInt(1), rs.getString(2), uuid(rs.getBytes(3)), rs.getString(4), rs.getInt(5),
+                        rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getLong(9)),
+                bytes(order.id()));
+        return Optional.of(new Order(order.id(), order.userId(), order.idempotencyKey(), order.requestHash(),
+                order.status(), order.currency(), order.subtotalMinor(), order.discountMinor(), order.taxMinor(),
+                order.totalMinor(), order.failureReason(), lines, order.createdAt(), order.updatedAt()));
+    }
+
+    private static Order mapOrder(ResultSet rs, int rowNum) throws SQLException {
+        return new Order(
+                uuid(rs.getBytes("id")),
+                uuid(rs.getBytes("user_id")),
+                rs.getString("idempotency_key"),
+                rs.getString("request_hash"),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getString("currency"),
+                rs.getLong("subtotal_minor"),
+                rs.getLong("discount_minor"),
+                rs.getLong("tax_minor"),
+                rs.getLong("total_minor"),
+                rs.getString("failure_reason"),
+                List.of(),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getTimestamp("updated_at").toInstant());
+    }
+
+    private static OrderSummary mapSummary(ResultSet rs, int rowNum) throws SQLException {
+        return new OrderSummary(
+                uuid(rs.getBytes("id")),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getString("currency"),
+                rs.getLong("total_minor"),
+                rs.getTimestamp("created_at").toInstant());
+    }
+
+    /**
+     * Folds the joined rows of one order back into an {@link Order}. The export query keeps
+     * an order's rows together, so an order is complete once the next one starts.
+     */
+    private static final class OrderAssembler implements RowCallbackHandler {
+
+        private final Consumer<Order> sink;
+        private Order current;
+        private List<OrderLine> lines = new ArrayList<>();
+
+        OrderAssembler(Consumer<Order> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID id = uuid(rs.getBytes(1));
+            if (current == null || !current.id().equals(id)) {
+                flush();
+                current = mapOrder(rs, 0);
+            }
+            lines.add(new OrderLine(
+                    rs.getInt(14), rs.getString(15), uuid(rs.getBytes(16)), rs.getString(17), rs.getInt(18),
+                    rs.getLong(19), rs.getLong(20), rs.getLong(21), rs.getLong(22)));
+        }
+
+        void flush() {
+            if (current == null) {
+                return;
+            }
+            lines.sort(Comparator.comparingInt(OrderLine::lineNo));
+            sink.accept(new Order(current.id(), current.userId(), current.idempotencyKey(), current.requestHash(),
+                    current.status(), current.currency(), current.subtotalMinor(), current.discountMinor(),
+                    current.taxMinor(), current.totalMinor(), current.failureReason(), lines, current.createdAt(),
+                    current.updatedAt()));
+            current = null;
+            lines = new ArrayList<>();
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
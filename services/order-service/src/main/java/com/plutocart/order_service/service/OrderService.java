@@ -0,0 +1,228 @@
+package com.plutocart.order_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.dto.OrderPageResponse;
+import com.plutocart.order_service.dto.OrderResponse;
+import com.plutocart.order_service.dto.OrderSummaryResponse;
+import com.plutocart.order_service.dto.PlaceOrderRequest;
+import com.plutocart.order_service.exception.IdempotencyKeyReusedException;
+import com.plutocart.order_service.exception.InvalidOrderException;
+import com.plutocart.order_service.exception.OrderCapacityExceededException;
+import com.plutocart.order_service.exception.OrderNotFoundException;
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderCursor;
+import com.plutocart.order_service.model.OrderSummary;
+import com.plutocart.order_service.pipeline.IdempotencyRegistry;
+import com.plutocart.order_service.pipeline.OrderPipeline;
+import com.plutocart.order_service.pipeline.OrderTicket;
+import com.plutocart.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Order placement. The request thread only validates the order, resolves its idempotency
+ * key and admits it to the {@link OrderPipeline}; reserving, pricing, persisting and
+ * publishing happen there. The caller gets the order back as pending and follows it by id.
+ */
+@Service
+@Slf4j
+public class OrderService {
+
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    public static final int MAX_LINE_QUANTITY = 999;
+
+    private final OrderRepository orderRepository;
+    private final OrderPipeline pipeline;
+    private final IdempotencyRegistry idempotency;
+    private final ObjectWriter exportWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int exportFetchSize;
+
+    private final Counter accepted;
+    private final Counter replayed;
+    private final Counter shed;
+
+    public OrderService(OrderRepository orderRepository,
+                        OrderPipeline pipeline,
+                        IdempotencyRegistry idempotency,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${orders.history.default-page-size}") int defaultPageSize,
+                        @Value("${orders.history.max-page-size}") int maxPageSize,
+                        @Value("${orders.export.fetch-size}") int exportFetchSize) {
+        this.orderRepository = orderRepository;
+        this.pipeline = pipeline;
+        this.idempotency = idempotency;
+        this.exportWriter = objectMapper.writerFor(OrderResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.exportFetchSize = exportFetchSize;
+
+        this.accepted = Counter.builder("orders.requests").tag("result", "accepted").register(meterRegistry);
+        this.replayed = Counter.builder("orders.requests").tag("result", "replayed").register(meterRegistry);
+        this.shed = Counter.builder("orders.requests").tag("result", "shed").register(meterRegistry);
+    }
+
+    /**
+     * Accepts an order, or returns the order an earlier request with the same idempotency
+     * key created. Reusing a key for a different order is rejected.
+     */
+    public OrderResponse placeOrder(UUID userId, String idempotencyKey, PlaceOrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidOrderException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        List<OrderLineRequest> items = merge(request.items());
+        String requestHash = hash(items);
+
+        Order existing = findExisting(userId, idempotencyKey);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        if (!pipeline.admit()) {
+            shed.increment();
+            throw new OrderCapacityExceededException("Too many orders in progress, please retry shortly");
+        }
+        OrderTicket ticket = new OrderTicket(userId, idempotencyKey, requestHash, pipeline.currency(), items);
+        OrderTicket concurrent = idempotency.claim(ticket);
+        if (concurrent != null) {
+            pipeline.cancelAdmission();
+            return replay(concurrent.pending(), requestHash);
+        }
+        pipeline.submit(ticket);
+        accepted.increment();
+        return OrderResponse.from(ticket.pending());
+    }
+
+    public OrderResponse getOrder(UUID userId, UUID orderId) {
+        Order order = pipeline.recent(orderId);
+        if (order == null) {
+            order = orderRepository.findById(orderId).orElse(null);
+        }
+        if (order == null || !order.userId().equals(userId)) {
+            throw new OrderNotFoundException("Order " + orderId + " not found");
+        }
+        return OrderResponse.from(order);
+    }
+
+    /**
+     * One page of the user's stored orders, newest first. Orders still in the pipeline show
+     * up once they are persisted.
+     */
+    public OrderPageResponse listOrders(UUID userId, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidOrderException("limit must be between 1 and " + maxPageSize);
+        }
+        OrderCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = OrderCursor.decode(cursor);
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidOrderException("Invalid cursor");
+            }
+        }
+        // One extra row tells whether there is a next page without a count query.
+        List<OrderSummary> found = orderRepository.findPageByUser(userId, after, pageSize + 1);
+        List<OrderSummary> page = found.size() > pageSize ? found.subList(0, pageSize) : found;
+        String nextCursor = found.size() > pageSize ? OrderCursor.after(page.get(pageSize - 1)).encode() : null;
+        return new OrderPageResponse(page.stream().map(OrderSummaryResponse::from).toList(), nextCursor);
+    }
+
+    /**
+     * Writes all of the user's stored orders to {@code out} as newline-delimited JSON, oldest
+     * first, one order at a time as they come off the database cursor.
+     */
+    public void exportOrders(UUID userId, OutputStream out) throws IOException {
+        try {
+            orderRepository.streamByUser(userId, exportFetchSize, order -> {
+                try {
+                    exportWriter.writeValue(out, OrderResponse.from(order));
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private Order findExisting(UUID userId, String idempotencyKey) {
+        OrderTicket pending = idempotency.pending(userId, idempotencyKey);
+        if (pending != null) {
+            return pending.pending();
+        }
+        Order completed = idempotency.completed(userId, idempotencyKey);
+        if (completed != null) {
+            return completed;
+        }
+        Order stored = orderRepository.findByIdempotencyKey(userId, idempotencyKey).orElse(null);
+        if (stored != null) {
+            idempotency.remember(stored);
+        }
+        return stored;
+    }
+
+    private OrderResponse replay(Order existing, String requestHash) {
+        if (!existing.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency key was already used for a different order");
+        }
+        replayed.increment();
+        return OrderResponse.from(existing);
+    }
+
+    /**
+     * Sums the quantities of repeated SKUs, keeping the order in which SKUs first appear.
+     */
+    private static List<OrderLineRequest> merge(List<OrderLineRequest> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(item -> quantities.merge(item.sku(), item.quantity(), Integer::sum));
+        List<OrderLineRequest> merged = new ArrayList<>(quantities.size());
+        quantities.forEach((sku, quantity) -> {
+            if (quantity > MAX_LINE_QUANTITY) {
+                throw new InvalidOrderException("An order may hold at most " + MAX_LINE_QUANTITY + " units of " + sku);
+            }
+            merged.add(new OrderLineRequest(sku, quantity));
+        });
+        return merged;
+    }
+
+    /**
+     * SHA-256 of the lines in SKU order, so the same order sent with its items shuffled is
+     * still recognised as a retry.
+     */
+    private static String hash(List<OrderLineRequest> items) {
+        StringBuilder canonical = new StringBuilder();
+        items.stream()
+                .sorted((a, b) -> a.sku().compareTo(b.sku()))
+                .forEach(item -> canonical.append(item.sku()).append(':').append(item.quantity()).append('\n'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
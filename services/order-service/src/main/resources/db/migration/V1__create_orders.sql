@@ -0,0 +1,34 @@
+CREATE TABLE orders (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    currency CHAR(3) NOT NULL,
+    subtotal_minor BIGINT NOT NULL,
+    discount_minor BIGINT NOT NULL,
+    tax_minor BIGINT NOT NULL,
+    total_minor BIGINT NOT NULL,
+    failure_reason VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+
+    -- A retried request with the same key resolves to the order it created the first time.
+    CONSTRAINT orders_idempotency_key_uk UNIQUE (user_id, idempotency_key)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_lines (
+    order_id BINARY(16) NOT NULL,
+    line_no INT NOT NULL,
+    sku VARCHAR(64) NOT NULL,
+    product_id BINARY(16),
+    product_name VARCHAR(255),
+    quantity INT NOT NULL,
+    unit_price_minor BIGINT NOT NULL,
+    discount_minor BIGINT NOT NULL,
+    tax_minor BIGINT NOT NULL,
+    total_minor BIGINT NOT NULL,
+
+    PRIMARY KEY (order_id, line_no),
+    CONSTRAINT order_lines_order_fk FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,10 @@
+-- Transactional outbox (see Outbox in common-utils): written with the order, shipped by the relay.
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_id CHAR(36) NOT NULL,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(128) NOT NULL,
+    payload JSON NOT NULL,
+    created_at DATETIME(6) NOT NULL
+) ENGINE = InnoDB;
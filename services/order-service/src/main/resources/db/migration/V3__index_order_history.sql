@@ -0,0 +1,3 @@
+-- Order history seeks on (user_id, created_at, id); the trailing columns make the index
+-- cover the history page, so a page never touches the clustered rows.
+CREATE INDEX orders_user_history_idx ON orders (user_id, created_at, id, status, currency, total_minor);
@@ -0,0 +1,171 @@
+package com.plutocart.order_service.controller;
+
+import com.plutocart.common_security.jwt.JwtSecurityAutoConfiguration;
+import com.plutocart.order_service.dto.OrderResponse;
+import com.plutocart.order_service.exception.IdempotencyKeyReusedException;
+import com.plutocart.order_service.exception.InvalidOrderException;
+import com.plutocart.order_service.exception.OrderCapacityExceededException;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.service.OrderService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * How the order endpoints answer over HTTP, through the security chain with real signed tokens.
+ */
+@WebMvcTest(
+        controllers = OrderController.class,
+        properties = "plutocart.security.jwt.secret=" + OrderControllerTest.SECRET)
+@ImportAutoConfiguration(JwtSecurityAutoConfiguration.class)
+class OrderControllerTest {
+
+    static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+    private static final UUID USER = UUID.randomUUID();
+    private static final String ORDER_JSON = "{\"items\": [{\"sku\": \"MUG-1\", \"quantity\": 2}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderService orderService;
+
+    @Test
+    void newOrdersAreAcceptedWithTheirLocation() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(orderService.placeOrder(eq(USER), eq("key-1"), any())).thenReturn(order(id, OrderStatus.PENDING));
+
+        mockMvc.perform(placeOrder("key-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/orders/" + id));
+    }
+
+    @Test
+    void replaysOfACompletedOrderAnswerOk() throws Exception {
+        when(orderService.placeOrder(eq(USER), eq("key-1"), any()))
+                .thenReturn(order(UUID.randomUUID(), OrderStatus.PLACED));
+
+        mockMvc.perform(placeOrder("key-1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void aReusedKeyAnswersConflict() throws Exception {
+        when(orderService.placeOrder(eq(USER), eq("key-1"), any()))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency key was already used for a different order"));
+
+        mockMvc.perform(placeOrder("key-1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Idempotency key was already used for a different order"));
+    }
+
+    @Test
+    void shedOrdersAnswerServiceUnavailableWithRetryAfter() throws Exception {
+        when(orderService.placeOrder(eq(USER), eq("key-1"), any()))
+                .thenThrow(new OrderCapacityExceededException("Too many orders in progress, please retry shortly"));
+
+        mockMvc.perform(placeOrder("key-1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("Too many orders in progress, please retry shortly"));
+    }
+
+    @Test
+    void ordersNeedAnIdempotencyKey() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void invalidCursorsAnswerBadRequest() throws Exception {
+        when(orderService.listOrders(USER, "garbage", null)).thenThrow(new InvalidOrderException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/orders").param("cursor", "garbage")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void exportsAreStreamedAsNdjsonAttachments() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderService).exportOrders(eq(USER), any());
+
+        MvcResult started = mockMvc.perform(get("/api/orders/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    private static MockHttpServletRequestBuilder placeOrder(String idempotencyKey) {
+        return post("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                .header(OrderController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ORDER_JSON);
+    }
+
+    /** An access token shaped like the ones user-service issues. */
+    private static String token() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId("primary").and()
+                .subject("someone@plutocart.com")
+                .id(UUID.randomUUID().toString())
+                .claim("id", USER.toString())
+                .claim("role", "ROLE_CUSTOMER")
+                .claim("type", "access")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofMinutes(5))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static OrderResponse order(UUID id, OrderStatus status) {
+        Instant now = Instant.now();
+        return new OrderResponse(id, USER, status, "USD", BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, null, List.of(), now, now);
+    }
+}
@@ -0,0 +1,144 @@
+package com.plutocart.order_service.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.common_utils.outbox.Outbox;
+import com.plutocart.common_utils.outbox.OutboxEvent;
+import com.plutocart.common_utils.outbox.OutboxMessage;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.event.OrderPlacedEvent;
+import com.plutocart.order_service.event.OrderStockShortEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationConfirmerTest {
+
+    private static final UUID RESERVED_AGAIN = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final InventoryClient inventoryClient = mock(InventoryClient.class);
+    private final Outbox outbox = mock(Outbox.class);
+    private final ReservationConfirmer confirmer =
+            new ReservationConfirmer(inventoryClient, outbox, objectMapper, new SimpleMeterRegistry());
+
+    @Test
+    void confirmsTheReservationsOfABatchInChunks() throws Exception {
+        List<OutboxMessage> batch = new ArrayList<>();
+        List<UUID> reservations = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            OrderPlacedEvent order = order(UUID.randomUUID(), UUID.randomUUID());
+            order.items().forEach(item -> reservations.add(item.reservationId()));
+            batch.add(message(order));
+        }
+        when(inventoryClient.confirmAll(anyList())).thenReturn(List.of());
+
+        confirmer.onEvents(batch);
+
+        verify(inventoryClient).confirmAll(reservations.subList(0, InventoryClient.MAX_BATCH_SIZE));
+        verify(inventoryClient).confirmAll(reservations.subList(InventoryClient.MAX_BATCH_SIZE, reservations.size()));
+        verify(inventoryClient, never()).reserveAll(anyList(), anyList());
+    }
+
+    @Test
+    void otherEventsAndUnreadablePayloadsAreSkipped() {
+        OutboxMessage other = new OutboxMessage(1, UUID.randomUUID(), "order", "x", "OrderCancelled", "{}", Instant.now());
+        OutboxMessage garbled = new OutboxMessage(2, UUID.randomUUID(), "order", "x", OrderPlacedEvent.TYPE, "{", Instant.now());
+
+        confirmer.onEvents(List.of(other, garbled));
+
+        verify(inventoryClient, never()).confirmAll(anyList());
+    }
+
+    @Test
+    void expiredReservationsAreReservedAgainUnderDerivedIds() throws Exception {
+        UUID kept = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        OrderPlacedEvent order = order(kept, expired);
+        when(inventoryClient.confirmAll(List.of(kept, expired))).thenReturn(List.of(expired));
+        List<UUID> again = reservedAgain(1);
+
+        confirmer.onEvents(List.of(message(order)));
+        confirmer.onEvents(List.of(message(order)));
+
+        // The same ids both times, so a retry does not take the stock twice.
+        assertThat(again).hasSize(2).doesNotContain(expired);
+        assertThat(again.get(0)).isEqualTo(again.get(1));
+        verify(inventoryClient, times(2)).confirmAll(List.of(RESERVED_AGAIN));
+        verify(outbox, never()).append(any());
+    }
+
+    @Test
+    void stockThatIsGoneIsReported() throws Exception {
+        UUID expired = UUID.randomUUID();
+        OrderPlacedEvent order = order(expired);
+        when(inventoryClient.confirmAll(List.of(expired))).thenReturn(List.of(expired));
+        when(inventoryClient.reserveAll(anyList(), anyList())).thenReturn(null);
+
+        confirmer.onEvents(List.of(message(order)));
+
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outbox).append(event.capture());
+        assertThat(event.getValue().eventType()).isEqualTo(OrderStockShortEvent.TYPE);
+        assertThat(((OrderStockShortEvent) event.getValue().payload()).items())
+                .extracting(OrderPlacedEvent.Item::reservationId)
+                .containsExactly(expired);
+    }
+
+    @Test
+    void reservationsThatVanishAgainLeaveTheBatchToBeRetried() throws Exception {
+        UUID expired = UUID.randomUUID();
+        OrderPlacedEvent order = order(expired);
+        when(inventoryClient.confirmAll(anyList())).thenReturn(List.of(expired));
+        // Reserved again, and gone again before the confirmation.
+        when(inventoryClient.reserveAll(anyList(), anyList())).thenReturn(List.of(UUID.randomUUID()));
+
+        assertThatThrownBy(() -> confirmer.onEvents(List.of(message(order))))
+                .isInstanceOf(IllegalStateException.class);
+        verify(outbox, never()).append(any());
+    }
+
+    /**
+     * Answers re-reserving {@code lost} lines with {@link #RESERVED_AGAIN}, and returns the ids
+     * each call asked for.
+     */
+    private List<UUID> reservedAgain(int lost) {
+        List<UUID> asked = new ArrayList<>();
+        when(inventoryClient.reserveAll(anyList(), anyList())).thenAnswer(invocation -> {
+            List<OrderLineRequest> lines = invocation.getArgument(0);
+            List<UUID> ids = invocation.getArgument(1);
+            assertThat(lines).hasSize(lost);
+            asked.addAll(ids);
+            return List.of(RESERVED_AGAIN);
+        });
+        when(inventoryClient.confirmAll(List.of(RESERVED_AGAIN))).thenReturn(List.of());
+        return asked;
+    }
+
+    private static OrderPlacedEvent order(UUID... reservations) {
+        List<OrderPlacedEvent.Item> items = IntStream.range(0, reservations.length)
+                .mapToObj(i -> new OrderPlacedEvent.Item("SKU-" + i, i + 1, reservations[i]))
+                .toList();
+        return new OrderPlacedEvent(UUID.randomUUID(), UUID.randomUUID(), "USD", 1000, items, Instant.now());
+    }
+
+    private OutboxMessage message(OrderPlacedEvent order) throws Exception {
+        return new OutboxMessage(1, UUID.randomUUID(), "order", order.orderId().toString(), OrderPlacedEvent.TYPE,
+                objectMapper.writeValueAsString(order), Instant.now());
+    }
+}
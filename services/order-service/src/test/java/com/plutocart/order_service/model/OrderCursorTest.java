@@ -0,0 +1,48 @@
+package com.plutocart.order_service.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorTest {
+
+    @Test
+    void roundTripsThroughItsToken() {
+        OrderSummary last = new OrderSummary(UUID.randomUUID(), OrderStatus.PLACED, "USD", 1234,
+                Instant.parse("2026-03-01T12:34:56.789123Z"));
+
+        OrderCursor cursor = OrderCursor.after(last);
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(cursor).isEqualTo(new OrderCursor(last.createdAt(), last.id()));
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        OrderCursor cursor = new OrderCursor(Instant.parse("2026-03-01T12:34:56Z"), UUID.randomUUID());
+
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "bm8tc2VwYXJhdG9y"})
+    void malformedTokensAreRejected(String token) {
+        assertThatThrownBy(() -> OrderCursor.decode(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"yesterday|" + "6f1c2a5e-2f5b-4d7a-9c1e-1a2b3c4d5e6f", "2026-03-01T12:34:56Z|not-a-uuid", "|"})
+    void tokensWithBadPartsAreRejected(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> OrderCursor.decode(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,246 @@
+package com.plutocart.order_service.pipeline;
+
+import com.plutocart.common_utils.outbox.Outbox;
+import com.plutocart.common_utils.pricing.CartPricer;
+import com.plutocart.common_utils.product.ProductClient;
+import com.plutocart.common_utils.product.ProductInfo;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.inventory.InventoryClient;
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The pipeline against mocked inventory, catalog and database; the stages run for real.
+ */
+class OrderPipelineTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final int MAX_IN_FLIGHT = 10;
+    private static final ProductInfo MUG =
+            new ProductInfo(UUID.randomUUID(), "MUG-1", "Mug", "kitchen", "Pluto", 999, "USD", true);
+
+    private final InventoryClient inventoryClient = mock(InventoryClient.class);
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final Outbox outbox = mock(Outbox.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final IdempotencyRegistry idempotency = new IdempotencyRegistry(100, 60_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    /** Orders of each saveAll call, failed calls included. */
+    private final List<List<UUID>> saves = Collections.synchronizedList(new ArrayList<>());
+    private OrderPipeline pipeline;
+
+    @BeforeEach
+    void startPipeline() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(productClient.lookupAsync(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(MUG.sku(), MUG)));
+        when(inventoryClient.reserveAll(anyList()))
+                .thenAnswer(invocation -> List.of(UUID.randomUUID()));
+        pipeline = new OrderPipeline(inventoryClient, productClient, new CartPricer("USD", 800, 10, 500),
+                orderRepository, outbox, transactionManager, idempotency, meterRegistry,
+                MAX_IN_FLIGHT, 4, 100, 100, 60_000);
+    }
+
+    @AfterEach
+    void closePipeline() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Test
+    void placedOrdersAreStoredWithTheirEvent() {
+        failSaves(orders -> false);
+
+        OrderTicket ticket = submit("key-1");
+        awaitSettled(ticket);
+
+        Order stored = idempotency.completed(USER, "key-1");
+        assertThat(stored.status()).isEqualTo(OrderStatus.PLACED);
+        assertThat(stored.lines()).singleElement().satisfies(line -> assertThat(line.productId()).isEqualTo(MUG.id()));
+        verify(outbox).appendAll(anyList());
+        assertThat(pipeline.recent(ticket.id())).isNull();
+        await(() -> inFlight() == 0);
+    }
+
+    @Test
+    void outOfStockOrdersAreStoredAsRejected() {
+        failSaves(orders -> false);
+        when(inventoryClient.reserveAll(anyList())).thenReturn(null);
+
+        OrderTicket ticket = submit("key-1");
+        awaitSettled(ticket);
+
+        assertThat(idempotency.completed(USER, "key-1").status()).isEqualTo(OrderStatus.REJECTED);
+        verify(inventoryClient, never()).releaseAll(anyList());
+    }
+
+    @Test
+    void aBadOrderInABatchFallsBackToOneByOneSaves() throws InterruptedException {
+        // Hold the writer on the first order so the next ones queue up into one batch.
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        OrderTicket first = submitHeld("key-0", writing, proceed);
+        List<OrderTicket> batch = List.of(ticket("key-1"), ticket("key-bad"), ticket("key-3"));
+        failSaves(orders -> orders.contains(batch.get(1).id()));
+        batch.forEach(pipeline::submit);
+        await(() -> batch.stream().allMatch(ticket -> ticket.outcome() != null));
+        Thread.sleep(50); // from the outcome to the persist queue
+        proceed.countDown();
+        batch.forEach(this::awaitSettled);
+
+        // Fulfilment runs concurrently, so the batch is in whatever order the orders got there.
+        assertThat(saves).hasSize(5);
+        assertThat(saves.get(0)).containsExactly(first.id());
+        List<UUID> batchOrder = saves.get(1);
+        assertThat(batchOrder).containsExactlyInAnyOrderElementsOf(batch.stream().map(OrderTicket::id).toList());
+        assertThat(saves.subList(2, 5)).containsExactly(
+                List.of(batchOrder.get(0)), List.of(batchOrder.get(1)), List.of(batchOrder.get(2)));
+        assertThat(idempotency.completed(USER, "key-1").status()).isEqualTo(OrderStatus.PLACED);
+        assertThat(idempotency.completed(USER, "key-3").status()).isEqualTo(OrderStatus.PLACED);
+
+        // The bad order was not stored: its stock is back, its key is free and it can be polled.
+        OrderTicket bad = batch.get(1);
+        assertThat(idempotency.completed(USER, "key-bad")).isNull();
+        assertThat(idempotency.pending(USER, "key-bad")).isNull();
+        assertThat(pipeline.recent(bad.id()).status()).isEqualTo(OrderStatus.FAILED);
+        verify(inventoryClient).releaseAll(anyList());
+        await(() -> inFlight() == 0);
+    }
+
+    @Test
+    void anOrderWhoseKeyWasTakenElsewhereIsDroppedAsADuplicate() {
+        doAnswer(invocation -> {
+            throw new DuplicateKeyException("duplicate idempotency key");
+        }).when(orderRepository).saveAll(anyList());
+
+        OrderTicket ticket = submit("key-1");
+        awaitSettled(ticket);
+
+        assertThat(idempotency.pending(USER, "key-1")).isNull();
+        assertThat(pipeline.recent(ticket.id())).isNull();
+        verify(inventoryClient).releaseAll(anyList());
+        await(() -> inFlight() == 0);
+    }
+
+    @Test
+    void batchesAreHeldAndRetriedWhileTheDatabaseIsDown() {
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            saves.add(orders.stream().map(Order::id).toList());
+            if (saves.size() == 1) {
+                throw new QueryTimeoutException("database is down");
+            }
+            return null;
+        }).when(orderRepository).saveAll(anyList());
+
+        OrderTicket ticket = submit("key-1");
+        awaitSettled(ticket);
+
+        assertThat(saves).containsExactly(List.of(ticket.id()), List.of(ticket.id()));
+        assertThat(idempotency.completed(USER, "key-1").status()).isEqualTo(OrderStatus.PLACED);
+        verify(inventoryClient, never()).releaseAll(anyList());
+    }
+
+    @Test
+    void admissionStopsAtTheInFlightLimit() {
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            assertThat(pipeline.admit()).isTrue();
+        }
+        assertThat(pipeline.admit()).isFalse();
+
+        pipeline.cancelAdmission();
+        assertThat(pipeline.admit()).isTrue();
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            pipeline.cancelAdmission();
+        }
+    }
+
+    /** Records every saveAll call and fails those whose order ids match {@code fails}. */
+    private void failSaves(Predicate<List<UUID>> fails) {
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            List<UUID> ids = orders.stream().map(Order::id).toList();
+            saves.add(ids);
+            if (fails.test(ids)) {
+                throw new DataIntegrityViolationException("bad order");
+            }
+            return null;
+        }).when(orderRepository).saveAll(anyList());
+    }
+
+    private OrderTicket submitHeld(String idempotencyKey, CountDownLatch writing, CountDownLatch proceed)
+            throws InterruptedException {
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            saves.add(orders.stream().map(Order::id).toList());
+            writing.countDown();
+            proceed.await();
+            return null;
+        }).when(orderRepository).saveAll(anyList());
+        OrderTicket ticket = submit(idempotencyKey);
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+        return ticket;
+    }
+
+    private OrderTicket submit(String idempotencyKey) {
+        OrderTicket ticket = ticket(idempotencyKey);
+        pipeline.submit(ticket);
+        return ticket;
+    }
+
+    private OrderTicket ticket(String idempotencyKey) {
+        assertThat(pipeline.admit()).isTrue();
+        OrderTicket ticket = new OrderTicket(USER, idempotencyKey, "hash-" + idempotencyKey, "USD",
+                List.of(new OrderLineRequest("MUG-1", 2)));
+        assertThat(idempotency.claim(ticket)).isNull();
+        return ticket;
+    }
+
+    private void awaitSettled(OrderTicket ticket) {
+        await(() -> idempotency.pending(USER, ticket.idempotencyKey()) == null);
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("orders.in_flight").gauge().value();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waited too long").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
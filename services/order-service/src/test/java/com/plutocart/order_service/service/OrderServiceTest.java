@@ -0,0 +1,319 @@
+package com.plutocart.order_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.order_service.dto.OrderLineRequest;
+import com.plutocart.order_service.dto.OrderPageResponse;
+import com.plutocart.order_service.dto.OrderResponse;
+import com.plutocart.order_service.dto.OrderSummaryResponse;
+import com.plutocart.order_service.dto.PlaceOrderRequest;
+import com.plutocart.order_service.exception.IdempotencyKeyReusedException;
+import com.plutocart.order_service.exception.InvalidOrderException;
+import com.plutocart.order_service.exception.OrderCapacityExceededException;
+import com.plutocart.order_service.model.Order;
+import com.plutocart.order_service.model.OrderCursor;
+import com.plutocart.order_service.model.OrderLine;
+import com.plutocart.order_service.model.OrderStatus;
+import com.plutocart.order_service.model.OrderSummary;
+import com.plutocart.order_service.pipeline.IdempotencyRegistry;
+import com.plutocart.order_service.pipeline.OrderPipeline;
+import com.plutocart.order_service.pipeline.OrderTicket;
+import com.plutocart.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Admission and idempotency on the request thread, and reading the history back; the
+ * pipeline and the repository are mocked.
+ */
+class OrderServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final String KEY = "order-1";
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderPipeline pipeline = mock(OrderPipeline.class);
+    private final IdempotencyRegistry idempotency = new IdempotencyRegistry(100, 60_000);
+    private final OrderService service = new OrderService(orderRepository, pipeline, idempotency,
+            new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 2, 3, 100);
+
+    @BeforeEach
+    void openPipeline() {
+        when(pipeline.admit()).thenReturn(true);
+        when(pipeline.currency()).thenReturn("USD");
+        when(orderRepository.findByIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void acceptedOrdersArePendingAndSubmitted() {
+        OrderResponse order = service.placeOrder(USER, KEY, request(line("MUG-1", 2)));
+
+        assertThat(order.status()).isEqualTo(OrderStatus.PENDING);
+        assertThat(submitted().id()).isEqualTo(order.id());
+    }
+
+    @Test
+    void retriesOfAPendingOrderReturnItWithoutSubmittingAgain() {
+        OrderResponse first = service.placeOrder(USER, KEY, request(line("MUG-1", 2), line("CUP-1", 1)));
+        // Same order with its items shuffled and one split in two.
+        OrderResponse retry = service.placeOrder(USER, KEY,
+                request(line("CUP-1", 1), line("MUG-1", 1), line("MUG-1", 1)));
+
+        assertThat(retry.id()).isEqualTo(first.id());
+        verify(pipeline).submit(any());
+        verify(pipeline).admit();
+    }
+
+    @Test
+    void retriesOfAStoredOrderAreAnsweredFromTheDatabaseOnce() {
+        Order stored = stored(service.placeOrder(USER, KEY, request(line("MUG-1", 2))));
+        OrderService restarted = new OrderService(orderRepository, pipeline, new IdempotencyRegistry(100, 60_000),
+                new ObjectMapper(), new SimpleMeterRegistry(), 2, 3, 100);
+        clearInvocations(orderRepository);
+        when(orderRepository.findByIdempotencyKey(USER, KEY)).thenReturn(Optional.of(stored));
+
+        assertThat(restarted.placeOrder(USER, KEY, request(line("MUG-1", 2))).status()).isEqualTo(OrderStatus.PLACED);
+        assertThat(restarted.placeOrder(USER, KEY, request(line("MUG-1", 2))).id()).isEqualTo(stored.id());
+
+        verify(orderRepository).findByIdempotencyKey(USER, KEY);
+        verify(pipeline).submit(any());
+    }
+
+    @Test
+    void aKeyReusedForADifferentOrderIsRefused() {
+        service.placeOrder(USER, KEY, request(line("MUG-1", 2)));
+
+        assertThatThrownBy(() -> service.placeOrder(USER, KEY, request(line("MUG-1", 3))))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> service.placeOrder(USER, KEY, request(line("MUG-1", 2), line("CUP-1", 1))))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verify(pipeline).submit(any());
+    }
+
+    @Test
+    void keysAreScopedToTheUser() {
+        OrderResponse mine = service.placeOrder(USER, KEY, request(line("MUG-1", 2)));
+        OrderResponse theirs = service.placeOrder(UUID.randomUUID(), KEY, request(line("MUG-1", 3)));
+
+        assertThat(theirs.id()).isNotEqualTo(mine.id());
+    }
+
+    @Test
+    void aFullPipelineShedsNewOrders() {
+        when(pipeline.admit()).thenReturn(false);
+
+        assertThatThrownBy(() -> service.placeOrder(USER, KEY, request(line("MUG-1", 2))))
+                .isInstanceOf(OrderCapacityExceededException.class);
+        verify(pipeline, never()).submit(any());
+        assertThat(idempotency.pending(USER, KEY)).isNull();
+    }
+
+    @Test
+    void retriesAreAnsweredEvenWhenThePipelineIsFull() {
+        OrderResponse first = service.placeOrder(USER, KEY, request(line("MUG-1", 2)));
+        when(pipeline.admit()).thenReturn(false);
+
+        assertThat(service.placeOrder(USER, KEY, request(line("MUG-1", 2))).id()).isEqualTo(first.id());
+    }
+
+    @Test
+    void aRequestThatLosesTheKeyToAConcurrentOneGivesItsPermitBack() {
+        OrderTicket concurrent = new OrderTicket(USER, KEY, hashOf(line("MUG-1", 2)), "USD", List.of(line("MUG-1", 2)));
+        IdempotencyRegistry racing = mock(IdempotencyRegistry.class);
+        when(racing.claim(any())).thenReturn(concurrent);
+        OrderService racingService = new OrderService(orderRepository, pipeline, racing,
+                new ObjectMapper(), new SimpleMeterRegistry(), 2, 3, 100);
+
+        OrderResponse order = racingService.placeOrder(USER, KEY, request(line("MUG-1", 2)));
+
+        assertThat(order.id()).isEqualTo(concurrent.id());
+        verify(pipeline).cancelAdmission();
+        verify(pipeline, never()).submit(any());
+    }
+
+    @Test
+    void repeatedSkusAreMergedInFirstSeenOrder() {
+        service.placeOrder(USER, KEY, request(line("mug-1", 2), line("CUP-1", 1), line("MUG-1 ", 3)));
+
+        assertThat(submitted().items()).containsExactly(line("MUG-1", 5), line("CUP-1", 1));
+    }
+
+    @Test
+    void mergedLinesMayNotExceedTheQuantityLimit() {
+        int half = OrderService.MAX_LINE_QUANTITY / 2 + 1;
+
+        assertThatThrownBy(() -> service.placeOrder(USER, KEY, request(line("MUG-1", half), line("MUG-1", half))))
+                .isInstanceOf(InvalidOrderException.class);
+        verify(pipeline, never()).admit();
+    }
+
+    @Test
+    void idempotencyKeysMustFitTheColumn() {
+        String tooLong = "k".repeat(OrderService.MAX_IDEMPOTENCY_KEY_LENGTH + 1);
+
+        assertThatThrownBy(() -> service.placeOrder(USER, " ", request(line("MUG-1", 1))))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThatThrownBy(() -> service.placeOrder(USER, tooLong, request(line("MUG-1", 1))))
+                .isInstanceOf(InvalidOrderException.class);
+    }
+
+    @Test
+    void historyPagesEndWithACursorOfTheirLastOrder() {
+        List<OrderSummary> newest = summaries(3);
+        when(orderRepository.findPageByUser(USER, null, 3)).thenReturn(newest);
+
+        OrderPageResponse page = service.listOrders(USER, null, null);
+
+        assertThat(page.orders()).extracting(OrderSummaryResponse::id)
+                .containsExactly(newest.get(0).id(), newest.get(1).id());
+        assertThat(OrderCursor.decode(page.nextCursor())).isEqualTo(OrderCursor.after(newest.get(1)));
+
+        service.listOrders(USER, page.nextCursor(), null);
+        verify(orderRepository).findPageByUser(USER, OrderCursor.after(newest.get(1)), 3);
+    }
+
+    @Test
+    void theLastPageHasNoCursor() {
+        when(orderRepository.findPageByUser(USER, null, 4)).thenReturn(summaries(3));
+
+        OrderPageResponse page = service.listOrders(USER, null, 3);
+
+        assertThat(page.orders()).hasSize(3);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorsAndLimitsAreRejected() {
+        assertThatThrownBy(() -> service.listOrders(USER, "not-a-cursor", null))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThatThrownBy(() -> service.listOrders(USER, null, 0))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThatThrownBy(() -> service.listOrders(USER, null, 4))
+                .isInstanceOf(InvalidOrderException.class);
+        verify(orderRepository, never()).findPageByUser(any(), any(), anyInt());
+    }
+
+    @Test
+    void exportsWriteOneJsonOrderPerLineAndLeaveTheStreamOpen() throws Exception {
+        List<Order> orders = List.of(order(), order());
+        doAnswer(invocation -> {
+            Consumer<Order> sink = invocation.getArgument(2);
+            orders.forEach(sink);
+            return null;
+        }).when(orderRepository).streamByUser(eq(USER), eq(100), any());
+        var out = new ByteArrayOutputStream() {
+            boolean closed;
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+
+        service.exportOrders(USER, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ObjectMapper reader = new ObjectMapper().findAndRegisterModules();
+        assertThat(lines).hasSize(2);
+        assertThat(reader.readValue(lines[0], OrderResponse.class)).isEqualTo(OrderResponse.from(orders.get(0)));
+        assertThat(reader.readValue(lines[1], OrderResponse.class).id()).isEqualTo(orders.get(1).id());
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void exportWriteFailuresSurfaceAsIOExceptions() {
+        doAnswer(invocation -> {
+            Consumer<Order> sink = invocation.getArgument(2);
+            sink.accept(order());
+            return null;
+        }).when(orderRepository).streamByUser(eq(USER), eq(100), any());
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.exportOrders(USER, disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private OrderTicket submitted() {
+        ArgumentCaptor<OrderTicket> ticket = ArgumentCaptor.forClass(OrderTicket.class);
+        verify(pipeline).submit(ticket.capture());
+        return ticket.getValue();
+    }
+
+    /** The submitted order as the pipeline would have stored it. */
+    private Order stored(OrderResponse accepted) {
+        OrderTicket ticket = submitted();
+        Instant now = Instant.now();
+        List<OrderLine> lines = List.of(new OrderLine(1, "MUG-1", UUID.randomUUID(), "Mug", 2, 999, 0, 160, 2158));
+        return new Order(accepted.id(), USER, KEY, ticket.requestHash(), OrderStatus.PLACED, "USD",
+                1998, 0, 160, 2158, null, lines, now, now);
+    }
+
+    /** The hash {@link OrderService} gives an order of {@code items}, taken from a submitted ticket. */
+    private String hashOf(OrderLineRequest... items) {
+        OrderPipeline probe = mock(OrderPipeline.class);
+        when(probe.admit()).thenReturn(true);
+        new OrderService(orderRepository, probe, new IdempotencyRegistry(100, 60_000),
+                new ObjectMapper(), new SimpleMeterRegistry(), 2, 3, 100)
+                .placeOrder(USER, KEY, request(items));
+        ArgumentCaptor<OrderTicket> ticket = ArgumentCaptor.forClass(OrderTicket.class);
+        verify(probe).submit(ticket.capture());
+        return ticket.getValue().requestHash();
+    }
+
+    /** {@code count} summaries, newest first. */
+    private static List<OrderSummary> summaries(int count) {
+        Instant newest = Instant.parse("2026-03-01T12:00:00Z");
+        return IntStream.range(0, count)
+                .mapToObj(i -> new OrderSummary(UUID.randomUUID(), OrderStatus.PLACED, "USD", 1000 + i,
+                        newest.minusSeconds(i)))
+                .toList();
+    }
+
+    private static Order order() {
+        Instant createdAt = Instant.parse("2026-03-01T12:00:00.123Z");
+        List<OrderLine> lines = List.of(
+                new OrderLine(1, "MUG-1", UUID.randomUUID(), "Mug", 2, 999, 0, 160, 2158),
+                new OrderLine(2, "CUP-1", UUID.randomUUID(), "Cup", 1, 450, 0, 36, 486));
+        return new Order(UUID.randomUUID(), USER, KEY, "hash", OrderStatus.PLACED, "USD",
+                2448, 0, 196, 2644, null, lines, createdAt, createdAt.plusSeconds(1));
+    }
+
+    private static PlaceOrderRequest request(OrderLineRequest... items) {
+        return new PlaceOrderRequest(List.of(items));
+    }
+
+    private static OrderLineRequest line(String sku, int quantity) {
+        return new OrderLineRequest(sku, quantity);
+    }
+}
@@ -0,0 +1,43 @@
+package com.plutocart.product_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.product_service.repository.CatalogStore;
+import com.plutocart.product_service.repository.FileCatalogStore;
+import com.plutocart.product_service.repository.FileInventoryStore;
+import com.plutocart.product_service.repository.InventoryStore;
+import com.plutocart.product_service.snapshot.CatalogSnapshotFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class CatalogConfig {
+
+    // File-backed until product-service gets its own schema; a database-backed store only needs to replace these beans.
+    @Bean
+    @ConditionalOnMissingBean
+    public CatalogStore catalogStore(@Value("${catalog.store.path}") String path,
+                                     ObjectMapper objectMapper) throws IOException {
+        var store = new FileCatalogStore(Path.of(path), objectMapper);
+        store.open();
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InventoryStore inventoryStore(@Value("${inventory.store.path}") String path,
+                                         ObjectMapper objectMapper) throws IOException {
+        var store = new FileInventoryStore(Path.of(path), objectMapper);
+        store.open();
+        return store;
+    }
+
+    @Bean
+    public CatalogSnapshotFile catalogSnapshotFile(@Value("${catalog.snapshot.path}") String path) {
+        return new CatalogSnapshotFile(Path.of(path));
+    }
+}
@@ -0,0 +1,57 @@
+package com.plutocart.product_service.config;
+
+import com.plutocart.common_exception.ErrorTemplate;
+import com.plutocart.common_exception.JsonErrorWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the reservation endpoints, which order-service calls without a user token: each
+ * request must carry the shared {@code inventory.service-token} in {@value #HEADER}. The
+ * comparison takes the same time however much of the token matches.
+ */
+@Component
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+
+    private static final String RESERVATIONS_PATH = "/api/inventory/reservations";
+    private static final ErrorTemplate ACCESS_DENIED =
+            ErrorTemplate.of(HttpServletResponse.SC_FORBIDDEN, "Forbidden", "You are not authorised to Access this resource");
+
+    private final byte[] serviceToken;
+
+    public ServiceTokenFilter(@Value("${inventory.service-token}") String serviceToken) {
+        if (serviceToken == null || serviceToken.isBlank()) {
+            throw new IllegalStateException("inventory.service-token must be set to accept reservations");
+        }
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(RESERVATIONS_PATH) && !path.startsWith(RESERVATIONS_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String token = request.getHeader(HEADER);
+        if (token == null || !MessageDigest.isEqual(serviceToken, token.getBytes(StandardCharsets.UTF_8))) {
+            JsonErrorWriter.write(response, ACCESS_DENIED, null, request.getRequestURI());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,70 @@
+package com.plutocart.product_service.controller;
+
+import com.plutocart.product_service.dto.BatchReservationRequest;
+import com.plutocart.product_service.dto.BatchReservationResponse;
+import com.plutocart.product_service.dto.InventoryResponse;
+import com.plutocart.product_service.dto.ReservationIdsRequest;
+import com.plutocart.product_service.dto.ReservationRequest;
+import com.plutocart.product_service.dto.ReservationResponse;
+import com.plutocart.product_service.dto.RestockRequest;
+import com.plutocart.product_service.service.InventoryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    @GetMapping("/{sku}")
+    public ResponseEntity<InventoryResponse> getAvailability(@PathVariable String sku) {
+        return ResponseEntity.ok(inventoryService.getAvailability(sku));
+    }
+
+    @PostMapping("/{sku}/restock")
+    public ResponseEntity<InventoryResponse> restock(@PathVariable String sku, @Valid @RequestBody RestockRequest request) {
+        return ResponseEntity.ok(inventoryService.restock(sku, request.quantity()));
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(inventoryService.reserve(request));
+    }
+
+    @PostMapping("/reservations/batch")
+    public ResponseEntity<BatchReservationResponse> reserveAll(@Valid @RequestBody BatchReservationRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(inventoryService.reserveAll(request.items()));
+    }
+
+    @PostMapping("/reservations/confirm")
+    public ResponseEntity<BatchReservationResponse> confirmAll(@Valid @RequestBody ReservationIdsRequest request) {
+        return ResponseEntity.ok(inventoryService.confirmAll(request.reservationIds()));
+    }
+
+    @PostMapping("/reservations/release")
+    public ResponseEntity<BatchReservationResponse> releaseAll(@Valid @RequestBody ReservationIdsRequest request) {
+        return ResponseEntity.ok(inventoryService.releaseAll(request.reservationIds()));
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable UUID reservationId) {
+        return ResponseEntity.ok(inventoryService.confirm(reservationId));
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable UUID reservationId) {
+        inventoryService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.plutocart.product_service.controller;
+
+import com.plutocart.product_service.dto.ProductLookupRequest;
+import com.plutocart.product_service.dto.ProductLookupResponse;
+import com.plutocart.product_service.dto.ProductRequest;
+import com.plutocart.product_service.dto.ProductResponse;
+import com.plutocart.product_service.dto.ProductSearchResponse;
+import com.plutocart.product_service.service.CatalogService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+    private final CatalogService catalogService;
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> search(@RequestParam(required = false) String q,
+                                                        @RequestParam(required = false) String category,
+                                                        @RequestParam(required = false) String brand,
+                                                        @RequestParam(required = false) BigDecimal minPrice,
+                                                        @RequestParam(required = false) BigDecimal maxPrice,
+                                                        @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(catalogService.search(q, category, brand, minPrice, maxPrice, page, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable UUID id) {
+        return ResponseEntity.ok(catalogService.getProduct(id));
+    }
+
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<ProductResponse> getProductBySku(@PathVariable String sku) {
+        return ResponseEntity.ok(catalogService.getProductBySku(sku));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductLookupResponse> lookup(@Valid @RequestBody ProductLookupRequest request) {
+        return ResponseEntity.ok(catalogService.lookup(request.skus()));
+    }
+
+    @PostMapping
+    public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(catalogService.createProduct(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductResponse> updateProduct(@PathVariable UUID id, @Valid @RequestBody ProductRequest request) {
+        return ResponseEntity.ok(catalogService.updateProduct(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
+        catalogService.deleteProduct(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchReservationRequest(
+
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 200, message = "At most 200 items can be reserved at once")
+        List<@Valid ReservationRequest> items
+) {
+}
@@ -0,0 +1,14 @@
+package com.plutocart.product_service.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a batch call. {@code missing} lists reservation ids that were not found or
+ * had already expired.
+ */
+public record BatchReservationResponse(
+        List<ReservationResponse> reservations,
+        List<UUID> missing
+) {
+}
@@ -0,0 +1,7 @@
+package com.plutocart.product_service.dto;
+
+public record InventoryResponse(
+        String sku,
+        long available
+) {
+}
@@ -0,0 +1,14 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductLookupRequest(
+
+        @NotEmpty(message = "At least one SKU is required")
+        @Size(max = 500, message = "At most 500 SKUs can be looked up at once")
+        List<String> skus
+) {
+}
@@ -0,0 +1,9 @@
+package com.plutocart.product_service.dto;
+
+import java.util.List;
+
+public record ProductLookupResponse(
+        List<ProductResponse> products,
+        List<String> missing
+) {
+}
@@ -0,0 +1,55 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public record ProductRequest(
+
+        @NotBlank(message = "SKU is required")
+        @Size(max = 64, message = "SKU must not exceed 64 characters")
+        String sku,
+
+        @NotBlank(message = "Name is required")
+        @Size(max = 255, message = "Name must not exceed 255 characters")
+        String name,
+
+        @Size(max = 4000, message = "Description must not exceed 4000 characters")
+        String description,
+
+        @NotBlank(message = "Category is required")
+        @Size(max = 100, message = "Category must not exceed 100 characters")
+        String category,
+
+        @Size(max = 100, message = "Brand must not exceed 100 characters")
+        String brand,
+
+        @NotNull(message = "Price is required")
+        @DecimalMin(value = "0.00", message = "Price must not be negative")
+        @Digits(integer = 12, fraction = 2, message = "Price must have at most 2 decimal places")
+        BigDecimal price,
+
+        @NotBlank(message = "Currency is required")
+        @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO code")
+        String currency,
+
+        Boolean active
+) {
+    public ProductRequest {
+        if (sku != null) {
+            sku = sku.trim().toUpperCase(Locale.ROOT);
+        }
+        if (name != null) {
+            name = name.trim();
+        }
+        if (active == null) {
+            active = Boolean.TRUE;
+        }
+    }
+}
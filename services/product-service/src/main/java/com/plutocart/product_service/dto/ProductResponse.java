@@ -0,0 +1,37 @@
+package com.plutocart.product_service.dto;
+
+import com.plutocart.product_service.model.Product;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProductResponse(
+        UUID id,
+        String sku,
+        String name,
+        String description,
+        String category,
+        String brand,
+        BigDecimal price,
+        String currency,
+        boolean active,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(
+                product.id(),
+                product.sku(),
+                product.name(),
+                product.description(),
+                product.category(),
+                product.brand(),
+                BigDecimal.valueOf(product.priceMinor(), 2),
+                product.currency(),
+                product.active(),
+                product.createdAt(),
+                product.updatedAt()
+        );
+    }
+}
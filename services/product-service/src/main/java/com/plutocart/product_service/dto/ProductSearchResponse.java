@@ -0,0 +1,14 @@
+package com.plutocart.product_service.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductSearchResponse(
+        int total,
+        int page,
+        int size,
+        List<ProductResponse> items,
+        Map<String, Integer> categories,
+        Map<String, Integer> brands
+) {
+}
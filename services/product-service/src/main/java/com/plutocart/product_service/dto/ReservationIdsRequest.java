@@ -0,0 +1,15 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReservationIdsRequest(
+
+        @NotEmpty(message = "At least one reservation id is required")
+        @Size(max = 200, message = "At most 200 reservations can be handled at once")
+        List<UUID> reservationIds
+) {
+}
@@ -0,0 +1,27 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Locale;
+import java.util.UUID;
+
+public record ReservationRequest(
+
+        @NotBlank(message = "SKU is required")
+        String sku,
+
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 1000, message = "Quantity must not exceed 1000")
+        int quantity,
+
+        /** Optional; makes the reservation repeatable (see {@code InventoryLedger#reserve(UUID, ...)}). */
+        UUID reservationId
+) {
+    public ReservationRequest {
+        if (sku != null) {
+            sku = sku.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+}
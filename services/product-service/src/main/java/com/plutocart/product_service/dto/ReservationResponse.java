@@ -0,0 +1,12 @@
+package com.plutocart.product_service.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReservationResponse(
+        UUID reservationId,
+        String sku,
+        int quantity,
+        Instant expiresAt
+) {
+}
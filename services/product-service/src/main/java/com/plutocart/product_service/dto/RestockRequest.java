@@ -0,0 +1,12 @@
+package com.plutocart.product_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record RestockRequest(
+
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 1_000_000, message = "Quantity must not exceed 1000000")
+        long quantity
+) {
+}
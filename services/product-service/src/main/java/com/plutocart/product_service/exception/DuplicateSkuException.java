@@ -0,0 +1,7 @@
+package com.plutocart.product_service.exception;
+
+public class DuplicateSkuException extends RuntimeException {
+    public DuplicateSkuException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.plutocart.product_service.exception;
+
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+}
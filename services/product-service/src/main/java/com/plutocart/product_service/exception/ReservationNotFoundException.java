@@ -0,0 +1,7 @@
+package com.plutocart.product_service.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
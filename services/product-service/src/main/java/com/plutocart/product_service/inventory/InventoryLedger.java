@@ -0,0 +1,213 @@
+package com.plutocart.product_service.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Available stock per SKU plus the reservations held against it.
+ * <p>
+ * A reservation takes units from the SKU's {@link StripedStock} up front, so stock that
+ * is reserved is never available to anyone else. Confirming a reservation turns it into a
+ * sale; releasing or letting it expire returns the units. Expiry runs off a timing wheel of
+ * lock-free queues that {@link #expire} advances one tick at a time.
+ * <p>
+ * Confirmations can be repeated: a confirmed reservation is remembered for
+ * {@code confirmedRetentionMillis}, and confirming it again, or reserving again under its
+ * id, answers with it instead of taking stock twice. Callers that retry after an unknown
+ * outcome rely on this.
+ * <p>
+ * On-hand changes (restocks and confirmed sales) are summed per SKU and handed out by
+ * {@link #drainOnHandDeltas} for write-behind persistence. Reservations themselves are not
+ * persisted: after a restart they are gone and their units are available again.
+ */
+public class InventoryLedger {
+
+    private static final int WHEEL_SLOTS = 4096;
+
+    private final int maxStripes;
+    private final long tickMillis;
+    private final long confirmedRetentionMillis;
+    private final ConcurrentHashMap<String, StripedStock> stock = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Reservation> confirmed = new ConcurrentHashMap<>();
+    /** Confirmed ids in confirmation order, each with the time it may be forgotten. */
+    private final ConcurrentLinkedQueue<ConfirmedUntil> confirmedExpiry = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, LongAdder> onHandDeltas = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<ConcurrentLinkedQueue<Reservation>> wheel =
+            new AtomicReferenceArray<>(WHEEL_SLOTS);
+    private volatile long lastTick;
+
+    public InventoryLedger(int maxStripes, long tickMillis, long confirmedRetentionMillis, long nowMillis) {
+        this.maxStripes = maxStripes;
+        this.tickMillis = tickMillis;
+        this.confirmedRetentionMillis = confirmedRetentionMillis;
+        this.lastTick = nowMillis / tickMillis - 1;
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.set(i, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Sets the on-hand quantity of a SKU at startup. Not journaled.
+     */
+    public void load(String sku, long onHand) {
+        stock.put(sku, new StripedStock(onHand, maxStripes));
+    }
+
+    public long available(String sku) {
+        StripedStock counter = stock.get(sku);
+        return counter == null ? 0 : counter.available();
+    }
+
+    public int outstandingReservations() {
+        return reservations.size();
+    }
+
+    public void restock(String sku, long quantity) {
+        counter(sku).add(quantity);
+        onHandDeltas.computeIfAbsent(sku, key -> new LongAdder()).add(quantity);
+    }
+
+    /**
+     * Reserves {@code quantity} units until {@code expiresAtMillis}, or returns {@code null}
+     * if that many are not available.
+     */
+    public Reservation reserve(String sku, int quantity, long expiresAtMillis) {
+        return reserve(UUID.randomUUID(), sku, quantity, expiresAtMillis);
+    }
+
+    /**
+     * Reserves under an id the caller chose. If a reservation with that id is held or was
+     * confirmed recently, returns it and takes nothing, so the call can be repeated.
+     */
+    public Reservation reserve(UUID reservationId, String sku, int quantity, long expiresAtMillis) {
+        Reservation existing = reservations.get(reservationId);
+        if (existing == null) {
+            existing = confirmed.get(reservationId);
+        }
+        if (existing != null) {
+            return existing;
+        }
+        StripedStock counter = stock.get(sku);
+        if (counter == null || !counter.tryTake(quantity)) {
+            return null;
+        }
+        Reservation reservation = new Reservation(reservationId, sku, quantity, expiresAtMillis);
+        if (reservations.putIfAbsent(reservationId, reservation) != null) {
+            // The same id reserved concurrently; that one stands.
+            counter.add(quantity);
+            return reservations.get(reservationId);
+        }
+        long expiryTick = Math.max(expiresAtMillis / tickMillis, lastTick + 1);
+        wheel.get((int) (expiryTick & (WHEEL_SLOTS - 1))).offer(reservation);
+        return reservation;
+    }
+
+    /**
+     * Turns a reservation into a sale. Returns {@code null} if it does not exist, was
+     * released, or expired before {@code nowMillis}; one confirmed within the retention
+     * period is returned again.
+     */
+    public Reservation confirm(UUID reservationId, long nowMillis) {
+        // The confirmation is published before the reservation is removed, both under the
+        // reservation's bin lock, so a repeated confirm that no longer finds the reservation
+        // always finds the confirmation instead.
+        Reservation[] taken = new Reservation[1];
+        reservations.computeIfPresent(reservationId, (id, reservation) -> {
+            if (reservation.expiresAtMillis() > nowMillis) {
+                confirmed.put(id, reservation);
+            }
+            taken[0] = reservation;
+            return null;
+        });
+        Reservation reservation = taken[0];
+        if (reservation == null) {
+            return confirmed.get(reservationId);
+        }
+        if (reservation.expiresAtMillis() <= nowMillis) {
+            stock.get(reservation.sku()).add(reservation.quantity());
+            return null;
+        }
+        onHandDeltas.computeIfAbsent(reservation.sku(), key -> new LongAdder()).add(-reservation.quantity());
+        confirmedExpiry.offer(new ConfirmedUntil(reservationId, nowMillis + confirmedRetentionMillis));
+        return reservation;
+    }
+
+    public Reservation release(UUID reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation != null) {
+            stock.get(reservation.sku()).add(reservation.quantity());
+        }
+        return reservation;
+    }
+
+    /**
+     * Releases reservations in every tick that has fully elapsed by {@code nowMillis} and
+     * returns how many. Expiry can therefore lag by up to one tick. Also forgets confirmed
+     * reservations past their retention. Must be called from one thread at a time.
+     */
+    public int expire(long nowMillis) {
+        ConfirmedUntil head;
+        while ((head = confirmedExpiry.peek()) != null && head.untilMillis() <= nowMillis) {
+            confirmedExpiry.poll();
+            confirmed.remove(head.id());
+        }
+
+        long tick = nowMillis / tickMillis - 1;
+        long from = Math.max(lastTick + 1, tick - WHEEL_SLOTS + 1);
+        int expired = 0;
+        List<Reservation> later = new ArrayList<>();
+        for (long t = from; t <= tick; t++) {
+            ConcurrentLinkedQueue<Reservation> queue = wheel.get((int) (t & (WHEEL_SLOTS - 1)));
+            Reservation reservation;
+            while ((reservation = queue.poll()) != null) {
+                if (reservation.expiresAtMillis() > nowMillis) {
+                    later.add(reservation);
+                } else if (reservations.remove(reservation.id(), reservation)) {
+                    stock.get(reservation.sku()).add(reservation.quantity());
+                    expired++;
+                }
+            }
+            later.forEach(queue::offer);
+            later.clear();
+        }
+        lastTick = tick;
+        return expired;
+    }
+
+    /**
+     * Hands out the on-hand change per SKU accumulated since the last call. A caller that
+     * fails to persist them must give them back with {@link #restoreOnHandDeltas}.
+     */
+    public Map<String, Long> drainOnHandDeltas() {
+        Map<String, Long> drained = new HashMap<>();
+        onHandDeltas.forEach((sku, delta) -> {
+            long value = delta.sumThenReset();
+            if (value != 0) {
+                drained.put(sku, value);
+            }
+        });
+        return drained;
+    }
+
+    public void restoreOnHandDeltas(Map<String, Long> deltas) {
+        deltas.forEach((sku, delta) -> onHandDeltas.computeIfAbsent(sku, key -> new LongAdder()).add(delta));
+    }
+
+    private StripedStock counter(String sku) {
+        return stock.computeIfAbsent(sku, key -> new StripedStock(0, maxStripes));
+    }
+
+    public record Reservation(UUID id, String sku, int quantity, long expiresAtMillis) {
+    }
+
+    private record ConfirmedUntil(UUID id, long untilMillis) {
+    }
+}
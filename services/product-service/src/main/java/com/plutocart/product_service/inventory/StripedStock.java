@@ -0,0 +1,151 @@
+package com.plutocart.product_service.inventory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Available units of one SKU, taken and returned with CAS only.
+ * <p>
+ * Starts as a single counter. Once CAS retries pass {@link #CONTENTION_THRESHOLD} the SKU is
+ * treated as hot and gains extra padded stripes; callers then start at a stripe picked by
+ * thread and take from as many stripes as needed. No stripe ever goes below zero, so stock
+ * cannot be oversold. Units moving between stripes are briefly invisible, which can reject
+ * a reservation only when stock is within that reservation's quantity of zero.
+ */
+final class StripedStock {
+
+    static final int CONTENTION_THRESHOLD = 64;
+    // Longs per stripe, so neighbouring stripes never share a cache line.
+    private static final int PAD = 8;
+
+    private final AtomicLong base;
+    private final int maxStripes;
+    private final AtomicInteger contention = new AtomicInteger();
+    private volatile AtomicLongArray cells;
+
+    StripedStock(long initial, int maxStripes) {
+        this.base = new AtomicLong(initial);
+        this.maxStripes = maxStripes;
+    }
+
+    boolean tryTake(long quantity) {
+        if (cells == null) {
+            while (true) {
+                long available = base.get();
+                if (available < quantity) {
+                    if (cells == null) {
+                        return false;
+                    }
+                    break;
+                }
+                if (base.compareAndSet(available, available - quantity)) {
+                    return true;
+                }
+                if (contention.incrementAndGet() > CONTENTION_THRESHOLD && maxStripes > 0) {
+                    inflate();
+                    break;
+                }
+            }
+        }
+        return tryTakeStriped(quantity);
+    }
+
+    void add(long quantity) {
+        AtomicLongArray stripes = cells;
+        if (stripes == null) {
+            base.addAndGet(quantity);
+            return;
+        }
+        int stripe = probe() % (maxStripes + 1);
+        if (stripe == 0) {
+            base.addAndGet(quantity);
+        } else {
+            stripes.addAndGet((stripe - 1) * PAD, quantity);
+        }
+    }
+
+    long available() {
+        long sum = base.get();
+        AtomicLongArray stripes = cells;
+        if (stripes != null) {
+            for (int i = 0; i < maxStripes; i++) {
+                sum += stripes.get(i * PAD);
+            }
+        }
+        return sum;
+    }
+
+    boolean isStriped() {
+        return cells != null;
+    }
+
+    private boolean tryTakeStriped(long quantity) {
+        AtomicLongArray stripes = cells;
+        int count = maxStripes + 1;
+        int start = probe() % count;
+        long needed = quantity;
+        for (int i = 0; i < count && needed > 0; i++) {
+            int stripe = (start + i) % count;
+            needed -= stripe == 0 ? takeFromBase(needed) : takeFromCell(stripes, (stripe - 1) * PAD, needed);
+        }
+        if (needed == 0) {
+            return true;
+        }
+        if (needed < quantity) {
+            add(quantity - needed);
+        }
+        return false;
+    }
+
+    private long takeFromBase(long wanted) {
+        while (true) {
+            long available = base.get();
+            if (available <= 0) {
+                return 0;
+            }
+            long taken = Math.min(available, wanted);
+            if (base.compareAndSet(available, available - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    private static long takeFromCell(AtomicLongArray stripes, int index, long wanted) {
+        while (true) {
+            long available = stripes.get(index);
+            if (available <= 0) {
+                return 0;
+            }
+            long taken = Math.min(available, wanted);
+            if (stripes.compareAndSet(index, available, available - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Publishes empty stripes first, then moves an equal share of the base into each, so
+     * every unit is always in exactly one counter that striped callers can see.
+     */
+    private synchronized void inflate() {
+        if (cells != null) {
+            return;
+        }
+        AtomicLongArray stripes = new AtomicLongArray(maxStripes * PAD);
+        cells = stripes;
+        long share = base.get() / (maxStripes + 1);
+        if (share > 0) {
+            for (int i = 0; i < maxStripes; i++) {
+                long moved = takeFromBase(share);
+                stripes.addAndGet(i * PAD, moved);
+            }
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().threadId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,13 @@
+package com.plutocart.product_service.model;
+
+import java.util.UUID;
+
+/**
+ * One entry of the catalog change log. {@code product} is {@code null} for a delete.
+ */
+public record CatalogChange(
+        long version,
+        UUID productId,
+        Product product
+) {
+}
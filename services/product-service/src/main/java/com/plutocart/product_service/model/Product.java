@@ -0,0 +1,22 @@
+package com.plutocart.product_service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Catalog entry as held by the read model. Prices are kept in minor units (cents).
+ */
+public record Product(
+        UUID id,
+        String sku,
+        String name,
+        String description,
+        String category,
+        String brand,
+        long priceMinor,
+        String currency,
+        boolean active,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
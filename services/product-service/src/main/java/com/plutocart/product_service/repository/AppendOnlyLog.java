@@ -0,0 +1,107 @@
+package com.plutocart.product_service.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Line-per-record log file behind the file-backed stores. Every append is a single write
+ * forced to disk before it returns, and a failed one is cut off again, so only a crash can
+ * leave a torn last line; readers skip lines they cannot parse.
+ */
+final class AppendOnlyLog implements Closeable {
+
+    private final Path path;
+    private FileChannel channel;
+
+    AppendOnlyLog(Path path) {
+        this.path = path;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Every line in the file, or none if there is no file yet. The last one may be torn.
+     */
+    List<String> read() throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Replaces the whole file through a temporary sibling, e.g. to compact it.
+     */
+    void rewrite(List<String> lines) throws IOException {
+        closeChannel();
+        createParent();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    synchronized void append(String line) {
+        try {
+            if (channel == null) {
+                openChannel();
+            }
+            long size = channel.size();
+            try {
+                channel.write(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+                channel.force(false);
+            } catch (IOException e) {
+                channel.truncate(size);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private void openChannel() throws IOException {
+        createParent();
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        channel.position(size);
+        if (size > 0) {
+            // A torn last line must not swallow the next record.
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            if (last.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+    }
+
+    private synchronized void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void createParent() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+}
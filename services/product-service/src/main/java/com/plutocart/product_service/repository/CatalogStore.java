@@ -0,0 +1,35 @@
+package com.plutocart.product_service.repository;
+
+import com.plutocart.product_service.model.CatalogChange;
+import com.plutocart.product_service.model.Product;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Durable home of the catalog. The in-memory read model is rebuilt from here at startup
+ * and is the only thing the read path touches afterwards.
+ * Implementations must reject a SKU already owned by another product.
+ * <p>
+ * Every write gets the next version number, so a node restoring a snapshot taken at
+ * version {@code v} can catch up with {@link #changesSince}.
+ */
+public interface CatalogStore {
+
+    /**
+     * Streams every product and returns the version they reflect.
+     */
+    long forEach(Consumer<Product> consumer);
+
+    long version();
+
+    /**
+     * Streams changes newer than {@code version}, oldest first. Returns {@code false}
+     * without streaming anything if the log no longer reaches back that far.
+     */
+    boolean changesSince(long version, Consumer<CatalogChange> consumer);
+
+    long save(Product product);
+
+    long delete(UUID id);
+}
@@ -0,0 +1,114 @@
+package com.plutocart.product_service.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plutocart.product_service.model.CatalogChange;
+import com.plutocart.product_service.model.Product;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog store backed by an append-only log of {@link CatalogChange}s, one JSON line each,
+ * replayed on startup. Versions survive restarts, so a catalog snapshot can catch up from
+ * the change log instead of being rebuilt.
+ * <p>
+ * Once the log holds many more changes than there are products it is compacted on startup:
+ * a {@code #base <version>} line followed by every product at that version. Snapshots
+ * older than the base are then rebuilt from the store.
+ */
+@Slf4j
+public class FileCatalogStore extends InMemoryCatalogStore implements Closeable {
+
+    private static final String BASE_PREFIX = "#base ";
+    private static final int COMPACT_FACTOR = 4;
+    private static final int MIN_COMPACT_CHANGES = 10_000;
+
+    private final AppendOnlyLog changeLog;
+    private final ObjectMapper objectMapper;
+
+    public FileCatalogStore(Path path, ObjectMapper objectMapper) {
+        this.changeLog = new AppendOnlyLog(path);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replays the log. Lines that cannot be parsed, such as a torn last line after a crash,
+     * are skipped and compacted away.
+     */
+    public synchronized void open() throws IOException {
+        long base = 0;
+        boolean baseApplied = false;
+        int replayed = 0;
+        int malformed = 0;
+        for (String line : changeLog.read()) {
+            if (line.startsWith(BASE_PREFIX)) {
+                try {
+                    base = Long.parseLong(line.substring(BASE_PREFIX.length()).trim());
+                } catch (NumberFormatException e) {
+                    malformed++;
+                }
+                continue;
+            }
+            CatalogChange change;
+            try {
+                change = objectMapper.readValue(line, CatalogChange.class);
+            } catch (JsonProcessingException e) {
+                malformed++;
+                continue;
+            }
+            if (!baseApplied && change.version() > base) {
+                restartChangeLog(base);
+                baseApplied = true;
+            }
+            restore(change);
+            replayed++;
+        }
+        if (!baseApplied) {
+            restartChangeLog(base);
+        }
+
+        List<Product> products = new ArrayList<>();
+        long version = forEach(products::add);
+        if (malformed > 0) {
+            log.warn("Skipped {} malformed lines in {}", malformed, changeLog.getPath());
+        }
+        if (malformed > 0 || replayed > Math.max(MIN_COMPACT_CHANGES, COMPACT_FACTOR * products.size())) {
+            compact(products, version);
+        }
+        log.info("Restored {} products at version {} from {}", products.size(), version, changeLog.getPath());
+    }
+
+    @Override
+    protected void append(CatalogChange change) {
+        changeLog.append(toJson(change));
+    }
+
+    @Override
+    public void close() throws IOException {
+        changeLog.close();
+    }
+
+    private void compact(List<Product> products, long version) throws IOException {
+        List<String> lines = new ArrayList<>(products.size() + 1);
+        lines.add(BASE_PREFIX + version);
+        for (Product product : products) {
+            lines.add(toJson(new CatalogChange(version, product.id(), product)));
+        }
+        changeLog.rewrite(lines);
+        log.info("Compacted {} to {} products at version {}", changeLog.getPath(), products.size(), version);
+    }
+
+    private String toJson(CatalogChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode catalog change " + change.version(), e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.plutocart.product_service.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory store backed by an append-only log with one JSON line of summed deltas per
+ * flush, so a flush is either fully on disk or, if torn by a crash, skipped as a whole.
+ * Replayed and compacted to a single line of on-hand totals on startup.
+ */
+@Slf4j
+public class FileInventoryStore extends InMemoryInventoryStore implements Closeable {
+
+    private static final TypeReference<Map<String, Long>> DELTAS = new TypeReference<>() {
+    };
+
+    private final AppendOnlyLog deltaLog;
+    private final ObjectMapper objectMapper;
+
+    public FileInventoryStore(Path path, ObjectMapper objectMapper) {
+        this.deltaLog = new AppendOnlyLog(path);
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void open() throws IOException {
+        List<String> lines = deltaLog.read();
+        int malformed = 0;
+        for (String line : lines) {
+            try {
+                super.applyDeltas(objectMapper.readValue(line, DELTAS));
+            } catch (JsonProcessingException e) {
+                malformed++;
+            }
+        }
+        if (malformed > 0) {
+            log.warn("Skipped {} malformed lines in {}", malformed, deltaLog.getPath());
+        }
+        Map<String, Long> onHand = new HashMap<>();
+        forEach(onHand::put);
+        if (lines.size() > 1 || malformed > 0) {
+            deltaLog.rewrite(onHand.isEmpty() ? List.of() : List.of(toJson(onHand)));
+        }
+        log.info("Restored on-hand stock of {} SKUs from {}", onHand.size(), deltaLog.getPath());
+    }
+
+    @Override
+    public synchronized void applyDeltas(Map<String, Long> deltas) {
+        deltaLog.append(toJson(deltas));
+        super.applyDeltas(deltas);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deltaLog.close();
+    }
+
+    private String toJson(Map<String, Long> deltas) {
+        try {
+            return objectMapper.writeValueAsString(deltas);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode inventory deltas", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.plutocart.product_service.repository;
+
+import com.plutocart.product_service.exception.DuplicateSkuException;
+import com.plutocart.product_service.model.CatalogChange;
+import com.plutocart.product_service.model.Product;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Non-durable store for tests and benchmarks, and the base of {@link FileCatalogStore}.
+ * Keeps the last {@link #MAX_CHANGES} changes for catch-up.
+ */
+public class InMemoryCatalogStore implements CatalogStore {
+
+    private static final int MAX_CHANGES = 100_000;
+
+    private final Map<UUID, Product> products = new HashMap<>();
+    private final Map<String, UUID> skus = new HashMap<>();
+    private final ArrayDeque<CatalogChange> changes = new ArrayDeque<>();
+    private long version;
+
+    @Override
+    public long forEach(Consumer<Product> consumer) {
+        List<Product> copy;
+        long copyVersion;
+        synchronized (this) {
+            copy = List.copyOf(products.values());
+            copyVersion = version;
+        }
+        copy.forEach(consumer);
+        return copyVersion;
+    }
+
+    @Override
+    public synchronized long version() {
+        return version;
+    }
+
+    @Override
+    public boolean changesSince(long since, Consumer<CatalogChange> consumer) {
+        List<CatalogChange> copy;
+        synchronized (this) {
+            long oldest = changes.isEmpty() ? version + 1 : changes.peekFirst().version();
+            if (since > version || since + 1 < oldest) {
+                return false;
+            }
+            copy = changes.stream().filter(change -> change.version() > since).toList();
+        }
+        copy.forEach(consumer);
+        return true;
+    }
+
+    @Override
+    public synchronized long save(Product product) {
+        UUID owner = skus.get(product.sku());
+        if (owner != null && !owner.equals(product.id())) {
+            throw new DuplicateSkuException("SKU " + product.sku() + " already exists");
+        }
+        return record(new CatalogChange(version + 1, product.id(), product));
+    }
+
+    @Override
+    public synchronized long delete(UUID id) {
+        return record(new CatalogChange(version + 1, id, null));
+    }
+
+    /**
+     * Called with every change before it is applied. A durable store writes it out here;
+     * throwing leaves the store unchanged.
+     */
+    protected void append(CatalogChange change) {
+    }
+
+    /**
+     * Applies a change read back from durable storage.
+     */
+    protected synchronized void restore(CatalogChange change) {
+        apply(change);
+    }
+
+    /**
+     * Drops the retained changes and sets the version, which becomes the oldest one
+     * {@link #changesSince} can catch up from.
+     */
+    protected synchronized void restartChangeLog(long version) {
+        changes.clear();
+        this.version = version;
+    }
+
+    private long record(CatalogChange change) {
+        append(change);
+        apply(change);
+        return change.version();
+    }
+
+    private void apply(CatalogChange change) {
+        Product product = change.product();
+        if (product == null) {
+            Product previous = products.remove(change.productId());
+            if (previous != null) {
+                skus.remove(previous.sku());
+            }
+        } else {
+            Product previous = products.put(product.id(), product);
+            if (previous != null && !previous.sku().equals(product.sku())) {
+                skus.remove(previous.sku());
+            }
+            skus.put(product.sku(), product.id());
+        }
+        version = change.version();
+        changes.addLast(change);
+        if (changes.size() > MAX_CHANGES) {
+            changes.removeFirst();
+        }
+    }
+}
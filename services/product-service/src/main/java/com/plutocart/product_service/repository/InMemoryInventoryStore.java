@@ -0,0 +1,23 @@
+package com.plutocart.product_service.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Non-durable store for tests and benchmarks, and the base of {@link FileInventoryStore}.
+ */
+public class InMemoryInventoryStore implements InventoryStore {
+
+    private final Map<String, Long> onHand = new ConcurrentHashMap<>();
+
+    @Override
+    public void forEach(BiConsumer<String, Long> consumer) {
+        onHand.forEach(consumer);
+    }
+
+    @Override
+    public void applyDeltas(Map<String, Long> deltas) {
+        deltas.forEach((sku, delta) -> onHand.merge(sku, delta, Long::sum));
+    }
+}
@@ -0,0 +1,16 @@
+package com.plutocart.product_service.repository;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Durable on-hand quantity per SKU. Written behind the in-memory ledger in batches of
+ * summed deltas, e.g. one batched {@code UPDATE inventory SET on_hand = on_hand + ?} per
+ * flush rather than a row lock per reservation.
+ */
+public interface InventoryStore {
+
+    void forEach(BiConsumer<String, Long> consumer);
+
+    void applyDeltas(Map<String, Long> deltas);
+}
@@ -0,0 +1,99 @@
+package com.plutocart.product_service.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitset over internal document ids, with the handful of operations search needs.
+ * Not thread-safe; {@link ProductSearchIndex} guards it.
+ */
+final class DocIdSet {
+
+    private long[] words;
+
+    DocIdSet() {
+        this(64);
+    }
+
+    DocIdSet(int capacityBits) {
+        this.words = new long[Math.max(1, (capacityBits + 63) >>> 6)];
+    }
+
+    private DocIdSet(long[] words) {
+        this.words = words;
+    }
+
+    void set(int doc) {
+        int word = doc >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        words[word] |= 1L << doc;
+    }
+
+    void clear(int doc) {
+        int word = doc >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << doc);
+        }
+    }
+
+    boolean get(int doc) {
+        int word = doc >>> 6;
+        return word < words.length && (words[word] & (1L << doc)) != 0;
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Size of the intersection, without materialising it.
+     */
+    int andCardinality(DocIdSet other) {
+        long[] a = words;
+        long[] b = other.words;
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    void and(DocIdSet other) {
+        long[] b = other.words;
+        int n = Math.min(words.length, b.length);
+        for (int i = 0; i < n; i++) {
+            words[i] &= b[i];
+        }
+        Arrays.fill(words, n, words.length, 0L);
+    }
+
+    /**
+     * Returns the first set bit at or after {@code from}, or -1.
+     */
+    int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    DocIdSet copy() {
+        return new DocIdSet(words.clone());
+    }
+}
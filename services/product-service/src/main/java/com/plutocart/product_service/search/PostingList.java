@@ -0,0 +1,434 @@
+package com.plutocart.product_service.search;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Document ids and term frequencies for one term, in ascending doc order. Documents are
+ * only ever appended with a larger id than the last one.
+ * <p>
+ * Postings are kept in blocks of {@value #BLOCK_SIZE}, frame-of-reference encoded: each
+ * doc id as its delta from the block's first doc, then each frequency, both bit-packed at
+ * the fewest bits the block needs. A block of a term in one doc out of 30 packs its doc ids
+ * in about 12 bits and small frequencies in 2-3, instead of 64 bits a posting. A skip table
+ * holds each block's first doc and byte offset. A {@link Cursor} gallops over it to the
+ * block that can hold a target and searches inside by reading single packed values; only
+ * walking a block densely unpacks its doc ids whole. The last block stays plain ints until
+ * it fills up.
+ * <p>
+ * A list restored from a snapshot reads its blocks straight from the mapped file until
+ * the first append, which copies them onto the heap.
+ * <p>
+ * Deleting a document leaves its posting in place and only lowers {@link #liveDocs()}.
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private int[] blockDocs;
+    private int[] blockOffsets;
+    // Packed values are read a little-endian long at a time, so both keep Long.BYTES
+    // readable bytes past dataLength.
+    private byte[] data;
+    private IntBuffer mappedBlockDocs;
+    private IntBuffer mappedBlockOffsets;
+    private ByteBuffer mappedData;
+    private int blockCount;
+    private int dataLength;
+
+    private int[] tailDocs = new int[4];
+    private int[] tailFreqs = new int[4];
+    private int tailSize;
+    private int size;
+    private int liveDocs;
+
+    PostingList() {
+        this.blockDocs = new int[1];
+        this.blockOffsets = new int[1];
+        this.data = new byte[Long.BYTES];
+    }
+
+    private PostingList(int size, int blockCount, int dataLength,
+                        IntBuffer blockDocs, IntBuffer blockOffsets, ByteBuffer data) {
+        this.size = size;
+        this.liveDocs = size;
+        this.blockCount = blockCount;
+        this.dataLength = dataLength;
+        this.mappedBlockDocs = blockDocs;
+        this.mappedBlockOffsets = blockOffsets;
+        this.mappedData = data;
+    }
+
+    /**
+     * Maps a list written by {@link #write} at the buffer's position, and moves the
+     * position past it.
+     */
+    static PostingList mapped(ByteBuffer in) {
+        int size = in.getInt();
+        int blockCount = in.getInt();
+        int dataLength = in.getInt();
+        IntBuffer blockDocs = in.slice(in.position(), blockCount * Integer.BYTES).asIntBuffer();
+        in.position(in.position() + blockCount * Integer.BYTES);
+        IntBuffer blockOffsets = in.slice(in.position(), blockCount * Integer.BYTES).asIntBuffer();
+        in.position(in.position() + blockCount * Integer.BYTES);
+        ByteBuffer data = in.slice(in.position(), dataLength + Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        in.position(in.position() + dataLength + Long.BYTES + padding(dataLength));
+        return new PostingList(size, blockCount, dataLength, blockDocs, blockOffsets, data);
+    }
+
+    void add(int doc, int freq) {
+        if (mappedData != null) {
+            materialize();
+        }
+        if (tailSize == 0 && size % BLOCK_SIZE != 0) {
+            reopenLastBlock();
+        }
+        if (tailSize == tailDocs.length) {
+            if (tailSize == BLOCK_SIZE) {
+                seal();
+            } else {
+                int capacity = Math.min(BLOCK_SIZE, tailSize * 2);
+                tailDocs = Arrays.copyOf(tailDocs, capacity);
+                tailFreqs = Arrays.copyOf(tailFreqs, capacity);
+            }
+        }
+        tailDocs[tailSize] = doc;
+        tailFreqs[tailSize] = freq;
+        tailSize++;
+        size++;
+        liveDocs++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Postings whose document has not been deleted since: the term's document frequency.
+     */
+    int liveDocs() {
+        return liveDocs;
+    }
+
+    void deleteDoc() {
+        liveDocs--;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Writes the list in the layout {@link #mapped} reads: size, block count, data length,
+     * the first doc and the offset of every block, then the encoded blocks followed by
+     * {@value Long#BYTES} bytes of slack, padded to 4 bytes. Seals the last block first,
+     * even if it is not full.
+     */
+    void write(DataOutputStream out) throws IOException {
+        if (tailSize > 0) {
+            seal();
+        }
+        out.writeInt(size);
+        out.writeInt(blockCount);
+        out.writeInt(dataLength);
+        for (int block = 0; block < blockCount; block++) {
+            out.writeInt(blockDoc(block));
+        }
+        for (int block = 0; block < blockCount; block++) {
+            out.writeInt(blockOffset(block));
+        }
+        if (data != null) {
+            out.write(data, 0, dataLength);
+        } else {
+            for (int i = 0; i < dataLength; i++) {
+                out.write(mappedData.get(i));
+            }
+        }
+        out.write(new byte[Long.BYTES + padding(dataLength)]);
+    }
+
+    private static int padding(int length) {
+        return (4 - (length & 3)) & 3;
+    }
+
+    /**
+     * Blocks including the unsealed last one.
+     */
+    private int blocks() {
+        return blockCount + (tailSize > 0 ? 1 : 0);
+    }
+
+    private int firstDoc(int block) {
+        return block < blockCount ? blockDoc(block) : tailDocs[0];
+    }
+
+    private int blockDoc(int block) {
+        return blockDocs != null ? blockDocs[block] : mappedBlockDocs.get(block);
+    }
+
+    private int blockOffset(int block) {
+        return blockOffsets != null ? blockOffsets[block] : mappedBlockOffsets.get(block);
+    }
+
+    /**
+     * Only the last sealed block can hold fewer than {@value #BLOCK_SIZE} postings.
+     */
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - tailSize - block * BLOCK_SIZE);
+    }
+
+    private byte byteAt(int index) {
+        return data != null ? data[index] : mappedData.get(index);
+    }
+
+    /**
+     * The {@code index}th {@code bits}-wide value packed from byte {@code base} on.
+     */
+    private int unpack(int base, int index, int bits) {
+        long bit = ((long) base << 3) + (long) index * bits;
+        int at = (int) (bit >>> 3);
+        long word = data != null ? (long) LONG.get(data, at) : mappedData.getLong(at);
+        return (int) ((word >>> (bit & 7)) & ((1L << bits) - 1));
+    }
+
+    private void unpack(int base, int bits, int count, int add, int[] out) {
+        long mask = (1L << bits) - 1;
+        long bit = (long) base << 3;
+        if (data != null) {
+            for (int i = 0; i < count; i++, bit += bits) {
+                long word = (long) LONG.get(data, (int) (bit >>> 3));
+                out[i] = add + (int) ((word >>> (bit & 7)) & mask);
+            }
+        } else {
+            for (int i = 0; i < count; i++, bit += bits) {
+                long word = mappedData.getLong((int) (bit >>> 3));
+                out[i] = add + (int) ((word >>> (bit & 7)) & mask);
+            }
+        }
+    }
+
+    private void seal() {
+        if (blockCount == blockDocs.length) {
+            blockDocs = Arrays.copyOf(blockDocs, blockCount * 2);
+            blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+        }
+        int first = tailDocs[0];
+        int maxFreq = 0;
+        for (int i = 0; i < tailSize; i++) {
+            maxFreq = Math.max(maxFreq, tailFreqs[i]);
+        }
+        int docBits = bitsFor(tailDocs[tailSize - 1] - first);
+        int freqBits = bitsFor(maxFreq);
+        blockDocs[blockCount] = first;
+        blockOffsets[blockCount] = dataLength;
+        blockCount++;
+
+        int needed = dataLength + 2 + tailSize * 8 + Long.BYTES;
+        if (needed > data.length) {
+            data = Arrays.copyOf(data, Math.max(needed, data.length + (data.length >> 1)));
+        }
+        data[dataLength++] = (byte) docBits;
+        data[dataLength++] = (byte) freqBits;
+        pack(tailDocs, first, docBits);
+        pack(tailFreqs, 0, freqBits);
+        tailSize = 0;
+    }
+
+    private static int bitsFor(int max) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(max);
+    }
+
+    private void pack(int[] values, int base, int bits) {
+        long buffer = 0;
+        int filled = 0;
+        for (int i = 0; i < tailSize; i++) {
+            buffer |= (long) (values[i] - base) << filled;
+            filled += bits;
+            while (filled >= 8) {
+                data[dataLength++] = (byte) buffer;
+                buffer >>>= 8;
+                filled -= 8;
+            }
+        }
+        if (filled > 0) {
+            data[dataLength++] = (byte) buffer;
+        }
+    }
+
+    /**
+     * Turns a partial last block, left by {@link #write} or a snapshot, back into the
+     * unsealed tail so appends can continue it.
+     */
+    private void reopenLastBlock() {
+        int last = blockCount - 1;
+        int offset = blockOffset(last);
+        int count = blockLength(last);
+        int docBits = byteAt(offset);
+        tailDocs = new int[BLOCK_SIZE];
+        tailFreqs = new int[BLOCK_SIZE];
+        unpack(offset + 2, docBits, count, blockDoc(last), tailDocs);
+        unpack(offset + 2 + (count * docBits + 7) / 8, byteAt(offset + 1), count, 0, tailFreqs);
+        tailSize = count;
+        dataLength = offset;
+        blockCount = last;
+    }
+
+    private void materialize() {
+        blockDocs = new int[Math.max(1, blockCount)];
+        blockOffsets = new int[blockDocs.length];
+        mappedBlockDocs.get(0, blockDocs, 0, blockCount);
+        mappedBlockOffsets.get(0, blockOffsets, 0, blockCount);
+        data = new byte[dataLength + Long.BYTES];
+        mappedData.get(0, data, 0, dataLength);
+        mappedBlockDocs = null;
+        mappedBlockOffsets = null;
+        mappedData = null;
+    }
+
+    /**
+     * Forward-only position in the list. Not thread-safe; each search takes its own. The
+     * list must not change while a cursor is in use.
+     */
+    final class Cursor {
+
+        private final int[] docBuffer = new int[BLOCK_SIZE];
+        // Null while the current block is still packed; freqs are only unpacked in the tail.
+        private int[] docs;
+        private int[] freqs;
+        private int block = -1;
+        private int count;
+        private int index;
+        private int firstDoc;
+        private int docBase;
+        private int docBits;
+        private int freqBase;
+        private int freqBits;
+
+        /**
+         * Moves to the next posting, or the first one on the first call. Returns
+         * {@code false} once the list is exhausted.
+         */
+        boolean next() {
+            if ((block < 0 || ++index >= count) && !load(block + 1)) {
+                return false;
+            }
+            unpackDocs();
+            return true;
+        }
+
+        /**
+         * Moves forward to the first posting whose doc is {@code >= target}, skipping
+         * blocks that end before it. Returns {@code false} if there is none.
+         */
+        boolean advance(int target) {
+            int visited = block;
+            if (block < 0 && !load(0)) {
+                return false;
+            }
+            if (index >= count) {
+                return false;
+            }
+            if (docAt(index) >= target) {
+                return true;
+            }
+            int last = blocks() - 1;
+            if (block < last && firstDoc(block + 1) <= target) {
+                // Gallops: most advances land in this block or one of the next few.
+                int low = block + 1;
+                int step = 1;
+                while (low + step <= last && firstDoc(low + step) <= target) {
+                    low += step;
+                    step <<= 1;
+                }
+                int high = Math.min(low + step, last + 1);
+                while (low + 1 < high) {
+                    int mid = (low + high) >>> 1;
+                    if (firstDoc(mid) <= target) {
+                        low = mid;
+                    } else {
+                        high = mid;
+                    }
+                }
+                load(low);
+            }
+            if (block == visited) {
+                // A second search in the same block means it is being walked densely.
+                unpackDocs();
+            }
+            int low = index;
+            int step = 1;
+            while (low + step < count && docAt(low + step) < target) {
+                low += step;
+                step <<= 1;
+            }
+            int high = Math.min(low + step, count);
+            while (low + 1 < high) {
+                int mid = (low + high) >>> 1;
+                if (docAt(mid) < target) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            index = docAt(low) < target ? high : low;
+            return index < count || load(block + 1);
+        }
+
+        int doc() {
+            return docAt(index);
+        }
+
+        /**
+         * Read straight from the packed block: most postings are rejected on their doc id
+         * alone, so few frequencies are ever read.
+         */
+        int freq() {
+            return freqs != null ? freqs[index] : unpack(freqBase, index, freqBits);
+        }
+
+        private int docAt(int i) {
+            return docs != null ? docs[i] : firstDoc + unpack(docBase, i, docBits);
+        }
+
+        private void unpackDocs() {
+            if (docs == null) {
+                unpack(docBase, docBits, count, firstDoc, docBuffer);
+                docs = docBuffer;
+            }
+        }
+
+        private boolean load(int next) {
+            index = 0;
+            if (next >= blocks()) {
+                block = blocks();
+                count = 0;
+                return false;
+            }
+            block = next;
+            if (next < blockCount) {
+                int offset = blockOffset(next);
+                count = blockLength(next);
+                firstDoc = blockDoc(next);
+                docBits = byteAt(offset);
+                freqBits = byteAt(offset + 1);
+                docBase = offset + 2;
+                freqBase = docBase + (count * docBits + 7) / 8;
+                docs = null;
+                freqs = null;
+            } else {
+                count = tailSize;
+                docs = tailDocs;
+                freqs = tailFreqs;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package com.plutocart.product_service.search;
+
+import com.plutocart.product_service.model.Product;
+import com.plutocart.product_service.service.CatalogChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over active products, ranked with BM25.
+ * <p>
+ * Every indexed version of a product gets a new internal doc id; the old id is only
+ * cleared from the live set, so posting lists stay append-only and sorted. Each list
+ * counts its live docs, so IDF ignores deleted ones just like the doc count does. Once
+ * dead docs pass {@link #COMPACT_RATIO} of all ids the index is rebuilt from the live ones.
+ * Category and brand facets are bitsets, counted by intersecting with the match set; when
+ * a facet has so many values that one pass over the matches is cheaper, counts come from
+ * per-doc value ordinals instead.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex implements CatalogChangeListener {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Name matches count this many times a match in description, brand or category.
+    private static final int NAME_WEIGHT = 2;
+    private static final double COMPACT_RATIO = 0.2;
+    private static final int COMPACT_MIN_DOCS = 4096;
+    private static final int MAX_FACET_VALUES = 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Product[] docs = new Product[1024];
+    private int[] docLengths = new int[1024];
+    private long[] prices = new long[1024];
+    private int[] categoryOrds = new int[1024];
+    private int[] brandOrds = new int[1024];
+    private int maxDoc;
+    private int liveCount;
+    private long totalLength;
+    private DocIdSet live = new DocIdSet();
+    private Map<UUID, Integer> docIds = new HashMap<>();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, Facet> categories = new HashMap<>();
+    private Map<String, Facet> brands = new HashMap<>();
+    private List<Facet> categoryValues = new ArrayList<>();
+    private List<Facet> brandValues = new ArrayList<>();
+
+    public ProductSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("catalog.search.docs", this, index -> index.liveCount)
+                .tag("state", "live")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.docs", this, index -> index.maxDoc - index.liveCount)
+                .tag("state", "deleted")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.terms", this, index -> index.postings.size()).register(meterRegistry);
+    }
+
+    @Override
+    public void onReload(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            reset(products.size());
+            products.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onUpsert(Product previous, Product current) {
+        lock.writeLock().lock();
+        try {
+            delete(current.id());
+            add(current);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(Product previous) {
+        lock.writeLock().lock();
+        try {
+            delete(previous.id());
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Live products in doc order, which is the order {@link #writeSnapshot} numbers them.
+     */
+    public List<Product> documents() {
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>(liveCount);
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                products.add(docs[doc]);
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes doc lengths and posting lists with dead docs dropped and ids renumbered to
+     * match {@link #documents()}. Term strings are padded so every skip table starts on a
+     * 4-byte boundary, provided the section itself does.
+     */
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            int[] remap = new int[maxDoc];
+            int next = 0;
+            for (int doc = 0; doc < maxDoc; doc++) {
+                remap[doc] = live.get(doc) ? next++ : -1;
+            }
+            out.writeInt(next);
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                out.writeInt(docLengths[doc]);
+            }
+
+            List<Map.Entry<String, PostingList>> terms = new ArrayList<>(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList remapped = new PostingList();
+                for (PostingList.Cursor cursor = entry.getValue().cursor(); cursor.next(); ) {
+                    int doc = remap[cursor.doc()];
+                    if (doc >= 0) {
+                        remapped.add(doc, cursor.freq());
+                    }
+                }
+                if (remapped.size() > 0) {
+                    terms.add(Map.entry(entry.getKey(), remapped));
+                }
+            }
+            out.writeInt(terms.size());
+            for (Map.Entry<String, PostingList> entry : terms) {
+                byte[] term = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(term.length);
+                out.write(term);
+                out.write(new byte[(4 - (term.length & 3)) & 3]);
+                entry.getValue().write(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with one read from a snapshot section. {@code products} must be
+     * the documents the snapshot was written with, in the same order. Posting lists stay
+     * views over {@code section}; only the term dictionary and per-doc arrays are built.
+     */
+    public void restoreSnapshot(List<Product> products, ByteBuffer section) {
+        lock.writeLock().lock();
+        try {
+            ByteBuffer in = section.duplicate();
+            int docCount = in.getInt();
+            if (docCount != products.size()) {
+                throw new IllegalStateException("Snapshot has " + docCount + " search docs, expected " + products.size());
+            }
+            reset(docCount);
+            int[] lengths = new int[docCount];
+            in.asIntBuffer().get(lengths);
+            in.position(in.position() + docCount * Integer.BYTES);
+            for (int doc = 0; doc < docCount; doc++) {
+                register(doc, products.get(doc), lengths[doc]);
+            }
+            maxDoc = docCount;
+
+            int termCount = in.getInt();
+            postings = new HashMap<>(termCount * 4 / 3 + 1);
+            for (int t = 0; t < termCount; t++) {
+                int length = in.getInt();
+                String term = new String(bytes(in, length), StandardCharsets.UTF_8);
+                in.position(in.position() + ((4 - (length & 3)) & 3));
+                postings.put(term, PostingList.mapped(in));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(SearchQuery query) {
+        lock.readLock().lock();
+        try {
+            DocIdSet filter = live.copy();
+            if (!restrict(filter, categories, query.category()) || !restrict(filter, brands, query.brand())) {
+                return empty();
+            }
+            long minPrice = query.minPriceMinor() == null ? Long.MIN_VALUE : query.minPriceMinor();
+            long maxPrice = query.maxPriceMinor() == null ? Long.MAX_VALUE : query.maxPriceMinor();
+            int window = (query.page() + 1) * query.size();
+
+            DocIdSet matched = new DocIdSet(maxDoc);
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(window + 1);
+            int total;
+
+            List<String> terms = Tokenizer.tokenize(query.text()).stream().distinct().toList();
+            if (terms.isEmpty()) {
+                total = collectAll(filter, minPrice, maxPrice, window, matched, top);
+            } else {
+                PostingList[] lists = new PostingList[terms.size()];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(terms.get(i));
+                    if (lists[i] == null || lists[i].liveDocs() == 0) {
+                        return empty();
+                    }
+                }
+                total = collectMatches(lists, filter, minPrice, maxPrice, window, matched, top);
+            }
+
+            List<Product> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(docs[top.poll().doc]);
+            }
+            Collections.reverse(hits);
+            int from = Math.min(query.page() * query.size(), hits.size());
+            return new SearchResult(
+                    total,
+                    List.copyOf(hits.subList(from, hits.size())),
+                    facetCounts(categoryValues, categoryOrds, matched, total),
+                    facetCounts(brandValues, brandOrds, matched, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * No keywords: every filtered doc matches, in catalog order.
+     */
+    private int collectAll(DocIdSet filter, long minPrice, long maxPrice, int window,
+                           DocIdSet matched, PriorityQueue<ScoredDoc> top) {
+        int total = 0;
+        for (int doc = filter.nextSetBit(0); doc >= 0; doc = filter.nextSetBit(doc + 1)) {
+            if (prices[doc] < minPrice || prices[doc] > maxPrice) {
+                continue;
+            }
+            matched.set(doc);
+            if (total++ < window) {
+                top.add(new ScoredDoc(doc, -doc));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Conjunctive match: walks the shortest posting list and advances the others to each
+     * candidate, scoring docs that contain every term.
+     */
+    private int collectMatches(PostingList[] lists, DocIdSet filter, long minPrice, long maxPrice, int window,
+                               DocIdSet matched, PriorityQueue<ScoredDoc> top) {
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = idf(lists[i].liveDocs());
+        }
+        float avgLength = liveCount == 0 ? 1f : (float) totalLength / liveCount;
+        PostingList.Cursor[] cursors = new PostingList.Cursor[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            cursors[i] = lists[i].cursor();
+        }
+        PostingList.Cursor lead = cursors[0];
+        int total = 0;
+
+        candidates:
+        while (lead.next()) {
+            int doc = lead.doc();
+            if (!filter.get(doc) || prices[doc] < minPrice || prices[doc] > maxPrice) {
+                continue;
+            }
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            float score = idf[0] * bm25(lead.freq(), norm);
+            for (int t = 1; t < cursors.length; t++) {
+                PostingList.Cursor cursor = cursors[t];
+                if (!cursor.advance(doc)) {
+                    break candidates;
+                }
+                if (cursor.doc() != doc) {
+                    continue candidates;
+                }
+                score += idf[t] * bm25(cursor.freq(), norm);
+            }
+            matched.set(doc);
+            total++;
+            if (top.size() < window) {
+                top.add(new ScoredDoc(doc, score));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new ScoredDoc(doc, score));
+            }
+        }
+        return total;
+    }
+
+    private float idf(int docFrequency) {
+        return (float) Math.log(1 + (liveCount - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private static float bm25(int freq, float norm) {
+        return freq * (K1 + 1) / (freq + norm);
+    }
+
+    private static boolean restrict(DocIdSet filter, Map<String, Facet> facets, String value) {
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        Facet facet = facets.get(facetKey(value));
+        if (facet == null) {
+            return false;
+        }
+        filter.and(facet.docs);
+        return true;
+    }
+
+    private Map<String, Integer> facetCounts(List<Facet> values, int[] ords, DocIdSet matched, int total) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        long words = (maxDoc + 63L) >>> 6;
+        if ((long) values.size() * words <= words + total) {
+            for (Facet facet : values) {
+                int count = matched.andCardinality(facet.docs);
+                if (count > 0) {
+                    counts.add(Map.entry(facet.label, count));
+                }
+            }
+        } else {
+            int[] byOrd = new int[values.size()];
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                if (ords[doc] >= 0) {
+                    byOrd[ords[doc]]++;
+                }
+            }
+            for (int ord = 0; ord < byOrd.length; ord++) {
+                if (byOrd[ord] > 0) {
+                    counts.add(Map.entry(values.get(ord).label, byOrd[ord]));
+                }
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(MAX_FACET_VALUES, counts.size()); i++) {
+            top.put(counts.get(i).getKey(), counts.get(i).getValue());
+        }
+        return top;
+    }
+
+    private static byte[] bytes(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static SearchResult empty() {
+        return new SearchResult(0, List.of(), Map.of(), Map.of());
+    }
+
+    private void add(Product product) {
+        if (!product.active()) {
+            return;
+        }
+        int doc = maxDoc++;
+        if (doc == docs.length) {
+            int capacity = docs.length * 2;
+            docs = Arrays.copyOf(docs, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            categoryOrds = Arrays.copyOf(categoryOrds, capacity);
+            brandOrds = Arrays.copyOf(brandOrds, capacity);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies(product).entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+            length += entry.getValue();
+        }
+
+        register(doc, product, length);
+    }
+
+    private static Map<String, Integer> termFrequencies(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : Tokenizer.tokenize(product.name())) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String field : new String[]{product.description(), product.brand(), product.category()}) {
+            for (String token : Tokenizer.tokenize(field)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    private void register(int doc, Product product, int length) {
+        docs[doc] = product;
+        docLengths[doc] = length;
+        prices[doc] = product.priceMinor();
+        live.set(doc);
+        liveCount++;
+        totalLength += length;
+        docIds.put(product.id(), doc);
+        categoryOrds[doc] = addToFacet(categories, categoryValues, product.category(), doc);
+        brandOrds[doc] = addToFacet(brands, brandValues, product.brand(), doc);
+    }
+
+    private void delete(UUID id) {
+        Integer doc = docIds.remove(id);
+        if (doc == null) {
+            return;
+        }
+        Product product = docs[doc];
+        live.clear(doc);
+        liveCount--;
+        totalLength -= docLengths[doc];
+        for (String term : termFrequencies(product).keySet()) {
+            postings.get(term).deleteDoc();
+        }
+        clearFacet(categories, product.category(), doc);
+        clearFacet(brands, product.brand(), doc);
+    }
+
+    private void compactIfNeeded() {
+        int dead = maxDoc - liveCount;
+        if (maxDoc < COMPACT_MIN_DOCS || dead < maxDoc * COMPACT_RATIO) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Product> products = new ArrayList<>(liveCount);
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            products.add(docs[doc]);
+        }
+        reset(products.size());
+        products.forEach(this::add);
+        log.debug("Search index compacted: dropped {} dead docs in {} ms", dead, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void reset(int expectedDocs) {
+        int capacity = Math.max(1024, expectedDocs);
+        docs = new Product[capacity];
+        docLengths = new int[capacity];
+        prices = new long[capacity];
+        categoryOrds = new int[capacity];
+        brandOrds = new int[capacity];
+        maxDoc = 0;
+        liveCount = 0;
+        totalLength = 0;
+        live = new DocIdSet(capacity);
+        docIds = new HashMap<>(capacity * 4 / 3 + 1);
+        postings = new HashMap<>();
+        categories = new HashMap<>();
+        brands = new HashMap<>();
+        categoryValues = new ArrayList<>();
+        brandValues = new ArrayList<>();
+    }
+
+    /**
+     * Sets the doc in the facet for {@code label} and returns the facet's ordinal, or -1 if
+     * the product has no value.
+     */
+    private static int addToFacet(Map<String, Facet> facets, List<Facet> values, String label, int doc) {
+        if (label == null || label.isBlank()) {
+            return -1;
+        }
+        Facet facet = facets.computeIfAbsent(facetKey(label), key -> {
+            Facet created = new Facet(values.size(), label.trim(), new DocIdSet());
+            values.add(created);
+            return created;
+        });
+        facet.docs.set(doc);
+        return facet.ord;
+    }
+
+    private static void clearFacet(Map<String, Facet> facets, String label, int doc) {
+        if (label == null) {
+            return;
+        }
+        Facet facet = facets.get(facetKey(label));
+        if (facet != null) {
+            facet.docs.clear(doc);
+        }
+    }
+
+    private static String facetKey(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Facet(int ord, String label, DocIdSet docs) {
+    }
+
+    private record ScoredDoc(int doc, float score) implements Comparable<ScoredDoc> {
+        @Override
+        public int compareTo(ScoredDoc other) {
+            return Float.compare(score, other.score);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.plutocart.product_service.search;
+
+/**
+ * Keyword query with optional exact category/brand filters and an inclusive price range
+ * in minor units. Page size is capped at {@link #MAX_SIZE}, and a page past
+ * {@link #MAX_WINDOW} results is moved back to the last page within it.
+ */
+public record SearchQuery(
+        String text,
+        String category,
+        String brand,
+        Long minPriceMinor,
+        Long maxPriceMinor,
+        int page,
+        int size
+) {
+    public static final int MAX_SIZE = 100;
+    public static final int MAX_WINDOW = 10_000;
+
+    public SearchQuery {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        size = Math.min(Math.max(1, size), MAX_SIZE);
+        if (((long) page + 1) * size > MAX_WINDOW) {
+            page = MAX_WINDOW / size - 1;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.plutocart.product_service.search;
+
+import com.plutocart.product_service.model.Product;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of hits plus facet counts over the whole match set.
+ */
+public record SearchResult(
+        int total,
+        List<Product> hits,
+        Map<String, Integer> categories,
+        Map<String, Integer> brands
+) {
+}
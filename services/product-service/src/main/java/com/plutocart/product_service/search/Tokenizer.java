@@ -0,0 +1,40 @@
+package com.plutocart.product_service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Lower-cases and splits on anything that is not a letter or digit. Drops a short list
+ * of English stop words.
+ */
+final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS =
+            Set.of("a", "an", "and", "for", "in", "of", "on", "or", "the", "to", "with");
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            boolean wordChar = i < n && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
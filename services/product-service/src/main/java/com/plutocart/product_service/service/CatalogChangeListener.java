@@ -0,0 +1,20 @@
+package com.plutocart.product_service.service;
+
+import com.plutocart.product_service.model.Product;
+
+import java.util.Collection;
+
+/**
+ * Receives every change applied to the catalog read model, in order, on the writing thread.
+ */
+public interface CatalogChangeListener {
+
+    void onReload(Collection<Product> products);
+
+    /**
+     * @param previous the replaced version, or {@code null} for a new product
+     */
+    void onUpsert(Product previous, Product current);
+
+    void onRemove(Product previous);
+}
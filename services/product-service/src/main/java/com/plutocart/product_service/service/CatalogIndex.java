@@ -0,0 +1,212 @@
+package com.plutocart.product_service.service;
+
+import com.plutocart.product_service.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Copy-on-write read model of the catalog, keyed by id and by SKU.
+ * <p>
+ * Both keys are split into fixed segments. A write copies only the segments it touches
+ * and publishes a new {@link Snapshot} with one volatile store, so readers never lock and
+ * always see id and SKU lookups from the same version. Writes are serialized.
+ */
+public class CatalogIndex {
+
+    private static final int SEGMENTS = 256;
+    private static final int SEGMENT_MASK = SEGMENTS - 1;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.empty());
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public Product get(UUID id) {
+        return current.get().byId(id);
+    }
+
+    public Product getBySku(String sku) {
+        return current.get().bySku(sku);
+    }
+
+    public int size() {
+        return current.get().size;
+    }
+
+    public long version() {
+        return current.get().version;
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the whole index in one step. Used at startup.
+     */
+    public void load(Collection<Product> products, long version) {
+        @SuppressWarnings("unchecked")
+        Map<UUID, Product>[] byId = new Map[SEGMENTS];
+        @SuppressWarnings("unchecked")
+        Map<String, Product>[] bySku = new Map[SEGMENTS];
+        int segmentCapacity = Math.max(16, products.size() / SEGMENTS * 4 / 3 + 1);
+        for (int i = 0; i < SEGMENTS; i++) {
+            byId[i] = new HashMap<>(segmentCapacity);
+            bySku[i] = new HashMap<>(segmentCapacity);
+        }
+        for (Product product : products) {
+            byId[segment(product.id())].put(product.id(), product);
+            bySku[segment(product.sku())].put(product.sku(), product);
+        }
+        writeLock.lock();
+        try {
+            current.set(new Snapshot(version, countAll(byId), byId, bySku));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a product as of catalog {@code version} and returns the
+     * previous version of it, if any.
+     */
+    public Product apply(Product product, long version) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            Map<UUID, Product>[] byId = snapshot.byId.clone();
+            Map<String, Product>[] bySku = snapshot.bySku.clone();
+
+            int idSegment = segment(product.id());
+            Map<UUID, Product> ids = new HashMap<>(byId[idSegment]);
+            Product previous = ids.put(product.id(), product);
+            byId[idSegment] = ids;
+
+            if (previous != null && !previous.sku().equals(product.sku())) {
+                int oldSkuSegment = segment(previous.sku());
+                Map<String, Product> oldSkus = new HashMap<>(bySku[oldSkuSegment]);
+                oldSkus.remove(previous.sku());
+                bySku[oldSkuSegment] = oldSkus;
+            }
+            int skuSegment = segment(product.sku());
+            Map<String, Product> skus = new HashMap<>(bySku[skuSegment]);
+            skus.put(product.sku(), product);
+            bySku[skuSegment] = skus;
+
+            int size = previous == null ? snapshot.size + 1 : snapshot.size;
+            current.set(new Snapshot(version, size, byId, bySku));
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a product as of catalog {@code version} and returns it, or {@code null} if
+     * it was not indexed.
+     */
+    public Product remove(UUID id, long version) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current.get();
+            Product previous = snapshot.byId(id);
+            if (previous == null) {
+                current.set(new Snapshot(version, snapshot.size, snapshot.byId, snapshot.bySku));
+                return null;
+            }
+            Map<UUID, Product>[] byId = snapshot.byId.clone();
+            Map<String, Product>[] bySku = snapshot.bySku.clone();
+
+            int idSegment = segment(id);
+            Map<UUID, Product> ids = new HashMap<>(byId[idSegment]);
+            ids.remove(id);
+            byId[idSegment] = ids;
+
+            int skuSegment = segment(previous.sku());
+            Map<String, Product> skus = new HashMap<>(bySku[skuSegment]);
+            skus.remove(previous.sku());
+            bySku[skuSegment] = skus;
+
+            current.set(new Snapshot(version, snapshot.size - 1, byId, bySku));
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static int countAll(Map<UUID, Product>[] byId) {
+        int size = 0;
+        for (Map<UUID, Product> segment : byId) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static int segment(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & SEGMENT_MASK;
+    }
+
+    /**
+     * One immutable version of the index. The maps are never mutated once published.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final int size;
+        private final Map<UUID, Product>[] byId;
+        private final Map<String, Product>[] bySku;
+
+        private Snapshot(long version, int size, Map<UUID, Product>[] byId, Map<String, Product>[] bySku) {
+            this.version = version;
+            this.size = size;
+            this.byId = byId;
+            this.bySku = bySku;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Snapshot empty() {
+            Map<UUID, Product>[] byId = new Map[SEGMENTS];
+            Map<String, Product>[] bySku = new Map[SEGMENTS];
+            for (int i = 0; i < SEGMENTS; i++) {
+                byId[i] = Map.of();
+                bySku[i] = Map.of();
+            }
+            return new Snapshot(0, 0, byId, bySku);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Product byId(UUID id) {
+            return byId[segment(id)].get(id);
+        }
+
+        public Product bySku(String sku) {
+            return bySku[segment(sku)].get(sku);
+        }
+
+        public void forEach(Consumer<Product> consumer) {
+            for (Map<UUID, Product> segment : byId) {
+                segment.values().forEach(consumer);
+            }
+        }
+
+        public List<Product> products() {
+            List<Product> products = new ArrayList<>(size);
+            forEach(products::add);
+            return products;
+        }
+    }
+}
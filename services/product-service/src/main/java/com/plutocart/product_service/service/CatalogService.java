@@ -0,0 +1,303 @@
+package com.plutocart.product_service.service;
+
+import com.plutocart.product_service.dto.ProductLookupResponse;
+import com.plutocart.product_service.dto.ProductRequest;
+import com.plutocart.product_service.dto.ProductResponse;
+import com.plutocart.product_service.dto.ProductSearchResponse;
+import com.plutocart.product_service.exception.DuplicateSkuException;
+import com.plutocart.product_service.exception.ProductNotFoundException;
+import com.plutocart.product_service.model.CatalogChange;
+import com.plutocart.product_service.model.Product;
+import com.plutocart.product_service.repository.CatalogStore;
+import com.plutocart.product_service.search.ProductSearchIndex;
+import com.plutocart.product_service.search.SearchQuery;
+import com.plutocart.product_service.search.SearchResult;
+import com.plutocart.product_service.snapshot.CatalogSnapshotFile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves catalog reads from {@link CatalogIndex} only. Writes go to the {@link CatalogStore}
+ * first and are then applied to the index as a single-product delta, then handed to every
+ * {@link CatalogChangeListener} (the search index among them). Writes are serialized so
+ * listeners see changes in the same order as the index.
+ */
+@Service
+@Slf4j
+public class CatalogService {
+
+    private final CatalogStore catalogStore;
+    private final CatalogIndex catalogIndex = new CatalogIndex();
+    private final List<CatalogChangeListener> listeners;
+    private final ProductSearchIndex searchIndex;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Timer searchTimer;
+    private final CatalogSnapshotFile snapshotFile;
+    private final boolean snapshotEnabled;
+    private volatile long lastSnapshotVersion = -1;
+
+    public CatalogService(CatalogStore catalogStore,
+                          List<CatalogChangeListener> listeners,
+                          ProductSearchIndex searchIndex,
+                          CatalogSnapshotFile snapshotFile,
+                          MeterRegistry meterRegistry,
+                          @Value("${catalog.snapshot.enabled}") boolean snapshotEnabled) {
+        this.catalogStore = catalogStore;
+        this.listeners = listeners;
+        this.searchIndex = searchIndex;
+        this.snapshotFile = snapshotFile;
+        this.snapshotEnabled = snapshotEnabled;
+        this.searchTimer = Timer.builder("catalog.search.time").register(meterRegistry);
+        Gauge.builder("catalog.products", catalogIndex, CatalogIndex::size).register(meterRegistry);
+        Gauge.builder("catalog.snapshot.version", catalogIndex, CatalogIndex::version).register(meterRegistry);
+    }
+
+    /**
+     * Maps the last snapshot and replays the store's changes since it; falls back to a full
+     * rebuild from the store when there is no usable snapshot or the change log does not
+     * reach back to it.
+     */
+    @PostConstruct
+    void rebuild() {
+        long start = System.nanoTime();
+        if (!restoreSnapshot()) {
+            List<Product> products = new ArrayList<>();
+            long version = catalogStore.forEach(products::add);
+            catalogIndex.load(products, version);
+            listeners.forEach(listener -> listener.onReload(products));
+        }
+        log.info("Catalog ready with {} products at version {} in {} ms",
+                catalogIndex.size(), catalogIndex.version(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean restoreSnapshot() {
+        if (!snapshotEnabled) {
+            return false;
+        }
+        Optional<CatalogSnapshotFile.Restored> restored;
+        try {
+            restored = snapshotFile.read();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", snapshotFile.getPath(), ex.getMessage());
+            return false;
+        }
+        if (restored.isEmpty()) {
+            return false;
+        }
+        CatalogSnapshotFile.Restored snapshot = restored.get();
+        List<CatalogChange> pending = new ArrayList<>();
+        if (!catalogStore.changesSince(snapshot.version(), pending::add)) {
+            log.info("Catalog snapshot at version {} is not covered by the store's change log, rebuilding",
+                    snapshot.version());
+            return false;
+        }
+        catalogIndex.load(snapshot.products(), snapshot.version());
+        try {
+            searchIndex.restoreSnapshot(snapshot.products().subList(0, snapshot.searchDocs()), snapshot.searchSection());
+        } catch (RuntimeException ex) {
+            // The search section carries no checksum; the rebuild replaces whatever was loaded.
+            log.warn("Ignoring catalog snapshot {} with an unreadable search section: {}",
+                    snapshotFile.getPath(), ex.getMessage());
+            return false;
+        }
+        for (CatalogChangeListener listener : listeners) {
+            if (listener != searchIndex) {
+                listener.onReload(snapshot.products());
+            }
+        }
+        pending.forEach(this::replay);
+        lastSnapshotVersion = snapshot.version();
+        log.info("Mapped catalog snapshot at version {} and replayed {} changes", snapshot.version(), pending.size());
+        return true;
+    }
+
+    /**
+     * Writes a new snapshot if the catalog changed since the last one. Catalog writes wait
+     * while it runs; reads do not.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.interval-millis}",
+            initialDelayString = "${catalog.snapshot.interval-millis}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!snapshotEnabled || catalogIndex.version() == lastSnapshotVersion) {
+            return;
+        }
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            long version = catalogIndex.version();
+            List<Product> searchDocs = searchIndex.documents();
+            Set<UUID> indexed = new HashSet<>(searchDocs.size() * 4 / 3 + 1);
+            searchDocs.forEach(product -> indexed.add(product.id()));
+            List<Product> others = new ArrayList<>();
+            catalogIndex.snapshot().forEach(product -> {
+                if (!indexed.contains(product.id())) {
+                    others.add(product);
+                }
+            });
+            snapshotFile.write(version, searchDocs, others, searchIndex::writeSnapshot);
+            lastSnapshotVersion = version;
+            log.info("Catalog snapshot written at version {} in {} ms", version, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException ex) {
+            log.warn("Failed to write catalog snapshot {}: {}", snapshotFile.getPath(), ex.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public ProductResponse getProduct(UUID id) {
+        Product product = catalogIndex.get(id);
+        if (product == null) {
+            throw new ProductNotFoundException("Product " + id + " not found");
+        }
+        return ProductResponse.from(product);
+    }
+
+    public ProductResponse getProductBySku(String sku) {
+        Product product = catalogIndex.getBySku(sku.trim().toUpperCase(Locale.ROOT));
+        if (product == null) {
+            throw new ProductNotFoundException("Product with SKU " + sku + " not found");
+        }
+        return ProductResponse.from(product);
+    }
+
+    /**
+     * Looks up many SKUs against one catalog version, so every product in the answer is
+     * from the same point in time. Unknown SKUs are listed as missing.
+     */
+    public ProductLookupResponse lookup(List<String> skus) {
+        CatalogIndex.Snapshot snapshot = catalogIndex.snapshot();
+        List<ProductResponse> products = new ArrayList<>(skus.size());
+        List<String> missing = new ArrayList<>();
+        for (String sku : new LinkedHashSet<>(skus)) {
+            Product product = sku == null ? null : snapshot.bySku(sku.trim().toUpperCase(Locale.ROOT));
+            if (product != null) {
+                products.add(ProductResponse.from(product));
+            } else {
+                missing.add(sku);
+            }
+        }
+        return new ProductLookupResponse(products, missing);
+    }
+
+    public ProductSearchResponse search(String text, String category, String brand,
+                                        BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        var query = new SearchQuery(text, category, brand, toMinor(minPrice, RoundingMode.CEILING), toMinor(maxPrice, RoundingMode.FLOOR), page, size);
+        SearchResult result = searchTimer.record(() -> searchIndex.search(query));
+        return new ProductSearchResponse(
+                result.total(),
+                query.page(),
+                query.size(),
+                result.hits().stream().map(ProductResponse::from).toList(),
+                result.categories(),
+                result.brands()
+        );
+    }
+
+    public ProductResponse createProduct(ProductRequest request) {
+        Instant now = Instant.now();
+        Product product = toProduct(UUID.randomUUID(), request, now, now);
+        writeLock.lock();
+        try {
+            if (catalogIndex.getBySku(request.sku()) != null) {
+                throw new DuplicateSkuException("SKU " + request.sku() + " already exists");
+            }
+            publishUpsert(product, catalogStore.save(product));
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Product created: ID={}, SKU={}", product.id(), product.sku());
+        return ProductResponse.from(product);
+    }
+
+    public ProductResponse updateProduct(UUID id, ProductRequest request) {
+        Product product;
+        writeLock.lock();
+        try {
+            Product existing = catalogIndex.get(id);
+            if (existing == null) {
+                throw new ProductNotFoundException("Product " + id + " not found");
+            }
+            product = toProduct(id, request, existing.createdAt(), Instant.now());
+            publishUpsert(product, catalogStore.save(product));
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Product updated: ID={}, SKU={}", product.id(), product.sku());
+        return ProductResponse.from(product);
+    }
+
+    public void deleteProduct(UUID id) {
+        writeLock.lock();
+        try {
+            if (catalogIndex.get(id) == null) {
+                throw new ProductNotFoundException("Product " + id + " not found");
+            }
+            publishRemove(id, catalogStore.delete(id));
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Product deleted: ID={}", id);
+    }
+
+    private void publishUpsert(Product product, long version) {
+        Product previous = catalogIndex.apply(product, version);
+        listeners.forEach(listener -> listener.onUpsert(previous, product));
+    }
+
+    private void publishRemove(UUID id, long version) {
+        Product previous = catalogIndex.remove(id, version);
+        if (previous != null) {
+            listeners.forEach(listener -> listener.onRemove(previous));
+        }
+    }
+
+    private void replay(CatalogChange change) {
+        if (change.product() == null) {
+            publishRemove(change.productId(), change.version());
+        } else {
+            publishUpsert(change.product(), change.version());
+        }
+    }
+
+    private static Long toMinor(BigDecimal amount, RoundingMode rounding) {
+        return amount == null ? null : amount.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static Product toProduct(UUID id, ProductRequest request, Instant createdAt, Instant updatedAt) {
+        return new Product(
+                id,
+                request.sku(),
+                request.name(),
+                request.description(),
+                request.category(),
+                request.brand(),
+                request.price().movePointRight(2).longValueExact(),
+                request.currency(),
+                request.active(),
+                createdAt,
+                updatedAt
+        );
+    }
+}
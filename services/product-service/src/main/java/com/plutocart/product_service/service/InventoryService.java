@@ -0,0 +1,199 @@
+package com.plutocart.product_service.service;
+
+import com.plutocart.product_service.dto.BatchReservationResponse;
+import com.plutocart.product_service.dto.InventoryResponse;
+import com.plutocart.product_service.dto.ReservationRequest;
+import com.plutocart.product_service.dto.ReservationResponse;
+import com.plutocart.product_service.exception.InsufficientStockException;
+import com.plutocart.product_service.exception.ReservationNotFoundException;
+import com.plutocart.product_service.inventory.InventoryLedger;
+import com.plutocart.product_service.repository.InventoryStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stock reservations for checkout, served from {@link InventoryLedger}. On-hand changes are
+ * written behind to the {@link InventoryStore} every {@code inventory.flush-interval-millis}.
+ */
+@Service
+@Slf4j
+public class InventoryService {
+
+    private final InventoryStore inventoryStore;
+    private final CatalogService catalogService;
+    private final InventoryLedger ledger;
+    private final long reservationTtlMillis;
+
+    private final Counter reserved;
+    private final Counter rejected;
+    private final Counter expired;
+    private final Timer flushTimer;
+
+    public InventoryService(InventoryStore inventoryStore,
+                            CatalogService catalogService,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.reservation-ttl-millis}") long reservationTtlMillis,
+                            @Value("${inventory.max-stripes}") int maxStripes,
+                            @Value("${inventory.expiry-tick-millis}") long expiryTickMillis) {
+        this.inventoryStore = inventoryStore;
+        this.catalogService = catalogService;
+        this.reservationTtlMillis = reservationTtlMillis;
+        // Confirmations are remembered as long as a reservation is held, so a retried one is answered the same.
+        this.ledger = new InventoryLedger(maxStripes, expiryTickMillis, reservationTtlMillis, System.currentTimeMillis());
+
+        this.reserved = Counter.builder("inventory.reservations").tag("result", "reserved").register(meterRegistry);
+        this.rejected = Counter.builder("inventory.reservations").tag("result", "rejected").register(meterRegistry);
+        this.expired = Counter.builder("inventory.reservations.expired").register(meterRegistry);
+        this.flushTimer = Timer.builder("inventory.flush.time").register(meterRegistry);
+        Gauge.builder("inventory.reservations.outstanding", ledger, InventoryLedger::outstandingReservations)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        inventoryStore.forEach(ledger::load);
+    }
+
+    public InventoryResponse getAvailability(String sku) {
+        String key = normalize(sku);
+        return new InventoryResponse(key, ledger.available(key));
+    }
+
+    public InventoryResponse restock(String sku, long quantity) {
+        String key = catalogService.getProductBySku(sku).sku();
+        ledger.restock(key, quantity);
+        log.debug("Restocked {} units of {}", quantity, key);
+        return new InventoryResponse(key, ledger.available(key));
+    }
+
+    public ReservationResponse reserve(ReservationRequest request) {
+        long expiresAt = System.currentTimeMillis() + reservationTtlMillis;
+        InventoryLedger.Reservation reservation = ledger.reserve(request.sku(), request.quantity(), expiresAt);
+        if (reservation == null) {
+            rejected.increment();
+            throw new InsufficientStockException("Not enough stock to reserve " + request.quantity()
+                    + " of " + request.sku());
+        }
+        reserved.increment();
+        return toResponse(reservation);
+    }
+
+    /**
+     * Reserves every item or none: if one cannot be reserved, those already taken are
+     * released before the failure is reported. Items that name a reservation id are
+     * reserved under it, and one already held or confirmed under that id is returned as is.
+     */
+    public BatchReservationResponse reserveAll(List<ReservationRequest> requests) {
+        long expiresAt = System.currentTimeMillis() + reservationTtlMillis;
+        List<InventoryLedger.Reservation> taken = new ArrayList<>(requests.size());
+        for (ReservationRequest request : requests) {
+            InventoryLedger.Reservation reservation = request.reservationId() != null
+                    ? ledger.reserve(request.reservationId(), request.sku(), request.quantity(), expiresAt)
+                    : ledger.reserve(request.sku(), request.quantity(), expiresAt);
+            if (reservation == null) {
+                taken.forEach(held -> ledger.release(held.id()));
+                rejected.increment();
+                throw new InsufficientStockException("Not enough stock to reserve " + request.quantity()
+                        + " of " + request.sku());
+            }
+            taken.add(reservation);
+        }
+        reserved.increment(taken.size());
+        return new BatchReservationResponse(taken.stream().map(InventoryService::toResponse).toList(), List.of());
+    }
+
+    public BatchReservationResponse confirmAll(List<UUID> reservationIds) {
+        long now = System.currentTimeMillis();
+        List<ReservationResponse> confirmed = new ArrayList<>(reservationIds.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID reservationId : reservationIds) {
+            InventoryLedger.Reservation reservation = ledger.confirm(reservationId, now);
+            if (reservation != null) {
+                confirmed.add(toResponse(reservation));
+            } else {
+                missing.add(reservationId);
+            }
+        }
+        return new BatchReservationResponse(confirmed, missing);
+    }
+
+    public BatchReservationResponse releaseAll(List<UUID> reservationIds) {
+        List<ReservationResponse> released = new ArrayList<>(reservationIds.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID reservationId : reservationIds) {
+            InventoryLedger.Reservation reservation = ledger.release(reservationId);
+            if (reservation != null) {
+                released.add(toResponse(reservation));
+            } else {
+                missing.add(reservationId);
+            }
+        }
+        return new BatchReservationResponse(released, missing);
+    }
+
+    public ReservationResponse confirm(UUID reservationId) {
+        InventoryLedger.Reservation reservation = ledger.confirm(reservationId, System.currentTimeMillis());
+        if (reservation == null) {
+            throw new ReservationNotFoundException("Reservation " + reservationId + " not found or expired");
+        }
+        return toResponse(reservation);
+    }
+
+    public void release(UUID reservationId) {
+        if (ledger.release(reservationId) == null) {
+            throw new ReservationNotFoundException("Reservation " + reservationId + " not found or expired");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.expiry-tick-millis}")
+    public void expireReservations() {
+        int count = ledger.expire(System.currentTimeMillis());
+        if (count > 0) {
+            expired.increment(count);
+            log.debug("Released {} expired reservations", count);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-millis}")
+    @PreDestroy
+    public void flush() {
+        Map<String, Long> deltas = ledger.drainOnHandDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> inventoryStore.applyDeltas(deltas));
+        } catch (RuntimeException ex) {
+            ledger.restoreOnHandDeltas(deltas);
+            log.warn("Inventory flush of {} SKUs failed, will retry: {}", deltas.size(), ex.getMessage());
+        }
+    }
+
+    private static ReservationResponse toResponse(InventoryLedger.Reservation reservation) {
+        return new ReservationResponse(
+                reservation.id(),
+                reservation.sku(),
+                reservation.quantity(),
+                Instant.ofEpochMilli(reservation.expiresAtMillis())
+        );
+    }
+
+    private static String normalize(String sku) {
+        return sku.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,222 @@
+package com.plutocart.product_service.snapshot;
+
+import com.plutocart.product_service.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary snapshot of the catalog and its search index, read through a memory map.
+ * <pre>
+ * header (64 bytes): magic, format, catalog version, product count, search doc count,
+ *                    products offset/length, search offset/length, products CRC-32
+ * products section:  one record per product; search docs first, in search doc order
+ * search section:    written by the search index, 8-byte aligned
+ * </pre>
+ * Files are written to a temporary sibling and moved into place, so a reader never sees
+ * a partial snapshot. All numbers are big-endian. {@link #read} refuses a file whose sections
+ * run past its end or whose products section fails its checksum; the search section is not
+ * checksummed, since that would page in all of it.
+ * <p>
+ * Only the search section is read lazily: posting lists stay views over the mapping until
+ * they are appended to, and a query decodes only the blocks it visits. Product records are
+ * decoded eagerly on {@link #read}, because the id/SKU index and the search facets hold
+ * {@link Product} objects; at 1M products that decode and the index inserts are most of
+ * the restore time.
+ */
+public class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x50435331; // "PCS1"
+    static final int FORMAT_VERSION = 3; // 2: block-compressed posting lists, 3: products CRC-32
+    private static final int HEADER_BYTES = 64;
+
+    private final Path path;
+
+    public CatalogSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @FunctionalInterface
+    public interface SectionWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * A snapshot mapped into memory. The first {@code searchDocs} products are the search
+     * index documents; {@code searchSection} stays backed by the file.
+     */
+    public record Restored(long version, List<Product> products, int searchDocs, ByteBuffer searchSection) {
+    }
+
+    public void write(long version, List<Product> searchDocs, List<Product> otherProducts,
+                      SectionWriter searchWriter) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.write(new byte[HEADER_BYTES]);
+            out.flush();
+            checked.getChecksum().reset();
+            for (Product product : searchDocs) {
+                writeProduct(out, product);
+            }
+            for (Product product : otherProducts) {
+                writeProduct(out, product);
+            }
+            out.flush();
+            long productsEnd = channel.position();
+            int productsChecksum = (int) checked.getChecksum().getValue();
+            int padding = (int) ((8 - (productsEnd & 7)) & 7);
+            out.write(new byte[padding]);
+            long searchOffset = productsEnd + padding;
+            searchWriter.write(out);
+            out.flush();
+            long searchEnd = channel.position();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(version)
+                    .putInt(searchDocs.size() + otherProducts.size())
+                    .putInt(searchDocs.size())
+                    .putLong(HEADER_BYTES)
+                    .putLong(productsEnd - HEADER_BYTES)
+                    .putLong(searchOffset)
+                    .putLong(searchEnd - searchOffset)
+                    .putInt(productsChecksum)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the snapshot, or returns empty if there is none. Throws if the file exists but
+     * is not a snapshot this code can read.
+     */
+    public Optional<Restored> read() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int format = header.getInt();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot format " + format);
+            }
+            long version = header.getLong();
+            int productCount = header.getInt();
+            int searchDocs = header.getInt();
+            MappedByteBuffer products = map(channel, header.getLong(), header.getLong());
+            MappedByteBuffer search = map(channel, header.getLong(), header.getLong());
+            CRC32 checksum = new CRC32();
+            checksum.update(products.duplicate());
+            if ((int) checksum.getValue() != header.getInt()) {
+                throw new IOException("Corrupt catalog snapshot, products checksum mismatch: " + path);
+            }
+
+            List<Product> decoded = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                decoded.add(readProduct(products));
+            }
+            return Optional.of(new Restored(version, decoded, searchDocs, search));
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (offset < HEADER_BYTES || length < 0 || offset + length > channel.size()) {
+            throw new IOException("Truncated catalog snapshot, section [" + offset + ", " + (offset + length)
+                    + ") is past the end of the file");
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section of " + length + " bytes exceeds the 2 GB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    private static void writeProduct(DataOutputStream out, Product product) throws IOException {
+        out.writeLong(product.id().getMostSignificantBits());
+        out.writeLong(product.id().getLeastSignificantBits());
+        writeString(out, product.sku());
+        writeString(out, product.name());
+        writeString(out, product.description());
+        writeString(out, product.category());
+        writeString(out, product.brand());
+        out.writeLong(product.priceMinor());
+        writeString(out, product.currency());
+        out.writeBoolean(product.active());
+        out.writeLong(product.createdAt().getEpochSecond());
+        out.writeInt(product.createdAt().getNano());
+        out.writeLong(product.updatedAt().getEpochSecond());
+        out.writeInt(product.updatedAt().getNano());
+    }
+
+    private static Product readProduct(ByteBuffer in) {
+        return new Product(
+                new UUID(in.getLong(), in.getLong()),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                in.getLong(),
+                readString(in),
+                in.get() != 0,
+                Instant.ofEpochSecond(in.getLong(), in.getInt()),
+                Instant.ofEpochSecond(in.getLong(), in.getInt())
+        );
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
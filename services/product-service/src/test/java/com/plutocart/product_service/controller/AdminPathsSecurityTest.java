@@ -0,0 +1,151 @@
+package com.plutocart.product_service.controller;
+
+import com.plutocart.common_security.jwt.JwtSecurityAutoConfiguration;
+import com.plutocart.product_service.dto.InventoryResponse;
+import com.plutocart.product_service.dto.ProductResponse;
+import com.plutocart.product_service.service.CatalogService;
+import com.plutocart.product_service.service.InventoryService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Catalog writes and restocks are admin-only: checked against the security chain built from
+ * application.yaml's {@code plutocart.security.*} lists, with real signed tokens.
+ */
+@WebMvcTest(
+        controllers = {ProductController.class, InventoryController.class},
+        properties = {
+                "plutocart.security.jwt.secret=" + AdminPathsSecurityTest.SECRET,
+                "inventory.service-token=test-service-token"
+        })
+@ImportAutoConfiguration(JwtSecurityAutoConfiguration.class)
+class AdminPathsSecurityTest {
+
+    static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+    private static final String PRODUCT_JSON = """
+            {"name": "Mug", "description": "A mug", "sku": "MUG-1", "price": 9.99,
+             "currency": "USD", "category": "kitchen", "brand": "Pluto"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogService catalogService;
+
+    @MockBean
+    private InventoryService inventoryService;
+
+    @Test
+    void customersCannotChangeTheCatalog() throws Exception {
+        String token = token("ROLE_CUSTOMER");
+        UUID id = UUID.randomUUID();
+
+        mockMvc.perform(json(post("/api/products"), token)).andExpect(status().isForbidden());
+        mockMvc.perform(json(put("/api/products/" + id), token)).andExpect(status().isForbidden());
+        mockMvc.perform(bearer(delete("/api/products/" + id), token)).andExpect(status().isForbidden());
+
+        verifyNoInteractions(catalogService);
+    }
+
+    @Test
+    void adminsCanChangeTheCatalog() throws Exception {
+        String token = token("ROLE_ADMIN");
+        UUID id = UUID.randomUUID();
+        when(catalogService.createProduct(any())).thenReturn(product(id));
+        when(catalogService.updateProduct(eq(id), any())).thenReturn(product(id));
+
+        mockMvc.perform(json(post("/api/products"), token)).andExpect(status().isCreated());
+        mockMvc.perform(json(put("/api/products/" + id), token)).andExpect(status().isOk());
+        mockMvc.perform(bearer(delete("/api/products/" + id), token)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void customersCannotRestock() throws Exception {
+        mockMvc.perform(restock(token("ROLE_CUSTOMER"))).andExpect(status().isForbidden());
+
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void adminsCanRestock() throws Exception {
+        when(inventoryService.restock("MUG-1", 5)).thenReturn(new InventoryResponse("MUG-1", 5));
+
+        mockMvc.perform(restock(token("ROLE_ADMIN"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void catalogWritesNeedAToken() throws Exception {
+        mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON).content(PRODUCT_JSON))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void catalogReadsStayPublic() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(catalogService.getProduct(id)).thenReturn(product(id));
+
+        mockMvc.perform(get("/api/products/" + id)).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder restock(String token) {
+        return bearer(post("/api/inventory/MUG-1/restock"), token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 5}");
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String token) {
+        return bearer(request, token).contentType(MediaType.APPLICATION_JSON).content(PRODUCT_JSON);
+    }
+
+    private static MockHttpServletRequestBuilder bearer(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    /** An access token shaped like the ones user-service issues. */
+    private static String token(String role) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId("primary").and()
+                .subject("someone@plutocart.com")
+                .id(UUID.randomUUID().toString())
+                .claim("id", UUID.randomUUID().toString())
+                .claim("role", role)
+                .claim("type", "access")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofMinutes(5))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static ProductResponse product(UUID id) {
+        Instant now = Instant.now();
+        return new ProductResponse(id, "MUG-1", "Mug", "A mug", "kitchen", "Pluto",
+                new BigDecimal("9.99"), "USD", true, now, now);
+    }
+}
@@ -0,0 +1,231 @@
+package com.plutocart.product_service.inventory;
+
+import com.plutocart.product_service.support.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryLedgerTest {
+
+    private static final String SKU = "SKU-1";
+    private static final long TICK_MILLIS = 10;
+    private static final long RETENTION_MILLIS = 100;
+    private static final long NOW = 1_000;
+
+    @Test
+    void reserveTakesStockAndReleaseReturnsIt() {
+        InventoryLedger ledger = ledger(10);
+
+        InventoryLedger.Reservation reservation = ledger.reserve(SKU, 4, NOW + 500);
+
+        assertThat(reservation).isNotNull();
+        assertThat(ledger.available(SKU)).isEqualTo(6);
+        assertThat(ledger.release(reservation.id())).isEqualTo(reservation);
+        assertThat(ledger.available(SKU)).isEqualTo(10);
+        assertThat(ledger.release(reservation.id())).isNull();
+        assertThat(ledger.available(SKU)).isEqualTo(10);
+        assertThat(ledger.drainOnHandDeltas()).isEmpty();
+    }
+
+    @Test
+    void reserveFailsWithoutEnoughStock() {
+        InventoryLedger ledger = ledger(3);
+
+        assertThat(ledger.reserve(SKU, 4, NOW + 500)).isNull();
+        assertThat(ledger.reserve("UNKNOWN", 1, NOW + 500)).isNull();
+        assertThat(ledger.available(SKU)).isEqualTo(3);
+        assertThat(ledger.outstandingReservations()).isZero();
+    }
+
+    @Test
+    void confirmSellsOnceAndCanBeRepeated() {
+        InventoryLedger ledger = ledger(10);
+        InventoryLedger.Reservation reservation = ledger.reserve(SKU, 4, NOW + 500);
+
+        assertThat(ledger.confirm(reservation.id(), NOW)).isEqualTo(reservation);
+        assertThat(ledger.confirm(reservation.id(), NOW)).isEqualTo(reservation);
+        assertThat(ledger.reserve(reservation.id(), SKU, 4, NOW + 500)).isEqualTo(reservation);
+        assertThat(ledger.release(reservation.id())).isNull();
+
+        assertThat(ledger.available(SKU)).isEqualTo(6);
+        assertThat(ledger.outstandingReservations()).isZero();
+        assertThat(ledger.drainOnHandDeltas()).isEqualTo(Map.of(SKU, -4L));
+        assertThat(ledger.drainOnHandDeltas()).isEmpty();
+    }
+
+    @Test
+    void confirmAfterExpiryReturnsTheStock() {
+        InventoryLedger ledger = ledger(10);
+        InventoryLedger.Reservation reservation = ledger.reserve(SKU, 4, NOW + 50);
+
+        assertThat(ledger.confirm(reservation.id(), NOW + 50)).isNull();
+        assertThat(ledger.available(SKU)).isEqualTo(10);
+        assertThat(ledger.drainOnHandDeltas()).isEmpty();
+    }
+
+    @Test
+    void expireReleasesOnlyElapsedReservations() {
+        InventoryLedger ledger = ledger(10);
+        ledger.reserve(SKU, 2, NOW + 50);
+        InventoryLedger.Reservation later = ledger.reserve(SKU, 3, NOW + 500);
+        InventoryLedger.Reservation confirmed = ledger.reserve(SKU, 1, NOW + 50);
+        ledger.confirm(confirmed.id(), NOW);
+
+        assertThat(ledger.expire(NOW + 40)).isZero();
+        assertThat(ledger.expire(NOW + 100)).isEqualTo(1);
+        assertThat(ledger.available(SKU)).isEqualTo(6);
+        assertThat(ledger.outstandingReservations()).isEqualTo(1);
+
+        assertThat(ledger.expire(NOW + 1_000)).isEqualTo(1);
+        assertThat(ledger.available(SKU)).isEqualTo(9);
+        assertThat(ledger.confirm(later.id(), NOW + 1_000)).isNull();
+    }
+
+    @Test
+    void expireForgetsConfirmationsAfterRetention() {
+        InventoryLedger ledger = ledger(10);
+        InventoryLedger.Reservation reservation = ledger.reserve(SKU, 4, NOW + 50);
+        ledger.confirm(reservation.id(), NOW);
+
+        ledger.expire(NOW + RETENTION_MILLIS - 1);
+        assertThat(ledger.confirm(reservation.id(), NOW + RETENTION_MILLIS - 1)).isEqualTo(reservation);
+        ledger.expire(NOW + RETENTION_MILLIS);
+        assertThat(ledger.confirm(reservation.id(), NOW + RETENTION_MILLIS)).isNull();
+    }
+
+    @Test
+    void restocksAreJournaledAndCanBeGivenBack() {
+        InventoryLedger ledger = ledger(0);
+        ledger.restock(SKU, 5);
+        ledger.restock("SKU-2", 7);
+
+        Map<String, Long> drained = ledger.drainOnHandDeltas();
+        assertThat(drained).isEqualTo(Map.of(SKU, 5L, "SKU-2", 7L));
+        ledger.restoreOnHandDeltas(drained);
+        ledger.restock(SKU, 1);
+
+        assertThat(ledger.drainOnHandDeltas()).isEqualTo(Map.of(SKU, 6L, "SKU-2", 7L));
+        assertThat(ledger.available(SKU)).isEqualTo(6);
+    }
+
+    @Test
+    void concurrentReservesUnderOneIdTakeStockOnce() throws Exception {
+        InventoryLedger ledger = ledger(100);
+        UUID id = UUID.randomUUID();
+        Set<InventoryLedger.Reservation> seen = ConcurrentHashMap.newKeySet();
+
+        Concurrently.run(() -> seen.add(ledger.reserve(id, SKU, 5, NOW + 500)));
+
+        assertThat(seen).hasSize(1).doesNotContainNull();
+        assertThat(ledger.available(SKU)).isEqualTo(95);
+        assertThat(ledger.outstandingReservations()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentConfirmsOfOneReservationAllSeeTheSale() throws Exception {
+        int rounds = 2_000;
+        InventoryLedger ledger = ledger(rounds);
+        List<InventoryLedger.Reservation> reservations = new ArrayList<>(rounds);
+        for (int i = 0; i < rounds; i++) {
+            reservations.add(ledger.reserve(SKU, 1, NOW + 500));
+        }
+        LongAdder missed = new LongAdder();
+
+        // Every thread confirms every reservation in the same order, so the losers of each
+        // race ask while the winner is between taking the reservation and recording the sale.
+        Concurrently.run(() -> {
+            for (InventoryLedger.Reservation reservation : reservations) {
+                if (!reservation.equals(ledger.confirm(reservation.id(), NOW))) {
+                    missed.increment();
+                }
+            }
+        });
+
+        assertThat(missed.sum()).isZero();
+        assertThat(ledger.available(SKU)).isZero();
+        assertThat(ledger.drainOnHandDeltas()).isEqualTo(Map.of(SKU, (long) -rounds));
+    }
+
+    @Test
+    void concurrentSellOutNeverOversells() throws Exception {
+        long initial = 20_000;
+        InventoryLedger ledger = ledger(initial);
+        LongAdder sold = new LongAdder();
+
+        Concurrently.run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                int quantity = 1 + random.nextInt(3);
+                InventoryLedger.Reservation reservation = ledger.reserve(SKU, quantity, NOW + 60_000);
+                if (reservation == null) {
+                    if (ledger.available(SKU) == 0) {
+                        return;
+                    }
+                    continue;
+                }
+                assertThat(ledger.confirm(reservation.id(), NOW)).isEqualTo(reservation);
+                sold.add(quantity);
+            }
+        });
+
+        assertThat(sold.sum()).isEqualTo(initial);
+        assertThat(ledger.available(SKU)).isZero();
+        assertThat(ledger.drainOnHandDeltas()).isEqualTo(Map.of(SKU, -initial));
+    }
+
+    @Test
+    void churnWithExpiryConservesStock() throws Exception {
+        long initial = 50;
+        InventoryLedger ledger = new InventoryLedger(4, TICK_MILLIS, TICK_MILLIS, System.currentTimeMillis());
+        ledger.load(SKU, initial);
+        LongAdder sold = new LongAdder();
+        LongAdder reserved = new LongAdder();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        Concurrently.run(Concurrently.THREADS, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                InventoryLedger.Reservation reservation =
+                        ledger.reserve(SKU, 1 + random.nextInt(2), System.currentTimeMillis() + random.nextInt(30));
+                if (reservation == null) {
+                    continue;
+                }
+                reserved.increment();
+                int action = random.nextInt(10);
+                if (action == 0) {
+                    if (ledger.confirm(reservation.id(), System.currentTimeMillis()) != null) {
+                        sold.add(reservation.quantity());
+                    }
+                } else if (action < 7) {
+                    ledger.release(reservation.id());
+                }
+                // else abandoned to the sweeper, which may race a late confirm
+            }
+        }, () -> {
+            ledger.expire(System.currentTimeMillis());
+            Thread.sleep(1);
+        });
+        ledger.expire(System.currentTimeMillis() + 1_000);
+
+        assertThat(reserved.sum()).isPositive();
+        assertThat(ledger.outstandingReservations()).isZero();
+        assertThat(ledger.available(SKU)).isEqualTo(initial - sold.sum());
+        assertThat(ledger.drainOnHandDeltas().getOrDefault(SKU, 0L)).isEqualTo(-sold.sum());
+    }
+
+    private static InventoryLedger ledger(long onHand) {
+        InventoryLedger ledger = new InventoryLedger(4, TICK_MILLIS, RETENTION_MILLIS, NOW);
+        ledger.load(SKU, onHand);
+        return ledger;
+    }
+}
@@ -0,0 +1,68 @@
+package com.plutocart.product_service.inventory;
+
+import com.plutocart.product_service.support.Concurrently;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockTest {
+
+    @Test
+    void takesOnlyWhatIsAvailable() {
+        StripedStock stock = new StripedStock(5, 4);
+
+        assertThat(stock.tryTake(6)).isFalse();
+        assertThat(stock.tryTake(5)).isTrue();
+        assertThat(stock.tryTake(1)).isFalse();
+        stock.add(2);
+        assertThat(stock.available()).isEqualTo(2);
+        assertThat(stock.tryTake(2)).isTrue();
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void concurrentTakesAndReturnsConserveUnits() throws Exception {
+        long initial = 1_000;
+        StripedStock stock = new StripedStock(initial, 4);
+        LongAdder held = new LongAdder();
+
+        Concurrently.run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long mine = 0;
+            for (int i = 0; i < 200_000; i++) {
+                int quantity = 1 + random.nextInt(5);
+                if (random.nextBoolean() && stock.tryTake(quantity)) {
+                    mine += quantity;
+                } else if (mine >= quantity) {
+                    stock.add(quantity);
+                    mine -= quantity;
+                }
+            }
+            held.add(mine);
+        });
+
+        assertThat(stock.available() + held.sum()).isEqualTo(initial);
+    }
+
+    @Test
+    void concurrentTakesNeverOversell() throws Exception {
+        long initial = 50_000;
+        StripedStock stock = new StripedStock(initial, 4);
+        LongAdder taken = new LongAdder();
+
+        Concurrently.run(() -> {
+            while (stock.available() > 0) {
+                int quantity = 1 + ThreadLocalRandom.current().nextInt(4);
+                if (stock.tryTake(quantity)) {
+                    taken.add(quantity);
+                }
+            }
+        });
+
+        assertThat(taken.sum()).isEqualTo(initial);
+        assertThat(stock.available()).isZero();
+    }
+}
@@ -0,0 +1,172 @@
+package com.plutocart.product_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void iteratesEveryPostingAcrossBlocks() {
+        int[][] postings = postings(1_000, 1);
+        PostingList list = build(postings);
+
+        assertThat(list.size()).isEqualTo(postings.length);
+        assertIteratesExactly(list, postings);
+    }
+
+    @Test
+    void encodesLargeGapsAndFrequencies() {
+        int[][] postings = {{0, 1}, {127, 128}, {16_511, 70_000}, {2_113_663, 1}, {Integer.MAX_VALUE - 1, 3}};
+        PostingList list = build(postings);
+
+        assertIteratesExactly(list, postings);
+    }
+
+    @Test
+    void advanceFindsTheFirstDocAtOrAfterTheTarget() throws IOException {
+        int[][] postings = postings(5_000, 2);
+        assertAdvancesLike(build(postings), postings);
+        assertAdvancesLike(roundTrip(build(postings)), postings);
+    }
+
+    @Test
+    void nextContinuesInOrderAfterAdvance() throws IOException {
+        int[][] postings = postings(2_000, 8);
+        for (PostingList list : new PostingList[]{build(postings), roundTrip(build(postings))}) {
+            PostingList.Cursor cursor = list.cursor();
+            int from = 700;
+
+            assertThat(cursor.advance(postings[from][0])).isTrue();
+            assertThat(cursor.freq()).isEqualTo(postings[from][1]);
+            for (int i = from + 1; i < postings.length; i++) {
+                assertThat(cursor.next()).isTrue();
+                assertThat(cursor.doc()).isEqualTo(postings[i][0]);
+                assertThat(cursor.freq()).isEqualTo(postings[i][1]);
+            }
+            assertThat(cursor.next()).isFalse();
+        }
+    }
+
+    @Test
+    void advanceDoesNotMoveBackwards() {
+        PostingList list = build(postings(300, 3));
+        PostingList.Cursor cursor = list.cursor();
+
+        assertThat(cursor.advance(500)).isTrue();
+        int doc = cursor.doc();
+        assertThat(cursor.advance(0)).isTrue();
+        assertThat(cursor.doc()).isEqualTo(doc);
+    }
+
+    @Test
+    void emptyListHasNoPostings() {
+        PostingList list = new PostingList();
+
+        assertThat(list.cursor().next()).isFalse();
+        assertThat(list.cursor().advance(0)).isFalse();
+    }
+
+    @Test
+    void mappedListReadsWhatWasWritten() throws IOException {
+        int[][] postings = postings(1_000, 4);
+        PostingList mapped = roundTrip(build(postings));
+
+        assertThat(mapped.size()).isEqualTo(postings.length);
+        assertIteratesExactly(mapped, postings);
+    }
+
+    @Test
+    void appendsContinueAMappedListWithAPartialLastBlock() throws IOException {
+        int[][] postings = postings(PostingList.BLOCK_SIZE * 3 + 50, 5);
+        int written = PostingList.BLOCK_SIZE * 2 + 10;
+        PostingList list = build(Arrays.copyOf(postings, written));
+        PostingList mapped = roundTrip(list);
+
+        for (int i = written; i < postings.length; i++) {
+            mapped.add(postings[i][0], postings[i][1]);
+        }
+
+        assertThat(mapped.size()).isEqualTo(postings.length);
+        assertIteratesExactly(mapped, postings);
+    }
+
+    @Test
+    void appendsContinueAListAfterItWasWritten() throws IOException {
+        int[][] postings = postings(400, 6);
+        PostingList list = build(Arrays.copyOf(postings, 200));
+        list.write(new DataOutputStream(new ByteArrayOutputStream()));
+
+        for (int i = 200; i < postings.length; i++) {
+            list.add(postings[i][0], postings[i][1]);
+        }
+
+        assertIteratesExactly(list, postings);
+    }
+
+    private static int[][] postings(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] postings = new int[count][];
+        int doc = random.nextInt(10);
+        for (int i = 0; i < count; i++) {
+            postings[i] = new int[]{doc, random.nextInt(1, 20)};
+            doc += random.nextInt(1, 50);
+        }
+        return postings;
+    }
+
+    private static PostingList build(int[][] postings) {
+        PostingList list = new PostingList();
+        for (int[] posting : postings) {
+            list.add(posting[0], posting[1]);
+        }
+        return list;
+    }
+
+    private static PostingList roundTrip(PostingList list) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        list.write(new DataOutputStream(bytes));
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        PostingList mapped = PostingList.mapped(in);
+        assertThat(in.remaining()).isZero();
+        return mapped;
+    }
+
+    private static void assertIteratesExactly(PostingList list, int[][] postings) {
+        PostingList.Cursor cursor = list.cursor();
+        for (int[] posting : postings) {
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.doc()).isEqualTo(posting[0]);
+            assertThat(cursor.freq()).isEqualTo(posting[1]);
+        }
+        assertThat(cursor.next()).isFalse();
+    }
+
+    private static void assertAdvancesLike(PostingList list, int[][] postings) {
+        SplittableRandom random = new SplittableRandom(7);
+
+        PostingList.Cursor cursor = list.cursor();
+        int expected = 0;
+        int target = 0;
+        while (true) {
+            target += random.nextInt(1, 400);
+            while (expected < postings.length && postings[expected][0] < target) {
+                expected++;
+            }
+            if (expected == postings.length) {
+                assertThat(cursor.advance(target)).isFalse();
+                break;
+            }
+            assertThat(cursor.advance(target)).isTrue();
+            assertThat(cursor.doc()).isEqualTo(postings[expected][0]);
+            assertThat(cursor.freq()).isEqualTo(postings[expected][1]);
+        }
+    }
+}
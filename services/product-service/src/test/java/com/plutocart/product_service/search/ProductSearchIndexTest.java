@@ -0,0 +1,221 @@
+package com.plutocart.product_service.search;
+
+import com.plutocart.product_service.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductSearchIndex index = new ProductSearchIndex(meterRegistry);
+
+    @Test
+    void theLargestPageServesTheLastPageOfTheWindow() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            products.add(product("MUG-" + i, "Mug " + i, "kitchen", "Pluto", 1_000));
+        }
+        index.onReload(products);
+
+        SearchResult result = index.search(query("mug", null, null, Integer.MAX_VALUE, 20));
+
+        assertThat(result.total()).isEqualTo(30);
+        assertThat(result.hits()).isEmpty();
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        Product inDescription = product("MUG-1", "Plain cup", "Goes with any teapot", "kitchen", "Pluto", 1_000);
+        Product inName = product("POT-1", "Teapot", "Plain and sturdy", "kitchen", "Pluto", 1_000);
+        index.onReload(List.of(inDescription, inName));
+
+        assertThat(skus(index.search(query("teapot")))).containsExactly("POT-1", "MUG-1");
+    }
+
+    @Test
+    void ranksShorterDocumentsAboveLongerOnesWithTheSameMatches() {
+        Product longer = product("MUG-1", "Mug", "Large stoneware with a glazed rim and a wide handle", "kitchen", "Pluto", 1_000);
+        Product shorter = product("MUG-2", "Mug", "Stoneware", "kitchen", "Pluto", 1_000);
+        index.onReload(List.of(longer, shorter));
+
+        assertThat(skus(index.search(query("mug")))).containsExactly("MUG-2", "MUG-1");
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        index.onReload(rareRedCommonMug());
+
+        // RED-MUG has more of the rare term, MUG-RED more of the common one.
+        assertThat(skus(index.search(query("red mug")))).startsWith("RED-MUG", "MUG-RED");
+    }
+
+    @Test
+    void deletedDocumentsDoNotSkewTermWeights() {
+        List<Product> products = rareRedCommonMug();
+        List<Product> deleted = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            deleted.add(product("RED-" + i, "Red scarf", "kitchen", "Pluto", 1_000));
+        }
+        List<Product> all = new ArrayList<>(products);
+        all.addAll(deleted);
+        index.onReload(all);
+
+        deleted.forEach(index::onRemove);
+
+        var fresh = new ProductSearchIndex(new SimpleMeterRegistry());
+        fresh.onReload(products);
+        for (String text : List.of("red mug", "red", "mug")) {
+            assertThat(skus(index.search(query(text)))).isEqualTo(skus(fresh.search(query(text))));
+        }
+        assertThat(skus(index.search(query("red mug")))).startsWith("RED-MUG", "MUG-RED");
+        assertThat(index.search(query("scarf")).total()).isZero();
+    }
+
+    @Test
+    void countsFacetsOverTheWholeMatchSet() {
+        index.onReload(List.of(
+                product("MUG-1", "Mug", "Kitchen", "Pluto", 1_000),
+                product("MUG-2", "Mug", "kitchen", "Acme", 1_500),
+                product("MUG-3", "Mug", "kitchen", "Pluto", 2_000),
+                product("MUG-4", "Travel mug", "outdoor", "Pluto", 2_500),
+                product("POT-1", "Teapot", "kitchen", "Acme", 3_000)));
+
+        SearchResult result = index.search(query("mug", null, null, 0, 1));
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.categories()).containsExactly(Map.entry("Kitchen", 3), Map.entry("outdoor", 1));
+        assertThat(result.brands()).containsExactly(Map.entry("Pluto", 3), Map.entry("Acme", 1));
+    }
+
+    @Test
+    void filtersByFacetIgnoringCaseAndByPrice() {
+        index.onReload(List.of(
+                product("MUG-1", "Mug", "kitchen", "Pluto", 1_000),
+                product("MUG-2", "Mug", "kitchen", "Acme", 1_500),
+                product("MUG-3", "Mug", "outdoor", "Pluto", 2_000)));
+
+        assertThat(skus(index.search(query("mug", " KITCHEN ", "pluto", 0, 10)))).containsExactly("MUG-1");
+        assertThat(index.search(query("mug", "garden", null, 0, 10)).total()).isZero();
+        assertThat(skus(index.search(new SearchQuery("mug", null, null, 1_200L, 2_000L, 0, 10))))
+                .containsExactlyInAnyOrder("MUG-2", "MUG-3");
+    }
+
+    @Test
+    void facetsWithManyValuesAreCountedPerDocument() {
+        // More brands than matches plus one takes the per-doc ordinal path; only the top
+        // values are reported.
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            products.add(product("CUP-" + i, "Cup", "kitchen", "Brand " + i, 1_000));
+        }
+        products.add(product("MUG-1", "Mug", "kitchen", "Brand 7", 1_000));
+        products.add(product("MUG-2", "Mug", "kitchen", "Brand 7", 1_000));
+        products.add(product("MUG-3", "Mug", "kitchen", "Brand 9", 1_000));
+        index.onReload(products);
+
+        assertThat(index.search(query("mug")).brands())
+                .containsExactly(Map.entry("Brand 7", 2), Map.entry("Brand 9", 1));
+        assertThat(index.search(query("cup")).brands()).hasSize(20);
+    }
+
+    @Test
+    void removedAndChangedProductsLeaveResultsAndFacets() {
+        Product mug = product("MUG-1", "Mug", "kitchen", "Pluto", 1_000);
+        Product cup = product("CUP-1", "Cup", "kitchen", "Acme", 1_000);
+        Product other = product("MUG-2", "Mug", "outdoor", "Acme", 1_000);
+        index.onReload(List.of(mug, cup, other));
+
+        index.onRemove(other);
+        index.onUpsert(cup, renamed(cup, "Mug"));
+        index.onUpsert(mug, deactivated(mug));
+
+        SearchResult result = index.search(query("mug"));
+        assertThat(skus(result)).containsExactly("CUP-1");
+        assertThat(result.categories()).containsExactly(Map.entry("kitchen", 1));
+        assertThat(result.brands()).containsExactly(Map.entry("Acme", 1));
+        assertThat(index.search(query("cup")).total()).isZero();
+        assertThat(index.documents()).extracting(Product::sku).containsExactly("CUP-1");
+    }
+
+    @Test
+    void compactsOnceEnoughDocumentsAreDead() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            products.add(product("MUG-" + i, i % 2 == 0 ? "Red mug" : "Blue mug", "kitchen", "Pluto", 1_000));
+        }
+        index.onReload(products);
+
+        for (int i = 0; i < 999; i++) {
+            index.onRemove(products.get(i));
+        }
+        assertThat(docs("deleted")).isEqualTo(999);
+
+        index.onRemove(products.get(999));
+
+        assertThat(docs("deleted")).isZero();
+        assertThat(docs("live")).isEqualTo(4_000);
+        assertThat(index.search(query("red mug")).total()).isEqualTo(2_000);
+        assertThat(index.search(query("mug", null, null, 0, 1)).hits())
+                .extracting(Product::sku).containsExactly("MUG-1000");
+    }
+
+    /**
+     * Two docs with both terms, RED-MUG weighted to "red" and MUG-RED to "mug", plus ten
+     * that only say "mug", so "red" is the rare term.
+     */
+    private static List<Product> rareRedCommonMug() {
+        List<Product> products = new ArrayList<>();
+        products.add(product("RED-MUG", "Red mug", "Red glaze", "kitchen", "Pluto", 1_000));
+        products.add(product("MUG-RED", "Red mug", "Mug glaze", "kitchen", "Pluto", 1_000));
+        for (int i = 0; i < 10; i++) {
+            products.add(product("MUG-" + i, "Plain mug", "kitchen", "Pluto", 1_000));
+        }
+        return products;
+    }
+
+    private double docs(String state) {
+        return meterRegistry.get("catalog.search.docs").tag("state", state).gauge().value();
+    }
+
+    private static List<String> skus(SearchResult result) {
+        return result.hits().stream().map(Product::sku).toList();
+    }
+
+    private static SearchQuery query(String text) {
+        return query(text, null, null, 0, 20);
+    }
+
+    private static SearchQuery query(String text, String category, String brand, int page, int size) {
+        return new SearchQuery(text, category, brand, null, null, page, size);
+    }
+
+    private static Product product(String sku, String name, String category, String brand, long priceMinor) {
+        return product(sku, name, null, category, brand, priceMinor);
+    }
+
+    private static Product product(String sku, String name, String description, String category, String brand,
+                                   long priceMinor) {
+        return new Product(UUID.randomUUID(), sku, name, description, category, brand, priceMinor, "USD", true, NOW, NOW);
+    }
+
+    private static Product renamed(Product product, String name) {
+        return new Product(product.id(), product.sku(), name, product.description(), product.category(),
+                product.brand(), product.priceMinor(), product.currency(), product.active(), NOW, NOW);
+    }
+
+    private static Product deactivated(Product product) {
+        return new Product(product.id(), product.sku(), product.name(), product.description(), product.category(),
+                product.brand(), product.priceMinor(), product.currency(), false, NOW, NOW);
+    }
+}
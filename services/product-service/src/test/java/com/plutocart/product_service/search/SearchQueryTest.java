@@ -0,0 +1,40 @@
+package com.plutocart.product_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SearchQueryTest {
+
+    @Test
+    void capsThePageSize() {
+        assertThat(query(0, 0).size()).isEqualTo(1);
+        assertThat(query(0, 1_000).size()).isEqualTo(SearchQuery.MAX_SIZE);
+    }
+
+    @Test
+    void movesPagesPastTheWindowBackToItsLastPage() {
+        assertThat(query(99, 100).page()).isEqualTo(99);
+        assertThat(query(100, 100).page()).isEqualTo(99);
+        assertThat(query(5_000, 3).page()).isEqualTo(3_332);
+    }
+
+    @Test
+    void theLargestPageDoesNotOverflow() {
+        SearchQuery query = query(Integer.MAX_VALUE, 20);
+
+        assertThat(query.page()).isEqualTo(SearchQuery.MAX_WINDOW / 20 - 1);
+        assertThat((query.page() + 1) * query.size()).isEqualTo(SearchQuery.MAX_WINDOW);
+    }
+
+    @Test
+    void rejectsNegativePages() {
+        assertThatIllegalArgumentException().isThrownBy(() -> query(-1, 20));
+        assertThatIllegalArgumentException().isThrownBy(() -> query(Integer.MIN_VALUE, 20));
+    }
+
+    private static SearchQuery query(int page, int size) {
+        return new SearchQuery("mug", null, null, null, null, page, size);
+    }
+}
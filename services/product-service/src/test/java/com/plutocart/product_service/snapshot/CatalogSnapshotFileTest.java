@@ -0,0 +1,148 @@
+package com.plutocart.product_service.snapshot;
+
+import com.plutocart.product_service.model.Product;
+import com.plutocart.product_service.search.ProductSearchIndex;
+import com.plutocart.product_service.search.SearchQuery;
+import com.plutocart.product_service.search.SearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class CatalogSnapshotFileTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00.123456789Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsProductsAndTheSearchIndex() throws IOException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            products.add(product("SKU-" + i, (i % 3 == 0 ? "Red mug " : "Blue plate ") + i,
+                    i % 2 == 0 ? "kitchen" : "dining", i % 5 == 0 ? null : "Pluto", 100 + i));
+        }
+        Product inactive = new Product(UUID.randomUUID(), "OLD-1", "Old mug", "gone", "kitchen", "Pluto",
+                99, "EUR", false, CREATED, CREATED.plusSeconds(60));
+        ProductSearchIndex index = new ProductSearchIndex(new SimpleMeterRegistry());
+        index.onReload(products);
+        CatalogSnapshotFile file = new CatalogSnapshotFile(dir.resolve("catalog.snapshot"));
+
+        file.write(42, index.documents(), List.of(inactive), index::writeSnapshot);
+        CatalogSnapshotFile.Restored restored = file.read().orElseThrow();
+
+        assertThat(restored.version()).isEqualTo(42);
+        assertThat(restored.searchDocs()).isEqualTo(products.size());
+        assertThat(restored.products()).containsExactlyElementsOf(concat(index.documents(), inactive));
+
+        ProductSearchIndex copy = new ProductSearchIndex(new SimpleMeterRegistry());
+        copy.restoreSnapshot(restored.products().subList(0, restored.searchDocs()), restored.searchSection());
+        for (String text : List.of("mug", "plate", "red mug", "blue 7")) {
+            SearchQuery query = new SearchQuery(text, "kitchen", null, null, 250L, 0, 50);
+            SearchResult expected = index.search(query);
+            assertThat(copy.search(query)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void aMissingFileIsNoSnapshot() throws IOException {
+        assertThat(new CatalogSnapshotFile(dir.resolve("none")).read()).isEmpty();
+    }
+
+    @Test
+    void refusesATruncatedFile() throws IOException {
+        CatalogSnapshotFile file = written();
+        long size = Files.size(file.getPath());
+
+        truncate(file.getPath(), size - 1);
+        assertThatIOException().isThrownBy(file::read).withMessageContaining("Truncated");
+
+        truncate(file.getPath(), 10);
+        assertThatIOException().isThrownBy(file::read).withMessageContaining("Truncated");
+    }
+
+    @Test
+    void refusesACorruptProductsSection() throws IOException {
+        CatalogSnapshotFile file = written();
+
+        // The first product's SKU starts after its 16-byte id and 4-byte length.
+        overwrite(file.getPath(), 64 + 16 + 4, ByteBuffer.wrap(new byte[]{'X'}));
+
+        assertThatIOException().isThrownBy(file::read).withMessageContaining("checksum");
+    }
+
+    @Test
+    void refusesOtherFormatVersions() throws IOException {
+        CatalogSnapshotFile file = written();
+
+        overwrite(file.getPath(), 4, ByteBuffer.allocate(4).putInt(0, CatalogSnapshotFile.FORMAT_VERSION - 1));
+
+        assertThatIOException().isThrownBy(file::read).withMessageContaining("Unsupported catalog snapshot format");
+    }
+
+    @Test
+    void refusesFilesThatAreNotSnapshots() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        Files.write(path, new byte[128]);
+
+        assertThatIOException().isThrownBy(new CatalogSnapshotFile(path)::read).withMessageContaining("Not a catalog snapshot");
+    }
+
+    @Test
+    void replacesTheFileWholeAndLeavesNoTemporaryFile() throws IOException {
+        CatalogSnapshotFile file = written();
+        file.write(7, List.of(product("SKU-X", "Teapot", "kitchen", "Pluto", 500)), List.of(), out -> { });
+
+        assertThat(file.read().orElseThrow().version()).isEqualTo(7);
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(file.getPath());
+        }
+    }
+
+    private CatalogSnapshotFile written() throws IOException {
+        CatalogSnapshotFile file = new CatalogSnapshotFile(dir.resolve("catalog.snapshot"));
+        List<Product> products = List.of(product("SKU-1", "Mug", "kitchen", "Pluto", 1_000),
+                product("SKU-2", "Plate", "kitchen", null, 2_000));
+        ProductSearchIndex index = new ProductSearchIndex(new SimpleMeterRegistry());
+        index.onReload(products);
+        file.write(3, index.documents(), List.of(), index::writeSnapshot);
+        return file;
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void overwrite(Path path, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    private static List<Product> concat(List<Product> products, Product last) {
+        List<Product> all = new ArrayList<>(products);
+        all.add(last);
+        return all;
+    }
+
+    private static Product product(String sku, String name, String category, String brand, long priceMinor) {
+        return new Product(UUID.randomUUID(), sku, name, "About " + name, category, brand, priceMinor, "USD", true,
+                CREATED, CREATED);
+    }
+}
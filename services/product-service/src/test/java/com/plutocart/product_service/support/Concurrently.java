@@ -0,0 +1,78 @@
+package com.plutocart.product_service.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a test body on several threads released together by one latch, so they race from
+ * their first step, and rethrows the first failure.
+ */
+public final class Concurrently {
+
+    public static final int THREADS = 8;
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private Concurrently() {
+    }
+
+    /**
+     * Runs {@code body} on {@value #THREADS} threads.
+     */
+    public static void run(Body body) throws Exception {
+        run(THREADS, body);
+    }
+
+    /**
+     * Runs {@code body} on {@code threads} threads while each {@code background} task is
+     * called over and over on a thread of its own, until every body has returned.
+     */
+    public static void run(int threads, Body body, Body... background) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads + background.length);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> loops = new ArrayList<>(background.length);
+            for (Body task : background) {
+                loops.add(executor.submit(() -> {
+                    while (running.get()) {
+                        task.run();
+                    }
+                    return null;
+                }));
+            }
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    body.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+            } finally {
+                running.set(false);
+            }
+            for (Future<?> loop : loops) {
+                loop.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,23 @@
+package com.plutocart.user_service.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-JVM channel, used when no cross-node transport is configured and in tests.
+ */
+public class InMemoryUserCacheInvalidationChannel implements UserCacheInvalidationChannel {
+
+    private final List<Consumer<UserCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UserCacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<UserCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,10 @@
+package com.plutocart.user_service.cache;
+
+import java.util.UUID;
+
+public record UserCacheInvalidation(
+        String originNodeId,
+        UUID userId,
+        String email
+) {
+}
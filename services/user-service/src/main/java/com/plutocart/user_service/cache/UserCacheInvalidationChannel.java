@@ -0,0 +1,14 @@
+package com.plutocart.user_service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts profile cache invalidations to the other user-service nodes.
+ * Implementations must deliver to every subscriber, including the publishing node.
+ */
+public interface UserCacheInvalidationChannel {
+
+    void publish(UserCacheInvalidation invalidation);
+
+    void subscribe(Consumer<UserCacheInvalidation> listener);
+}
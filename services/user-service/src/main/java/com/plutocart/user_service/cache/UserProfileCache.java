@@ -0,0 +1,84 @@
+package com.plutocart.user_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plutocart.user_service.dto.UserResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of user profiles, indexed by email.
+ * Writers call {@link #invalidate}, which evicts locally and notifies the other nodes.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, UserResponse> byEmail;
+    private final UserCacheInvalidationChannel invalidationChannel;
+
+    public UserProfileCache(UserCacheInvalidationChannel invalidationChannel,
+                            MeterRegistry meterRegistry,
+                            @Value("${users.profile-cache.maximum-size}") long maximumSize,
+                            @Value("${users.profile-cache.ttl}") long ttlMillis) {
+        this.invalidationChannel = invalidationChannel;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.profile.by-email");
+        Gauge.builder("users.profile.cache.hit.ratio", byEmail, cache -> cache.stats().hitRate())
+                .tag("cache", "users.profile.by-email")
+                .register(meterRegistry);
+
+        invalidationChannel.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns the cached profile or loads it. A loader returning {@code null} means
+     * "not found" and is not cached.
+     */
+    public UserResponse getByEmail(String email, Function<String, UserResponse> loader) {
+        return byEmail.get(email, loader);
+    }
+
+    /**
+     * Evicts the profile here and on the other nodes. Inside a transaction this waits for the
+     * commit, so a read in between cannot cache the old row again.
+     */
+    public void invalidate(UUID userId, String email) {
+        var invalidation = new UserCacheInvalidation(nodeId, userId, email);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidationChannel.publish(invalidation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidationChannel.publish(invalidation);
+            }
+        });
+    }
+
+    private void onInvalidation(UserCacheInvalidation invalidation) {
+        if (invalidation.email() != null) {
+            byEmail.invalidate(invalidation.email());
+        }
+        if (!nodeId.equals(invalidation.originNodeId())) {
+            log.debug("Profile cache entry for {} invalidated by node {}", invalidation.email(), invalidation.originNodeId());
+        }
+    }
+}
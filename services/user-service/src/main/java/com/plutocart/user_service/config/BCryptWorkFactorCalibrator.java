@@ -0,0 +1,51 @@
+package com.plutocart.user_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt strength whose hash time on this machine is closest to, without
+ * exceeding, the configured target. Each strength step doubles the cost.
+ */
+@Slf4j
+final class BCryptWorkFactorCalibrator {
+
+    private static final String PROBE = "calibration-Probe-1!";
+    private static final int SAMPLES = 3;
+
+    private BCryptWorkFactorCalibrator() {
+    }
+
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        var encoder = new BCryptPasswordEncoder(minStrength);
+        var hash = encoder.encode(PROBE);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(PROBE, hash);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double minStrengthMillis = bestNanos / 1_000_000.0;
+        int strength = strengthFor(minStrengthMillis, targetMillis, minStrength, maxStrength);
+
+        log.info("BCrypt work factor calibrated to {} (~{} ms per hash, target {} ms)",
+                strength, Math.round(minStrengthMillis * (1L << (strength - minStrength))), targetMillis);
+        return strength;
+    }
+
+    /**
+     * The highest strength up to {@code maxStrength} whose estimated hash time stays within
+     * the target, given the measured time at {@code minStrength}; never below {@code minStrength}.
+     */
+    static int strengthFor(double minStrengthMillis, long targetMillis, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        double estimatedMillis = minStrengthMillis;
+        while (strength < maxStrength && estimatedMillis * 2 <= targetMillis) {
+            strength++;
+            estimatedMillis *= 2;
+        }
+        return strength;
+    }
+}
@@ -1,19 +1,26 @@
 package com.plutocart.user_service.config;
 
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 
 @Configuration
+@EnableConfigurationProperties(JwtKeyProperties.class)
 public class JwtConfig {
 
     @Value("${jwt.secret}")
     private String secret;
 
+    @Getter
+    @Value("${jwt.key-id}")
+    private String keyId;
+
     @Getter
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -22,8 +29,16 @@ public class JwtConfig {
     @Value("${jwt.refresh-token-expiration}")
     private Long refreshTokenExpiration;
 
+    private SecretKey secretKey;
+
+    // Key material is derived once; HMAC keys are immutable and safe to share across threads.
+    @PostConstruct
+    public void init() {
+        secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
     public SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return secretKey;
     }
 
 }
@@ -0,0 +1,19 @@
+package com.plutocart.user_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Extra HMAC keys, by key id, that are still accepted when verifying tokens.
+ * Used to keep tokens signed before a key rotation valid until they expire.
+ */
+@ConfigurationProperties(prefix = "jwt")
+public record JwtKeyProperties(Map<String, String> verificationKeys) {
+
+    public JwtKeyProperties {
+        if (verificationKeys == null) {
+            verificationKeys = Map.of();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.plutocart.user_service.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.plutocart.user_service.dto.ErrorResponse;
+import com.plutocart.common_exception.ErrorTemplate;
+import com.plutocart.common_security.jwt.JwtAuthenticationFilter;
+import com.plutocart.common_exception.JsonErrorWriter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,24 +13,39 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.time.Instant;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final ObjectMapper objectMapper;
+    private static final ErrorTemplate AUTHENTICATION_REQUIRED =
+            ErrorTemplate.of(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", "Authentication required: ");
+    private static final ErrorTemplate ACCESS_DENIED =
+            ErrorTemplate.of(HttpServletResponse.SC_FORBIDDEN, "Forbidden", "You are not authorised to Access this resource");
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); //High Security, Medium Speed
-        //return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8(); //Highest Security, but slower Speed
+    public PasswordEncoder passwordEncoder(@Value("${security.password.target-hash-millis}") long targetHashMillis,
+                                           @Value("${security.password.min-strength}") int minStrength,
+                                           @Value("${security.password.max-strength}") int maxStrength) {
+        int strength = BCryptWorkFactorCalibrator.calibrate(targetHashMillis, minStrength, maxStrength);
+
+        var encoders = Map.<String, PasswordEncoder>of(
+                "bcrypt", new BCryptPasswordEncoder(strength) //High Security, Medium Speed
+                //"argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8() //Highest Security, but slower Speed
+        );
+        var passwordEncoder = new DelegatingPasswordEncoder("bcrypt", encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt; upgradeEncoding() flags them for re-hashing.
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 
     @Bean
@@ -41,6 +58,7 @@ public class SecurityConfig {
                                 "/api/users/login",
                                 "/health",
                                 "/info",
+                                "/prometheus",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**"
                         ).permitAll()
@@ -52,27 +70,15 @@ public class SecurityConfig {
                 )
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((request, response, authException) -> {
-                            sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication required: " + authException.getMessage(), request.getRequestURI());
+                            JsonErrorWriter.write(response, AUTHENTICATION_REQUIRED, authException.getMessage(), request.getRequestURI());
                         })
                 )
                 .exceptionHandling(ex -> ex
                         .accessDeniedHandler((request, response, accessDeniedException) -> {
-                            sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "You are not authorised to Access this resource", request.getRequestURI());
+                            JsonErrorWriter.write(response, ACCESS_DENIED, null, request.getRequestURI());
                         })
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
-
-    private void sendErrorResponse(HttpServletResponse response, int status, String message, String path) throws java.io.IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        String errorStatus = status == HttpServletResponse.SC_UNAUTHORIZED ? "Unauthorized" : "Forbidden";
-        ErrorResponse errorResponse = new ErrorResponse(status, message, Instant.now(), errorStatus, path);
-        String jsonResponse = objectMapper.writeValueAsString(errorResponse);
-        response.getWriter().write(jsonResponse);
-        response.getWriter().flush();
-    }
 }
@@ -0,0 +1,18 @@
+package com.plutocart.user_service.config;
+
+import com.plutocart.user_service.cache.InMemoryUserCacheInvalidationChannel;
+import com.plutocart.user_service.cache.UserCacheInvalidationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserCacheConfig {
+
+    // Replace with a broker-backed channel (e.g. Redis pub/sub) when running more than one node.
+    @Bean
+    @ConditionalOnMissingBean
+    public UserCacheInvalidationChannel userCacheInvalidationChannel() {
+        return new InMemoryUserCacheInvalidationChannel();
+    }
+}
@@ -2,6 +2,7 @@ package com.plutocart.user_service.controller;
 
 import com.plutocart.user_service.dto.*;
 import com.plutocart.user_service.exception.InvalidCredentialsException;
+import com.plutocart.common_security.jwt.JwtPrincipal;
 import com.plutocart.user_service.service.UsersService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +18,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
@@ -71,7 +73,7 @@ public class UsersController {
     })
     public ResponseEntity<RegistrationResponse> registerUser(@Valid @RequestBody RegistrationRequest request)
     {
-        log.info("Received registration request for email: {}", request.email());
+        log.debug("Received registration request for email: {}", request.email());
 
         var response = usersService.registerUser(request);
         return ResponseEntity
@@ -102,6 +104,13 @@ public class UsersController {
                             schema = @Schema(implementation = InvalidCredentialsException.class)
                     )
             ),
+            @ApiResponse(responseCode = "429",
+                    description = "Too many failed login attempts, account or address temporarily locked",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
             @ApiResponse(responseCode = "500",
                     description = "Internal Server Error",
                     content = @Content(
@@ -110,8 +119,9 @@ public class UsersController {
                     )
             )
     })
-    public ResponseEntity<LoginResponse> loginUser(@Valid @RequestBody LoginRequest request) {
-        var response = usersService.loginUser(request);
+    public ResponseEntity<LoginResponse> loginUser(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // The gateway's X-Forwarded-For, when it comes from a trusted proxy (server.tomcat.remoteip).
+        var response = usersService.loginUser(request, httpRequest.getRemoteAddr());
 
         ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", response.refreshToken())
                 .httpOnly(false)
@@ -156,9 +166,8 @@ public class UsersController {
                     )
             )
     })
-    public ResponseEntity<UserResponse> getUser() {
-        Object username = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        var response = usersService.getUser(username.toString());
+    public ResponseEntity<UserResponse> getUser(@AuthenticationPrincipal JwtPrincipal principal) {
+        var response = usersService.getUser(principal.email());
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
@@ -196,9 +205,9 @@ public class UsersController {
                     )
             )
     })
-    public ResponseEntity<UserResponse> updateUser(@Valid @RequestBody UserRequest userRequest) {
-        Object username = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        var response = usersService.updateUser(username.toString(), userRequest);
+    public ResponseEntity<UserResponse> updateUser(@AuthenticationPrincipal JwtPrincipal principal,
+                                                   @Valid @RequestBody UserRequest userRequest) {
+        var response = usersService.updateUser(principal.email(), userRequest);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
@@ -235,9 +244,8 @@ public class UsersController {
                     )
             )
     })
-    public ResponseEntity<Boolean> deactivateUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString();
-        var response = usersService.deactivateUser(username);
+    public ResponseEntity<Boolean> deactivateUser(@AuthenticationPrincipal JwtPrincipal principal) {
+        var response = usersService.deactivateUser(principal.email());
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
@@ -276,20 +284,53 @@ public class UsersController {
                     )
             )
     })
-    public ResponseEntity<String> refreshAccessToken() {
-        Object username = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        var response = usersService.refreshAccessToken(username.toString());
+    public ResponseEntity<String> refreshAccessToken(@AuthenticationPrincipal JwtPrincipal principal) {
+        var response = usersService.refreshAccessToken(principal.email());
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(response);
     }
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Logout",
+            description = """
+                Revoke the current access token and, if the refreshToken cookie is present, the refresh token.
+                Revoked tokens are rejected until they expire.
+                """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204",
+                    description = "Logged out successfully"
+            ),
+            @ApiResponse(responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal JwtPrincipal principal,
+                                       @CookieValue(name = "refreshToken", required = false) String refreshToken) {
+        usersService.logout(principal, refreshToken);
+
+        ResponseCookie clearedCookie = ResponseCookie.from("refreshToken", "")
+                .maxAge(Duration.ZERO)
+                .sameSite("None")
+                .build();
+
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, clearedCookie.toString())
+                .build();
+    }
+
     /**
      * TODO: Implement below Endpoints
      * 1. POST /api/users/login - User Login - Done
      * 2. GET /api/users/me - Get User Profile (Authenticated) - Done
      * 3. PUT /api/users/me - Update User Profile (Authenticated)
      * 4. POST /api/users/refresh-token - Refresh JWT Access Token
-     * 5. POST /api/users/logout - User Logout (Invalidate Refresh Token)
+     * 5. POST /api/users/logout - User Logout (Invalidate Refresh Token) - Done
      */
 
 }
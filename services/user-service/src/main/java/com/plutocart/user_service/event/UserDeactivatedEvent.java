@@ -0,0 +1,15 @@
+package com.plutocart.user_service.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Payload of the {@value #TYPE} outbox event.
+ */
+public record UserDeactivatedEvent(
+        UUID userId,
+        String email,
+        Instant deactivatedAt
+) {
+    public static final String TYPE = "UserDeactivated";
+}
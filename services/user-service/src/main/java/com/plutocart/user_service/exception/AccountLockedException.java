@@ -0,0 +1,14 @@
+package com.plutocart.user_service.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AccountLockedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AccountLockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,25 +1,38 @@
 package com.plutocart.user_service.exception;
 
+import com.plutocart.common_utils.logging.RateLimitedLogger;
 import com.plutocart.user_service.dto.ErrorResponse;
 import com.plutocart.user_service.dto.ValidationErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Rejections any client can provoke at will (registrations, validation failures, locked
+ * accounts, hashing saturation) are logged through {@link RateLimitedLogger}s, so a
+ * credential-stuffing or registration burst costs a few log lines rather than one each.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final RateLimitedLogger registrationLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+    private static final RateLimitedLogger validationLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+    private static final RateLimitedLogger lockoutLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+    private static final RateLimitedLogger saturationLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleUserAlreadyExists(UserAlreadyExistsException ex, HttpServletRequest request) {
-        log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
+        registrationLog.warn("Registration rejected: {}", ex.getMessage());
         var errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -33,7 +46,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleUserAlreadyExists(MethodArgumentNotValidException ex) {
 
-        log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
+        validationLog.warn("Validation failed with {} field error(s)", ex.getBindingResult().getFieldErrorCount());
         List<ValidationErrorResponse.FieldError> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -55,7 +68,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ErrorResponse> invalidCredentialsException(InvalidCredentialsException ex, HttpServletRequest request) {
-        log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
+        log.debug("Login rejected: {}", ex.getMessage());
         var errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -66,6 +79,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(AccountLockedException.class)
+    public ResponseEntity<ErrorResponse> accountLocked(AccountLockedException ex, HttpServletRequest request) {
+        lockoutLog.warn("Login rejected: {}", ex.getMessage());
+        var errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                Instant.now(),
+                "Too Many Requests",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> hashingCapacityExceeded(HashingCapacityExceededException ex, HttpServletRequest request) {
+        saturationLog.warn("Password hashing saturated: {}", ex.getMessage());
+        var errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                Instant.now(),
+                "Service Unavailable",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
 @ExceptionHandler(Exception.class)
 public ResponseEntity<ErrorResponse> handleGenericException(
         Exception ex,
@@ -0,0 +1,11 @@
+package com.plutocart.user_service.exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+
+    public HashingCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
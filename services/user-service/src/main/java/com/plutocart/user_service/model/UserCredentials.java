@@ -0,0 +1,19 @@
+package com.plutocart.user_service.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of the columns needed to authenticate a user.
+ */
+public record UserCredentials(
+        UUID id,
+        String email,
+        String passwordHash,
+        String fullName,
+        String userType,
+        Boolean isActive,
+        Integer failedLoginAttempts,
+        Instant lockedUntil
+) {
+}
@@ -49,6 +49,9 @@ public class Users {
     @Builder.Default
     private Integer failedLoginAttempts = 0;
 
+    @Column(name = "locked_until", insertable = false, updatable = false)
+    private Instant lockedUntil;
+
     @Column(name = "user_type", nullable = false, length = 30)
     private String userType = "CUSTOMER";
 
@@ -1,9 +1,16 @@
 package com.plutocart.user_service.repository;
 
+import com.plutocart.user_service.dto.UserResponse;
+import com.plutocart.user_service.model.UserCredentials;
 import com.plutocart.user_service.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +21,45 @@ public interface UsersRepository extends JpaRepository<Users, UUID> {
 
     boolean existsByEmail(String email);
 
+    @Query("""
+            select new com.plutocart.user_service.dto.UserResponse(
+                u.id, u.email, u.fullName, u.phoneNumber, u.isActive, u.userType, u.createdAt, u.updatedAt, u.lastLoginAt)
+            from Users u
+            where lower(u.email) = lower(:email)
+            """)
+    Optional<UserResponse> findProfileByEmail(@Param("email") String email);
+
+    @Query("""
+            select new com.plutocart.user_service.model.UserCredentials(
+                u.id, u.email, u.passwordHash, u.fullName, u.userType, u.isActive, u.failedLoginAttempts, u.lockedUntil)
+            from Users u
+            where lower(u.email) = lower(:email)
+            """)
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * Inserts a new customer in a single round trip. Returns 0 instead of failing when the
+     * email is already taken in any case (users_email_lower_unique), which closes the check-then-insert race.
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into users (id, email, password_hash, full_name, phone_number, is_active, is_deleted,
+                               failed_login_attempts, user_type, created_at, updated_at)
+            values (:id, :email, :passwordHash, :fullName, :phoneNumber, true, false, 0, :userType, :createdAt, :createdAt)
+            on conflict ((lower(email))) do nothing
+            """)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("email") String email,
+                       @Param("passwordHash") String passwordHash,
+                       @Param("fullName") String fullName,
+                       @Param("phoneNumber") String phoneNumber,
+                       @Param("userType") String userType,
+                       @Param("createdAt") Instant createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("update Users u set u.passwordHash = :passwordHash where u.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("passwordHash") String passwordHash);
+
 }
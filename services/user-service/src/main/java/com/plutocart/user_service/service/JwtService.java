@@ -1,9 +1,11 @@
 package com.plutocart.user_service.service;
 
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import com.plutocart.common_security.jwt.JwtVerifier;
 import com.plutocart.user_service.config.JwtConfig;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -11,16 +13,47 @@ import java.util.Date;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtConfig jwtConfig;
+    private final JwtTokenEngine jwtTokenEngine;
+    private final JwtVerifier jwtVerifier;
+
+    private final Timer accessSignTimer;
+    private final Timer refreshSignTimer;
+    private final Timer verifyTimer;
+
+    public JwtService(JwtConfig jwtConfig,
+                      JwtTokenEngine jwtTokenEngine,
+                      JwtVerifier jwtVerifier,
+                      MeterRegistry meterRegistry) {
+        this.jwtConfig = jwtConfig;
+        this.jwtTokenEngine = jwtTokenEngine;
+        this.jwtVerifier = jwtVerifier;
+        this.accessSignTimer = Timer.builder("jwt.sign")
+                .tag("type", "access")
+                .register(meterRegistry);
+        this.refreshSignTimer = Timer.builder("jwt.sign")
+                .tag("type", "refresh")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("Time to check a token signature and its claims")
+                .register(meterRegistry);
+    }
 
     public String generateAccessToken(UUID userId, String email, String role) {
+        return accessSignTimer.record(() -> buildAccessToken(userId, email, role));
+    }
+
+    public String generateRefreshToken(UUID userId, String email, String role) {
+        return refreshSignTimer.record(() -> buildRefreshToken(userId, email, role));
+    }
+
+    private String buildAccessToken(UUID userId, String email, String role) {
         var now = Instant.now();
         var expirationTime = Date.from(now.plusMillis(jwtConfig.getAccessTokenExpiration()));
 
-        return Jwts.builder()
+        return jwtTokenEngine.builder()
                 .subject(email)
                 .issuedAt(Date.from(now))
                 .expiration(expirationTime)
@@ -30,15 +63,14 @@ public class JwtService {
                 .claim("email", email)
                 .claim("type", "access")
                 .claim("role", role)
-                .signWith(jwtConfig.getSecretKey())
                 .compact();
     }
 
-    public String generateRefreshToken(UUID userId, String email, String role) {
+    private String buildRefreshToken(UUID userId, String email, String role) {
         var now = Instant.now();
         var expirationTime = Date.from(now.plusMillis(jwtConfig.getRefreshTokenExpiration()));
 
-        return Jwts.builder()
+        return jwtTokenEngine.builder()
                 .subject(email)
                 .issuedAt(Date.from(now))
                 .expiration(expirationTime)
@@ -48,16 +80,15 @@ public class JwtService {
                 .claim("email", email)
                 .claim("type", "refresh")
                 .claim("role", role)
-                .signWith(jwtConfig.getSecretKey())
                 .compact();
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtConfig.getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtTokenEngine.parse(token);
+    }
+
+    public JwtPrincipal verify(String token) {
+        return verifyTimer.record(() -> jwtVerifier.verify(token));
     }
 
     public String getEmailFromToken(String token) {
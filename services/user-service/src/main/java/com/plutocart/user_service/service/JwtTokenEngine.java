@@ -0,0 +1,81 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.common_security.jwt.JwtKeyResolver;
+import com.plutocart.user_service.config.JwtConfig;
+import com.plutocart.user_service.config.JwtKeyProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the derived signing keys and a single, thread-safe {@link JwtParser} for the
+ * lifetime of the service. Keys are selected by the {@code kid} header, so tokens signed
+ * with an older key keep verifying while it is listed in {@code jwt.verification-keys}.
+ * Rotation is a configuration change: every service verifies with its own configured
+ * keys, so a key only added here at runtime would be refused everywhere else.
+ * It is also the {@link JwtKeyResolver} for the shared request filter.
+ */
+@Component
+public class JwtTokenEngine implements JwtKeyResolver {
+
+    private final String activeKeyId;
+    private final Map<String, SecretKey> keys;
+    private final JwtParser parser;
+
+    public JwtTokenEngine(JwtConfig jwtConfig, JwtKeyProperties keyProperties) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keyProperties.verificationKeys().forEach((keyId, secret) -> keys.put(keyId, deriveKey(secret)));
+        keys.put(jwtConfig.getKeyId(), jwtConfig.getSecretKey());
+
+        this.activeKeyId = jwtConfig.getKeyId();
+        this.keys = Map.copyOf(keys);
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
+
+    /**
+     * Returns a builder already carrying the active {@code kid} header and signing key.
+     * Builders are not thread-safe, so callers take a fresh one per token.
+     */
+    public JwtBuilder builder() {
+        return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .signWith(keys.get(activeKeyId));
+    }
+
+    public Claims parse(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Override
+    public Key resolve(String keyId) {
+        // Tokens issued before key ids were introduced carry no kid header.
+        return keys.get(keyId != null ? keyId : activeKeyId);
+    }
+
+    private Key locateKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        var key = resolve(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey deriveKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,229 @@
+package com.plutocart.user_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plutocart.user_service.exception.AccountLockedException;
+import com.plutocart.user_service.model.UserCredentials;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks failed logins per email and per client IP in memory and locks out abusive
+ * callers before any database read or password hash. Lockouts are written to
+ * {@code users.locked_until} in coalesced batches, so a burst of failures against one
+ * account costs at most one UPDATE per flush interval.
+ */
+@Service
+@Slf4j
+public class LoginAttemptService {
+
+    static final int BUCKETS = 15;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final long bucketMillis;
+    private final long lockoutMillis;
+
+    private final Cache<String, AttemptState> emailAttempts;
+    private final Cache<String, AttemptState> ipAttempts;
+    private final Map<String, PendingLockout> pendingWrites = new ConcurrentHashMap<>();
+
+    private final Counter rejectedCounter;
+    private final Counter lockoutCounter;
+
+    public LoginAttemptService(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.login.max-failures-per-email}") int maxFailuresPerEmail,
+                               @Value("${security.login.max-failures-per-ip}") int maxFailuresPerIp,
+                               @Value("${security.login.failure-window-millis}") long failureWindowMillis,
+                               @Value("${security.login.lockout-millis}") long lockoutMillis,
+                               @Value("${security.login.max-tracked-keys}") long maxTrackedKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.bucketMillis = Math.max(1, failureWindowMillis / BUCKETS);
+        this.lockoutMillis = lockoutMillis;
+
+        var idleAfter = Duration.ofMillis(failureWindowMillis + lockoutMillis);
+        this.emailAttempts = Caffeine.newBuilder().maximumSize(maxTrackedKeys).expireAfterAccess(idleAfter).build();
+        this.ipAttempts = Caffeine.newBuilder().maximumSize(maxTrackedKeys).expireAfterAccess(idleAfter).build();
+
+        this.rejectedCounter = Counter.builder("login.attempts.rejected")
+                .description("Logins rejected because the account or client address is locked out")
+                .register(meterRegistry);
+        this.lockoutCounter = Counter.builder("login.lockouts")
+                .description("Accounts locked after too many failed logins")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the account or the client address is currently locked out.
+     * Only touches memory, so it is safe to call before loading the user.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        var emailState = emailAttempts.getIfPresent(key(email));
+        if (emailState != null && emailState.lockedUntilMillis > now) {
+            reject(emailState.lockedUntilMillis - now);
+        }
+        var ipState = clientIp != null ? ipAttempts.getIfPresent(clientIp) : null;
+        if (ipState != null && ipState.lockedUntilMillis > now) {
+            reject(ipState.lockedUntilMillis - now);
+        }
+    }
+
+    /**
+     * Applies a lockout recorded in the database, e.g. by another node or before a restart.
+     */
+    public void checkAllowed(UserCredentials credentials) {
+        if (credentials.lockedUntil() == null) {
+            return;
+        }
+        long lockedUntil = credentials.lockedUntil().toEpochMilli();
+        long now = System.currentTimeMillis();
+        if (lockedUntil > now) {
+            emailAttempts.get(key(credentials.email()), key -> new AttemptState()).lockedUntilMillis = lockedUntil;
+            reject(lockedUntil - now);
+        }
+    }
+
+    public void recordFailure(String rawEmail, String clientIp) {
+        String email = key(rawEmail);
+        long now = System.currentTimeMillis();
+        long bucket = now / bucketMillis;
+
+        var emailState = emailAttempts.get(email, key -> new AttemptState());
+        int emailFailures = emailState.failures.increment(bucket);
+        if (emailFailures >= maxFailuresPerEmail && emailState.lockedUntilMillis <= now) {
+            emailState.lockedUntilMillis = now + lockoutMillis;
+            pendingWrites.put(email, new PendingLockout(Instant.ofEpochMilli(emailState.lockedUntilMillis), emailFailures));
+            lockoutCounter.increment();
+            log.warn("Account {} locked for {} ms after {} failed logins", email, lockoutMillis, emailFailures);
+        }
+
+        if (clientIp != null) {
+            var ipState = ipAttempts.get(clientIp, key -> new AttemptState());
+            if (ipState.failures.increment(bucket) >= maxFailuresPerIp && ipState.lockedUntilMillis <= now) {
+                ipState.lockedUntilMillis = now + lockoutMillis;
+                log.warn("Client address {} locked for {} ms after repeated failed logins", clientIp, lockoutMillis);
+            }
+        }
+    }
+
+    public void recordSuccess(UserCredentials credentials) {
+        String email = key(credentials.email());
+        emailAttempts.invalidate(email);
+        boolean hasPersistedFailures = credentials.lockedUntil() != null
+                || (credentials.failedLoginAttempts() != null && credentials.failedLoginAttempts() > 0);
+        if (hasPersistedFailures || pendingWrites.containsKey(email)) {
+            pendingWrites.put(email, new PendingLockout(null, 0));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.flush-interval-millis}")
+    public void flushLockouts() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        Map<String, PendingLockout> taken = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (var email : pendingWrites.keySet()) {
+            var pending = pendingWrites.remove(email);
+            if (pending != null) {
+                taken.put(email, pending);
+                var lockedUntil = pending.lockedUntil() != null ? Timestamp.from(pending.lockedUntil()) : null;
+                batch.add(new Object[]{lockedUntil, pending.failedAttempts(), email});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(
+                    "update users set locked_until = ?, failed_login_attempts = ? where lower(email) = lower(?)",
+                    batch);
+        } catch (Exception e) {
+            // Put the batch back for the next flush, unless a newer state for the same
+            // account was recorded in the meantime.
+            taken.forEach(pendingWrites::putIfAbsent);
+            log.error("Failed to persist {} login lockout updates, retrying on the next flush: {}",
+                    batch.size(), e.getMessage());
+        }
+    }
+
+    /** Lookups are case-insensitive, so every casing of an email must share one counter. */
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void reject(long remainingMillis) {
+        rejectedCounter.increment();
+        long retryAfterSeconds = Math.max(1, (remainingMillis + 999) / 1000);
+        throw new AccountLockedException("Too many failed login attempts, please try again later", retryAfterSeconds);
+    }
+
+    private record PendingLockout(Instant lockedUntil, int failedAttempts) {
+    }
+
+    private static final class AttemptState {
+        final SlidingWindowCounter failures = new SlidingWindowCounter();
+        volatile long lockedUntilMillis;
+    }
+
+    /**
+     * Lock-free ring of time buckets. Each slot packs the bucket number and its count into
+     * one long, so a stale slot is recycled with a single CAS.
+     */
+    static final class SlidingWindowCounter {
+
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray slots = new AtomicLongArray(BUCKETS);
+
+        int increment(long bucket) {
+            int index = (int) (bucket % BUCKETS);
+            while (true) {
+                long current = slots.get(index);
+                long next;
+                if ((current >>> COUNT_BITS) == bucket) {
+                    next = (current & COUNT_MASK) == COUNT_MASK ? current : current + 1;
+                } else {
+                    next = (bucket << COUNT_BITS) | 1;
+                }
+                if (next == current || slots.compareAndSet(index, current, next)) {
+                    break;
+                }
+            }
+            return sum(bucket);
+        }
+
+        private int sum(long bucket) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long slot = slots.get(i);
+                long age = bucket - (slot >>> COUNT_BITS);
+                if (age >= 0 && age < BUCKETS) {
+                    total += (int) (slot & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+    }
+}
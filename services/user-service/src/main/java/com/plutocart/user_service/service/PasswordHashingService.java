@@ -0,0 +1,176 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.user_service.exception.HashingCapacityExceededException;
+import com.plutocart.user_service.repository.UsersRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a bounded, CPU-sized pool instead of on servlet threads.
+ * When the queue is full, callers fail fast with {@link HashingCapacityExceededException}
+ * (503), so a login burst cannot tie up the whole Tomcat pool.
+ * <p>
+ * Re-hashing outdated hashes after a login runs on one extra low-priority thread with a
+ * short queue of its own, so it never takes a pool thread from a login; the pool is
+ * sized for logins and registrations alone.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UsersRepository usersRepository;
+    private static final int UPGRADE_QUEUE_CAPACITY = 16;
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor upgradeExecutor;
+    private final long maxWaitMillis;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+    private final Counter upgradedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  UsersRepository usersRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.hashing.threads}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity}") int queueCapacity,
+                                  @Value("${security.password.hashing.max-wait-millis}") long maxWaitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.usersRepository = usersRepository;
+        this.maxWaitMillis = maxWaitMillis;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-hash-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.upgradeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(UPGRADE_QUEUE_CAPACITY),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .description("Time a hashing task waits for a hashing thread")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.time")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.time")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Hashing requests rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.upgradedCounter = Counter.builder("password.hash.upgraded")
+                .description("Stored password hashes re-encoded with the current work factor")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash))));
+    }
+
+    /**
+     * Re-hashes a password whose stored hash uses an outdated encoding or work factor.
+     * Runs in the background on the re-hash thread and is skipped while logins are queued
+     * or the re-hash queue is full; the next login retries.
+     */
+    public void upgradeIfNeeded(UUID userId, String rawPassword, String passwordHash) {
+        if (!passwordEncoder.upgradeEncoding(passwordHash)) {
+            return;
+        }
+        if (!executor.getQueue().isEmpty()) {
+            log.debug("Logins are queued, skipping password hash upgrade for user {}", userId);
+            return;
+        }
+        try {
+            upgradeExecutor.execute(() -> {
+                try {
+                    usersRepository.updatePasswordHash(userId, encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                    upgradedCounter.increment();
+                } catch (Exception e) {
+                    log.warn("Password hash upgrade failed for user {}: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Re-hash queue full, skipping password hash upgrade for user {}", userId);
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException("Too many authentication requests, please retry shortly", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // BCrypt does not check for interrupts, so a hash already running finishes anyway;
+            // cancelling only stops a task still queued from hashing for a caller that left.
+            future.cancel(false);
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException("Authentication is taking too long, please retry shortly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new HashingCapacityExceededException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        upgradeExecutor.shutdown();
+    }
+}
@@ -0,0 +1,239 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.common_security.jwt.TokenRevocations;
+import com.plutocart.user_service.config.JwtConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Denylist of revoked token ids (JTI).
+ * <p>
+ * Revoked ids are grouped by the expiry time of their token. Each expiry window has a
+ * Bloom filter, so a token that was never revoked is cleared by a few bit reads, with no
+ * allocation or locking. A Bloom hit is confirmed against an exact map. Whole windows
+ * are dropped once their tokens have expired. Revocations are appended to a log file
+ * that is replayed and compacted on startup. Each append is forced to disk before
+ * {@link #revoke} returns, so an acknowledged logout survives a crash; revocations are
+ * rare enough that the sync does not matter.
+ */
+@Service
+@Slf4j
+public class TokenDenylist implements TokenRevocations {
+
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final long bucketMillis;
+    private final int bitsPerBucket;
+    private final AtomicReferenceArray<BloomBucket> buckets;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Path logPath;
+
+    private FileChannel logChannel;
+
+    public TokenDenylist(JwtConfig jwtConfig,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.revocation.bucket-millis}") long bucketMillis,
+                         @Value("${jwt.revocation.expected-per-bucket}") int expectedPerBucket,
+                         @Value("${jwt.revocation.log-path}") String logPath) {
+        this.bucketMillis = bucketMillis;
+        // ~1% false positive rate with 7 hash functions.
+        this.bitsPerBucket = Math.max(1024, (int) Math.ceil(expectedPerBucket * 9.6));
+        long maxLifetime = Math.max(jwtConfig.getAccessTokenExpiration(), jwtConfig.getRefreshTokenExpiration());
+        this.buckets = new AtomicReferenceArray<>((int) (maxLifetime / bucketMillis) + 2);
+        this.logPath = Path.of(logPath);
+
+        Gauge.builder("jwt.revoked.tokens", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void restore() throws IOException {
+        if (logPath.getParent() != null) {
+            Files.createDirectories(logPath.getParent());
+        }
+        if (Files.exists(logPath)) {
+            long now = System.currentTimeMillis();
+            List<String> live = new ArrayList<>();
+            int malformed = 0;
+            // Decoded leniently: a crash can leave a torn or garbage last line, which must not stop startup.
+            for (String line : new String(Files.readAllBytes(logPath), StandardCharsets.UTF_8).split("\n")) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int separator = line.indexOf(',');
+                long expiresAt = separator > 0 ? parseMillis(line.substring(separator + 1)) : -1;
+                if (expiresAt < 0) {
+                    malformed++;
+                    continue;
+                }
+                if (expiresAt > now) {
+                    add(line.substring(0, separator), expiresAt);
+                    live.add(line);
+                }
+            }
+            // Compact: only entries that can still matter survive the restart, and malformed lines are dropped.
+            var compacted = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+            Files.write(compacted, live, StandardCharsets.UTF_8);
+            Files.move(compacted, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (malformed > 0) {
+                log.warn("Skipped {} malformed lines in {}", malformed, logPath);
+            }
+            log.info("Restored {} revoked tokens from {}", live.size(), logPath);
+        }
+        logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis() || revoked.containsKey(tokenId)) {
+            return;
+        }
+        add(tokenId, expiresAtMillis);
+        append(tokenId, expiresAtMillis);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        long bucket = expiresAt.toEpochMilli() / bucketMillis;
+        var bloom = buckets.get(slot(bucket));
+        if (bloom == null || bloom.bucket != bucket || !bloom.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-millis}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        long currentBucket = now / bucketMillis;
+        for (int i = 0; i < buckets.length(); i++) {
+            var bloom = buckets.get(i);
+            if (bloom != null && bloom.bucket < currentBucket) {
+                buckets.compareAndSet(i, bloom, null);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (logChannel != null) {
+            logChannel.close();
+        }
+    }
+
+    private void add(String tokenId, long expiresAtMillis) {
+        revoked.put(tokenId, expiresAtMillis);
+        long bucket = expiresAtMillis / bucketMillis;
+        int slot = slot(bucket);
+        while (true) {
+            var bloom = buckets.get(slot);
+            if (bloom != null && bloom.bucket == bucket) {
+                bloom.put(tokenId);
+                return;
+            }
+            if (bloom != null && bloom.bucket > bucket) {
+                // Slot already reused by a later window; the token is past its lifetime.
+                return;
+            }
+            buckets.compareAndSet(slot, bloom, new BloomBucket(bucket, bitsPerBucket));
+        }
+    }
+
+    private synchronized void append(String tokenId, long expiresAtMillis) {
+        try {
+            logChannel.write(ByteBuffer.wrap((tokenId + "," + expiresAtMillis + "\n").getBytes(StandardCharsets.UTF_8)));
+            logChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist token revocation", e);
+        }
+    }
+
+    private static long parseMillis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length());
+    }
+
+    static final class BloomBucket {
+
+        private final long bucket;
+        private final int bitCount;
+        private final AtomicLongArray bits;
+
+        BloomBucket(long bucket, int bitCount) {
+            this.bucket = bucket;
+            this.bitCount = bitCount;
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        void put(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) Math.floorMod(hash1 + i * hash2, (long) bitCount);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) Math.floorMod(hash1 + i * hash2, (long) bitCount);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -1,120 +1,125 @@
 package com.plutocart.user_service.service;
 
+import com.plutocart.common_utils.logging.RateLimitedLogger;
+import com.plutocart.common_utils.outbox.Outbox;
+import com.plutocart.common_utils.outbox.OutboxEvent;
+import com.plutocart.user_service.cache.UserProfileCache;
 import com.plutocart.user_service.dto.*;
+import com.plutocart.user_service.event.UserDeactivatedEvent;
 import com.plutocart.user_service.exception.InvalidCredentialsException;
 import com.plutocart.user_service.exception.UserAlreadyExistsException;
-import com.plutocart.user_service.model.Users;
+import com.plutocart.common_security.jwt.JwtPrincipal;
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.plutocart.user_service.repository.UsersRepository;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UsersService {
 
+    private static final RateLimitedLogger loginFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+    private static final RateLimitedLogger registrationFailureLog = new RateLimitedLogger(log, 10, Duration.ofSeconds(10), 100);
+
     private final UsersRepository usersRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final UserProfileCache userProfileCache;
+    private final LoginAttemptService loginAttemptService;
+    private final TokenDenylist tokenDenylist;
+    private final Outbox outbox;
 
-    @Transactional
     public RegistrationResponse registerUser(RegistrationRequest request) {
-        log.info("Registering new user with email: {}", request.email());
-
-        if (usersRepository.existsByEmail(request.email())) {
-            log.warn("Registration failed: Email {} already exists", request.email());
-            throw new UserAlreadyExistsException("User with Email " + request.email() + " already exists");
-        }
+        log.debug("Registering new user with email: {}", request.email());
 
-        //Need to dig into the password encoder and see how it works,
-        // and how to use it to hash the password before saving it to the database
-        var hashedPassword = passwordEncoder.encode(request.password());
+        // Hashing happens before any database work so no connection is held while BCrypt runs.
+        var hashedPassword = passwordHashingService.encode(request.password());
 
-        var user = Users.builder()
-                .email(request.email())
-                .passwordHash(hashedPassword)
-                .fullName(request.fullName())
-                .phoneNumber(request.phoneNumber())
-                .isActive(true)
-                .userType("ROLE_CUSTOMER")
-                .failedLoginAttempts(0)
-                .isDeleted(false)
-                .build();
+        var userId = UUID.randomUUID();
+        var userType = "ROLE_CUSTOMER";
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
 
-        var savedUser = usersRepository.save(user);
-        log.info("User Registered Successfully: ID={}, Email={}", savedUser.getId(), savedUser.getEmail());
+        int inserted = usersRepository.insertIfAbsent(userId, request.email(), hashedPassword,
+                request.fullName(), request.phoneNumber(), userType, createdAt);
+        if (inserted == 0) {
+            registrationFailureLog.warn("Registration failed: Email {} already exists", request.email());
+            throw new UserAlreadyExistsException("User with Email " + request.email() + " already exists");
+        }
+        log.debug("User Registered Successfully: ID={}, Email={}", userId, request.email());
 
-        var accessToken = jwtService.generateAccessToken(savedUser.getId(), savedUser.getEmail(), savedUser.getUserType());
-        var refreshToken = jwtService.generateRefreshToken(savedUser.getId(), savedUser.getEmail(), savedUser.getUserType());
+        var accessToken = jwtService.generateAccessToken(userId, request.email(), userType);
+        var refreshToken = jwtService.generateRefreshToken(userId, request.email(), userType);
 
         return new RegistrationResponse(
-                savedUser.getId(),
-                savedUser.getEmail(),
-                savedUser.getFullName(),
-                savedUser.getPhoneNumber(),
-                savedUser.getIsActive(),
-                savedUser.getUserType(),
-                savedUser.getCreatedAt(),
+                userId,
+                request.email(),
+                request.fullName(),
+                request.phoneNumber(),
+                true,
+                userType,
+                createdAt,
                 accessToken,
                 refreshToken
         );
     }
 
-    public LoginResponse loginUser(LoginRequest request) {
-        log.info("Attempting login for email: {}", request.username());
+    public LoginResponse loginUser(LoginRequest request, String clientIp) {
+        log.debug("Attempting login for email: {}", request.username());
+        loginAttemptService.checkAllowed(request.username(), clientIp);
 
-        var userOpt = usersRepository.findByEmail(request.username());
+        var userOpt = usersRepository.findCredentialsByEmail(request.username());
         if (userOpt.isEmpty()) {
-            log.warn("Login failed: Username {} not found", request.username());
+            loginFailureLog.warn("Login failed: Username {} not found", request.username());
+            loginAttemptService.recordFailure(request.username(), clientIp);
             throw new InvalidCredentialsException("Username or Password Incorrect");
         }
 
         var user = userOpt.get();
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
-            log.info("Login failed: Incorrect password for email {}", request.username());
+        loginAttemptService.checkAllowed(user);
+        if (!passwordHashingService.matches(request.password(), user.passwordHash())) {
+            loginFailureLog.info("Login failed: Incorrect password for email {}", request.username());
+            loginAttemptService.recordFailure(request.username(), clientIp);
             throw new InvalidCredentialsException("Username or Password Incorrect");
         }
+        loginAttemptService.recordSuccess(user);
+        passwordHashingService.upgradeIfNeeded(user.id(), request.password(), user.passwordHash());
 
-        var accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getUserType());
-        var refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail(), user.getUserType());
+        var accessToken = jwtService.generateAccessToken(user.id(), user.email(), user.userType());
+        var refreshToken = jwtService.generateRefreshToken(user.id(), user.email(), user.userType());
 
-        log.info("Login successful for email: {}", request.username());
+        log.debug("Login successful for email: {}", request.username());
         return new LoginResponse(
-                user.getId(),
-                user.getEmail(),
-                user.getFullName(),
+                user.id(),
+                user.email(),
+                user.fullName(),
                 accessToken,
                 refreshToken
         );
     }
 
     public UserResponse getUser(String username) {
-        var userOpt = usersRepository.findByEmail(username);
-        if (userOpt.isEmpty()) {
+        var user = userProfileCache.getByEmail(username, this::loadUserProfile);
+        if (user == null) {
             log.warn("User not found with Username: {}", username);
             throw new RuntimeException("User not found");
         }
-
-        var user = userOpt.get();
-        return new UserResponse(
-                user.getId(),
-                user.getEmail(),
-                user.getFullName(),
-                user.getPhoneNumber(),
-                user.getIsActive(),
-                user.getUserType(),
-                user.getCreatedAt(),
-                user.getUpdatedAt(),
-                user.getLastLoginAt()
-        );
+        return user;
     }
 
+    /**
+     * Transactional so the profile cache is invalidated only once the update has committed;
+     * an invalidation sent before the commit would let a concurrent read cache the old row.
+     */
+    @Transactional
     public UserResponse updateUser(String username, @Valid UserRequest userRequest) {
         var userOpt = usersRepository.findByEmail(username);
         if (userOpt.isEmpty()) {
@@ -128,6 +133,7 @@ public class UsersService {
         user.setIsActive(userRequest.isActive());
 
         var updatedUser = usersRepository.save(user);
+        userProfileCache.invalidate(updatedUser.getId(), updatedUser.getEmail());
         return new UserResponse(
                 updatedUser.getId(),
                 updatedUser.getEmail(),
@@ -141,6 +147,11 @@ public class UsersService {
         );
     }
 
+    /**
+     * Deactivates the account and, in the same transaction, records a
+     * {@value UserDeactivatedEvent#TYPE} event in the outbox for other services.
+     */
+    @Transactional
     public Boolean deactivateUser(String username) {
         var userOpt = usersRepository.findByEmail(username);
         if (userOpt.isEmpty()) {
@@ -149,26 +160,50 @@ public class UsersService {
         }
 
         var user = userOpt.get();
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(false);
 
         var updatedUser = usersRepository.save(user);
+        if (wasActive) {
+            outbox.append(OutboxEvent.of("user", updatedUser.getId(), UserDeactivatedEvent.TYPE,
+                    new UserDeactivatedEvent(updatedUser.getId(), updatedUser.getEmail(), Instant.now())));
+        }
+        userProfileCache.invalidate(updatedUser.getId(), updatedUser.getEmail());
         return updatedUser.getIsActive();
     }
 
     @Transactional
     public String refreshAccessToken(String username) {
-        log.info("Registering new user with email: {}", username);
+        log.debug("Refreshing access token for email: {}", username);
 
-        Optional<Users> userInfo = usersRepository.findByEmail(username);
+        var userInfo = userProfileCache.getByEmail(username, this::loadUserProfile);
 
-        if(userInfo.isEmpty() || !userInfo.get().getIsActive()) {
+        if(userInfo == null || !userInfo.isActive()) {
             log.warn("User not valid, Cannot Retrieve Access Token: {}", username);
             throw new RuntimeException("User not valid, Cannot Retrieve Access Token");
         }
 
-        Users userData = userInfo.get();
+       return jwtService.generateAccessToken(userInfo.id(), userInfo.email(), userInfo.userType());
+
+    }
 
-       return jwtService.generateAccessToken(userData.getId(), userData.getEmail(), userData.getUserType());
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        tokenDenylist.revoke(principal.tokenId(), principal.expiresAt());
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                var refreshPrincipal = jwtService.verify(refreshToken);
+                if (refreshPrincipal.userId().equals(principal.userId())) {
+                    tokenDenylist.revoke(refreshPrincipal.tokenId(), refreshPrincipal.expiresAt());
+                }
+            } catch (JwtException e) {
+                log.debug("Ignoring invalid refresh token on logout: {}", e.getMessage());
+            }
+        }
+        log.debug("User logged out: {}", principal.email());
+    }
 
+    private UserResponse loadUserProfile(String email) {
+        return usersRepository.findProfileByEmail(email).orElse(null);
     }
 }
@@ -0,0 +1,2 @@
+-- Case-insensitive lookups (lower(email) = lower(?)) used by the login and profile projections.
+CREATE INDEX users_email_lower_idx ON public.users (lower(email));
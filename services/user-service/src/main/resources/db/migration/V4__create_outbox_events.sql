@@ -0,0 +1,10 @@
+-- Transactional outbox (see Outbox in common-utils): written with the change, shipped by the relay.
+CREATE TABLE public.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(128) NOT NULL,
+    payload TEXT NOT NULL, -- JSON, bound as a string
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,5 @@
+-- Emails are unique regardless of case, which the lookups (lower(email) = lower(?)) already assume.
+-- Fails if existing rows differ only by case; merge those accounts before migrating.
+DROP INDEX public.users_email_lower_idx;
+CREATE UNIQUE INDEX users_email_lower_unique ON public.users (lower(email));
+ALTER TABLE public.users DROP CONSTRAINT users_email_unique;
@@ -0,0 +1,94 @@
+package com.plutocart.user_service.cache;
+
+import com.plutocart.user_service.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileCacheTest {
+
+    private static final String EMAIL = "someone@plutocart.com";
+
+    private final InMemoryUserCacheInvalidationChannel channel = new InMemoryUserCacheInvalidationChannel();
+    private final UserProfileCache cache = new UserProfileCache(channel, new SimpleMeterRegistry(), 100, 60_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsAProfileOnceAndDoesNotCacheMisses() {
+        assertThat(cache.getByEmail(EMAIL, this::load)).isNotNull();
+        assertThat(cache.getByEmail(EMAIL, this::load)).isNotNull();
+        assertThat(cache.getByEmail("nobody@plutocart.com", email -> null)).isNull();
+        assertThat(cache.getByEmail("nobody@plutocart.com", this::load)).isNotNull();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidatesAtOnceOutsideATransaction() {
+        cache.getByEmail(EMAIL, this::load);
+
+        cache.invalidate(userId, EMAIL);
+        cache.getByEmail(EMAIL, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidatesInsideATransactionOnlyAfterTheCommit() {
+        cache.getByEmail(EMAIL, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(userId, EMAIL);
+        cache.getByEmail(EMAIL, this::load);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.getByEmail(EMAIL, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void aRolledBackTransactionInvalidatesNothing() {
+        cache.getByEmail(EMAIL, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(userId, EMAIL);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        cache.getByEmail(EMAIL, this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidationsFromOtherNodesEvictToo() {
+        cache.getByEmail(EMAIL, this::load);
+
+        channel.publish(new UserCacheInvalidation("other-node", userId, EMAIL));
+        cache.getByEmail(EMAIL, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private UserResponse load(String email) {
+        loads.incrementAndGet();
+        Instant now = Instant.now();
+        return new UserResponse(userId, email, "Someone", null, true, "ROLE_CUSTOMER", now, now, null);
+    }
+}
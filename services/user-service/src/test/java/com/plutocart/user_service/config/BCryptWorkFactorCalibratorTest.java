@@ -0,0 +1,29 @@
+package com.plutocart.user_service.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptWorkFactorCalibratorTest {
+
+    @Test
+    void picksTheHighestStrengthWithinTheTarget() {
+        // 10 ms at strength 10 doubles to 20, 40, 80, 160, 320 ms at strengths 11 to 15.
+        assertThat(BCryptWorkFactorCalibrator.strengthFor(10, 250, 10, 20)).isEqualTo(14);
+        assertThat(BCryptWorkFactorCalibrator.strengthFor(10, 160, 10, 20)).isEqualTo(14);
+        assertThat(BCryptWorkFactorCalibrator.strengthFor(10, 159, 10, 20)).isEqualTo(13);
+    }
+
+    @Test
+    void staysWithinTheConfiguredStrengths() {
+        assertThat(BCryptWorkFactorCalibrator.strengthFor(0.01, 250, 10, 12)).isEqualTo(12);
+        // A machine slower than the target still gets the minimum strength.
+        assertThat(BCryptWorkFactorCalibrator.strengthFor(500, 250, 10, 14)).isEqualTo(10);
+    }
+
+    @Test
+    void calibratesAgainstRealHashing() {
+        assertThat(BCryptWorkFactorCalibrator.calibrate(0, 4, 6)).isEqualTo(4);
+        assertThat(BCryptWorkFactorCalibrator.calibrate(60_000, 4, 6)).isEqualTo(6);
+    }
+}
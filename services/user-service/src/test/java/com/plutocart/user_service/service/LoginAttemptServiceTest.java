@@ -0,0 +1,113 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.user_service.exception.AccountLockedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.plutocart.user_service.service.LoginAttemptService.BUCKETS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL = "someone@plutocart.com";
+    private static final long BUCKET = 1_000_000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LoginAttemptService service =
+            new LoginAttemptService(jdbcTemplate, new SimpleMeterRegistry(), 3, 100, 900_000, 900_000, 1_000);
+
+    @Test
+    void countsWithinTheWindow() {
+        var counter = new LoginAttemptService.SlidingWindowCounter();
+
+        assertThat(counter.increment(BUCKET)).isEqualTo(1);
+        assertThat(counter.increment(BUCKET)).isEqualTo(2);
+        assertThat(counter.increment(BUCKET + 1)).isEqualTo(3);
+        assertThat(counter.increment(BUCKET + BUCKETS - 1)).isEqualTo(4);
+    }
+
+    @Test
+    void oldBucketsRollOutOfTheWindow() {
+        var counter = new LoginAttemptService.SlidingWindowCounter();
+        counter.increment(BUCKET);
+        counter.increment(BUCKET);
+        counter.increment(BUCKET + 1);
+
+        // BUCKET has left the window and its slot is reused; BUCKET + 1 is still counted.
+        assertThat(counter.increment(BUCKET + BUCKETS)).isEqualTo(2);
+        // Far in the future nothing is left, and the recycled slot starts from one.
+        assertThat(counter.increment(BUCKET + 10L * BUCKETS)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentIncrementsAreAllCounted() throws Exception {
+        var counter = new LoginAttemptService.SlidingWindowCounter();
+        int threads = 8;
+        int perThread = 10_000;
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            // Half the threads share a bucket, the rest spread over the window.
+            long bucket = t % 2 == 0 ? BUCKET : BUCKET + t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment(bucket);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(counter.increment(BUCKET + BUCKETS - 1)).isEqualTo(threads * perThread + 1);
+    }
+
+    @Test
+    void locksTheAccountAtTheThreshold() {
+        service.recordFailure(EMAIL, "10.0.0.1");
+        service.recordFailure(EMAIL.toUpperCase(), "10.0.0.2");
+        assertThatCode(() -> service.checkAllowed(EMAIL, "10.0.0.3")).doesNotThrowAnyException();
+
+        service.recordFailure(EMAIL, "10.0.0.3");
+
+        assertThatThrownBy(() -> service.checkAllowed(EMAIL, "10.0.0.4"))
+                .isInstanceOf(AccountLockedException.class);
+        assertThatCode(() -> service.checkAllowed("other@plutocart.com", "10.0.0.4")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aFailedFlushIsRetried() {
+        for (int i = 0; i < 3; i++) {
+            service.recordFailure(EMAIL, null);
+        }
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doReturn(new int[]{1})
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        service.flushLockouts();
+        service.flushLockouts();
+        service.flushLockouts();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> retried = batches.getAllValues().get(1);
+        assertThat(retried).hasSize(1);
+        assertThat(retried.get(0)[1]).isEqualTo(3);
+        assertThat(retried.get(0)[2]).isEqualTo(EMAIL);
+    }
+}
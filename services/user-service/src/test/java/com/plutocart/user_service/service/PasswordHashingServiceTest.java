@@ -0,0 +1,165 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.user_service.exception.HashingCapacityExceededException;
+import com.plutocart.user_service.repository.UsersRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class PasswordHashingServiceTest {
+
+    private final GatedEncoder encoder = new GatedEncoder();
+    private final UsersRepository usersRepository = mock(UsersRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void shutdown() {
+        encoder.open();
+        service.shutdown();
+    }
+
+    @Test
+    void aFullQueueIsRejectedAtOnce() throws Exception {
+        service = service(1, 1, 10_000);
+        CompletableFuture<String> running = encodeInBackground("first");
+        encoder.started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = encodeInBackground("second");
+        awaitQueueDepth(1);
+
+        assertThatThrownBy(() -> service.encode("third"))
+                .isInstanceOf(HashingCapacityExceededException.class)
+                .hasMessageContaining("Too many authentication requests");
+        assertThat(rejected()).isEqualTo(1);
+
+        encoder.open();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    @Test
+    void aCallerThatGivesUpDoesNotLeaveItsHashQueued() throws Exception {
+        service = service(1, 4, 100);
+        encodeInBackground("running");
+        encoder.started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> service.encode("abandoned"))
+                .isInstanceOf(HashingCapacityExceededException.class)
+                .hasMessageContaining("taking too long");
+
+        // The hash already running cannot be interrupted and finishes for nobody; the
+        // abandoned one never starts.
+        encoder.open();
+        assertThat(service.encode("next")).isEqualTo("hash:next");
+        assertThat(encoder.encoded).containsExactly("running", "next");
+        assertThat(rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void upgradesRunOffTheLoginPool() throws Exception {
+        service = service(1, 4, 10_000);
+        encodeInBackground("login");
+        encoder.started.await(5, TimeUnit.SECONDS);
+        UUID userId = UUID.randomUUID();
+
+        // The only login thread is busy, yet the upgrade still goes ahead on its own thread.
+        service.upgradeIfNeeded(userId, "secret", "{bcrypt}old");
+
+        verify(usersRepository, timeout(5_000)).updatePasswordHash(userId, "hash:secret");
+        assertThat(encoder.threads).contains("password-rehash");
+    }
+
+    @Test
+    void upgradesWaitWhileLoginsAreQueued() throws Exception {
+        service = service(1, 4, 10_000);
+        encodeInBackground("login");
+        encoder.started.await(5, TimeUnit.SECONDS);
+        encodeInBackground("queued login");
+        awaitQueueDepth(1);
+
+        service.upgradeIfNeeded(UUID.randomUUID(), "secret", "{bcrypt}old");
+        encoder.open();
+
+        Thread.sleep(100);
+        verify(usersRepository, never()).updatePasswordHash(any(), eq("hash:secret"));
+    }
+
+    private PasswordHashingService service(int threads, int queueCapacity, long maxWaitMillis) {
+        return new PasswordHashingService(encoder, usersRepository, meterRegistry, threads, queueCapacity, maxWaitMillis);
+    }
+
+    private CompletableFuture<String> encodeInBackground(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> service.encode(rawPassword));
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private double rejected() {
+        return meterRegistry.get("password.hash.rejected").counter().count();
+    }
+
+    /**
+     * Holds every login hash until {@link #open()}, so tests can fill the pool; re-hashes
+     * pass straight through. Every stored hash needs an upgrade.
+     */
+    private static class GatedEncoder implements PasswordEncoder {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        final List<String> encoded = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            String thread = Thread.currentThread().getName();
+            threads.add(thread);
+            if (thread.startsWith("password-hash-")) {
+                started.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            encoded.add(rawPassword.toString());
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return true;
+        }
+    }
+}
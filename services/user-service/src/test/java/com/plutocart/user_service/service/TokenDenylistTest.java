@@ -0,0 +1,154 @@
+package com.plutocart.user_service.service;
+
+import com.plutocart.user_service.config.JwtConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTest {
+
+    // Tokens live at most 700 ms, so the ring has 700 / 100 + 2 = 9 slots.
+    private static final long BUCKET_MILLIS = 100;
+    private static final int SLOTS = 9;
+
+    @TempDir
+    Path dir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenDenylist denylist;
+
+    @AfterEach
+    void close() throws Exception {
+        if (denylist != null) {
+            denylist.close();
+        }
+    }
+
+    @Test
+    void revokedTokensAreFoundAndOthersAreNot() throws Exception {
+        denylist = open();
+        Instant expiresAt = Instant.now().plusMillis(500);
+        denylist.revoke("revoked", expiresAt);
+
+        assertThat(denylist.isRevoked("revoked", expiresAt)).isTrue();
+        assertThat(denylist.isRevoked("other", expiresAt)).isFalse();
+        // A token is looked up in the window of its own expiry only.
+        assertThat(denylist.isRevoked("revoked", expiresAt.plusMillis(BUCKET_MILLIS))).isFalse();
+    }
+
+    @Test
+    void alreadyExpiredTokensAreNotRecorded() throws Exception {
+        denylist = open();
+        Instant expired = Instant.now().minusMillis(1);
+
+        denylist.revoke("expired", expired);
+
+        assertThat(denylist.isRevoked("expired", expired)).isFalse();
+        assertThat(revokedCount()).isZero();
+        assertThat(Files.readString(log())).isEmpty();
+    }
+
+    @Test
+    void purgeDropsExpiredTokens() throws Exception {
+        denylist = open();
+        Instant soon = Instant.now().plusMillis(50);
+        Instant later = Instant.now().plusMillis(600);
+        denylist.revoke("soon", soon);
+        denylist.revoke("later", later);
+
+        Thread.sleep(2 * BUCKET_MILLIS);
+        denylist.purgeExpired();
+
+        assertThat(revokedCount()).isEqualTo(1);
+        assertThat(denylist.isRevoked("soon", soon)).isFalse();
+        assertThat(denylist.isRevoked("later", later)).isTrue();
+    }
+
+    @Test
+    void aSlotIsReusedByTheWindowThatMapsOntoIt() throws Exception {
+        denylist = open();
+        Instant first = Instant.now().plusMillis(50);
+        Instant sameSlot = first.plusMillis(SLOTS * BUCKET_MILLIS);
+        denylist.revoke("first", first);
+
+        Thread.sleep(2 * BUCKET_MILLIS);
+        denylist.revoke("second", sameSlot);
+
+        assertThat(denylist.isRevoked("second", sameSlot)).isTrue();
+        assertThat(denylist.isRevoked("first", first)).isFalse();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        int expected = 10_000;
+        var bloom = new TokenDenylist.BloomBucket(1, (int) Math.ceil(expected * 9.6));
+        for (int i = 0; i < expected; i++) {
+            bloom.put("jti-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < expected; i++) {
+            assertThat(bloom.mightContain("jti-" + i)).isTrue();
+            if (bloom.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Sized for about 1%.
+        assertThat(falsePositives).isLessThan(expected * 3 / 100);
+    }
+
+    @Test
+    void restoreReplaysAndCompactsTheLog() throws Exception {
+        long now = System.currentTimeMillis();
+        long live = now + 500;
+        // The last line was torn by a crash mid-append.
+        Files.writeString(log(),
+                "live," + live + "\nexpired," + (now - 1) + "\nno-separator\nbad-expiry,soon\ntorn,",
+                StandardCharsets.UTF_8);
+
+        denylist = open();
+
+        assertThat(denylist.isRevoked("live", Instant.ofEpochMilli(live))).isTrue();
+        assertThat(denylist.isRevoked("expired", Instant.ofEpochMilli(now - 1))).isFalse();
+        assertThat(Files.readAllLines(log())).containsExactly("live," + live);
+
+        // New revocations are appended to the compacted log and survive the next restart.
+        Instant next = Instant.now().plusMillis(500);
+        denylist.revoke("next", next);
+        denylist.close();
+        denylist = open();
+
+        assertThat(denylist.isRevoked("live", Instant.ofEpochMilli(live))).isTrue();
+        assertThat(denylist.isRevoked("next", next)).isTrue();
+        assertThat(Files.readAllLines(log())).containsExactly("live," + live, "next," + next.toEpochMilli());
+    }
+
+    private TokenDenylist open() throws Exception {
+        JwtConfig jwtConfig = mock(JwtConfig.class);
+        when(jwtConfig.getAccessTokenExpiration()).thenReturn(300L);
+        when(jwtConfig.getRefreshTokenExpiration()).thenReturn(700L);
+        meterRegistry = new SimpleMeterRegistry();
+        var opened = new TokenDenylist(jwtConfig, meterRegistry, BUCKET_MILLIS, 1_000, log().toString());
+        opened.restore();
+        return opened;
+    }
+
+    private Path log() {
+        return dir.resolve("denylist.log");
+    }
+
+    private double revokedCount() {
+        return meterRegistry.get("jwt.revoked.tokens").gauge().value();
+    }
+}